@@ -0,0 +1,212 @@
+package com.example.application.ai;
+
+import com.example.application.config.ChatLimiterProperties;
+import com.example.domain.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD 自适应并发限制器
+ * 调用成功且并发接近上限时，上限按 1/limit 加性增长（约每轮满并发增长1）；
+ * 调用失败或耗时超过阈值视为过载，上限按比例乘性缩减。
+ * 达到上限的请求进入有界等待队列，队列已满或等待超时立即拒绝，避免把过载传导给上游。
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+
+    private final ChatLimiterProperties properties;
+
+    private final long timeoutNanos;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+
+    private final Condition available = lock.newCondition();
+
+    private double limit;
+
+    private int inFlight;
+
+    private int queued;
+
+    private final Counter rejectedQueueFull;
+
+    private final Counter rejectedTimeout;
+
+    private final Counter drops;
+
+    private final Timer waitTimer;
+
+    /**
+     * 构造函数
+     *
+     * @param name 限制器名称，作为指标的 client 标签
+     * @param properties 限制配置
+     * @param meterRegistry 指标注册表
+     */
+    public AdaptiveConcurrencyLimiter(String name, ChatLimiterProperties properties, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.properties = properties;
+        this.timeoutNanos = properties.getTimeout().toNanos();
+        this.limit = Math.clamp(properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit());
+        Gauge.builder("ai.chat.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("当前并发上限")
+                .tag("client", name)
+                .register(meterRegistry);
+        Gauge.builder("ai.chat.limiter.inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("正在进行的调用数")
+                .tag("client", name)
+                .register(meterRegistry);
+        Gauge.builder("ai.chat.limiter.queued", this, AdaptiveConcurrencyLimiter::getQueued)
+                .description("排队等待的调用数")
+                .tag("client", name)
+                .register(meterRegistry);
+        this.rejectedQueueFull = rejectedCounter(meterRegistry, "queue_full");
+        this.rejectedTimeout = rejectedCounter(meterRegistry, "wait_timeout");
+        this.drops = Counter.builder("ai.chat.limiter.drops")
+                .description("被判定为过载的调用数")
+                .tag("client", name)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("ai.chat.limiter.wait")
+                .description("获取调用许可的等待时间")
+                .tag("client", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 获取调用许可，达到上限时排队等待
+     *
+     * @return 调用开始时间，释放时传回
+     * @throws BusinessException 队列已满、等待超时或被中断时抛出 429
+     */
+    public long acquire() {
+        return acquire(properties.getMaxWait().toNanos());
+    }
+
+    /**
+     * 获取调用许可，最多等待指定时间，用于把请求剩余的截止时间传递到排队等待
+     *
+     * @param maxWaitNanos 最长等待纳秒数，超过配置的最长等待时间时按配置值
+     * @return 调用开始时间，释放时传回
+     * @throws BusinessException 队列已满、等待超时或被中断时抛出 429
+     */
+    public long acquire(long maxWaitNanos) {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit) {
+                if (queued >= properties.getMaxQueueSize()) {
+                    rejectedQueueFull.increment();
+                    throw BusinessException.tooManyRequests("AI 服务繁忙，请稍后重试");
+                }
+                queued++;
+                try {
+                    long remaining = Math.min(maxWaitNanos, properties.getMaxWait().toNanos());
+                    while (inFlight >= (int) limit) {
+                        if (remaining <= 0) {
+                            rejectedTimeout.increment();
+                            throw BusinessException.tooManyRequests("AI 服务繁忙，排队超时");
+                        }
+                        remaining = available.awaitNanos(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw BusinessException.tooManyRequests("AI 服务排队被中断");
+                } finally {
+                    queued--;
+                }
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+        long acquiredAt = System.nanoTime();
+        waitTimer.record(acquiredAt - start, TimeUnit.NANOSECONDS);
+        return acquiredAt;
+    }
+
+    /**
+     * 释放调用许可并根据结果调整上限
+     *
+     * @param outcome 调用结果
+     * @param latencyNanos 调用耗时，流式调用为首个片段耗时，未知时传负数
+     */
+    public void release(Outcome outcome, long latencyNanos) {
+        boolean dropped = outcome == Outcome.DROPPED
+                || (outcome == Outcome.SUCCESS && latencyNanos > timeoutNanos);
+        lock.lock();
+        try {
+            int observedInFlight = inFlight;
+            inFlight--;
+            double previous = limit;
+            if (dropped) {
+                limit = Math.max(properties.getMinLimit(), limit * properties.getBackoffRatio());
+                drops.increment();
+            } else if (outcome == Outcome.SUCCESS && observedInFlight * 2 >= limit) {
+                limit = Math.min(properties.getMaxLimit(), limit + 1.0 / limit);
+            }
+            if ((int) limit > (int) previous) {
+                available.signalAll();
+            } else {
+                available.signal();
+            }
+            if ((int) limit != (int) previous) {
+                log.debug("并发上限调整: client={}, {} -> {}", name, (int) previous, (int) limit);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    private Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("ai.chat.limiter.rejected")
+                .description("被拒绝的调用数")
+                .tag("client", name)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 调用结果
+     */
+    public enum Outcome {
+
+        /**
+         * 成功，耗时超过阈值时仍按过载处理
+         */
+        SUCCESS,
+
+        /**
+         * 过载：限流、超时、连接失败等
+         */
+        DROPPED,
+
+        /**
+         * 与负载无关的失败，例如请求参数错误，不调整上限
+         */
+        IGNORED
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.application.ai;
+
+import com.example.application.config.ChatContextProperties;
+import com.example.domain.model.ChatMessageEntity;
+import com.example.domain.repository.ChatSessionStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 上下文聊天的历史组装
+ * 会话存储是唯一的记忆来源；每个会话缓存一份已计算token数、已按预算裁剪的历史消息，
+ * 每轮对话只对新增的两条消息计数并追加，不再从头拼接字符串。
+ * 超出token预算时从最早的一轮开始整轮丢弃，保证历史总是以用户消息开头。
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Component
+public class ChatContextAssembler {
+
+    private final ChatSessionStore chatSessionStore;
+
+    private final int tokenBudget;
+
+    /**
+     * 本地分词器，按 cl100k_base 估算，与通义千问的实际计数有偏差但量级一致
+     */
+    private final TokenCountEstimator tokenCountEstimator = new JTokkitTokenCountEstimator();
+
+    private final Cache<String, SessionContext> contexts;
+
+    private final DistributionSummary promptTokens;
+
+    private final Counter trimmedMessages;
+
+    public ChatContextAssembler(ChatSessionStore chatSessionStore, ChatContextProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.chatSessionStore = chatSessionStore;
+        this.tokenBudget = properties.getTokenBudget();
+        this.contexts = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaximumSize())
+                .expireAfterAccess(properties.getCacheExpireAfterAccess())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, contexts, "chatContexts");
+        this.promptTokens = DistributionSummary.builder("ai.chat.context.prompt.tokens")
+                .description("上下文聊天每轮发送的历史加当前问题的估算token数")
+                .baseUnit("tokens")
+                .register(meterRegistry);
+        this.trimmedMessages = Counter.builder("ai.chat.context.trimmed.messages")
+                .description("因超出token预算被丢弃的历史消息数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 组装本轮要发送的历史消息，历史与当前问题合计不超过token预算
+     *
+     * @param sessionId 会话ID
+     * @param userMessage 当前用户问题
+     * @return 按时间顺序排列的历史消息，不含当前问题
+     */
+    public List<Message> assemble(String sessionId, String userMessage) {
+        int messageTokens = tokenCountEstimator.estimate(userMessage);
+        SessionContext context = contexts.get(sessionId, this::load);
+        // 会话存储已淘汰或清除该会话时，缓存的历史作废
+        if (context.size() > 0 && chatSessionStore.size(sessionId) == 0) {
+            contexts.invalidate(sessionId);
+            context = contexts.get(sessionId, this::load);
+        }
+        List<Message> window = new ArrayList<>();
+        int windowTokens = context.collectWindow(tokenBudget - messageTokens, window);
+        promptTokens.record(windowTokens + messageTokens);
+        return window;
+    }
+
+    /**
+     * 记录一轮完整的对话：写入会话存储，并把增量追加到已缓存的历史
+     *
+     * @param sessionId 会话ID
+     * @param userMessage 用户问题
+     * @param assistantMessage 助手回复
+     */
+    public void append(String sessionId, String userMessage, String assistantMessage) {
+        List<ChatMessageEntity> turn = List.of(
+                ChatMessageEntity.user(userMessage), ChatMessageEntity.assistant(assistantMessage));
+        // 与加载共用同一键的原子计算，避免加载到刚写入的消息后又被重复追加
+        contexts.asMap().compute(sessionId, (key, context) -> {
+            chatSessionStore.append(sessionId, turn);
+            if (Objects.nonNull(context)) {
+                turn.forEach(context::add);
+                context.trimTo(tokenBudget);
+            }
+            return context;
+        });
+    }
+
+    /**
+     * 清除会话
+     *
+     * @param sessionId 会话ID
+     */
+    public void clear(String sessionId) {
+        contexts.asMap().compute(sessionId, (key, context) -> {
+            chatSessionStore.clear(sessionId);
+            return null;
+        });
+    }
+
+    private SessionContext load(String sessionId) {
+        SessionContext context = new SessionContext();
+        chatSessionStore.getRecent(sessionId, Integer.MAX_VALUE).forEach(context::add);
+        context.trimTo(tokenBudget);
+        return context;
+    }
+
+    /**
+     * 单个会话已组装的历史
+     */
+    private final class SessionContext {
+
+        private final Deque<TokenizedMessage> messages = new ArrayDeque<>();
+
+        private int totalTokens;
+
+        synchronized int size() {
+            return messages.size();
+        }
+
+        synchronized void add(ChatMessageEntity entity) {
+            String content = Objects.requireNonNullElse(entity.getContent(), "");
+            Message message = entity.getRole() == ChatMessageEntity.Role.USER
+                    ? new UserMessage(content)
+                    : new AssistantMessage(content);
+            int tokens = tokenCountEstimator.estimate(content);
+            messages.addLast(new TokenizedMessage(message, entity.getRole(), tokens));
+            totalTokens += tokens;
+        }
+
+        /**
+         * 从最早的消息开始丢弃，直到不超过预算且以用户消息开头
+         */
+        synchronized void trimTo(int budget) {
+            while (!messages.isEmpty()
+                    && (totalTokens > budget || messages.peekFirst().role() != ChatMessageEntity.Role.USER)) {
+                totalTokens -= messages.removeFirst().tokens();
+                trimmedMessages.increment();
+            }
+        }
+
+        /**
+         * 从最新的消息往前收集不超过预算的一段历史，起点对齐到用户消息
+         *
+         * @return 收集到的token数
+         */
+        synchronized int collectWindow(int budget, List<Message> target) {
+            int tokens = 0;
+            int count = 0;
+            int alignedTokens = 0;
+            int alignedCount = 0;
+            Iterator<TokenizedMessage> iterator = messages.descendingIterator();
+            while (iterator.hasNext()) {
+                TokenizedMessage message = iterator.next();
+                if (tokens + message.tokens() > budget) {
+                    break;
+                }
+                tokens += message.tokens();
+                count++;
+                if (message.role() == ChatMessageEntity.Role.USER) {
+                    alignedTokens = tokens;
+                    alignedCount = count;
+                }
+            }
+            iterator = messages.descendingIterator();
+            for (int i = 0; i < alignedCount; i++) {
+                target.add(iterator.next().message());
+            }
+            Collections.reverse(target);
+            return alignedTokens;
+        }
+    }
+
+    /**
+     * 已计算token数的消息
+     *
+     * @param message Spring AI 消息
+     * @param role 消息角色
+     * @param tokens 估算token数
+     */
+    private record TokenizedMessage(Message message, ChatMessageEntity.Role role, int tokens) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.application.ai;
+
+import com.example.application.config.ChatDeadlineProperties;
+import com.example.domain.exception.BusinessException;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * 聊天请求的截止时间
+ * 在控制器入口按请求的超时预算创建，沿调用链向下传递，排队、限流等待和模型调用都只能使用剩余时间
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+public final class ChatDeadline {
+
+    /**
+     * 通过 Advisor 上下文传递截止时间使用的键
+     */
+    public static final String CONTEXT_KEY = "chat_deadline";
+
+    private final long deadlineNanos;
+
+    private ChatDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * 从现在起经过指定时间后截止
+     *
+     * @param timeout 超时预算
+     * @return 截止时间
+     */
+    public static ChatDeadline after(Duration timeout) {
+        return new ChatDeadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * 按请求指定的超时毫秒数创建，未指定时使用默认值，并且不超过配置的上限
+     *
+     * @param timeoutMillis 请求指定的超时毫秒数，可为空
+     * @param properties 截止时间配置
+     * @return 截止时间
+     */
+    public static ChatDeadline of(Long timeoutMillis, ChatDeadlineProperties properties) {
+        Duration timeout = Objects.nonNull(timeoutMillis) && timeoutMillis > 0
+                ? Duration.ofMillis(timeoutMillis) : properties.getDefaultTimeout();
+        return after(timeout.compareTo(properties.getMaxTimeout()) > 0 ? properties.getMaxTimeout() : timeout);
+    }
+
+    /**
+     * @return 剩余纳秒数，已截止时为0
+     */
+    public long remainingNanos() {
+        return Math.max(0, deadlineNanos - System.nanoTime());
+    }
+
+    /**
+     * @return 剩余时间，已截止时为0
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(remainingNanos());
+    }
+
+    /**
+     * @return 是否已截止
+     */
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * 已截止时抛出超时异常
+     */
+    public void ensureNotExpired() {
+        if (isExpired()) {
+            throw BusinessException.timeout("AI 服务调用超时");
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.application.ai;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.core.Ordered;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ChatClient 调用指标 Advisor
+ * 按客户端记录调用耗时（含并发限制排队）和结果，以及模型返回的提示词、生成 token 数。
+ * 流式调用在流结束时记录，token 数取最后一个带用量信息的片段。
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+public class ChatMetricsAdvisor implements CallAdvisor, StreamAdvisor {
+
+    /**
+     * 位于并发限制 Advisor 之外，耗时包含排队等待
+     */
+    private static final int ORDER = Ordered.LOWEST_PRECEDENCE - 200;
+
+    private static final String METRIC_NAME = "ai.chat.client.requests";
+
+    private final Timer success;
+
+    private final Timer error;
+
+    private final Timer cancelled;
+
+    private final DistributionSummary promptTokens;
+
+    private final DistributionSummary completionTokens;
+
+    /**
+     * 构造函数
+     *
+     * @param name 客户端名称，作为指标的 client 标签
+     * @param meterRegistry 指标注册表
+     */
+    public ChatMetricsAdvisor(String name, MeterRegistry meterRegistry) {
+        this.success = timer(name, "success", meterRegistry);
+        this.error = timer(name, "error", meterRegistry);
+        this.cancelled = timer(name, "cancelled", meterRegistry);
+        this.promptTokens = tokens(name, "prompt", meterRegistry);
+        this.completionTokens = tokens(name, "completion", meterRegistry);
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest chatClientRequest, CallAdvisorChain callAdvisorChain) {
+        long start = System.nanoTime();
+        try {
+            ChatClientResponse response = callAdvisorChain.nextCall(chatClientRequest);
+            success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            recordUsage(response.chatResponse());
+            return response;
+        } catch (RuntimeException e) {
+            error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest chatClientRequest,
+                                                 StreamAdvisorChain streamAdvisorChain) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicReference<ChatResponse> lastWithUsage = new AtomicReference<>();
+            return streamAdvisorChain.nextStream(chatClientRequest)
+                    .doOnNext(response -> {
+                        if (hasUsage(response.chatResponse())) {
+                            lastWithUsage.set(response.chatResponse());
+                        }
+                    })
+                    .doFinally(signal -> {
+                        long elapsed = System.nanoTime() - start;
+                        if (signal == SignalType.ON_COMPLETE) {
+                            success.record(elapsed, TimeUnit.NANOSECONDS);
+                            recordUsage(lastWithUsage.get());
+                        } else if (signal == SignalType.ON_ERROR) {
+                            error.record(elapsed, TimeUnit.NANOSECONDS);
+                        } else {
+                            cancelled.record(elapsed, TimeUnit.NANOSECONDS);
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public String getName() {
+        return "ChatMetricsAdvisor";
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private void recordUsage(ChatResponse chatResponse) {
+        if (!hasUsage(chatResponse)) {
+            return;
+        }
+        Usage usage = chatResponse.getMetadata().getUsage();
+        if (Objects.nonNull(usage.getPromptTokens())) {
+            promptTokens.record(usage.getPromptTokens());
+        }
+        if (Objects.nonNull(usage.getCompletionTokens())) {
+            completionTokens.record(usage.getCompletionTokens());
+        }
+    }
+
+    private static boolean hasUsage(ChatResponse chatResponse) {
+        if (Objects.isNull(chatResponse) || Objects.isNull(chatResponse.getMetadata())) {
+            return false;
+        }
+        Usage usage = chatResponse.getMetadata().getUsage();
+        return Objects.nonNull(usage) && Objects.nonNull(usage.getTotalTokens()) && usage.getTotalTokens() > 0;
+    }
+
+    private static Timer timer(String name, String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder(METRIC_NAME)
+                .description("ChatClient 调用耗时")
+                .tag("client", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static DistributionSummary tokens(String name, String type, MeterRegistry meterRegistry) {
+        return DistributionSummary.builder("ai.chat.client.tokens")
+                .description("单次调用的 token 数")
+                .baseUnit("tokens")
+                .tag("client", name)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
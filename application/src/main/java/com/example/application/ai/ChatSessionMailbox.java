@@ -0,0 +1,222 @@
+package com.example.application.ai;
+
+import com.example.domain.exception.BusinessException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 按会话串行执行聊天轮次的邮箱
+ * 同一会话的轮次按提交顺序逐个执行，前一轮（含流式输出）完全结束后才开始下一轮；
+ * 不同会话各自在虚拟线程上并行，没有全局锁。会话没有待处理轮次时邮箱自动移除。
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class ChatSessionMailbox {
+
+    private final ConcurrentHashMap<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor;
+
+    private final Timer waitTimer;
+
+    private final DistributionSummary depthSummary;
+
+    public ChatSessionMailbox(@Qualifier("virtualThreadPool") ExecutorService executor, MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.waitTimer = Timer.builder("ai.chat.session.mailbox.wait")
+                .description("聊天轮次在会话邮箱中排队等待的时间")
+                .register(meterRegistry);
+        this.depthSummary = DistributionSummary.builder("ai.chat.session.mailbox.depth")
+                .description("提交时所在会话的待处理轮次数（含本轮）")
+                .register(meterRegistry);
+        Gauge.builder("ai.chat.session.mailbox.active", mailboxes, ConcurrentHashMap::size)
+                .description("有待处理轮次的会话数")
+                .register(meterRegistry);
+        Gauge.builder("ai.chat.session.mailbox.pending", this, ChatSessionMailbox::totalPending)
+                .description("全部会话的待处理轮次数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 按会话顺序执行任务，阻塞到本轮执行完毕
+     *
+     * @param sessionId 会话ID
+     * @param task 任务
+     * @param <T> 结果类型
+     * @return 任务结果
+     */
+    public <T> T call(String sessionId, Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        enqueue(sessionId, () -> {
+            try {
+                result.complete(task.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 按会话顺序执行任务，最多等待到截止时间；超时后调用方立即返回，
+     * 仍在排队的轮次轮到时发现已截止会直接跳过，不再调用模型
+     *
+     * @param sessionId 会话ID
+     * @param deadline 截止时间
+     * @param task 任务
+     * @param <T> 结果类型
+     * @return 任务结果
+     * @throws BusinessException 截止时间内未执行完毕时抛出 504
+     */
+    public <T> T call(String sessionId, ChatDeadline deadline, Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        enqueue(sessionId, () -> {
+            if (result.isDone() || deadline.isExpired()) {
+                result.completeExceptionally(BusinessException.timeout("AI 服务调用超时"));
+                return;
+            }
+            try {
+                result.complete(task.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        try {
+            return result.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            result.completeExceptionally(BusinessException.timeout("AI 服务调用超时"));
+            throw BusinessException.timeout("AI 服务调用超时");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw BusinessException.timeout("AI 服务调用被中断");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    /**
+     * 按会话顺序执行流式任务，轮到本轮时才订阅上游，流结束、出错或取消后才放行下一轮
+     *
+     * @param sessionId 会话ID
+     * @param turn 本轮的流
+     * @param <T> 元素类型
+     * @return 排队后的流
+     */
+    public <T> Flux<T> stream(String sessionId, Supplier<Flux<T>> turn) {
+        return Flux.defer(() -> {
+            CompletableFuture<Void> started = new CompletableFuture<>();
+            Sinks.Empty<Void> finished = Sinks.empty();
+            enqueue(sessionId, () -> {
+                started.complete(null);
+                finished.asMono().block();
+            });
+            return Mono.fromFuture(started, true)
+                    .thenMany(Flux.defer(turn))
+                    .doFinally(signal -> finished.tryEmitEmpty());
+        });
+    }
+
+    /**
+     * 获取会话当前的待处理轮次数（含正在执行的一轮）
+     *
+     * @param sessionId 会话ID
+     * @return 待处理轮次数
+     */
+    public int getQueueDepth(String sessionId) {
+        Mailbox mailbox = Objects.isNull(sessionId) ? null : mailboxes.get(sessionId);
+        return Objects.isNull(mailbox) ? 0 : mailbox.pending;
+    }
+
+    private void enqueue(String sessionId, Runnable task) {
+        long enqueuedAt = System.nanoTime();
+        int[] depth = new int[1];
+        // pending 只在同一键的 compute 中修改，与出队后的移除判断互斥
+        Mailbox mailbox = mailboxes.compute(sessionId, (key, existing) -> {
+            Mailbox target = Objects.nonNull(existing) ? existing : new Mailbox();
+            target.tasks.add(new Turn(task, enqueuedAt));
+            depth[0] = ++target.pending;
+            return target;
+        });
+        depthSummary.record(depth[0]);
+        if (depth[0] == 1) {
+            executor.execute(() -> drain(sessionId, mailbox));
+        }
+    }
+
+    /**
+     * 依次执行会话的轮次，直到没有待处理轮次后移除邮箱
+     */
+    private void drain(String sessionId, Mailbox mailbox) {
+        Mailbox current = mailbox;
+        while (Objects.nonNull(current)) {
+            Turn turn = current.tasks.poll();
+            waitTimer.record(System.nanoTime() - turn.enqueuedAt(), TimeUnit.NANOSECONDS);
+            try {
+                turn.task().run();
+            } catch (Throwable e) {
+                log.error("会话轮次执行失败, sessionId={}", sessionId, e);
+            }
+            current = mailboxes.compute(sessionId, (key, existing) -> --existing.pending == 0 ? null : existing);
+        }
+    }
+
+    private long totalPending() {
+        return mailboxes.values().stream().mapToLong(mailbox -> mailbox.pending).sum();
+    }
+
+    /**
+     * 单个会话的邮箱
+     */
+    private static final class Mailbox {
+
+        private final Queue<Turn> tasks = new ConcurrentLinkedQueue<>();
+
+        /**
+         * 待处理轮次数，只在 ConcurrentHashMap.compute 中修改
+         */
+        private volatile int pending;
+    }
+
+    /**
+     * 排队中的轮次
+     *
+     * @param task 任务
+     * @param enqueuedAt 入队时间
+     */
+    private record Turn(Runnable task, long enqueuedAt) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.application.ai;
+
+import com.example.application.ai.AdaptiveConcurrencyLimiter.Outcome;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.core.Ordered;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 并发限制 Advisor，包裹实际的模型调用
+ * 同步调用按整体耗时、流式调用按首个片段耗时反馈给限制器；流式调用的许可持有到流结束。
+ * 请求通过 {@link ChatDeadline#CONTEXT_KEY} 携带截止时间时，排队等待不超过剩余时间。
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+public class ConcurrencyLimitAdvisor implements CallAdvisor, StreamAdvisor {
+
+    /**
+     * 紧挨模型调用执行，位于记忆等其他 Advisor 之内
+     */
+    private static final int ORDER = Ordered.LOWEST_PRECEDENCE - 100;
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitAdvisor(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest chatClientRequest, CallAdvisorChain callAdvisorChain) {
+        long start = acquire(chatClientRequest);
+        try {
+            ChatClientResponse response = callAdvisorChain.nextCall(chatClientRequest);
+            limiter.release(Outcome.SUCCESS, System.nanoTime() - start);
+            return response;
+        } catch (RuntimeException e) {
+            limiter.release(classify(e), -1);
+            throw e;
+        }
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest chatClientRequest,
+                                                 StreamAdvisorChain streamAdvisorChain) {
+        return Flux.defer(() -> {
+            long start = acquire(chatClientRequest);
+            AtomicLong firstChunkLatency = new AtomicLong(-1);
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            return streamAdvisorChain.nextStream(chatClientRequest)
+                    .doOnNext(response -> firstChunkLatency.compareAndSet(-1, System.nanoTime() - start))
+                    .doOnError(error::set)
+                    .doFinally(signal -> {
+                        if (signal == SignalType.ON_ERROR) {
+                            limiter.release(classify(error.get()), -1);
+                        } else if (signal == SignalType.ON_COMPLETE) {
+                            limiter.release(Outcome.SUCCESS, firstChunkLatency.get());
+                        } else {
+                            limiter.release(Outcome.IGNORED, -1);
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public String getName() {
+        return "ConcurrencyLimitAdvisor";
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private long acquire(ChatClientRequest chatClientRequest) {
+        if (chatClientRequest.context().get(ChatDeadline.CONTEXT_KEY) instanceof ChatDeadline deadline) {
+            deadline.ensureNotExpired();
+            return limiter.acquire(deadline.remainingNanos());
+        }
+        return limiter.acquire();
+    }
+
+    private static Outcome classify(Throwable e) {
+        return e instanceof NonTransientAiException ? Outcome.IGNORED : Outcome.DROPPED;
+    }
+}
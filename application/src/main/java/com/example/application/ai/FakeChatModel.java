@@ -0,0 +1,79 @@
+package com.example.application.ai;
+
+import com.example.application.config.FakeChatModelProperties;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.retry.TransientAiException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 本地模拟大模型
+ * 按配置注入延迟，回显提示词长度；设置并发容量后超出部分以 429 失败，用于验证限流与重试行为
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+public class FakeChatModel implements ChatModel {
+
+    private final FakeChatModelProperties properties;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public FakeChatModel(FakeChatModelProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        enter();
+        try {
+            Thread.sleep(nextLatency());
+            return response("fake response for prompt of " + prompt.getContents().length() + " chars");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransientAiException("fake model interrupted");
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> {
+            enter();
+            return Mono.delay(nextLatency())
+                    .thenMany(Flux.range(0, properties.getStreamChunks())
+                            .delayElements(properties.getChunkInterval())
+                            .map(i -> response("token" + i + " ")))
+                    .doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    private void enter() {
+        int current = inFlight.incrementAndGet();
+        if (properties.getCapacity() > 0 && current > properties.getCapacity()) {
+            inFlight.decrementAndGet();
+            throw new TransientAiException("429 Too Many Requests (fake model capacity " + properties.getCapacity() + ")");
+        }
+    }
+
+    private Duration nextLatency() {
+        long base = properties.getLatency().toMillis();
+        long jitter = properties.getJitter().toMillis();
+        long offset = jitter > 0 ? ThreadLocalRandom.current().nextLong(-jitter, jitter + 1) : 0;
+        return Duration.ofMillis(Math.max(0, base + offset));
+    }
+
+    private static ChatResponse response(String text) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
+}
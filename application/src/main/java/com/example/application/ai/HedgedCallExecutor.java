@@ -0,0 +1,226 @@
+package com.example.application.ai;
+
+import com.example.application.config.ChatHedgingProperties;
+import com.example.domain.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 带截止时间和对冲请求的模型调用执行器
+ * 调用在虚拟线程上执行，调用方最多等待到截止时间，超时后中断调用并返回 504。
+ * 开启对冲后，首次调用耗时超过近期调用耗时的指定分位数仍未返回时再发出一次相同调用，
+ * 取先成功的结果并中断另一次；对冲请求数受比例上限约束，上游整体变慢时不会让负载翻倍。
+ * 只用于幂等调用，重复调用不能产生副作用。
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class HedgedCallExecutor {
+
+    private final ExecutorService executor;
+
+    private final ChatHedgingProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+
+    private final LongAdder totalCalls = new LongAdder();
+
+    private final LongAdder totalHedges = new LongAdder();
+
+    public HedgedCallExecutor(@Qualifier("virtualThreadPool") ExecutorService executor,
+                              ChatHedgingProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 在截止时间内执行调用，按配置发出对冲请求
+     *
+     * @param name 调用名称，用作指标标签和分位数统计维度
+     * @param deadline 截止时间
+     * @param call 调用
+     * @param <T> 结果类型
+     * @return 先成功的调用结果
+     * @throws BusinessException 截止时间内没有调用成功时抛出 504
+     */
+    public <T> T call(String name, ChatDeadline deadline, Supplier<T> call) {
+        deadline.ensureNotExpired();
+        totalCalls.increment();
+        long start = System.nanoTime();
+        LatencyWindow window = windows.computeIfAbsent(name, key -> new LatencyWindow(properties.getWindowSize()));
+        long hedgeDelay = properties.isEnabled() ? hedgeDelayNanos(window) : -1;
+
+        ExecutorCompletionService<T> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<T>> attempts = new ArrayList<>(2);
+        attempts.add(completionService.submit(() -> attempt(name, window, call)));
+        int pending = 1;
+        RuntimeException failure = null;
+        try {
+            while (pending > 0) {
+                long wait = deadline.remainingNanos();
+                if (hedgeDelay >= 0) {
+                    wait = Math.min(wait, hedgeDelay - (System.nanoTime() - start));
+                }
+                Future<T> done = completionService.poll(Math.max(0, wait), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    if (deadline.isExpired()) {
+                        counter("ai.chat.call.timeouts", name).increment();
+                        throw BusinessException.timeout("AI 服务调用超时");
+                    }
+                    // 到达对冲延迟，每次调用最多对冲一次
+                    hedgeDelay = -1;
+                    if (tryAcquireHedge()) {
+                        attempts.add(completionService.submit(() -> attempt(name, window, call)));
+                        pending++;
+                        counter("ai.chat.hedge.issued", name).increment();
+                    }
+                    continue;
+                }
+                pending--;
+                try {
+                    T result = done.get();
+                    if (attempts.size() > 1 && done == attempts.get(1)) {
+                        counter("ai.chat.hedge.wins", name).increment();
+                    }
+                    latencyTimer(name).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    return result;
+                } catch (ExecutionException e) {
+                    // 还有调用在进行时等待它的结果
+                    failure = e.getCause() instanceof RuntimeException cause
+                            ? cause : new IllegalStateException(e.getCause());
+                }
+            }
+            throw failure;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw BusinessException.timeout("AI 服务调用被中断");
+        } finally {
+            // 中断未完成的调用，阻塞在网络读写上的调用会在返回后被丢弃
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+    }
+
+    /**
+     * 执行单次调用并记录耗时，只有成功的调用参与分位数统计
+     */
+    private <T> T attempt(String name, LatencyWindow window, Supplier<T> call) {
+        long start = System.nanoTime();
+        T result = call.get();
+        long elapsed = System.nanoTime() - start;
+        window.record(elapsed);
+        Timer.builder("ai.chat.call.attempt.latency")
+                .description("单次模型调用耗时，相当于不对冲时的调用耗时")
+                .tag("name", name)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    /**
+     * 对冲延迟：近期调用耗时的指定分位数，限制在上下界之间；样本不足时使用上界
+     */
+    private long hedgeDelayNanos(LatencyWindow window) {
+        long min = properties.getMinDelay().toNanos();
+        long max = properties.getMaxDelay().toNanos();
+        long percentile = window.percentile(properties.getPercentile(), properties.getMinSamples());
+        return percentile < 0 ? max : Math.clamp(percentile, min, max);
+    }
+
+    /**
+     * 对冲请求占比未超过上限时占用一次对冲额度
+     */
+    private boolean tryAcquireHedge() {
+        if (totalHedges.sum() + 1 > totalCalls.sum() * properties.getMaxHedgeRatio()) {
+            return false;
+        }
+        totalHedges.increment();
+        return true;
+    }
+
+    private Timer latencyTimer(String name) {
+        return Timer.builder("ai.chat.call.latency")
+                .description("模型调用对调用方的耗时，hedging 标签区分是否开启对冲")
+                .tag("name", name)
+                .tag("hedging", properties.isEnabled() ? "enabled" : "disabled")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry);
+    }
+
+    private Counter counter(String metric, String name) {
+        return Counter.builder(metric)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 最近若干次调用耗时的环形缓冲区，分位数每写入一定数量的样本后重新计算
+     */
+    private static final class LatencyWindow {
+
+        private static final int RECOMPUTE_INTERVAL = 32;
+
+        private final long[] samples;
+
+        private int next;
+
+        private int count;
+
+        private int sinceRecompute;
+
+        private long cachedPercentile = -1;
+
+        private double cachedQuantile = Double.NaN;
+
+        private LatencyWindow(int size) {
+            this.samples = new long[Math.max(1, size)];
+        }
+
+        private synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+            sinceRecompute++;
+        }
+
+        /**
+         * @return 指定分位数，样本不足时返回 -1
+         */
+        private synchronized long percentile(double quantile, int minSamples) {
+            if (count < Math.max(1, minSamples)) {
+                return -1;
+            }
+            if (cachedPercentile < 0 || sinceRecompute >= RECOMPUTE_INTERVAL || quantile != cachedQuantile) {
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(quantile * count) - 1;
+                cachedPercentile = sorted[Math.clamp(index, 0, count - 1)];
+                cachedQuantile = quantile;
+                sinceRecompute = 0;
+            }
+            return cachedPercentile;
+        }
+    }
+}
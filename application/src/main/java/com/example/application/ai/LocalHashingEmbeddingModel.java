@@ -0,0 +1,90 @@
+package com.example.application.ai;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 本地哈希向量模型
+ * 把文本的字符二元组、三元组按特征哈希投影到定长向量并做 L2 归一化，
+ * 不理解语义，但能识别标点、空白、个别字词不同的近似问题，无需网络，可替代远程向量模型
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+public class LocalHashingEmbeddingModel implements EmbeddingModel {
+
+    private final int dimensions;
+
+    public LocalHashingEmbeddingModel(int dimensions) {
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("向量维度必须大于0");
+        }
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        List<String> instructions = request.getInstructions();
+        List<Embedding> embeddings = new ArrayList<>(instructions.size());
+        for (int i = 0; i < instructions.size(); i++) {
+            embeddings.add(new Embedding(embed(instructions.get(i)), i));
+        }
+        return new EmbeddingResponse(embeddings);
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimensions];
+        String normalized = normalize(text);
+        for (int n = 2; n <= 3; n++) {
+            for (int i = 0; i + n <= normalized.length(); i++) {
+                int hash = MurmurHash.hash32(normalized.substring(i, i + n));
+                // 最高位决定符号，降低哈希冲突带来的偏差
+                vector[Math.floorMod(hash, dimensions)] += hash < 0 ? -1f : 1f;
+            }
+        }
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm > 0) {
+            float scale = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < dimensions; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return embed(document.getText());
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * 去掉标点和空白并转小写，只保留字母、数字和文字
+     */
+    private String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(text.length());
+        text.toLowerCase(Locale.ROOT).codePoints()
+                .filter(Character::isLetterOrDigit)
+                .forEach(builder::appendCodePoint);
+        return builder.toString();
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.application.ai;
+
+import com.example.application.config.ChatResponseCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 无状态聊天响应缓存
+ * 第一层按规范化后的提示词精确匹配；未命中时计算提示词向量，
+ * 在已缓存的提示词向量中查找余弦相似度超过阈值的最相近一条作为近似命中。
+ * 两层共用同一个 Caffeine 缓存，容量和过期时间一致，淘汰时同步移除向量索引。
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SemanticResponseCache {
+
+    private final ChatResponseCacheProperties properties;
+
+    private final EmbeddingModel embeddingModel;
+
+    /**
+     * 规范化提示词 -> 缓存的响应
+     */
+    private final Cache<String, CachedResponse> responses;
+
+    /**
+     * 规范化提示词 -> 归一化后的提示词向量，与 responses 保持一致
+     */
+    private final Map<String, float[]> embeddings = new ConcurrentHashMap<>();
+
+    private final Counter exactHits;
+
+    private final Counter semanticHits;
+
+    private final Counter misses;
+
+    private final Timer lookupTimer;
+
+    /**
+     * 命中缓存节省的上游耗时，按该条缓存生成时的实际上游耗时累计
+     */
+    private final LongAdder savedNanos = new LongAdder();
+
+    public SemanticResponseCache(ChatResponseCacheProperties properties,
+                                 ObjectProvider<EmbeddingModel> embeddingModelProvider,
+                                 MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.embeddingModel = properties.getEmbeddingSource() == ChatResponseCacheProperties.EmbeddingSource.MODEL
+                ? embeddingModelProvider.getObject()
+                : new LocalHashingEmbeddingModel(properties.getLocalDimensions());
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .executor(Runnable::run)
+                .removalListener(this::onRemoval)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "chatResponses");
+        this.exactHits = requestCounter(meterRegistry, "exact_hit");
+        this.semanticHits = requestCounter(meterRegistry, "semantic_hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        this.lookupTimer = Timer.builder("ai.chat.cache.lookup")
+                .description("响应缓存查找耗时，包含计算提示词向量")
+                .register(meterRegistry);
+        Gauge.builder("ai.chat.cache.hit.ratio", this, SemanticResponseCache::hitRatio)
+                .description("响应缓存命中率")
+                .register(meterRegistry);
+        FunctionCounter.builder("ai.chat.cache.saved.latency", savedNanos, adder -> adder.sum() / 1e9)
+                .description("命中缓存节省的上游耗时")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        log.info("聊天响应缓存: enabled={}, maximumSize={}, ttl={}, semanticEnabled={}, threshold={}, embeddingSource={}",
+                properties.isEnabled(), properties.getMaximumSize(), properties.getTtl(),
+                properties.isSemanticEnabled(), properties.getSimilarityThreshold(), properties.getEmbeddingSource());
+    }
+
+    /**
+     * 优先从缓存返回响应，未命中时调用上游并缓存结果
+     *
+     * @param prompt 提示词
+     * @param upstream 上游调用
+     * @return 响应
+     */
+    public String getOrCompute(String prompt, Supplier<String> upstream) {
+        if (!properties.isEnabled() || !StringUtils.hasText(prompt)) {
+            return upstream.get();
+        }
+        long lookupStart = System.nanoTime();
+        String key = normalize(prompt);
+        CachedResponse exact = responses.getIfPresent(key);
+        if (Objects.nonNull(exact)) {
+            lookupTimer.record(System.nanoTime() - lookupStart, TimeUnit.NANOSECONDS);
+            return hit(exactHits, exact);
+        }
+        float[] embedding = properties.isSemanticEnabled() ? embed(prompt) : null;
+        CachedResponse similar = Objects.nonNull(embedding) ? findSimilar(embedding) : null;
+        lookupTimer.record(System.nanoTime() - lookupStart, TimeUnit.NANOSECONDS);
+        if (Objects.nonNull(similar)) {
+            return hit(semanticHits, similar);
+        }
+
+        misses.increment();
+        long upstreamStart = System.nanoTime();
+        String response = upstream.get();
+        long upstreamNanos = System.nanoTime() - upstreamStart;
+        if (StringUtils.hasText(response)) {
+            if (Objects.nonNull(embedding)) {
+                embeddings.put(key, embedding);
+            }
+            responses.put(key, new CachedResponse(response, upstreamNanos));
+        }
+        return response;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        responses.invalidateAll();
+        embeddings.clear();
+    }
+
+    private String hit(Counter counter, CachedResponse cached) {
+        counter.increment();
+        savedNanos.add(cached.upstreamNanos());
+        return cached.response();
+    }
+
+    /**
+     * 线性扫描全部向量，返回相似度最高且超过阈值的缓存响应
+     */
+    private CachedResponse findSimilar(float[] embedding) {
+        String bestKey = null;
+        double bestScore = properties.getSimilarityThreshold();
+        for (Map.Entry<String, float[]> entry : embeddings.entrySet()) {
+            double score = dot(embedding, entry.getValue());
+            if (score >= bestScore) {
+                bestScore = score;
+                bestKey = entry.getKey();
+            }
+        }
+        return Objects.isNull(bestKey) ? null : responses.getIfPresent(bestKey);
+    }
+
+    /**
+     * 计算归一化后的提示词向量，向量服务异常时退化为只做精确匹配
+     */
+    private float[] embed(String prompt) {
+        try {
+            float[] vector = embeddingModel.embed(prompt);
+            double norm = Math.sqrt(dot(vector, vector));
+            if (norm == 0) {
+                return null;
+            }
+            float[] normalized = new float[vector.length];
+            for (int i = 0; i < vector.length; i++) {
+                normalized[i] = (float) (vector[i] / norm);
+            }
+            return normalized;
+        } catch (RuntimeException e) {
+            log.warn("计算提示词向量失败，本次只做精确匹配", e);
+            return null;
+        }
+    }
+
+    private static double dot(float[] a, float[] b) {
+        if (a.length != b.length) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    /**
+     * 精确匹配键：去掉首尾空白并合并连续空白
+     */
+    private static String normalize(String prompt) {
+        return prompt.strip().replaceAll("\\s+", " ");
+    }
+
+    private double hitRatio() {
+        double hits = exactHits.count() + semanticHits.count();
+        double total = hits + misses.count();
+        return total == 0 ? 0 : hits / total;
+    }
+
+    private void onRemoval(String key, CachedResponse value, RemovalCause cause) {
+        // 同一键覆盖写入时向量已先行更新，不能移除
+        if (Objects.nonNull(key) && cause != RemovalCause.REPLACED) {
+            embeddings.remove(key);
+        }
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("ai.chat.cache.requests")
+                .description("响应缓存请求数")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 缓存的响应
+     *
+     * @param response 响应内容
+     * @param upstreamNanos 生成该响应时的上游耗时
+     */
+    private record CachedResponse(String response, long upstreamNanos) {
+    }
+}
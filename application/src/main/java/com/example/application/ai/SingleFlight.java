@@ -0,0 +1,98 @@
+package com.example.application.ai;
+
+import com.example.domain.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 相同键的并发调用合并
+ * 同一时刻相同键只有一个调用真正执行，其余调用在各自的截止时间内等待并共享它的结果或异常；
+ * 调用结束后立即移除，不缓存结果。
+ *
+ * @param <K> 键类型
+ * @param <V> 结果类型
+ * @author Gemini
+ * @since 1.0.0
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter issued;
+
+    private final Counter coalesced;
+
+    /**
+     * 构造函数
+     *
+     * @param name 名称，作为指标的 name 标签
+     * @param meterRegistry 指标注册表
+     */
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.issued = Counter.builder("ai.chat.singleflight.calls")
+                .description("合并后实际发出的调用数")
+                .tag("name", name)
+                .tag("result", "issued")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("ai.chat.singleflight.calls")
+                .description("被合并到进行中调用的请求数")
+                .tag("name", name)
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("ai.chat.singleflight.inflight", inFlight, ConcurrentHashMap::size)
+                .description("进行中的不同键数量")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 执行调用，相同键已有调用进行中时等待其结果
+     * 等待不超过调用方自己的截止时间，超时只影响当前调用方，进行中的调用和其他等待者不受影响
+     *
+     * @param key 键
+     * @param deadline 调用方的截止时间
+     * @param call 实际调用
+     * @return 调用结果
+     * @throws BusinessException 截止时间内未等到进行中的调用结束时抛出 504
+     */
+    public V execute(K key, ChatDeadline deadline, Supplier<V> call) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            coalesced.increment();
+            try {
+                return existing.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                throw BusinessException.timeout("AI 服务调用超时");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw BusinessException.timeout("AI 服务调用被中断");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new CompletionException(e.getCause());
+            }
+        }
+        issued.increment();
+        try {
+            V value = call.get();
+            own.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.example.application.config;
 
+import com.example.application.ai.AdaptiveConcurrencyLimiter;
+import com.example.application.ai.ChatMetricsAdvisor;
+import com.example.application.ai.ConcurrencyLimitAdvisor;
+import com.example.application.ai.FakeChatModel;
+import com.example.application.ai.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
 
+import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -21,24 +28,77 @@ public class AiConfig {
      * 创建并配置一个无状态的 ChatClient Bean
      * 
      * @param builder 自动注入的 ChatClient.Builder
+     * @param limiterProperties 并发限制配置
+     * @param meterRegistry 指标注册表
      * @return 配置好的无状态 ChatClient Bean
      */
     @Bean
     @Primary
-    public ChatClient statelessChatClient(ChatClient.Builder builder) {
-        return builder.build();
+    public ChatClient statelessChatClient(ChatClient.Builder builder, ChatLimiterProperties limiterProperties,
+                                          MeterRegistry meterRegistry) {
+        return withConcurrencyLimit(withMetrics(builder, "stateless", meterRegistry),
+                "stateless", limiterProperties, meterRegistry).build();
     }
 
     /**
-     * 创建并配置一个有状态的 ChatClient Bean，支持上下文记忆
+     * 创建并配置一个用于上下文聊天的 ChatClient Bean
+     * 不挂载记忆 Advisor，历史由 ChatContextAssembler 从会话存储按token预算组装后随请求传入
      * 
      * @param builder 自动注入的 ChatClient.Builder
+     * @param limiterProperties 并发限制配置
+     * @param meterRegistry 指标注册表
      * @return 配置好的有状态 ChatClient Bean
      */
     @Bean
     @Qualifier("contextualChatClient") 
-    public ChatClient contextualChatClient(ChatClient.Builder builder) {
-        return builder.build();
+    public ChatClient contextualChatClient(ChatClient.Builder builder, ChatLimiterProperties limiterProperties,
+                                           MeterRegistry meterRegistry) {
+        return withConcurrencyLimit(withMetrics(builder, "contextual", meterRegistry),
+                "contextual", limiterProperties, meterRegistry).build();
+    }
+
+    /**
+     * 无状态聊天的并发请求合并，相同模型参数和消息的请求共享同一次上游调用
+     * 
+     * @param meterRegistry 指标注册表
+     * @return 请求合并器
+     */
+    @Bean
+    public SingleFlight<String, String> statelessChatSingleFlight(MeterRegistry meterRegistry) {
+        return new SingleFlight<>("stateless", meterRegistry);
+    }
+
+    /**
+     * 本地模拟大模型，开启后替换 DashScope，用于本地压测
+     * 
+     * @param properties 模拟模型配置
+     * @return 模拟大模型
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "chat.fake-model", name = "enabled", havingValue = "true")
+    public ChatModel fakeChatModel(FakeChatModelProperties properties) {
+        return new FakeChatModel(properties);
+    }
+
+    /**
+     * 为 ChatClient 挂载调用耗时和 token 数指标
+     */
+    private ChatClient.Builder withMetrics(ChatClient.Builder builder, String name, MeterRegistry meterRegistry) {
+        return builder.defaultAdvisors(new ChatMetricsAdvisor(name, meterRegistry));
+    }
+
+    /**
+     * 为 ChatClient 挂载独立的自适应并发限制器
+     */
+    private ChatClient.Builder withConcurrencyLimit(ChatClient.Builder builder, String name,
+                                                    ChatLimiterProperties limiterProperties,
+                                                    MeterRegistry meterRegistry) {
+        if (limiterProperties.isEnabled()) {
+            builder.defaultAdvisors(new ConcurrencyLimitAdvisor(
+                    new AdaptiveConcurrencyLimiter(name, limiterProperties, meterRegistry)));
+        }
+        return builder;
     }
 
 }
@@ -0,0 +1,34 @@
+package com.example.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 上下文聊天的历史组装配置
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "chat.context")
+public class ChatContextProperties {
+
+    /**
+     * 历史消息加当前问题的token预算，超出时从最早的一轮对话开始丢弃
+     */
+    private int tokenBudget = 3_000;
+
+    /**
+     * 最多缓存已组装历史的会话数
+     */
+    private long cacheMaximumSize = 10_000;
+
+    /**
+     * 已组装历史空闲多久后淘汰，不应超过会话存储的空闲淘汰时间
+     */
+    private Duration cacheExpireAfterAccess = Duration.ofMinutes(30);
+}
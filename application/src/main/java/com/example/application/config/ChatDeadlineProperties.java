@@ -0,0 +1,29 @@
+package com.example.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 聊天请求截止时间配置
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "chat.deadline")
+public class ChatDeadlineProperties {
+
+    /**
+     * 请求未指定超时时的默认超时预算
+     */
+    private Duration defaultTimeout = Duration.ofSeconds(60);
+
+    /**
+     * 请求可指定的最大超时预算
+     */
+    private Duration maxTimeout = Duration.ofMinutes(5);
+}
@@ -0,0 +1,54 @@
+package com.example.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 聊天对冲请求配置
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "chat.hedging")
+public class ChatHedgingProperties {
+
+    /**
+     * 是否开启对冲请求
+     */
+    private boolean enabled = false;
+
+    /**
+     * 首次调用耗时超过近期调用耗时的该分位数时发出对冲请求
+     */
+    private double percentile = 0.95;
+
+    /**
+     * 对冲延迟下界
+     */
+    private Duration minDelay = Duration.ofMillis(200);
+
+    /**
+     * 对冲延迟上界，样本不足时也使用该值
+     */
+    private Duration maxDelay = Duration.ofSeconds(10);
+
+    /**
+     * 对冲请求数占总调用数的比例上限，防止上游整体变慢时负载翻倍
+     */
+    private double maxHedgeRatio = 0.1;
+
+    /**
+     * 计算分位数使用的最近调用样本数
+     */
+    private int windowSize = 1024;
+
+    /**
+     * 样本数达到该值后才按分位数计算对冲延迟
+     */
+    private int minSamples = 20;
+}
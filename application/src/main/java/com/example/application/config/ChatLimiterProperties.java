@@ -0,0 +1,59 @@
+package com.example.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 大模型调用自适应并发限制配置，每个 ChatClient 各自一个限制器
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "chat.limiter")
+public class ChatLimiterProperties {
+
+    /**
+     * 是否开启并发限制
+     */
+    private boolean enabled = true;
+
+    /**
+     * 初始并发上限
+     */
+    private int initialLimit = 20;
+
+    /**
+     * 并发上限的下界
+     */
+    private int minLimit = 2;
+
+    /**
+     * 并发上限的上界
+     */
+    private int maxLimit = 200;
+
+    /**
+     * 过载时并发上限的乘性缩减比例
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * 单次调用（流式为首个片段）超过该耗时视为过载
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+
+    /**
+     * 等待队列长度上限，队列已满时立即拒绝
+     */
+    private int maxQueueSize = 100;
+
+    /**
+     * 排队最长等待时间，超时后拒绝
+     */
+    private Duration maxWait = Duration.ofSeconds(5);
+}
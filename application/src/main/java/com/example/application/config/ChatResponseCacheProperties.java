@@ -0,0 +1,70 @@
+package com.example.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 无状态聊天响应缓存配置
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "chat.response-cache")
+public class ChatResponseCacheProperties {
+
+    /**
+     * 是否开启响应缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最多缓存的响应条数
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * 写入后过期时间
+     */
+    private Duration ttl = Duration.ofHours(1);
+
+    /**
+     * 是否开启近似问题匹配，关闭后只做精确匹配
+     */
+    private boolean semanticEnabled = true;
+
+    /**
+     * 近似匹配的余弦相似度阈值
+     */
+    private double similarityThreshold = 0.90;
+
+    /**
+     * 向量来源：LOCAL 本地哈希向量，无需网络；MODEL 使用容器中的 EmbeddingModel
+     */
+    private EmbeddingSource embeddingSource = EmbeddingSource.LOCAL;
+
+    /**
+     * 本地哈希向量的维度
+     */
+    private int localDimensions = 512;
+
+    /**
+     * 向量来源
+     */
+    public enum EmbeddingSource {
+
+        /**
+         * 本地哈希向量
+         */
+        LOCAL,
+
+        /**
+         * 容器中的 EmbeddingModel
+         */
+        MODEL
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 本地模拟大模型配置，用于在不访问 DashScope 的情况下压测限流、缓存等链路
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "chat.fake-model")
+public class FakeChatModelProperties {
+
+    /**
+     * 是否用模拟模型替换 DashScope
+     */
+    private boolean enabled = false;
+
+    /**
+     * 同步调用或流式首个片段的基础延迟
+     */
+    private Duration latency = Duration.ofMillis(500);
+
+    /**
+     * 延迟随机抖动范围
+     */
+    private Duration jitter = Duration.ofMillis(200);
+
+    /**
+     * 流式输出的片段数
+     */
+    private int streamChunks = 20;
+
+    /**
+     * 流式输出相邻片段的间隔
+     */
+    private Duration chunkInterval = Duration.ofMillis(20);
+
+    /**
+     * 模拟上游的并发容量，超出后按 429 失败，0 表示不限制
+     */
+    private int capacity = 0;
+}
@@ -0,0 +1,33 @@
+package com.example.application.config;
+
+import com.example.application.dto.BulkWriteMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalid ASIN 批量写入配置
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "invalid-asin.bulk")
+public class InvalidAsinBulkProperties {
+
+    /**
+     * 默认分片大小
+     */
+    private int chunkSize = 5000;
+
+    /**
+     * 单个请求允许的最大分片大小
+     */
+    private int maxChunkSize = 20000;
+
+    /**
+     * 请求未指定写入方式时的默认值
+     */
+    private BulkWriteMode writeMode = BulkWriteMode.INSERT;
+}
@@ -0,0 +1,74 @@
+package com.example.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Invalid ASIN 按条件清理（后台分片删除）配置
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "invalid-asin.purge")
+public class InvalidAsinPurgeProperties {
+
+    /**
+     * 本实例同时执行的最大任务数，超出时提交返回 429
+     */
+    private int maxConcurrentJobs = 2;
+
+    /**
+     * 新任务的初始分片大小
+     */
+    private int initialChunkSize = 1000;
+
+    /**
+     * 分片大小下限
+     */
+    private int minChunkSize = 100;
+
+    /**
+     * 分片大小上限
+     */
+    private int maxChunkSize = 5000;
+
+    /**
+     * 单片删除事务的目标耗时，超过时分片减半，低于一半时分片增大四分之一，以此限制每片的持锁时间
+     */
+    private Duration targetChunkLatency = Duration.ofMillis(100);
+
+    /**
+     * 每片之后的暂停时间与该片耗时之比，1.0 表示删除与暂停各占一半时间，给复制和其他写入留出余量
+     */
+    private double throttleRatio = 1.0;
+
+    /**
+     * 每片之后的最短暂停时间
+     */
+    private Duration minPause = Duration.ofMillis(20);
+
+    /**
+     * 每片之后的最长暂停时间
+     */
+    private Duration maxPause = Duration.ofSeconds(5);
+
+    /**
+     * 单片连续失败的最多尝试次数，之后任务标记为失败
+     */
+    private int maxChunkAttempts = 3;
+
+    /**
+     * 心跳超时时间，执行中的任务超过该时间未提交进度即视为执行实例已停止，可被接管
+     */
+    private Duration heartbeatTimeout = Duration.ofMinutes(2);
+
+    /**
+     * 扫描可接管任务的间隔
+     */
+    private Duration resumeInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,65 @@
+package com.example.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Invalid ASIN 按 ds 分区的保留配置
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "invalid-asin.retention")
+public class InvalidAsinRetentionProperties {
+
+    /**
+     * 是否定时维护分区，关闭时仍可通过接口手动维护
+     */
+    private boolean enabled = false;
+
+    /**
+     * 分区粒度
+     */
+    private Granularity granularity = Granularity.MONTH;
+
+    /**
+     * 数据保留天数，ds 早于今天减去该天数的整个分区被删除
+     */
+    private int retentionDays = 180;
+
+    /**
+     * 在当前周期之后预先创建的分区数，保证跨周期时新数据不落入 MAXVALUE 分区
+     */
+    private int premakePeriods = 2;
+
+    /**
+     * 启动后首次维护的延迟
+     */
+    private Duration initialDelay = Duration.ofMinutes(1);
+
+    /**
+     * 维护间隔
+     */
+    private Duration checkInterval = Duration.ofHours(1);
+
+    /**
+     * 分区粒度
+     */
+    public enum Granularity {
+
+        /**
+         * 每天一个分区，适合保留期较短、单日数据量大的场景
+         */
+        DAY,
+
+        /**
+         * 每月一个分区
+         */
+        MONTH
+    }
+}
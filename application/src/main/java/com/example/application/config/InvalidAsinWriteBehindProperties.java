@@ -0,0 +1,61 @@
+package com.example.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Invalid ASIN 异步写入（写后队列）配置
+ * 磁盘日志配置见 invalid-asin.write-behind.journal
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "invalid-asin.write-behind")
+public class InvalidAsinWriteBehindProperties {
+
+    /**
+     * 是否开启异步写入，开启后单条创建只入队并立即返回写入ID，由后台线程批量落库
+     */
+    private boolean enabled = false;
+
+    /**
+     * 队列容量，包含已出队但尚未落库的记录
+     */
+    private int capacity = 10_000;
+
+    /**
+     * 攒够该行数立即落库
+     */
+    private int batchSize = 500;
+
+    /**
+     * 队首记录最多等待多久落库
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * 队列已满时入队最多等待多久，超时返回 429
+     */
+    private Duration offerTimeout = Duration.ofMillis(50);
+
+    /**
+     * 整批落库遇到非瞬时错误时的最多尝试次数，之后逐行写入以隔离坏数据；
+     * 连接中断等瞬时错误不计入，退避后一直重试
+     */
+    private int maxFlushAttempts = 3;
+
+    /**
+     * 落库重试的退避基数，第 n 次重试等待 n 倍，最多10倍
+     */
+    private Duration retryBackoff = Duration.ofMillis(500);
+
+    /**
+     * 停机时等待队列清空的最长时间，超时未落库的记录保留在磁盘日志中
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+}
@@ -1,5 +1,7 @@
 package com.example.application.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,6 +13,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 /**
  * 线程池配置类
  * 定义和配置应用程序中使用的各种线程池
+ * 所有线程池都注册 executor.* 指标（任务执行耗时、排队耗时，线程池大小和队列长度），name 标签为 Bean 名称
  * 
  * @author Claude
  * @since 1.0.0
@@ -23,24 +26,27 @@ public class ThreadPoolConfig {
      * 使用Java 21的虚拟线程功能，适合I/O密集型任务
      * 使用自定义线程工厂为虚拟线程命名
      * 
+     * @param meterRegistry 指标注册表
      * @return 虚拟线程执行器服务
      */
     @Bean(name = "virtualThreadPool")
-    public ExecutorService virtualThreadPool() {
+    public ExecutorService virtualThreadPool(MeterRegistry meterRegistry) {
         ThreadFactory virtualThreadFactory = Thread.ofVirtual()
                 .name("virtual-worker-", 0)
                 .factory();
-        return Executors.newThreadPerTaskExecutor(virtualThreadFactory);
+        return ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newThreadPerTaskExecutor(virtualThreadFactory), "virtualThreadPool");
     }
     
     /**
      * 缓存线程池Bean
      * 根据需要创建新线程，适合短期异步任务
      * 
+     * @param meterRegistry 指标注册表
      * @return 缓存线程池执行器服务
      */
     @Bean(name = "cachedThreadPool")
-    public ExecutorService cachedThreadPool() {
-        return Executors.newCachedThreadPool();
+    public ExecutorService cachedThreadPool(MeterRegistry meterRegistry) {
+        return ExecutorServiceMetrics.monitor(meterRegistry, Executors.newCachedThreadPool(), "cachedThreadPool");
     }
 }
\ No newline at end of file
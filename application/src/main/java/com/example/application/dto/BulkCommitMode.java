@@ -0,0 +1,20 @@
+package com.example.application.dto;
+
+/**
+ * 批量写入的事务提交模式
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+public enum BulkCommitMode {
+
+    /**
+     * 所有分片在同一个事务中提交，任一分片失败全部回滚
+     */
+    ALL_OR_NOTHING,
+
+    /**
+     * 每个分片单独提交，失败时停止并返回已提交的进度，事务不会长时间占用连接
+     */
+    PER_CHUNK
+}
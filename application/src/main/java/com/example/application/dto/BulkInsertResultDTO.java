@@ -0,0 +1,128 @@
+package com.example.application.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量写入结果 DTO
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+public class BulkInsertResultDTO {
+
+    /**
+     * 提交模式
+     */
+    private BulkCommitMode commitMode;
+
+    /**
+     * 请求总行数
+     */
+    private int totalRows;
+
+    /**
+     * 写入方式
+     */
+    private BulkWriteMode writeMode;
+
+    /**
+     * 已提交的插入行数
+     */
+    private int insertedRows;
+
+    /**
+     * 已提交的更新行数，仅 UPSERT 方式
+     */
+    private int updatedRows;
+
+    /**
+     * 跳过的行数（批内重复或库中已存在且内容相同），仅 UPSERT 方式
+     */
+    private int skippedRows;
+
+    /**
+     * 分片大小
+     */
+    private int chunkSize;
+
+    /**
+     * 分片总数
+     */
+    private int totalChunks;
+
+    /**
+     * 已提交的分片数
+     */
+    private int committedChunks;
+
+    /**
+     * 失败的分片序号，从0开始，全部成功时为空
+     */
+    private Integer failedChunkIndex;
+
+    /**
+     * 失败原因
+     */
+    private String errorMessage;
+
+    /**
+     * 总耗时（毫秒）
+     */
+    private long elapsedMillis;
+
+    /**
+     * 整体吞吐量（行/秒）
+     */
+    private double rowsPerSecond;
+
+    /**
+     * 各分片的执行情况
+     */
+    private List<ChunkResult> chunks = new ArrayList<>();
+
+    /**
+     * 单个分片的执行情况
+     */
+    @Data
+    public static class ChunkResult {
+
+        /**
+         * 分片序号，从0开始
+         */
+        private int index;
+
+        /**
+         * 写入行数（插入加更新）
+         */
+        private int rows;
+
+        /**
+         * 插入行数
+         */
+        private int inserted;
+
+        /**
+         * 更新行数
+         */
+        private int updated;
+
+        /**
+         * 跳过行数
+         */
+        private int skipped;
+
+        /**
+         * 耗时（毫秒）
+         */
+        private long elapsedMillis;
+
+        /**
+         * 吞吐量（行/秒）
+         */
+        private double rowsPerSecond;
+    }
+}
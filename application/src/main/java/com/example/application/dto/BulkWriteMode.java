@@ -0,0 +1,22 @@
+package com.example.application.dto;
+
+/**
+ * 批量写入方式
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+public enum BulkWriteMode {
+
+    /**
+     * 直接插入，自然键(租户ID, Profile ID, 站点, ASIN)已存在（不论 ds）或批内重复时拒绝，
+     * 整体提交时返回 409 并回滚，按分片提交时在结果中返回失败分片
+     */
+    INSERT,
+
+    /**
+     * 按自然键(租户ID, Profile ID, 站点, ASIN)幂等写入：批内去重，已存在且内容相同的跳过，
+     * 内容不同的更新，其余插入；重试同一批数据不会产生重复记录
+     */
+    UPSERT
+}
@@ -0,0 +1,138 @@
+package com.example.application.dto;
+
+/**
+ * 流式聊天事件DTO
+ * 生成过程中每个增量片段对应一个事件，结束时再发送一个携带统计信息的完成事件
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+public class ChatStreamEventDto {
+
+    /**
+     * 会话ID，无状态聊天为空
+     */
+    private String sessionId;
+
+    /**
+     * 本次增量的文本片段，完成事件为空
+     */
+    private String content;
+
+    /**
+     * 是否为完成事件
+     */
+    private boolean done;
+
+    /**
+     * 首个片段到达耗时（毫秒），仅完成事件携带
+     */
+    private Long timeToFirstTokenMillis;
+
+    /**
+     * 生成的token数，模型未返回用量时按片段数估算，仅完成事件携带
+     */
+    private Integer completionTokens;
+
+    /**
+     * 生成速度（token/秒），仅完成事件携带
+     */
+    private Double tokensPerSecond;
+
+    public ChatStreamEventDto() {
+    }
+
+    /**
+     * 创建增量事件
+     *
+     * @param sessionId 会话ID
+     * @param content 文本片段
+     * @return 增量事件
+     */
+    public static ChatStreamEventDto token(String sessionId, String content) {
+        ChatStreamEventDto event = new ChatStreamEventDto();
+        event.setSessionId(sessionId);
+        event.setContent(content);
+        return event;
+    }
+
+    /**
+     * 创建完成事件
+     *
+     * @param sessionId 会话ID
+     * @param timeToFirstTokenMillis 首个片段到达耗时
+     * @param completionTokens 生成的token数
+     * @param tokensPerSecond 生成速度
+     * @return 完成事件
+     */
+    public static ChatStreamEventDto done(String sessionId, Long timeToFirstTokenMillis,
+                                          Integer completionTokens, Double tokensPerSecond) {
+        ChatStreamEventDto event = new ChatStreamEventDto();
+        event.setSessionId(sessionId);
+        event.setDone(true);
+        event.setTimeToFirstTokenMillis(timeToFirstTokenMillis);
+        event.setCompletionTokens(completionTokens);
+        event.setTokensPerSecond(tokensPerSecond);
+        return event;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public void setDone(boolean done) {
+        this.done = done;
+    }
+
+    public Long getTimeToFirstTokenMillis() {
+        return timeToFirstTokenMillis;
+    }
+
+    public void setTimeToFirstTokenMillis(Long timeToFirstTokenMillis) {
+        this.timeToFirstTokenMillis = timeToFirstTokenMillis;
+    }
+
+    public Integer getCompletionTokens() {
+        return completionTokens;
+    }
+
+    public void setCompletionTokens(Integer completionTokens) {
+        this.completionTokens = completionTokens;
+    }
+
+    public Double getTokensPerSecond() {
+        return tokensPerSecond;
+    }
+
+    public void setTokensPerSecond(Double tokensPerSecond) {
+        this.tokensPerSecond = tokensPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return "ChatStreamEventDto{" +
+                "sessionId='" + sessionId + '\'' +
+                ", content='" + content + '\'' +
+                ", done=" + done +
+                ", timeToFirstTokenMillis=" + timeToFirstTokenMillis +
+                ", completionTokens=" + completionTokens +
+                ", tokensPerSecond=" + tokensPerSecond +
+                '}';
+    }
+}
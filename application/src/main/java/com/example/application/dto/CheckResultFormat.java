@@ -0,0 +1,20 @@
+package com.example.application.dto;
+
+/**
+ * 批量判断ASIN的结果格式
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+public enum CheckResultFormat {
+
+    /**
+     * 返回命中的ASIN列表，已去重，按请求中首次出现的顺序排列
+     */
+    HITS,
+
+    /**
+     * 返回与请求列表逐位对应的位图，第 i 位为 1 表示请求中第 i 个ASIN为无效ASIN
+     */
+    BITMAP
+}
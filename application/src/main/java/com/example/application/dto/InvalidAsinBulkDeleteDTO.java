@@ -0,0 +1,32 @@
+package com.example.application.dto;
+
+import lombok.Data;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * 按ID列表批量删除无效ASIN的请求 DTO
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+public class InvalidAsinBulkDeleteDTO {
+
+    /**
+     * 租户id，不属于该租户的ID不会被删除
+     */
+    @NotBlank(message = "租户ID不能为空")
+    @Size(max = 255, message = "租户ID长度不能超过255")
+    private String tenantId;
+
+    /**
+     * 待删除记录的主键ID
+     */
+    @NotEmpty(message = "ID列表不能为空")
+    @Size(max = 50000, message = "单次最多删除50000条记录")
+    private List<Long> ids;
+}
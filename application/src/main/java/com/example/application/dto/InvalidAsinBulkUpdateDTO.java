@@ -0,0 +1,58 @@
+package com.example.application.dto;
+
+import lombok.Data;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * 按ID列表批量更新无效ASIN的请求 DTO
+ * 只允许修改不参与唯一键的字段，为空的字段保持不变
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+public class InvalidAsinBulkUpdateDTO {
+
+    /**
+     * 租户id，不属于该租户的ID不会被更新
+     */
+    @NotBlank(message = "租户ID不能为空")
+    @Size(max = 255, message = "租户ID长度不能超过255")
+    private String tenantId;
+
+    /**
+     * 待更新记录的主键ID
+     */
+    @NotEmpty(message = "ID列表不能为空")
+    @Size(max = 50000, message = "单次最多更新50000条记录")
+    private List<Long> ids;
+
+    /**
+     * 应用实例id
+     */
+    @Size(max = 255, message = "应用实例ID长度不能超过255")
+    private String applyInstanceId;
+
+    /**
+     * 模板id
+     */
+    @Size(max = 255, message = "模板ID长度不能超过255")
+    private String templateId;
+
+    /**
+     * 卖家id
+     */
+    @Size(max = 255, message = "卖家ID长度不能超过255")
+    private String sellerId;
+
+    /**
+     * 时间，格式 yyyyMMdd，即所在的日期分区
+     */
+    @Pattern(regexp = "\\d{8}", message = "ds格式必须为yyyyMMdd")
+    private String ds;
+}
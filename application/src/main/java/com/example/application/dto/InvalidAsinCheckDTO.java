@@ -0,0 +1,38 @@
+package com.example.application.dto;
+
+import lombok.Data;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * 批量校验ASIN是否为无效ASIN的请求 DTO
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+public class InvalidAsinCheckDTO {
+
+    /**
+     * 租户id
+     */
+    @NotBlank(message = "租户ID不能为空")
+    @Size(max = 255, message = "租户ID长度不能超过255")
+    private String tenantId;
+
+    /**
+     * 站点，为空时不限制站点
+     */
+    @Size(max = 255, message = "站点ID长度不能超过255")
+    private String marketplaceId;
+
+    /**
+     * 待校验的卖家ASIN
+     */
+    @NotEmpty(message = "卖家ASIN列表不能为空")
+    @Size(max = 50000, message = "单次最多校验50000个ASIN")
+    private List<String> sellerAsins;
+}
@@ -0,0 +1,51 @@
+package com.example.application.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量判断ASIN的结果 DTO
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+public class InvalidAsinCheckResultDTO {
+
+    /**
+     * 结果格式
+     */
+    private CheckResultFormat format;
+
+    /**
+     * 请求中的ASIN个数，含重复
+     */
+    private int total;
+
+    /**
+     * 去重后的ASIN个数
+     */
+    private int distinct;
+
+    /**
+     * 命中的ASIN个数，按去重后计算
+     */
+    private int hitCount;
+
+    /**
+     * 命中的ASIN，format 为 HITS 时返回
+     */
+    private List<String> hits;
+
+    /**
+     * Base64 编码的位图，format 为 BITMAP 时返回。
+     * 第 i 位对应请求中第 i 个ASIN，位于第 i / 8 个字节的第 i % 8 位（低位在前），末尾不足一个字节的高位补 0
+     */
+    private String bitmap;
+
+    /**
+     * 判断耗时（毫秒）
+     */
+    private long elapsedMillis;
+}
@@ -0,0 +1,65 @@
+package com.example.application.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 无效ASIN记录数统计 DTO
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+public class InvalidAsinCountStatsDTO {
+
+    /**
+     * 租户id
+     */
+    private String tenantId;
+
+    /**
+     * Profile ID，为空表示不限
+     */
+    private String profileId;
+
+    /**
+     * 站点ID，为空表示不限
+     */
+    private String marketplaceId;
+
+    /**
+     * 记录数
+     */
+    private long count;
+
+    /**
+     * 是否为数据库精确计数
+     */
+    private boolean exact;
+
+    /**
+     * 误差上界，真实值落在 count ± maxError 内
+     */
+    private long maxError;
+
+    /**
+     * 计数器最近一次精确重算完成的时间
+     */
+    private LocalDateTime recountedAt;
+
+    /**
+     * 距最近一次精确重算的毫秒数
+     */
+    private long ageMillis;
+
+    /**
+     * 最近一次精确重算耗时（毫秒）
+     */
+    private long lastRecountMillis;
+
+    /**
+     * 定时重算间隔（毫秒），即 ageMillis 的正常上界
+     */
+    private long recountIntervalMillis;
+}
@@ -0,0 +1,36 @@
+package com.example.application.dto;
+
+import com.example.domain.model.InvalidAsinView;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Invalid ASIN 游标分页结果 DTO
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+public class InvalidAsinCursorPageDTO {
+
+    /**
+     * 当前页数据，按创建时间、ID倒序
+     */
+    private List<InvalidAsinView> records;
+
+    /**
+     * 下一页游标，没有下一页时为空
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有下一页
+     */
+    private boolean hasMore;
+
+    /**
+     * 总数，仅 withCount=true 时返回
+     */
+    private Long total;
+}
@@ -2,6 +2,7 @@ package com.example.application.dto;
 
 import lombok.Data;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 
 import java.time.LocalDateTime;
@@ -70,8 +71,18 @@ public class InvalidAsinDTO {
     private LocalDateTime createTime;
 
     /**
-     * 时间
+     * 时间，格式 yyyyMMdd，即所在的日期分区
      */
-    @Size(max = 50, message = "时间字段长度不能超过50")
+    @Pattern(regexp = "\\d{8}", message = "ds格式必须为yyyyMMdd")
     private String ds;
+
+    /**
+     * 乐观锁版本号，查询时返回；更新时传入则只在版本一致时生效，不传则直接覆盖
+     */
+    private Integer version;
+
+    /**
+     * 异步写入ID，仅在开启异步写入时由创建接口返回，此时主键尚未生成
+     */
+    private String ingestionId;
 }
\ No newline at end of file
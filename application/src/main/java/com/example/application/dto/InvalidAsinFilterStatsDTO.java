@@ -0,0 +1,68 @@
+package com.example.application.dto;
+
+import lombok.Data;
+
+/**
+ * 无效ASIN布隆过滤器统计信息 DTO
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+public class InvalidAsinFilterStatsDTO {
+
+    /**
+     * 租户id
+     */
+    private String tenantId;
+
+    /**
+     * 过滤器是否已构建完成
+     */
+    private boolean ready;
+
+    /**
+     * 位数组大小（bit）
+     */
+    private long bitSize;
+
+    /**
+     * 哈希函数个数
+     */
+    private int hashFunctions;
+
+    /**
+     * 构建时预估的元素个数
+     */
+    private long expectedInsertions;
+
+    /**
+     * 估算的元素个数
+     */
+    private long approximateElementCount;
+
+    /**
+     * 估算的误判率
+     */
+    private double expectedFpp;
+
+    /**
+     * 线上观测到的误判率
+     */
+    private double observedFpp;
+
+    /**
+     * 构建以来的删除次数
+     */
+    private long deletionsSinceBuild;
+
+    /**
+     * 最近一次构建耗时（毫秒）
+     */
+    private long lastBuildMillis;
+
+    /**
+     * 最近一次构建完成时间戳
+     */
+    private long builtAt;
+}
@@ -0,0 +1,33 @@
+package com.example.application.dto;
+
+import lombok.Data;
+
+/**
+ * Invalid ASIN 表分区 DTO
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+public class InvalidAsinPartitionDTO {
+
+    /**
+     * 分区名
+     */
+    private String name;
+
+    /**
+     * 分区上界（不含），格式 yyyyMMdd，为空表示 MAXVALUE
+     */
+    private String lessThan;
+
+    /**
+     * 估算行数
+     */
+    private Long estimatedRows;
+
+    /**
+     * 数据和索引占用的字节数
+     */
+    private Long dataBytes;
+}
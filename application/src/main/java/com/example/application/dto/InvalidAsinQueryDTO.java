@@ -4,6 +4,7 @@ import lombok.Data;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
 
 /**
  * Invalid ASIN 查询条件 DTO
@@ -39,6 +40,18 @@ public class InvalidAsinQueryDTO {
     @Size(max = 255, message = "卖家ASIN长度不能超过255")
     private String sellerAsin;
 
+    /**
+     * 日期分区起始（含），格式 yyyyMMdd，与 dsTo 一起限定查询只扫描对应分区
+     */
+    @Pattern(regexp = "\\d{8}", message = "dsFrom格式必须为yyyyMMdd")
+    private String dsFrom;
+
+    /**
+     * 日期分区截止（含），格式 yyyyMMdd
+     */
+    @Pattern(regexp = "\\d{8}", message = "dsTo格式必须为yyyyMMdd")
+    private String dsTo;
+
     /**
      * 页码，从1开始
      */
@@ -50,4 +63,15 @@ public class InvalidAsinQueryDTO {
      */
     @Min(value = 1, message = "每页大小必须大于0")
     private Integer pageSize = 20;
+
+    /**
+     * 游标，取自上一页返回的 nextCursor，为空时从第一页开始，仅游标分页使用
+     */
+    @Size(max = 255, message = "游标长度不能超过255")
+    private String cursor;
+
+    /**
+     * 是否统计总数，仅游标分页使用，大租户统计总数代价较高，建议只在第一页开启
+     */
+    private Boolean withCount = false;
 }
\ No newline at end of file
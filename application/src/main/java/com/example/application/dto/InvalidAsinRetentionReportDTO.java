@@ -0,0 +1,50 @@
+package com.example.application.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Invalid ASIN 分区维护结果 DTO
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+public class InvalidAsinRetentionReportDTO {
+
+    /**
+     * 表是否已分区，未分区时不做任何维护
+     */
+    private boolean partitioned;
+
+    /**
+     * 保留截止日期 yyyyMMdd，上界不超过该日期的分区被删除
+     */
+    private String cutoffDs;
+
+    /**
+     * 本次新建的分区
+     */
+    private List<String> createdPartitions;
+
+    /**
+     * 本次删除的分区
+     */
+    private List<String> droppedPartitions;
+
+    /**
+     * 删除分区的估算行数之和
+     */
+    private long droppedRows;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private long elapsedMillis;
+
+    /**
+     * 维护后的分区
+     */
+    private List<InvalidAsinPartitionDTO> partitions;
+}
@@ -0,0 +1,80 @@
+package com.example.application.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 租户无效ASIN内存快照统计 DTO
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+public class InvalidAsinSnapshotStatsDTO {
+
+    /**
+     * 租户id
+     */
+    private String tenantId;
+
+    /**
+     * 快照是否可用于查询
+     */
+    private boolean ready;
+
+    /**
+     * 是否有删除或修改待重载
+     */
+    private boolean stale;
+
+    /**
+     * 站点数
+     */
+    private int marketplaceCount;
+
+    /**
+     * 快照中的 (站点, ASIN) 个数
+     */
+    private long entries;
+
+    /**
+     * 估算的内存占用（字节）
+     */
+    private long memoryBytes;
+
+    /**
+     * 已同步到的最大 create_time
+     */
+    private LocalDateTime watermarkCreateTime;
+
+    /**
+     * 已同步到的最大 create_time 下的最大主键ID
+     */
+    private Long watermarkId;
+
+    /**
+     * 最近一次全量加载时间
+     */
+    private LocalDateTime loadedAt;
+
+    /**
+     * 最近一次成功同步的开始时间
+     */
+    private LocalDateTime refreshedAt;
+
+    /**
+     * 刷新延迟（毫秒）
+     */
+    private long lagMillis;
+
+    /**
+     * 最近一次同步耗时（毫秒）
+     */
+    private long lastRefreshMillis;
+
+    /**
+     * 最近一次同步扫描的行数
+     */
+    private long lastRefreshRows;
+}
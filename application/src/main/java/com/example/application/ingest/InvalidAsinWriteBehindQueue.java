@@ -0,0 +1,399 @@
+package com.example.application.ingest;
+
+import com.example.application.config.InvalidAsinWriteBehindProperties;
+import com.example.domain.exception.BusinessException;
+import com.example.domain.model.InvalidAsinEntity;
+import com.example.domain.repository.InvalidAsinIngestionJournal;
+import com.example.domain.repository.InvalidAsinRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invalid ASIN 写后队列
+ * 单条创建先追加到写入日志再入队，立即返回写入ID；后台线程在攒够 batchSize 行或队首等待超过
+ * flushInterval 时整批落库，成功后写入日志检查点。容量用信号量控制，已出队但尚未落库的记录也占用容量，
+ * 队列满时入队最多等待 offerTimeout，超时返回 429 实现背压。
+ * 新记录按 INSERT 落库，与同步创建一样不覆盖已有记录：入队前已由调用方拒绝已存在的自然键，
+ * 入队后落库前才出现的重复（并发的同步创建、队列中的重复提交）逐行隔离后写入死信日志。
+ * 只有可能已经提交过的记录按自然键 UPSERT：重启后重放的日志记录，以及遇到瞬时错误后重试的批次，
+ * 重复落库不会产生重复数据或误报冲突。
+ * 连接中断、锁等待超时等瞬时错误退避后整批重试，不丢数据；自然键冲突直接逐行写入，其他错误重试 maxFlushAttempts 次后逐行写入，
+ * 逐行结果即最终结果，单独写入仍失败的行写入死信日志后放弃，不再阻塞后续记录。
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "invalid-asin.write-behind", name = "enabled", havingValue = "true")
+public class InvalidAsinWriteBehindQueue {
+
+    private static final int MAX_BACKOFF_MULTIPLIER = 10;
+
+    private final InvalidAsinRepository invalidAsinRepository;
+
+    private final InvalidAsinIngestionJournal journal;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final InvalidAsinWriteBehindProperties properties;
+
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+
+    /**
+     * 剩余容量，记录落库或被放弃后才归还
+     */
+    private final Semaphore permits;
+
+    /**
+     * 保证序号分配、写日志和入队的顺序一致，检查点才能按序推进
+     */
+    private final Object enqueueLock = new Object();
+
+    /**
+     * 写入ID前缀，区分不同进程实例的序号
+     */
+    private final String idPrefix = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Thread writerThread;
+
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+    private final DistributionSummary flushSize;
+    private final Timer flushLatency;
+
+    private long sequence;
+
+    private volatile boolean running = true;
+
+    public InvalidAsinWriteBehindQueue(InvalidAsinRepository invalidAsinRepository,
+                                       InvalidAsinIngestionJournal journal,
+                                       TransactionTemplate transactionTemplate,
+                                       InvalidAsinWriteBehindProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this.invalidAsinRepository = invalidAsinRepository;
+        this.journal = journal;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+
+        List<InvalidAsinIngestionJournal.Entry> recovered = journal.recover();
+        long now = System.nanoTime();
+        for (InvalidAsinIngestionJournal.Entry entry : recovered) {
+            queue.add(new Pending(entry.sequence(), "recovered-" + entry.sequence(), entry.entity(), now, true));
+            sequence = Math.max(sequence, entry.sequence());
+        }
+        // 恢复的记录可能超过容量，此时信号量为负，新请求要等恢复数据落库后才能入队
+        this.permits = new Semaphore(properties.getCapacity() - recovered.size());
+
+        this.acceptedCounter = rowsCounter(meterRegistry, "accepted");
+        this.rejectedCounter = rowsCounter(meterRegistry, "rejected");
+        this.flushedCounter = rowsCounter(meterRegistry, "flushed");
+        this.failedCounter = rowsCounter(meterRegistry, "failed");
+        this.flushSize = DistributionSummary.builder("invalid.asin.write.behind.flush.size")
+                .description("每批落库行数")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("invalid.asin.write.behind.flush.latency")
+                .description("每批落库耗时，包含重试")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("invalid.asin.write.behind.queue.depth", this, InvalidAsinWriteBehindQueue::depth)
+                .description("已接收尚未落库的行数")
+                .register(meterRegistry);
+        Gauge.builder("invalid.asin.write.behind.queue.capacity", properties, InvalidAsinWriteBehindProperties::getCapacity)
+                .description("队列容量")
+                .register(meterRegistry);
+        Gauge.builder("invalid.asin.write.behind.oldest.age", this, InvalidAsinWriteBehindQueue::oldestAgeSeconds)
+                .description("队首记录已等待的时间")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        this.writerThread = Thread.ofPlatform().name("invalid-asin-write-behind").daemon().start(this::runWriter);
+        log.info("Invalid ASIN 异步写入已开启: capacity={}, batchSize={}, flushInterval={}, recovered={}",
+                properties.getCapacity(), properties.getBatchSize(), properties.getFlushInterval(), recovered.size());
+    }
+
+    /**
+     * 接收一条记录，返回时记录已写入日志并入队
+     *
+     * @param entity 已校验的实体
+     * @return 写入ID
+     * @throws BusinessException 队列已满或正在停机时抛出 429
+     */
+    public String submit(InvalidAsinEntity entity) {
+        if (!running) {
+            rejectedCounter.increment();
+            throw BusinessException.tooManyRequests("异步写入正在停止，请稍后重试");
+        }
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(properties.getOfferTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw BusinessException.threadError("等待写入队列被中断", e);
+        }
+        if (!acquired) {
+            rejectedCounter.increment();
+            throw BusinessException.tooManyRequests("写入队列已满，请稍后重试");
+        }
+        try {
+            synchronized (enqueueLock) {
+                long seq = ++sequence;
+                journal.append(seq, entity);
+                Pending pending = new Pending(seq, idPrefix + "-" + seq, entity, System.nanoTime(), false);
+                queue.add(pending);
+                acceptedCounter.increment();
+                return pending.ingestionId();
+            }
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 已接收尚未落库的行数
+     *
+     * @return 行数
+     */
+    public int depth() {
+        return properties.getCapacity() - permits.availablePermits();
+    }
+
+    /**
+     * 停机时停止接收新记录，等待队列清空；超时后中断写入线程，未落库的记录保留在磁盘日志中
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        try {
+            writerThread.join(properties.getShutdownTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            writerThread.interrupt();
+            log.warn("Invalid ASIN 异步写入停机超时，{} 条记录未落库", depth());
+        } else {
+            log.info("Invalid ASIN 异步写入已停止");
+        }
+    }
+
+    /**
+     * 写入线程：攒够一批或队首超时后落库，停机时清空队列后退出
+     */
+    private void runWriter() {
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        List<Pending> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (Objects.isNull(first)) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = first.enqueuedNanos() + flushIntervalNanos;
+                while (batch.size() < properties.getBatchSize()) {
+                    long remaining = deadline - System.nanoTime();
+                    // 积压时队首早已超时，只取已经在队列中的记录，不再等待
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (Objects.isNull(next)) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                if (!flush(batch)) {
+                    log.warn("Invalid ASIN 异步写入停机时数据库不可用，剩余记录保留在磁盘日志中");
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Invalid ASIN 异步写入线程异常", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 落库一批记录，成功或放弃后推进检查点并归还容量
+     *
+     * @return false 表示停机期间数据库不可用，记录未处理
+     */
+    private boolean flush(List<Pending> batch) throws InterruptedException {
+        long start = System.nanoTime();
+        int failed = 0;
+        int attempt = 0;
+        // 瞬时错误时提交结果未知，之后的重试按 UPSERT 写入
+        boolean maybeCommitted = false;
+        while (true) {
+            attempt++;
+            try {
+                boolean idempotent = maybeCommitted;
+                transactionTemplate.executeWithoutResult(status -> write(batch, idempotent));
+                break;
+            } catch (RuntimeException e) {
+                if (isTransient(e)) {
+                    if (!running) {
+                        return false;
+                    }
+                    maybeCommitted = true;
+                    log.warn("Invalid ASIN 异步写入整批落库遇到瞬时错误，第{}次重试: {}", attempt, e.getMessage());
+                    backoff(attempt);
+                    continue;
+                }
+                if (e instanceof DuplicateKeyException) {
+                    log.warn("Invalid ASIN 异步写入整批落库遇到已存在的自然键，改为逐行写入: {}", e.getMessage());
+                } else if (attempt < properties.getMaxFlushAttempts()) {
+                    log.warn("Invalid ASIN 异步写入整批落库失败，第{}次重试: {}", attempt, e.getMessage());
+                    backoff(attempt);
+                    continue;
+                } else {
+                    log.warn("Invalid ASIN 异步写入整批落库失败{}次，改为逐行写入", attempt, e);
+                }
+            }
+            failed = saveOneByOne(batch, maybeCommitted);
+            if (failed >= 0) {
+                break;
+            }
+            // 逐行写入中途遇到瞬时错误，已写入的行可重复 UPSERT，退避后重新整批写入
+            if (!running) {
+                return false;
+            }
+            maybeCommitted = true;
+            backoff(attempt);
+            attempt = 0;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        journal.checkpoint(batch.getLast().sequence());
+        permits.release(batch.size());
+        flushSize.record(batch.size());
+        flushLatency.record(elapsed, TimeUnit.NANOSECONDS);
+        flushedCounter.increment(batch.size() - failed);
+        failedCounter.increment(failed);
+        log.debug("Invalid ASIN 异步写入落库{}条, 失败{}条, 耗时{}ms", batch.size() - failed, failed,
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return true;
+    }
+
+    /**
+     * 在当前事务中写入记录：可能已提交过的记录按自然键 UPSERT，其余按 INSERT，自然键已存在时抛出 DuplicateKeyException
+     *
+     * @param pendings 待写入的记录
+     * @param idempotent 是否全部按 UPSERT 写入
+     */
+    private void write(List<Pending> pendings, boolean idempotent) {
+        List<InvalidAsinEntity> upserts = new ArrayList<>();
+        List<InvalidAsinEntity> inserts = new ArrayList<>();
+        for (Pending pending : pendings) {
+            if (idempotent || pending.replayed()) {
+                upserts.add(pending.entity());
+            } else {
+                inserts.add(pending.entity());
+            }
+        }
+        if (!upserts.isEmpty()) {
+            invalidAsinRepository.upsertAll(upserts);
+        }
+        if (!inserts.isEmpty()) {
+            invalidAsinRepository.batchSave(inserts);
+        }
+    }
+
+    /**
+     * 逐行写入以隔离坏数据和重复的自然键，单独写入仍失败的行写入死信日志后放弃
+     *
+     * @param idempotent 是否全部按 UPSERT 写入
+     * @return 失败行数；遇到瞬时错误时返回 -1，由调用方整批重试
+     */
+    private int saveOneByOne(List<Pending> batch, boolean idempotent) {
+        int failed = 0;
+        for (Pending pending : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(List.of(pending), idempotent));
+            } catch (RuntimeException e) {
+                if (isTransient(e)) {
+                    log.warn("Invalid ASIN 异步写入逐行落库遇到瞬时错误, ingestionId={}: {}",
+                            pending.ingestionId(), e.getMessage());
+                    return -1;
+                }
+                failed++;
+                log.error("Invalid ASIN 异步写入失败，写入死信日志, ingestionId={}, tenantId={}, sellerAsin={}",
+                        pending.ingestionId(), pending.entity().getTenantId(), pending.entity().getSellerAsin(), e);
+                journal.deadLetter(pending.sequence(), pending.entity(), String.valueOf(e.getMessage()));
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * 是否为连接中断、连接池耗尽、锁等待超时等重试可能成功的错误
+     */
+    private static boolean isTransient(Throwable e) {
+        for (Throwable cause = e; Objects.nonNull(cause); cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException || cause instanceof RecoverableDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTransientException || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void backoff(int attempt) throws InterruptedException {
+        // 数据库长时间不可用时重试次数不受限，等待时间封顶为 MAX_BACKOFF_MULTIPLIER 倍
+        Thread.sleep(properties.getRetryBackoff().multipliedBy(Math.clamp(attempt, 1, MAX_BACKOFF_MULTIPLIER)));
+    }
+
+    private double oldestAgeSeconds() {
+        Pending head = queue.peek();
+        return Objects.isNull(head) ? 0 : (System.nanoTime() - head.enqueuedNanos()) / 1_000_000_000.0;
+    }
+
+    private static Counter rowsCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("invalid.asin.write.behind.rows")
+                .description("异步写入行数")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 待落库记录
+     *
+     * @param sequence 日志序号
+     * @param ingestionId 写入ID
+     * @param entity 实体
+     * @param enqueuedNanos 入队时间
+     * @param replayed 是否为重启后从日志重放的记录，可能在上次停止前已经提交
+     */
+    private record Pending(long sequence, String ingestionId, InvalidAsinEntity entity, long enqueuedNanos,
+                           boolean replayed) {
+    }
+}
@@ -1,10 +1,21 @@
 package com.example.application.mapper;
 
 import com.example.application.dto.InvalidAsinDTO;
+import com.example.application.dto.InvalidAsinCountStatsDTO;
+import com.example.application.dto.InvalidAsinFilterStatsDTO;
+import com.example.application.dto.InvalidAsinPartitionDTO;
+import com.example.application.dto.InvalidAsinPurgeJobDTO;
 import com.example.application.dto.InvalidAsinQueryDTO;
+import com.example.application.dto.InvalidAsinSnapshotStatsDTO;
 import com.example.domain.model.InvalidAsinEntity;
+import com.example.domain.model.InvalidAsinCountStats;
+import com.example.domain.model.InvalidAsinFilterStats;
+import com.example.domain.model.InvalidAsinPartition;
+import com.example.domain.model.InvalidAsinPurgeJob;
 import com.example.domain.model.InvalidAsinQuery;
+import com.example.domain.model.InvalidAsinSnapshotStats;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 import java.util.List;
@@ -35,6 +46,7 @@ public interface InvalidAsinConvert {
      * @param entity 领域实体
      * @return 数据传输对象
      */
+    @Mapping(target = "ingestionId", ignore = true)
     InvalidAsinDTO entityToDto(InvalidAsinEntity entity);
 
     /**
@@ -43,6 +55,8 @@ public interface InvalidAsinConvert {
      * @param queryDTO 查询DTO
      * @return 领域查询对象
      */
+    @Mapping(target = "cursorCreateTime", ignore = true)
+    @Mapping(target = "cursorId", ignore = true)
     InvalidAsinQuery queryDtoToQuery(InvalidAsinQueryDTO queryDTO);
 
     /**
@@ -60,4 +74,52 @@ public interface InvalidAsinConvert {
      * @return 领域实体列表
      */
     List<InvalidAsinEntity> dtoListToEntityList(List<InvalidAsinDTO> dtoList);
-}
\ No newline at end of file
+
+    /**
+     * 过滤器统计信息 转 DTO
+     * 
+     * @param stats 过滤器统计信息
+     * @return 数据传输对象
+     */
+    InvalidAsinFilterStatsDTO filterStatsToDto(InvalidAsinFilterStats stats);
+
+    /**
+     * 记录数统计 转 DTO
+     * 
+     * @param stats 记录数统计
+     * @return 数据传输对象
+     */
+    InvalidAsinCountStatsDTO countStatsToDto(InvalidAsinCountStats stats);
+
+    /**
+     * 清理任务 转 DTO
+     * 
+     * @param job 清理任务
+     * @return 数据传输对象
+     */
+    InvalidAsinPurgeJobDTO purgeJobToDto(InvalidAsinPurgeJob job);
+
+    /**
+     * 内存快照统计 转 DTO
+     * 
+     * @param stats 内存快照统计
+     * @return 数据传输对象
+     */
+    InvalidAsinSnapshotStatsDTO snapshotStatsToDto(InvalidAsinSnapshotStats stats);
+
+    /**
+     * 内存快照统计列表 转 DTO列表
+     * 
+     * @param stats 内存快照统计列表
+     * @return 数据传输对象列表
+     */
+    List<InvalidAsinSnapshotStatsDTO> snapshotStatsToDtoList(List<InvalidAsinSnapshotStats> stats);
+
+    /**
+     * 表分区列表 转 DTO列表
+     * 
+     * @param partitions 表分区列表
+     * @return 数据传输对象列表
+     */
+    List<InvalidAsinPartitionDTO> partitionsToDtoList(List<InvalidAsinPartition> partitions);
+}
@@ -1,20 +1,43 @@
 package com.example.application.service;
 
+import com.example.application.ai.ChatContextAssembler;
+import com.example.application.ai.ChatDeadline;
+import com.example.application.ai.ChatSessionMailbox;
+import com.example.application.ai.HedgedCallExecutor;
+import com.example.application.ai.SemanticResponseCache;
+import com.example.application.ai.SingleFlight;
 import com.example.application.dto.ChatRequestDto;
 import com.example.application.dto.ChatResponseDto;
+import com.example.application.dto.ChatStreamEventDto;
 import com.example.domain.exception.BusinessException;
 import com.example.domain.client.ExternalService;
+import com.example.domain.repository.ChatSessionStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * 聊天应用服务
@@ -28,6 +51,10 @@ public class ChatApplicationService {
 
     private static final Logger logger = LoggerFactory.getLogger(ChatApplicationService.class);
 
+    private static final String STREAM_MODE_STATELESS = "stateless";
+
+    private static final String STREAM_MODE_CONTEXT = "context";
+
     @Autowired
     private ChatClient statelessChatClient;
 
@@ -39,41 +66,66 @@ public class ChatApplicationService {
     private ExternalService externalService;
 
     /**
-     * 内存中的聊天会话存储，生产环境建议使用Redis等持久化存储
+     * 聊天会话存储，有容量上限并按空闲时间淘汰
      */
-    private final ConcurrentHashMap<String, java.util.List<String>> chatSessions = new ConcurrentHashMap<>();
+    @Autowired
+    private ChatSessionStore chatSessionStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SemanticResponseCache semanticResponseCache;
+
+    @Autowired
+    private ChatContextAssembler chatContextAssembler;
+
+    @Autowired
+    private ChatSessionMailbox chatSessionMailbox;
+
+    @Autowired
+    private SingleFlight<String, String> statelessChatSingleFlight;
+
+    @Autowired
+    private ChatModel chatModel;
+
+    @Autowired
+    private HedgedCallExecutor hedgedCallExecutor;
 
     /**
      * 处理聊天请求
      *
      * @param request 聊天请求
+     * @param deadline 截止时间，会话排队和模型调用都只能使用剩余时间
      * @return 聊天响应
      */
-    public ChatResponseDto chat(ChatRequestDto request) {
+    public ChatResponseDto chat(ChatRequestDto request, ChatDeadline deadline) {
         try {
             logger.debug("处理聊天请求: {}", request);
 
             // 如果没有sessionId，生成一个新的
-            String sessionId = request.getSessionId();
-            if (!StringUtils.hasText(sessionId)) {
-                sessionId = generateSessionId();
-            }
+            String sessionId = StringUtils.hasText(request.getSessionId())
+                    ? request.getSessionId() : generateSessionId();
 
             String response;
             boolean contextUsed = false;
 
             // 根据是否启用上下文选择不同的处理方式
             if (Boolean.TRUE.equals(request.getEnableContext())) {
-                response = chatWithContext(sessionId, request.getMessage());
+                // 同一会话的轮次按顺序执行，不同会话并行
+                response = chatSessionMailbox.call(sessionId, deadline,
+                        () -> chatWithContext(sessionId, request.getMessage(), deadline));
                 contextUsed = true;
             } else {
-                response = chatWithoutContext(request.getMessage());
+                response = chatWithoutContext(request.getMessage(), deadline);
             }
 
             logger.debug("AI响应: {}", response);
 
             return new ChatResponseDto(sessionId, response, contextUsed);
 
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("聊天处理失败", e);
             throw BusinessException.threadError("AI聊天服务调用失败: " + e.getMessage(), e);
@@ -85,49 +137,187 @@ public class ChatApplicationService {
      *
      * @param sessionId 会话ID
      * @param message   用户消息
+     * @param deadline  截止时间
      * @return AI回复
      */
-    private String chatWithContext(String sessionId, String message) {
-        // 获取或创建该会话的历史记录
-        java.util.List<String> sessionHistory = chatSessions.computeIfAbsent(sessionId, 
-            k -> new java.util.ArrayList<>());
-
-        // 构建包含历史上下文的消息
-        StringBuilder contextMessage = new StringBuilder();
-        if (!sessionHistory.isEmpty()) {
-            contextMessage.append("以下是之前的对话历史：\n");
-            for (int i = Math.max(0, sessionHistory.size() - 10); i < sessionHistory.size(); i++) {
-                contextMessage.append(sessionHistory.get(i)).append("\n");
-            }
-            contextMessage.append("当前用户问题：");
-        }
-        contextMessage.append(message);
-
-        // 使用带记忆的聊天客户端
-        String response = contextualChatClient.prompt()
-                .advisors(advisorSpec -> advisorSpec.param("chat_memory_conversation_id", sessionId))
-                .user(contextMessage.toString())
-                .call()
-                .content();
+    private String chatWithContext(String sessionId, String message, ChatDeadline deadline) {
+        // 会话存储是唯一的记忆来源，历史按token预算组装为多轮消息
+        List<Message> history = chatContextAssembler.assemble(sessionId, message);
+        // 历史在调用成功后才写入，调用本身幂等，可以对冲
+        String response = hedgedCallExecutor.call(STREAM_MODE_CONTEXT, deadline,
+                () -> contextualChatClient.prompt()
+                        .advisors(advisor -> advisor.param(ChatDeadline.CONTEXT_KEY, deadline))
+                        .messages(history)
+                        .user(message)
+                        .call()
+                        .content());
 
         // 保存对话历史
-        sessionHistory.add("用户: " + message);
-        sessionHistory.add("助手: " + response);
+        chatContextAssembler.append(sessionId, message, response);
 
         return response;
     }
 
+    /**
+     * 流式处理聊天请求，生成过程中逐段推送，最后推送一个携带统计信息的完成事件
+     *
+     * @param request 聊天请求
+     * @param deadline 截止时间，会话排队时间同样计入
+     * @return 聊天事件流
+     */
+    public Flux<ChatStreamEventDto> streamChat(ChatRequestDto request, ChatDeadline deadline) {
+        if (!Boolean.TRUE.equals(request.getEnableContext())) {
+            return streamWithoutContext(request.getMessage(), deadline);
+        }
+        String sessionId = StringUtils.hasText(request.getSessionId()) ? request.getSessionId() : generateSessionId();
+        return withDeadline(chatSessionMailbox.stream(sessionId,
+                () -> streamWithContext(sessionId, request.getMessage(), deadline)), deadline);
+    }
+
+    /**
+     * 无上下文的流式聊天
+     *
+     * @param message 用户消息
+     * @param deadline 截止时间
+     * @return 聊天事件流
+     */
+    public Flux<ChatStreamEventDto> streamWithoutContext(String message, ChatDeadline deadline) {
+        return withDeadline(Flux.defer(() -> measureStream(STREAM_MODE_STATELESS, null,
+                statelessChatClient.prompt()
+                        .advisors(advisor -> advisor.param(ChatDeadline.CONTEXT_KEY, deadline))
+                        .user(message)
+                        .stream()
+                        .chatResponse(),
+                answer -> { })), deadline);
+    }
+
+    /**
+     * 带上下文的流式聊天，完整回复生成结束后才写入会话历史，中途取消或失败不写入
+     *
+     * @param sessionId 会话ID
+     * @param message   用户消息
+     * @param deadline  截止时间
+     * @return 聊天事件流
+     */
+    private Flux<ChatStreamEventDto> streamWithContext(String sessionId, String message, ChatDeadline deadline) {
+        return Flux.defer(() -> measureStream(STREAM_MODE_CONTEXT, sessionId,
+                contextualChatClient.prompt()
+                        .advisors(advisor -> advisor.param(ChatDeadline.CONTEXT_KEY, deadline))
+                        .messages(chatContextAssembler.assemble(sessionId, message))
+                        .user(message)
+                        .stream()
+                        .chatResponse(),
+                answer -> chatContextAssembler.append(sessionId, message, answer)));
+    }
+
+    /**
+     * 把模型响应流转换为聊天事件流，并记录首个片段耗时和生成速度
+     *
+     * @param mode 聊天模式，用作指标标签
+     * @param sessionId 会话ID
+     * @param responses 模型响应流
+     * @param onComplete 正常结束时以完整回复回调
+     * @return 聊天事件流
+     */
+    private Flux<ChatStreamEventDto> measureStream(String mode, String sessionId, Flux<ChatResponse> responses,
+                                                   Consumer<String> onComplete) {
+        long startNanos = System.nanoTime();
+        AtomicLong firstTokenNanos = new AtomicLong();
+        AtomicInteger chunks = new AtomicInteger();
+        AtomicInteger reportedTokens = new AtomicInteger();
+        StringBuilder answer = new StringBuilder();
+
+        Flux<ChatStreamEventDto> tokens = responses.mapNotNull(response -> {
+            Usage usage = response.getMetadata().getUsage();
+            if (usage != null && usage.getCompletionTokens() != null && usage.getCompletionTokens() > 0) {
+                reportedTokens.set(usage.getCompletionTokens());
+            }
+            String text = response.getResult() == null ? null : response.getResult().getOutput().getText();
+            if (!StringUtils.hasLength(text)) {
+                return null;
+            }
+            firstTokenNanos.compareAndSet(0, System.nanoTime());
+            chunks.incrementAndGet();
+            answer.append(text);
+            return ChatStreamEventDto.token(sessionId, text);
+        });
+
+        Mono<ChatStreamEventDto> done = Mono.fromSupplier(() -> {
+            long endNanos = System.nanoTime();
+            int completionTokens = reportedTokens.get() > 0 ? reportedTokens.get() : chunks.get();
+            Long ttftMillis = null;
+            Double tokensPerSecond = null;
+            if (firstTokenNanos.get() > 0) {
+                long ttftNanos = firstTokenNanos.get() - startNanos;
+                ttftMillis = TimeUnit.NANOSECONDS.toMillis(ttftNanos);
+                Timer.builder("ai.chat.stream.ttft")
+                        .description("流式聊天首个片段到达耗时")
+                        .tag("mode", mode)
+                        .register(meterRegistry)
+                        .record(ttftNanos, TimeUnit.NANOSECONDS);
+                long generationNanos = endNanos - firstTokenNanos.get();
+                if (generationNanos > 0) {
+                    tokensPerSecond = completionTokens * 1_000_000_000.0 / generationNanos;
+                    DistributionSummary.builder("ai.chat.stream.tokens.per.second")
+                            .description("流式聊天生成速度")
+                            .baseUnit("tokens/s")
+                            .tag("mode", mode)
+                            .register(meterRegistry)
+                            .record(tokensPerSecond);
+                }
+            }
+            logger.debug("流式聊天完成: mode={}, sessionId={}, ttft={}ms, tokens={}, tokens/s={}",
+                    mode, sessionId, ttftMillis, completionTokens, tokensPerSecond);
+            onComplete.accept(answer.toString());
+            return ChatStreamEventDto.done(sessionId, ttftMillis, completionTokens, tokensPerSecond);
+        });
+
+        return tokens.concatWith(done);
+    }
+
+    /**
+     * 流在截止时间前未结束时以超时异常终止，取消上游即释放并发许可和会话邮箱
+     *
+     * @param events 聊天事件流
+     * @param deadline 截止时间
+     * @return 受截止时间约束的聊天事件流
+     */
+    private <T> Flux<T> withDeadline(Flux<T> events, ChatDeadline deadline) {
+        // 每个元素到达后按剩余时间重新计时，等价于整个流的绝对截止时间
+        return events
+                .timeout(Mono.defer(() -> Mono.delay(deadline.remaining())),
+                        event -> Mono.defer(() -> Mono.delay(deadline.remaining())))
+                .onErrorMap(TimeoutException.class, e -> BusinessException.timeout("AI 服务调用超时"));
+    }
+
     /**
      * 无上下文的聊天
      *
      * @param message 用户消息
+     * @param deadline 截止时间
      * @return AI回复
      */
-    private String chatWithoutContext(String message) {
-        return statelessChatClient.prompt()
-                .user(message)
-                .call()
-                .content();
+    private String chatWithoutContext(String message, ChatDeadline deadline) {
+        // 缓存未命中时，相同模型参数和消息的并发请求只发出一次上游调用，跟随者最多等到自己的截止时间
+        return semanticResponseCache.getOrCompute(message, () -> statelessChatSingleFlight.execute(
+                statelessOptionsFingerprint() + message, deadline,
+                () -> hedgedCallExecutor.call(STREAM_MODE_STATELESS, deadline,
+                        () -> statelessChatClient.prompt()
+                                .advisors(advisor -> advisor.param(ChatDeadline.CONTEXT_KEY, deadline))
+                                .user(message)
+                                .call()
+                                .content())));
+    }
+
+    /**
+     * 无状态聊天，相同或相近的问题优先从响应缓存返回
+     *
+     * @param message 用户消息
+     * @param deadline 截止时间
+     * @return AI回复
+     */
+    public String chatStateless(String message, ChatDeadline deadline) {
+        return chatWithoutContext(message, deadline);
     }
 
     /**
@@ -137,7 +327,11 @@ public class ChatApplicationService {
      */
     public void clearContext(String sessionId) {
         if (StringUtils.hasText(sessionId)) {
-            chatSessions.remove(sessionId);
+            // 排在该会话已提交的轮次之后执行，避免清除与正在进行的一轮交错
+            chatSessionMailbox.call(sessionId, () -> {
+                chatContextAssembler.clear(sessionId);
+                return null;
+            });
             logger.debug("已清除会话{}的上下文", sessionId);
         }
     }
@@ -149,8 +343,31 @@ public class ChatApplicationService {
      * @return 会话中的消息数量
      */
     public int getContextSize(String sessionId) {
-        java.util.List<String> sessionHistory = chatSessions.get(sessionId);
-        return sessionHistory != null ? sessionHistory.size() : 0;
+        return chatSessionStore.size(sessionId);
+    }
+
+    /**
+     * 获取会话当前排队中的轮次数
+     *
+     * @param sessionId 会话ID
+     * @return 待处理轮次数（含正在执行的一轮）
+     */
+    public int getQueueDepth(String sessionId) {
+        return chatSessionMailbox.getQueueDepth(sessionId);
+    }
+
+    /**
+     * 无状态聊天的模型参数指纹，参数不同的相同消息不能合并
+     *
+     * @return 模型参数指纹
+     */
+    private String statelessOptionsFingerprint() {
+        ChatOptions options = chatModel.getDefaultOptions();
+        if (options == null) {
+            return "";
+        }
+        return options.getModel() + '|' + options.getTemperature() + '|' + options.getTopP() + '|'
+                + options.getTopK() + '|' + options.getMaxTokens() + '|' + options.getStopSequences() + '\u0001';
     }
 
     /**
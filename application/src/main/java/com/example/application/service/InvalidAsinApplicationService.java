@@ -1,19 +1,52 @@
 package com.example.application.service;
 
+import cn.hutool.core.codec.Base64;
+import cn.hutool.core.collection.ListUtil;
+import cn.hutool.core.util.StrUtil;
+import com.example.application.config.InvalidAsinBulkProperties;
+import com.example.application.ingest.InvalidAsinWriteBehindQueue;
 import com.example.application.mapper.InvalidAsinConvert;
+import com.example.domain.exception.BusinessException;
+import com.example.domain.repository.InvalidAsinCounter;
+import com.example.domain.repository.InvalidAsinMembershipFilter;
 import com.example.domain.repository.InvalidAsinRepository;
+import com.example.domain.repository.InvalidAsinSnapshotRegistry;
+import com.example.domain.model.InvalidAsinCursorPage;
 import com.example.domain.model.InvalidAsinEntity;
 import com.example.domain.model.InvalidAsinQuery;
+import com.example.domain.model.InvalidAsinUpsertResult;
+import com.example.domain.model.InvalidAsinView;
+import com.example.application.dto.BulkCommitMode;
+import com.example.application.dto.CheckResultFormat;
+import com.example.application.dto.BulkInsertResultDTO;
+import com.example.application.dto.BulkWriteMode;
+import com.example.application.dto.InvalidAsinBulkDeleteDTO;
+import com.example.application.dto.InvalidAsinBulkUpdateDTO;
+import com.example.application.dto.InvalidAsinCheckDTO;
+import com.example.application.dto.InvalidAsinCheckResultDTO;
+import com.example.application.dto.InvalidAsinCursorPageDTO;
 import com.example.application.dto.InvalidAsinDTO;
+import com.example.application.dto.InvalidAsinCountStatsDTO;
+import com.example.application.dto.InvalidAsinFilterStatsDTO;
 import com.example.application.dto.InvalidAsinQueryDTO;
+import com.example.application.dto.InvalidAsinSnapshotStatsDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Invalid ASIN 应用服务
@@ -26,19 +59,91 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class InvalidAsinApplicationService {
 
+    private static final String CURSOR_SEPARATOR = "|";
+
+    private static final String DUPLICATE_MESSAGE = "无效ASIN已存在（租户ID, Profile ID, 站点, ASIN 重复），可使用 UPSERT 写入方式幂等写入";
+
     private final InvalidAsinRepository invalidAsinRepository;
 
+    private final InvalidAsinMembershipFilter invalidAsinMembershipFilter;
+
+    private final InvalidAsinCounter invalidAsinCounter;
+    private final InvalidAsinSnapshotRegistry invalidAsinSnapshotRegistry;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final InvalidAsinBulkProperties bulkProperties;
+
+    /**
+     * 写后队列，仅 invalid-asin.write-behind.enabled=true 时存在
+     */
+    private final ObjectProvider<InvalidAsinWriteBehindQueue> writeBehindQueueProvider;
+
     /**
      * 创建无效ASIN
      * 
      * @param invalidAsinDTO 无效ASIN DTO
      * @return 创建后的对象
+     * @throws BusinessException 自然键(租户ID, Profile ID, 站点, ASIN)已存在时抛出 409
      */
     @Transactional(rollbackFor = Exception.class)
     public InvalidAsinDTO createInvalidAsin(InvalidAsinDTO invalidAsinDTO) {
         log.info("创建无效ASIN: {}", invalidAsinDTO.getSellerAsin());
         
-        // 转换为Domain实体
+        InvalidAsinEntity entity = toValidEntity(invalidAsinDTO);
+        
+        // 保存并返回
+        InvalidAsinEntity saved;
+        try {
+            saved = invalidAsinRepository.save(entity);
+        } catch (DuplicateKeyException e) {
+            throw duplicateConflict(e);
+        }
+        return InvalidAsinConvert.INSTANCE.entityToDto(saved);
+    }
+
+    /**
+     * 是否开启了异步写入
+     * 
+     * @return 是否开启
+     */
+    public boolean isWriteBehindEnabled() {
+        return Objects.nonNull(writeBehindQueueProvider.getIfAvailable());
+    }
+
+    /**
+     * 异步创建无效ASIN：入队后立即返回，由后台线程批量落库
+     * 不开启事务，入队前只按 (租户, ASIN) 查询一次自然键是否已存在，已存在时与同步创建一样返回 409
+     * 
+     * @param invalidAsinDTO 无效ASIN DTO
+     * @return 接收的对象，主键为空，带写入ID
+     * @throws BusinessException 自然键已存在时抛出 409，队列已满时抛出 429
+     */
+    public InvalidAsinDTO submitInvalidAsin(InvalidAsinDTO invalidAsinDTO) {
+        InvalidAsinWriteBehindQueue writeBehindQueue = writeBehindQueueProvider.getIfAvailable();
+        if (Objects.isNull(writeBehindQueue)) {
+            throw BusinessException.paramError("未开启异步写入");
+        }
+        InvalidAsinEntity entity = toValidEntity(invalidAsinDTO);
+        entity.normalizeKey();
+        boolean exists = invalidAsinRepository.findByTenantIdAndSellerAsin(entity.getTenantId(), entity.getSellerAsin())
+                .stream()
+                .anyMatch(existing -> Objects.equals(existing.getProfileId(), entity.getProfileId())
+                        && Objects.equals(existing.getMarketplaceId(), entity.getMarketplaceId()));
+        if (exists) {
+            log.warn("无效ASIN自然键已存在，拒绝异步写入: tenantId={}, profileId={}, marketplaceId={}, sellerAsin={}",
+                    entity.getTenantId(), entity.getProfileId(), entity.getMarketplaceId(), entity.getSellerAsin());
+            throw BusinessException.conflict(DUPLICATE_MESSAGE);
+        }
+        InvalidAsinDTO accepted = InvalidAsinConvert.INSTANCE.entityToDto(entity);
+        accepted.setIngestionId(writeBehindQueue.submit(entity));
+        return accepted;
+    }
+
+    /**
+     * 转换为领域实体，补全创建时间并校验
+     */
+    private InvalidAsinEntity toValidEntity(InvalidAsinDTO invalidAsinDTO) {
         InvalidAsinEntity entity = InvalidAsinConvert.INSTANCE.dtoToEntity(invalidAsinDTO);
         
         // 设置创建时间
@@ -50,21 +155,45 @@ public class InvalidAsinApplicationService {
         if (!entity.isValid()) {
             throw new IllegalArgumentException("无效ASIN数据不完整");
         }
-        
-        // 保存并返回
-        InvalidAsinEntity saved = invalidAsinRepository.save(entity);
-        return InvalidAsinConvert.INSTANCE.entityToDto(saved);
+        return entity;
     }
 
     /**
      * 批量创建无效ASIN
+     * 所有分片在同一个事务中提交
      * 
      * @param invalidAsinDTOs 无效ASIN DTO列表
-     * @return 创建成功的条数
+     * @param writeMode 写入方式，为空时使用默认配置
+     * @return 写入的条数（插入加更新）
+     * @throws BusinessException INSERT 方式下自然键已存在时抛出 409，整批回滚
      */
-    @Transactional(rollbackFor = Exception.class)
-    public int batchCreateInvalidAsin(List<InvalidAsinDTO> invalidAsinDTOs) {
-        log.info("批量创建无效ASIN: {} 条", invalidAsinDTOs.size());
+    public int batchCreateInvalidAsin(List<InvalidAsinDTO> invalidAsinDTOs, BulkWriteMode writeMode) {
+        BulkInsertResultDTO result = bulkCreateInvalidAsin(invalidAsinDTOs, BulkCommitMode.ALL_OR_NOTHING,
+                writeMode, null);
+        return result.getInsertedRows() + result.getUpdatedRows();
+    }
+
+    /**
+     * 分片批量创建无效ASIN
+     * 先整体校验，再按分片写入；ALL_OR_NOTHING 模式下任一分片失败会抛出异常并整体回滚，
+     * PER_CHUNK 模式下每个分片单独提交，失败时停止并在结果中返回已提交进度
+     * 
+     * @param invalidAsinDTOs 无效ASIN DTO列表
+     * @param commitMode 提交模式
+     * @param writeMode 写入方式，为空时使用默认配置
+     * @param chunkSize 分片大小，为空时使用默认配置
+     * @return 写入结果
+     */
+    public BulkInsertResultDTO bulkCreateInvalidAsin(List<InvalidAsinDTO> invalidAsinDTOs,
+                                                     BulkCommitMode commitMode, BulkWriteMode writeMode,
+                                                     Integer chunkSize) {
+        int size = Objects.isNull(chunkSize) ? bulkProperties.getChunkSize() : chunkSize;
+        if (size <= 0 || size > bulkProperties.getMaxChunkSize()) {
+            throw new IllegalArgumentException("分片大小必须在1到" + bulkProperties.getMaxChunkSize() + "之间");
+        }
+        BulkWriteMode mode = Objects.isNull(writeMode) ? bulkProperties.getWriteMode() : writeMode;
+        log.info("批量创建无效ASIN: {} 条, commitMode={}, writeMode={}, chunkSize={}", invalidAsinDTOs.size(),
+                commitMode, mode, size);
         
         // 转换为Domain实体列表
         List<InvalidAsinEntity> entities = InvalidAsinConvert.INSTANCE.dtoListToEntityList(invalidAsinDTOs);
@@ -79,8 +208,105 @@ public class InvalidAsinApplicationService {
                 throw new IllegalArgumentException("无效ASIN数据不完整: " + entity.getSellerAsin());
             }
         });
-        
-        return invalidAsinRepository.batchSave(entities);
+
+        List<List<InvalidAsinEntity>> chunks = ListUtil.partition(entities, size);
+        BulkInsertResultDTO result = new BulkInsertResultDTO();
+        result.setCommitMode(commitMode);
+        result.setWriteMode(mode);
+        result.setTotalRows(entities.size());
+        result.setChunkSize(size);
+        result.setTotalChunks(chunks.size());
+        long start = System.nanoTime();
+
+        // 分片结果在事务提交后才计入总数，结果中的行数始终是已提交的行数
+        if (commitMode == BulkCommitMode.PER_CHUNK) {
+            for (int i = 0; i < chunks.size(); i++) {
+                int index = i;
+                try {
+                    BulkInsertResultDTO.ChunkResult chunkResult = transactionTemplate.execute(
+                            status -> writeChunk(index, chunks.get(index), mode));
+                    addCommittedChunk(result, chunkResult);
+                } catch (Exception e) {
+                    log.error("批量创建无效ASIN第{}个分片失败，已提交: 插入{}条, 更新{}条, 跳过{}条", index,
+                            result.getInsertedRows(), result.getUpdatedRows(), result.getSkippedRows(), e);
+                    result.setFailedChunkIndex(index);
+                    result.setErrorMessage(e.getMessage());
+                    break;
+                }
+            }
+        } else {
+            List<BulkInsertResultDTO.ChunkResult> chunkResults;
+            try {
+                chunkResults = transactionTemplate.execute(status -> {
+                    List<BulkInsertResultDTO.ChunkResult> written = new ArrayList<>(chunks.size());
+                    for (int i = 0; i < chunks.size(); i++) {
+                        written.add(writeChunk(i, chunks.get(i), mode));
+                    }
+                    return written;
+                });
+            } catch (DuplicateKeyException e) {
+                throw duplicateConflict(e);
+            }
+            chunkResults.forEach(chunkResult -> addCommittedChunk(result, chunkResult));
+        }
+
+        result.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        int processedRows = result.getInsertedRows() + result.getUpdatedRows() + result.getSkippedRows();
+        result.setRowsPerSecond(rowsPerSecond(processedRows, System.nanoTime() - start));
+        log.info("批量创建无效ASIN完成: 插入{}条, 更新{}条, 跳过{}条, 共{}条, 分片{}/{}, 耗时{}ms, {} 行/秒",
+                result.getInsertedRows(), result.getUpdatedRows(), result.getSkippedRows(), result.getTotalRows(), result.getCommittedChunks(), result.getTotalChunks(),
+                result.getElapsedMillis(), Math.round(result.getRowsPerSecond()));
+        return result;
+    }
+
+    /**
+     * 写入单个分片，返回该分片的写入结果，由调用方在事务提交后计入总数
+     */
+    private BulkInsertResultDTO.ChunkResult writeChunk(int index, List<InvalidAsinEntity> chunk,
+                                                       BulkWriteMode writeMode) {
+        long start = System.nanoTime();
+        BulkInsertResultDTO.ChunkResult chunkResult = new BulkInsertResultDTO.ChunkResult();
+        if (writeMode == BulkWriteMode.UPSERT) {
+            InvalidAsinUpsertResult upsertResult = invalidAsinRepository.upsertAll(chunk);
+            chunkResult.setInserted(upsertResult.getInserted());
+            chunkResult.setUpdated(upsertResult.getUpdated());
+            chunkResult.setSkipped(upsertResult.getSkipped());
+        } else {
+            chunkResult.setInserted(invalidAsinRepository.batchSave(chunk));
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        chunkResult.setIndex(index);
+        chunkResult.setRows(chunkResult.getInserted() + chunkResult.getUpdated());
+        chunkResult.setElapsedMillis(elapsedNanos / 1_000_000);
+        chunkResult.setRowsPerSecond(rowsPerSecond(chunk.size(), elapsedNanos));
+        return chunkResult;
+    }
+
+    /**
+     * 把已提交分片的结果计入总数
+     */
+    private static void addCommittedChunk(BulkInsertResultDTO result, BulkInsertResultDTO.ChunkResult chunkResult) {
+        result.getChunks().add(chunkResult);
+        result.setInsertedRows(result.getInsertedRows() + chunkResult.getInserted());
+        result.setUpdatedRows(result.getUpdatedRows() + chunkResult.getUpdated());
+        result.setSkippedRows(result.getSkippedRows() + chunkResult.getSkipped());
+        result.setCommittedChunks(result.getCommittedChunks() + 1);
+        log.debug("批量创建无效ASIN分片{}/{}已提交: 插入{}条, 更新{}条, 跳过{}条, 耗时{}ms", chunkResult.getIndex() + 1,
+                result.getTotalChunks(), chunkResult.getInserted(), chunkResult.getUpdated(),
+                chunkResult.getSkipped(), chunkResult.getElapsedMillis());
+    }
+
+    /**
+     * INSERT 方式写入已存在的自然键时返回 409，提示改用 UPSERT
+     */
+    private static BusinessException duplicateConflict(DuplicateKeyException e) {
+        log.warn("无效ASIN自然键已存在: {}", e.getMostSpecificCause().getMessage());
+        return BusinessException.conflict(DUPLICATE_MESSAGE);
+    }
+
+    private static double rowsPerSecond(int rows, long elapsedNanos) {
+        return elapsedNanos <= 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
     }
 
     /**
@@ -98,21 +324,45 @@ public class InvalidAsinApplicationService {
 
     /**
      * 根据条件查询无效ASIN列表
+     * 只读查询直接返回数据库行映射的只读视图，不经过数据对象、领域实体和DTO的逐层转换
      * 
      * @param queryDTO 查询条件
-     * @return 无效ASIN列表
+     * @return 无效ASIN只读视图列表
      */
-    public List<InvalidAsinDTO> getInvalidAsinList(InvalidAsinQueryDTO queryDTO) {
+    public List<InvalidAsinView> getInvalidAsinList(InvalidAsinQueryDTO queryDTO) {
         log.debug("根据条件查询无效ASIN列表: {}", queryDTO);
         
         // 转换查询条件
         InvalidAsinQuery query = InvalidAsinConvert.INSTANCE.queryDtoToQuery(queryDTO);
         
-        // 查询Domain实体列表
-        List<InvalidAsinEntity> entities = invalidAsinRepository.findByCondition(query);
-        
-        // 转换为DTO列表
-        return InvalidAsinConvert.INSTANCE.entityListToDtoList(entities);
+        return invalidAsinRepository.findViewsByCondition(query);
+    }
+
+    /**
+     * 根据条件做游标分页查询，按创建时间、ID倒序，翻页耗时与页码无关，适合同步任务遍历全表
+     * 
+     * @param queryDTO 查询条件，cursor 取自上一页返回的 nextCursor
+     * @return 当前页数据及下一页游标
+     */
+    public InvalidAsinCursorPageDTO getInvalidAsinPageByCursor(InvalidAsinQueryDTO queryDTO) {
+        log.debug("游标分页查询无效ASIN列表: {}", queryDTO);
+
+        InvalidAsinQuery query = InvalidAsinConvert.INSTANCE.queryDtoToQuery(queryDTO);
+        decodeCursor(queryDTO.getCursor(), query);
+
+        InvalidAsinCursorPage page = invalidAsinRepository.findByCursor(query);
+        List<InvalidAsinView> records = page.getRecords();
+
+        InvalidAsinCursorPageDTO result = new InvalidAsinCursorPageDTO();
+        result.setRecords(records);
+        result.setHasMore(page.isHasMore());
+        if (page.isHasMore() && !records.isEmpty()) {
+            result.setNextCursor(encodeCursor(records.get(records.size() - 1)));
+        }
+        if (Boolean.TRUE.equals(queryDTO.getWithCount())) {
+            result.setTotal(invalidAsinRepository.countByCondition(query));
+        }
+        return result;
     }
 
     /**
@@ -129,20 +379,99 @@ public class InvalidAsinApplicationService {
         return InvalidAsinConvert.INSTANCE.entityListToDtoList(entities);
     }
 
+    /**
+     * 判断ASIN是否为无效ASIN
+     * 
+     * @param tenantId 租户ID
+     * @param marketplaceId 站点ID，可为空
+     * @param sellerAsin 卖家ASIN
+     * @return 是否为无效ASIN
+     */
+    public boolean existsInvalidAsin(String tenantId, String marketplaceId, String sellerAsin) {
+        // 先判断日志级别，避免可变参数数组在命中内存快照时产生分配
+        if (log.isDebugEnabled()) {
+            log.debug("判断是否为无效ASIN: tenantId={}, marketplaceId={}, sellerAsin={}", 
+                    tenantId, marketplaceId, sellerAsin);
+        }
+        // 热点租户直接由内存快照回答，不经过仓储代理，也不访问数据库
+        Boolean resident = invalidAsinSnapshotRegistry.contains(tenantId, marketplaceId, sellerAsin);
+        if (Objects.nonNull(resident)) {
+            return resident;
+        }
+        return invalidAsinRepository.existsInvalid(tenantId, marketplaceId, sellerAsin);
+    }
+
+    /**
+     * 批量判断ASIN是否为无效ASIN，按指定格式返回命中结果
+     * 
+     * @param checkDTO 校验请求
+     * @param format 结果格式
+     * @return 判断结果
+     */
+    public InvalidAsinCheckResultDTO checkInvalidAsins(InvalidAsinCheckDTO checkDTO, CheckResultFormat format) {
+        long start = System.nanoTime();
+        List<String> sellerAsins = checkDTO.getSellerAsins();
+        Set<String> distinct = new LinkedHashSet<>(sellerAsins);
+        Set<String> hits = invalidAsinRepository.filterInvalid(
+                checkDTO.getTenantId(), checkDTO.getMarketplaceId(), distinct);
+        
+        InvalidAsinCheckResultDTO result = new InvalidAsinCheckResultDTO();
+        result.setFormat(format);
+        result.setTotal(sellerAsins.size());
+        result.setDistinct(distinct.size());
+        result.setHitCount(hits.size());
+        if (format == CheckResultFormat.BITMAP) {
+            BitSet bitmap = new BitSet(sellerAsins.size());
+            for (int i = 0; i < sellerAsins.size(); i++) {
+                if (hits.contains(sellerAsins.get(i))) {
+                    bitmap.set(i);
+                }
+            }
+            // toByteArray 去掉了末尾的全 0 字节，补齐到与请求长度对应的字节数
+            result.setBitmap(Base64.encode(Arrays.copyOf(bitmap.toByteArray(), (sellerAsins.size() + 7) / 8)));
+        } else {
+            result.setHits(distinct.stream().filter(hits::contains).toList());
+        }
+        result.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        log.debug("批量判断无效ASIN: tenantId={}, total={}, distinct={}, hits={}, elapsedMillis={}",
+                checkDTO.getTenantId(), result.getTotal(), result.getDistinct(), result.getHitCount(),
+                result.getElapsedMillis());
+        return result;
+    }
+
+    /**
+     * 重建租户的无效ASIN布隆过滤器
+     * 
+     * @param tenantId 租户ID
+     * @return 重建后的统计信息
+     */
+    public InvalidAsinFilterStatsDTO rebuildInvalidAsinFilter(String tenantId) {
+        log.info("重建无效ASIN布隆过滤器: tenantId={}", tenantId);
+        return InvalidAsinConvert.INSTANCE.filterStatsToDto(invalidAsinMembershipFilter.rebuild(tenantId));
+    }
+
+    /**
+     * 获取租户的无效ASIN布隆过滤器统计信息
+     * 
+     * @param tenantId 租户ID
+     * @return 统计信息
+     */
+    public InvalidAsinFilterStatsDTO getInvalidAsinFilterStats(String tenantId) {
+        return InvalidAsinConvert.INSTANCE.filterStatsToDto(invalidAsinMembershipFilter.getStats(tenantId));
+    }
+
     /**
      * 更新无效ASIN
+     * 仓储先按主键锁定读出原记录，再执行一条条件 UPDATE；限定请求中的租户，传入版本号时只在版本一致时生效。
+     * 返回原记录与本次更新字段合并后的库中记录（未传入的字段保持原值，版本号加1），更新成功时不再回查；
+     * 未更新时回查一次，区分记录不存在（含属于其他租户）和版本冲突
      * 
      * @param invalidAsinDTO 无效ASIN DTO
      * @return 更新后的对象
      */
     @Transactional(rollbackFor = Exception.class)
     public InvalidAsinDTO updateInvalidAsin(InvalidAsinDTO invalidAsinDTO) {
-        log.info("更新无效ASIN: id={}", invalidAsinDTO.getId());
-        
-        // 验证记录是否存在
-        if (!invalidAsinRepository.findById(invalidAsinDTO.getId()).isPresent()) {
-            throw new IllegalArgumentException("无效ASIN记录不存在: " + invalidAsinDTO.getId());
-        }
+        log.info("更新无效ASIN: id={}, version={}", invalidAsinDTO.getId(), invalidAsinDTO.getVersion());
         
         // 转换并验证Domain实体
         InvalidAsinEntity entity = InvalidAsinConvert.INSTANCE.dtoToEntity(invalidAsinDTO);
@@ -150,12 +479,20 @@ public class InvalidAsinApplicationService {
             throw new IllegalArgumentException("无效ASIN数据不完整");
         }
         
-        InvalidAsinEntity updated = invalidAsinRepository.updateById(entity);
-        return InvalidAsinConvert.INSTANCE.entityToDto(updated);
+        Optional<InvalidAsinEntity> updated = invalidAsinRepository.updateById(entity);
+        if (updated.isEmpty()) {
+            if (invalidAsinRepository.findById(entity.getId())
+                    .filter(existing -> entity.getTenantId().equals(existing.getTenantId())).isEmpty()) {
+                throw BusinessException.notFound("无效ASIN记录不存在: " + entity.getId());
+            }
+            throw BusinessException.conflict("无效ASIN记录已被修改，请重新获取后再更新: " + entity.getId());
+        }
+        return InvalidAsinConvert.INSTANCE.entityToDto(updated.get());
     }
 
     /**
      * 根据ID删除无效ASIN
+     * 仓储先按主键锁定读出原记录再执行 DELETE，记录不存在时返回 404
      * 
      * @param id 主键ID
      * @return 删除是否成功
@@ -164,39 +501,127 @@ public class InvalidAsinApplicationService {
     public boolean deleteInvalidAsinById(Long id) {
         log.info("根据ID删除无效ASIN: {}", id);
         
-        // 验证记录是否存在
-        if (!invalidAsinRepository.findById(id).isPresent()) {
-            throw new IllegalArgumentException("无效ASIN记录不存在: " + id);
+        if (!invalidAsinRepository.deleteById(id)) {
+            throw BusinessException.notFound("无效ASIN记录不存在: " + id);
         }
+        return true;
+    }
+
+    /**
+     * 按ID列表批量更新可变字段，每个分片一条 UPDATE 语句
+     * 
+     * @param bulkUpdateDTO 租户ID、ID列表和要更新的字段
+     * @return 更新的条数
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int batchUpdateInvalidAsin(InvalidAsinBulkUpdateDTO bulkUpdateDTO) {
+        log.info("批量更新无效ASIN: tenantId={}, 数量={}", bulkUpdateDTO.getTenantId(), bulkUpdateDTO.getIds().size());
         
-        return invalidAsinRepository.deleteById(id);
+        InvalidAsinEntity patch = InvalidAsinEntity.builder()
+                .applyInstanceId(bulkUpdateDTO.getApplyInstanceId())
+                .templateId(bulkUpdateDTO.getTemplateId())
+                .sellerId(bulkUpdateDTO.getSellerId())
+                .ds(bulkUpdateDTO.getDs())
+                .build();
+        if (Objects.isNull(patch.getApplyInstanceId()) && Objects.isNull(patch.getTemplateId())
+                && Objects.isNull(patch.getSellerId()) && Objects.isNull(patch.getDs())) {
+            throw BusinessException.paramError("至少需要指定一个要更新的字段");
+        }
+        return invalidAsinRepository.updateByIds(bulkUpdateDTO.getTenantId(), bulkUpdateDTO.getIds(), patch);
     }
 
     /**
-     * 根据条件删除无效ASIN
+     * 按ID列表批量删除，每个分片一条 DELETE 语句
      * 
-     * @param tenantId 租户ID
-     * @param profileId Profile ID
-     * @param marketplaceId 站点ID
+     * @param bulkDeleteDTO 租户ID和ID列表
      * @return 删除的条数
      */
     @Transactional(rollbackFor = Exception.class)
-    public int deleteInvalidAsinByCondition(String tenantId, String profileId, String marketplaceId) {
-        log.info("根据条件删除无效ASIN: tenantId={}, profileId={}, marketplaceId={}", 
-                tenantId, profileId, marketplaceId);
-        return invalidAsinRepository.deleteByCondition(tenantId, profileId, marketplaceId);
+    public int batchDeleteInvalidAsin(InvalidAsinBulkDeleteDTO bulkDeleteDTO) {
+        log.info("批量删除无效ASIN: tenantId={}, 数量={}", bulkDeleteDTO.getTenantId(), bulkDeleteDTO.getIds().size());
+        return invalidAsinRepository.deleteByIds(bulkDeleteDTO.getTenantId(), bulkDeleteDTO.getIds());
     }
 
     /**
      * 统计符合条件的记录数
      * 
      * @param queryDTO 查询条件
+     * @param exact true 时执行 COUNT 查询；false 时直接返回计数器中的近似值
      * @return 记录数
      */
-    public long countInvalidAsin(InvalidAsinQueryDTO queryDTO) {
-        log.debug("统计无效ASIN记录数: {}", queryDTO);
+    public long countInvalidAsin(InvalidAsinQueryDTO queryDTO, boolean exact) {
+        log.debug("统计无效ASIN记录数: exact={}, {}", exact, queryDTO);
         
         InvalidAsinQuery query = InvalidAsinConvert.INSTANCE.queryDtoToQuery(queryDTO);
+        if (!exact) {
+            return invalidAsinCounter.count(query).getCount();
+        }
         return invalidAsinRepository.countByCondition(query);
     }
-}
\ No newline at end of file
+
+    /**
+     * 获取近似记录数及其误差上界、距上次精确重算的时间和重算耗时
+     * 
+     * @param queryDTO 查询条件
+     * @return 统计信息
+     */
+    public InvalidAsinCountStatsDTO getInvalidAsinCountStats(InvalidAsinQueryDTO queryDTO) {
+        InvalidAsinQuery query = InvalidAsinConvert.INSTANCE.queryDtoToQuery(queryDTO);
+        return InvalidAsinConvert.INSTANCE.countStatsToDto(invalidAsinCounter.count(query));
+    }
+
+    /**
+     * 立即精确重算租户的记录数计数器
+     * 
+     * @param tenantId 租户ID
+     * @return 重算后的统计信息
+     */
+    public InvalidAsinCountStatsDTO recountInvalidAsin(String tenantId) {
+        log.info("重算无效ASIN记录数: tenantId={}", tenantId);
+        return InvalidAsinConvert.INSTANCE.countStatsToDto(invalidAsinCounter.recount(tenantId));
+    }
+
+    /**
+     * 获取所有驻留租户的内存快照统计信息：内存占用、水位和刷新延迟
+     * 
+     * @return 统计信息列表
+     */
+    public List<InvalidAsinSnapshotStatsDTO> getInvalidAsinSnapshotStats() {
+        return InvalidAsinConvert.INSTANCE.snapshotStatsToDtoList(invalidAsinSnapshotRegistry.getStats());
+    }
+
+    /**
+     * 从数据库全量重载租户的内存快照
+     * 
+     * @param tenantId 租户ID
+     * @return 重载后的统计信息
+     */
+    public InvalidAsinSnapshotStatsDTO reloadInvalidAsinSnapshot(String tenantId) {
+        log.info("重载无效ASIN内存快照: tenantId={}", tenantId);
+        return InvalidAsinConvert.INSTANCE.snapshotStatsToDto(invalidAsinSnapshotRegistry.reload(tenantId));
+    }
+
+    /**
+     * 游标编码：最后一条记录的 createTime 和 id，URL安全的Base64
+     */
+    private String encodeCursor(InvalidAsinView last) {
+        return Base64.encodeUrlSafe(last.createTime() + CURSOR_SEPARATOR + last.id());
+    }
+
+    /**
+     * 游标解码并写入查询条件，游标为空时不做处理
+     */
+    private void decodeCursor(String cursor, InvalidAsinQuery query) {
+        if (StrUtil.isBlank(cursor)) {
+            return;
+        }
+        try {
+            String decoded = Base64.decodeStr(cursor);
+            int index = decoded.lastIndexOf(CURSOR_SEPARATOR);
+            query.setCursorCreateTime(LocalDateTime.parse(decoded.substring(0, index)));
+            query.setCursorId(Long.parseLong(decoded.substring(index + 1)));
+        } catch (RuntimeException e) {
+            throw BusinessException.paramError("游标格式错误: " + cursor);
+        }
+    }
+}
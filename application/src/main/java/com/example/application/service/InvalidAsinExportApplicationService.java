@@ -0,0 +1,160 @@
+package com.example.application.service;
+
+import com.example.application.dto.ExportFormat;
+import com.example.application.dto.InvalidAsinQueryDTO;
+import com.example.application.mapper.InvalidAsinConvert;
+import com.example.domain.constant.TimeConstants;
+import com.example.domain.model.InvalidAsinQuery;
+import com.example.domain.model.InvalidAsinView;
+import com.example.domain.repository.InvalidAsinRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invalid ASIN 导出应用服务
+ * 通过仓储的流式遍历逐行转换并直接写入输出流，内存占用与导出行数无关
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InvalidAsinExportApplicationService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String CSV_HEADER = "id,tenantId,applyInstanceId,templateId,profileId,marketplaceId,"
+            + "sellerId,sellerAsin,createTime,ds";
+
+    private final InvalidAsinRepository invalidAsinRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 按条件导出无效ASIN
+     * 
+     * @param queryDTO 查询条件，分页参数会被忽略
+     * @param format 导出格式
+     * @param outputStream 输出流，由调用方负责关闭
+     * @return 导出的行数
+     */
+    public long exportInvalidAsin(InvalidAsinQueryDTO queryDTO, ExportFormat format, OutputStream outputStream) {
+        log.info("导出无效ASIN: format={}, query={}", format, queryDTO);
+        InvalidAsinQuery query = InvalidAsinConvert.INSTANCE.queryDtoToQuery(queryDTO);
+        long start = System.nanoTime();
+
+        long rows;
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+            rows = format == ExportFormat.CSV ? writeCsv(query, writer) : writeNdjson(query, writer);
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("导出无效ASIN写入失败", e);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        Timer.builder("invalid.asin.export")
+                .description("无效ASIN导出耗时")
+                .tag("format", format.name())
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        Counter.builder("invalid.asin.export.rows")
+                .description("无效ASIN导出行数")
+                .tag("format", format.name())
+                .register(meterRegistry)
+                .increment(rows);
+        log.info("导出无效ASIN完成: {}条, 耗时{}ms, {} 行/秒", rows, elapsedNanos / 1_000_000,
+                elapsedNanos <= 0 ? 0 : Math.round(rows * 1_000_000_000.0 / elapsedNanos));
+        return rows;
+    }
+
+    private long writeNdjson(InvalidAsinQuery query, Writer writer) throws IOException {
+        long rows;
+        // 关闭 SequenceWriter 只刷新生成器，不关闭底层输出流
+        try (SequenceWriter sequenceWriter = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(writer)) {
+            rows = invalidAsinRepository.streamByCondition(query, view -> {
+                try {
+                    sequenceWriter.write(view);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        if (rows > 0) {
+            writer.write('\n');
+        }
+        return rows;
+    }
+
+    private long writeCsv(InvalidAsinQuery query, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        return invalidAsinRepository.streamByCondition(query, view -> {
+            try {
+                writeCsvRow(view, writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeCsvRow(InvalidAsinView view, Writer writer) throws IOException {
+        writer.write(Objects.isNull(view.id()) ? "" : view.id().toString());
+        writeCsvField(view.tenantId(), writer);
+        writeCsvField(view.applyInstanceId(), writer);
+        writeCsvField(view.templateId(), writer);
+        writeCsvField(view.profileId(), writer);
+        writeCsvField(view.marketplaceId(), writer);
+        writeCsvField(view.sellerId(), writer);
+        writeCsvField(view.sellerAsin(), writer);
+        writeCsvField(Objects.isNull(view.createTime()) ? null
+                : view.createTime().format(TimeConstants.TIME_FORMATTER), writer);
+        writeCsvField(view.ds(), writer);
+        writer.write('\n');
+    }
+
+    /**
+     * 写入一个CSV字段（前置逗号），包含逗号、引号或换行时按 RFC 4180 加引号转义
+     */
+    private void writeCsvField(String value, Writer writer) throws IOException {
+        writer.write(',');
+        if (Objects.isNull(value)) {
+            return;
+        }
+        boolean needQuote = false;
+        for (int i = 0; i < value.length() && !needQuote; i++) {
+            char c = value.charAt(i);
+            needQuote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needQuote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
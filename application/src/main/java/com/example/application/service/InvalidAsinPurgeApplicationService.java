@@ -0,0 +1,412 @@
+package com.example.application.service;
+
+import cn.hutool.core.util.StrUtil;
+import com.example.application.config.InvalidAsinPurgeProperties;
+import com.example.application.dto.InvalidAsinPurgeJobDTO;
+import com.example.application.mapper.InvalidAsinConvert;
+import com.example.domain.exception.BusinessException;
+import com.example.domain.model.InvalidAsinEntity;
+import com.example.domain.model.InvalidAsinPurgeJob;
+import com.example.domain.model.InvalidAsinPurgeJobStatus;
+import com.example.domain.repository.InvalidAsinPurgeJobRepository;
+import com.example.domain.repository.InvalidAsinRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invalid ASIN 按条件清理应用服务
+ * 提交后立即返回任务，由后台线程分片删除：先按 (租户, [profile], [站点], create_time) 索引顺序从游标之后只读索引查出一片记录，
+ * 再在一个短事务中按主键删除这些ID并把 (create_time, id) 游标推进到本片最后一行，每片的持锁时间只与分片大小有关。
+ * 分片大小根据单片事务耗时自适应调整，每片之后按耗时成比例暂停，给复制和其他写入留出余量。
+ * 任务状态和游标持久化，执行实例停止后心跳超时，由任一实例（包括重启后的自己）接管并从游标继续；
+ * 取消或被接管后本片删除随进度保存失败一起回滚。
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class InvalidAsinPurgeApplicationService {
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 500;
+
+    private final InvalidAsinRepository invalidAsinRepository;
+
+    private final InvalidAsinPurgeJobRepository purgeJobRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final InvalidAsinPurgeProperties properties;
+
+    /**
+     * 执行实例标识，进程名加启动时间，重启后不会与旧进程混淆
+     */
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "-"
+            + Long.toString(System.currentTimeMillis(), 36);
+
+    /**
+     * 本实例的执行槽位，任务结束、停止或提交失败时归还
+     */
+    private final Semaphore slots;
+
+    private final Set<String> activeJobIds = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService workers;
+
+    private final ScheduledExecutorService resumeScheduler;
+
+    private final Timer chunkLatency;
+    private final DistributionSummary chunkRows;
+    private final Counter deletedCounter;
+    private final MeterRegistry meterRegistry;
+
+    private volatile boolean running = true;
+
+    public InvalidAsinPurgeApplicationService(InvalidAsinRepository invalidAsinRepository,
+                                              InvalidAsinPurgeJobRepository purgeJobRepository,
+                                              TransactionTemplate transactionTemplate,
+                                              InvalidAsinPurgeProperties properties,
+                                              MeterRegistry meterRegistry) {
+        this.invalidAsinRepository = invalidAsinRepository;
+        this.purgeJobRepository = purgeJobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.slots = new Semaphore(properties.getMaxConcurrentJobs());
+
+        this.workers = ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newFixedThreadPool(properties.getMaxConcurrentJobs(),
+                        Thread.ofPlatform().name("invalid-asin-purge-", 0).daemon().factory()),
+                "invalidAsinPurge");
+        this.resumeScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("invalid-asin-purge-resume").daemon().factory());
+
+        this.chunkLatency = Timer.builder("invalid.asin.purge.chunk.latency")
+                .description("单片删除事务耗时，即每片的持锁时间")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.chunkRows = DistributionSummary.builder("invalid.asin.purge.chunk.size")
+                .description("每片删除行数")
+                .register(meterRegistry);
+        this.deletedCounter = Counter.builder("invalid.asin.purge.rows")
+                .description("清理任务删除的行数")
+                .register(meterRegistry);
+        Gauge.builder("invalid.asin.purge.jobs.active", activeJobIds, Set::size)
+                .description("本实例执行中的清理任务数")
+                .register(meterRegistry);
+
+        long resumeMillis = properties.getResumeInterval().toMillis();
+        resumeScheduler.scheduleWithFixedDelay(this::resumeStaleJobs, resumeMillis, resumeMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 提交按条件清理任务
+     *
+     * @param tenantId 租户ID
+     * @param profileId Profile ID，为空时不限制
+     * @param marketplaceId 站点ID，为空时不限制
+     * @return 新建的任务
+     * @throws BusinessException 租户ID为空时抛出 400，本实例执行中的任务已达上限时抛出 429
+     */
+    public InvalidAsinPurgeJobDTO submitPurge(String tenantId, String profileId, String marketplaceId) {
+        if (StrUtil.isBlank(tenantId)) {
+            throw BusinessException.paramError("租户ID不能为空");
+        }
+        if (!running || !slots.tryAcquire()) {
+            throw BusinessException.tooManyRequests("清理任务数已达上限，请稍后重试");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        InvalidAsinPurgeJob job = InvalidAsinPurgeJob.builder()
+                .jobId(UUID.randomUUID().toString().replace("-", ""))
+                .tenantId(tenantId)
+                .profileId(StrUtil.emptyToNull(profileId))
+                .marketplaceId(StrUtil.emptyToNull(marketplaceId))
+                .status(InvalidAsinPurgeJobStatus.RUNNING)
+                .cursorId(0L)
+                .deletedRows(0L)
+                .chunkCount(0L)
+                .chunkSize(properties.getInitialChunkSize())
+                .owner(owner)
+                .heartbeatTime(now)
+                .createTime(now)
+                .build();
+        try {
+            purgeJobRepository.save(job);
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+        try {
+            launch(job);
+        } catch (RejectedExecutionException e) {
+            // 任务已保存，心跳超时后由其他实例接管
+            throw BusinessException.tooManyRequests("清理服务正在停止，任务将由其他实例继续: " + job.getJobId());
+        }
+        log.info("提交无效ASIN清理任务: jobId={}, tenantId={}, profileId={}, marketplaceId={}",
+                job.getJobId(), tenantId, profileId, marketplaceId);
+        return InvalidAsinConvert.INSTANCE.purgeJobToDto(job);
+    }
+
+    /**
+     * 查询清理任务状态
+     *
+     * @param jobId 任务ID
+     * @return 任务状态
+     */
+    public InvalidAsinPurgeJobDTO getPurgeJob(String jobId) {
+        return purgeJobRepository.findById(jobId)
+                .map(InvalidAsinConvert.INSTANCE::purgeJobToDto)
+                .orElseThrow(() -> BusinessException.notFound("清理任务不存在: " + jobId));
+    }
+
+    /**
+     * 取消执行中的清理任务，执行实例在下一片提交时发现并停止，该片删除随之回滚
+     *
+     * @param jobId 任务ID
+     * @return 任务状态
+     */
+    public InvalidAsinPurgeJobDTO cancelPurgeJob(String jobId) {
+        if (!purgeJobRepository.cancel(jobId, LocalDateTime.now())) {
+            InvalidAsinPurgeJobDTO job = getPurgeJob(jobId);
+            throw BusinessException.conflict("清理任务已结束: " + jobId + ", status=" + job.getStatus());
+        }
+        log.info("取消无效ASIN清理任务: jobId={}", jobId);
+        return getPurgeJob(jobId);
+    }
+
+    /**
+     * 停机时停止调度并中断各任务的暂停，执行中的任务保持 RUNNING，心跳超时后被接管
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        resumeScheduler.shutdownNow();
+        workers.shutdownNow();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("无效ASIN清理任务停机超时: {}", activeJobIds);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 接管心跳超时的任务，只占用空闲槽位
+     */
+    private void resumeStaleJobs() {
+        if (!running) {
+            return;
+        }
+        try {
+            int free = slots.availablePermits();
+            if (free <= 0) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime heartbeatBefore = now.minus(properties.getHeartbeatTimeout());
+            for (InvalidAsinPurgeJob job : purgeJobRepository.findStale(heartbeatBefore, free)) {
+                if (!slots.tryAcquire()) {
+                    return;
+                }
+                if (!purgeJobRepository.claim(job.getJobId(), owner, heartbeatBefore, now)) {
+                    slots.release();
+                    continue;
+                }
+                log.info("接管无效ASIN清理任务: jobId={}, previousOwner={}, cursorId={}, deletedRows={}",
+                        job.getJobId(), job.getOwner(), job.getCursorId(), job.getDeletedRows());
+                job.setOwner(owner);
+                job.setHeartbeatTime(now);
+                launch(job);
+            }
+        } catch (RuntimeException e) {
+            log.error("扫描可接管的无效ASIN清理任务失败", e);
+        }
+    }
+
+    /**
+     * 在工作线程上执行任务，调用前已占用槽位
+     */
+    private void launch(InvalidAsinPurgeJob job) {
+        try {
+            workers.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            slots.release();
+            throw e;
+        }
+    }
+
+    private void run(InvalidAsinPurgeJob job) {
+        activeJobIds.add(job.getJobId());
+        try {
+            execute(job);
+        } catch (RuntimeException e) {
+            log.error("无效ASIN清理任务异常退出: jobId={}", job.getJobId(), e);
+        } finally {
+            activeJobIds.remove(job.getJobId());
+            slots.release();
+        }
+    }
+
+    /**
+     * 逐片删除直到没有符合条件的记录、任务被取消或被接管、连续失败或停机
+     */
+    private void execute(InvalidAsinPurgeJob initial) {
+        InvalidAsinPurgeJob job = initial;
+        int attempts = 0;
+        while (running && !Thread.currentThread().isInterrupted()) {
+            InvalidAsinPurgeJob next;
+            long elapsedNanos;
+            try {
+                // 只读查询不加锁，放在删除事务之外，事务内只有按主键删除和保存进度
+                List<InvalidAsinEntity> keys = invalidAsinRepository.findKeysByCondition(job.getTenantId(),
+                        job.getProfileId(), job.getMarketplaceId(), job.getCursorCreateTime(), job.getCursorId(),
+                        job.getChunkSize());
+                if (keys.isEmpty()) {
+                    complete(job);
+                    return;
+                }
+                InvalidAsinPurgeJob current = job;
+                long start = System.nanoTime();
+                next = transactionTemplate.execute(status -> deleteChunk(current, keys, status));
+                elapsedNanos = System.nanoTime() - start;
+            } catch (RuntimeException e) {
+                attempts++;
+                if (attempts >= properties.getMaxChunkAttempts()) {
+                    fail(job, e);
+                    return;
+                }
+                log.warn("无效ASIN清理任务分片失败，第{}次重试: jobId={}, cursorId={}, error={}",
+                        attempts, job.getJobId(), job.getCursorId(), e.getMessage());
+                pause(properties.getMaxPause().toNanos());
+                continue;
+            }
+            attempts = 0;
+            if (Objects.isNull(next)) {
+                log.info("无效ASIN清理任务已取消或已被其他实例接管，本实例停止: jobId={}", job.getJobId());
+                meterRegistry.counter("invalid.asin.purge.jobs", "outcome", "stopped").increment();
+                return;
+            }
+
+            long deleted = next.getDeletedRows() - job.getDeletedRows();
+            chunkLatency.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            chunkRows.record(deleted);
+            deletedCounter.increment(deleted);
+            next.setChunkSize(adaptChunkSize(next.getChunkSize(), elapsedNanos));
+            job = next;
+            pause((long) (elapsedNanos * properties.getThrottleRatio()));
+        }
+        log.info("无效ASIN清理任务随停机暂停，心跳超时后继续: jobId={}, cursorId={}, deletedRows={}",
+                job.getJobId(), job.getCursorId(), job.getDeletedRows());
+    }
+
+    /**
+     * 删除一片并把游标推进到本片最后一行，两者在同一事务中；保存进度失败说明任务已取消或已被接管，回滚本片删除
+     *
+     * @param keys 按 (create_time, id) 顺序的本片记录
+     * @return 新的进度，null 表示本实例不再持有任务
+     */
+    private InvalidAsinPurgeJob deleteChunk(InvalidAsinPurgeJob job, List<InvalidAsinEntity> keys,
+                                            TransactionStatus status) {
+        long start = System.nanoTime();
+        int deleted = invalidAsinRepository.deleteByConditionAndIds(job.getTenantId(), job.getProfileId(),
+                job.getMarketplaceId(), keys.stream().map(InvalidAsinEntity::getId).toList());
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        InvalidAsinEntity last = keys.getLast();
+        InvalidAsinPurgeJob next = job.toBuilder()
+                .cursorCreateTime(last.getCreateTime())
+                .cursorId(last.getId())
+                .deletedRows(job.getDeletedRows() + deleted)
+                .chunkCount(job.getChunkCount() + 1)
+                .lastChunkMillis(millis)
+                .maxChunkMillis(Math.max(Objects.requireNonNullElse(job.getMaxChunkMillis(), 0L), millis))
+                .heartbeatTime(LocalDateTime.now())
+                .build();
+        if (!purgeJobRepository.saveProgress(next)) {
+            status.setRollbackOnly();
+            return null;
+        }
+        return next;
+    }
+
+    private void complete(InvalidAsinPurgeJob job) {
+        LocalDateTime now = LocalDateTime.now();
+        InvalidAsinPurgeJob completed = job.toBuilder()
+                .status(InvalidAsinPurgeJobStatus.COMPLETED)
+                .heartbeatTime(now)
+                .finishTime(now)
+                .build();
+        if (purgeJobRepository.saveProgress(completed)) {
+            meterRegistry.counter("invalid.asin.purge.jobs", "outcome", "completed").increment();
+            log.info("无效ASIN清理任务完成: jobId={}, deletedRows={}, chunks={}, maxChunkMillis={}",
+                    job.getJobId(), job.getDeletedRows(), job.getChunkCount(), job.getMaxChunkMillis());
+        }
+    }
+
+    private void fail(InvalidAsinPurgeJob job, RuntimeException cause) {
+        log.error("无效ASIN清理任务失败: jobId={}, cursorId={}, deletedRows={}",
+                job.getJobId(), job.getCursorId(), job.getDeletedRows(), cause);
+        LocalDateTime now = LocalDateTime.now();
+        InvalidAsinPurgeJob failed = job.toBuilder()
+                .status(InvalidAsinPurgeJobStatus.FAILED)
+                .errorMessage(StrUtil.maxLength(String.valueOf(cause.getMessage()), MAX_ERROR_MESSAGE_LENGTH))
+                .heartbeatTime(now)
+                .finishTime(now)
+                .build();
+        try {
+            purgeJobRepository.saveProgress(failed);
+        } catch (RuntimeException e) {
+            // 状态保存失败时任务保持 RUNNING，心跳超时后会被重新接管
+            log.error("保存无效ASIN清理任务失败状态失败: jobId={}", job.getJobId(), e);
+        }
+        meterRegistry.counter("invalid.asin.purge.jobs", "outcome", "failed").increment();
+    }
+
+    /**
+     * 单片耗时超过目标时分片减半，低于目标一半时增大四分之一
+     */
+    private int adaptChunkSize(int chunkSize, long elapsedNanos) {
+        long targetNanos = properties.getTargetChunkLatency().toNanos();
+        int adapted = chunkSize;
+        if (elapsedNanos > targetNanos) {
+            adapted = chunkSize / 2;
+        } else if (elapsedNanos < targetNanos / 2) {
+            adapted = chunkSize + Math.max(1, chunkSize / 4);
+        }
+        return Math.clamp(adapted, properties.getMinChunkSize(), properties.getMaxChunkSize());
+    }
+
+    private void pause(long nanos) {
+        long clamped = Math.clamp(nanos, properties.getMinPause().toNanos(), properties.getMaxPause().toNanos());
+        try {
+            Thread.sleep(Duration.ofNanos(clamped));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.application.service;
+
+import com.example.application.config.InvalidAsinRetentionProperties;
+import com.example.application.dto.InvalidAsinPartitionDTO;
+import com.example.application.dto.InvalidAsinRetentionReportDTO;
+import com.example.application.mapper.InvalidAsinConvert;
+import com.example.domain.model.InvalidAsinPartition;
+import com.example.domain.repository.InvalidAsinPartitionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invalid ASIN 按 ds 分区的保留应用服务
+ * 表按 ds 做 RANGE COLUMNS 分区，最后一个分区为 MAXVALUE。每次维护先从 MAXVALUE 分区中拆出当前周期之后
+ * premakePeriods 个周期的分区，新数据落入的分区始终已存在、MAXVALUE 分区保持为空，拆分只修改元数据；
+ * 再整体删除上界不超过保留截止日期的分区，耗时与过期数据量无关，不逐行删除。
+ * 首次维护时表只有 MAXVALUE 分区，保留截止日期所在周期之前的数据拆入 p_history 后随即删除，这一次需要搬迁已有数据。
+ * 维护幂等：多个实例同时执行时后执行的 DDL 失败，下次维护重新读取分区后收敛
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class InvalidAsinRetentionApplicationService {
+
+    private static final String HISTORY_PARTITION = "p_history";
+
+    private static final DateTimeFormatter DS_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final InvalidAsinPartitionRepository partitionRepository;
+
+    private final InvalidAsinRetentionProperties properties;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Timer maintainLatency;
+    private final Counter createdCounter;
+    private final Counter droppedCounter;
+    private final Counter droppedRowsCounter;
+
+    public InvalidAsinRetentionApplicationService(InvalidAsinPartitionRepository partitionRepository,
+                                                  InvalidAsinRetentionProperties properties,
+                                                  MeterRegistry meterRegistry) {
+        this.partitionRepository = partitionRepository;
+        this.properties = properties;
+
+        this.maintainLatency = Timer.builder("invalid.asin.retention.latency")
+                .description("分区维护耗时")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.createdCounter = partitionsCounter(meterRegistry, "created");
+        this.droppedCounter = partitionsCounter(meterRegistry, "dropped");
+        this.droppedRowsCounter = Counter.builder("invalid.asin.retention.rows")
+                .description("随过期分区删除的估算行数")
+                .register(meterRegistry);
+
+        if (properties.isEnabled()) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("invalid-asin-retention").daemon().factory());
+            scheduler.scheduleWithFixedDelay(this::maintainQuietly, properties.getInitialDelay().toMillis(),
+                    properties.getCheckInterval().toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (Objects.nonNull(scheduler)) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 查询当前分区
+     *
+     * @return 分区列表，表未分区时为空
+     */
+    public List<InvalidAsinPartitionDTO> getPartitions() {
+        return InvalidAsinConvert.INSTANCE.partitionsToDtoList(partitionRepository.findAll());
+    }
+
+    /**
+     * 维护分区：预建后续周期的分区，删除整体过期的分区
+     *
+     * @return 维护结果
+     */
+    public synchronized InvalidAsinRetentionReportDTO maintain() {
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        LocalDate cutoff = today.minusDays(Math.max(properties.getRetentionDays(), 0));
+        String cutoffDs = cutoff.format(DS_FORMATTER);
+
+        InvalidAsinRetentionReportDTO report = new InvalidAsinRetentionReportDTO();
+        report.setCutoffDs(cutoffDs);
+        report.setCreatedPartitions(List.of());
+        report.setDroppedPartitions(List.of());
+        List<InvalidAsinPartition> partitions = partitionRepository.findAll();
+        report.setPartitioned(!partitions.isEmpty());
+        if (partitions.isEmpty()) {
+            report.setPartitions(List.of());
+            report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return report;
+        }
+
+        List<String> created = createAhead(partitions, today, cutoff);
+        if (!created.isEmpty()) {
+            createdCounter.increment(created.size());
+            report.setCreatedPartitions(created);
+            partitions = partitionRepository.findAll();
+        }
+
+        List<String> dropped = new ArrayList<>();
+        long droppedRows = 0;
+        for (InvalidAsinPartition partition : partitions) {
+            if (!partition.isMaxValue() && partition.getLessThan().compareTo(cutoffDs) <= 0) {
+                dropped.add(partition.getName());
+                droppedRows += Objects.requireNonNullElse(partition.getEstimatedRows(), 0L);
+            }
+        }
+        if (!dropped.isEmpty()) {
+            partitionRepository.drop(dropped);
+            droppedCounter.increment(dropped.size());
+            droppedRowsCounter.increment(droppedRows);
+            report.setDroppedPartitions(dropped);
+            report.setDroppedRows(droppedRows);
+            partitions = partitionRepository.findAll();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        maintainLatency.record(elapsed, TimeUnit.NANOSECONDS);
+        report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsed));
+        report.setPartitions(InvalidAsinConvert.INSTANCE.partitionsToDtoList(partitions));
+        if (!created.isEmpty() || !dropped.isEmpty()) {
+            log.info("无效ASIN分区维护完成: cutoffDs={}, 新建={}, 删除={}, 删除估算行数={}, 耗时={}ms",
+                    cutoffDs, created, dropped, droppedRows, report.getElapsedMillis());
+        }
+        return report;
+    }
+
+    /**
+     * 从 MAXVALUE 分区中拆出直到当前周期之后 premakePeriods 个周期的分区
+     *
+     * @return 新建的分区名
+     */
+    private List<String> createAhead(List<InvalidAsinPartition> partitions, LocalDate today, LocalDate cutoff) {
+        InvalidAsinPartition maxValue = partitions.getLast();
+        if (!maxValue.isMaxValue()) {
+            log.warn("无效ASIN表缺少 MAXVALUE 分区，无法预建分区: lastPartition={}", maxValue.getName());
+            return List.of();
+        }
+        LocalDate target = periodStart(today);
+        for (int i = 0; i <= Math.max(properties.getPremakePeriods(), 0); i++) {
+            target = nextPeriod(target);
+        }
+        String lastBound = partitions.size() > 1 ? partitions.get(partitions.size() - 2).getLessThan() : null;
+        if (Objects.nonNull(lastBound) && lastBound.compareTo(target.format(DS_FORMATTER)) >= 0) {
+            return List.of();
+        }
+
+        List<InvalidAsinPartition> split = new ArrayList<>();
+        LocalDate from;
+        if (Objects.isNull(lastBound)) {
+            // 首次拆分，保留截止日期所在周期之前的数据单独成区，随后整体删除
+            from = periodStart(cutoff);
+            split.add(partition(HISTORY_PARTITION, from));
+        } else {
+            from = LocalDate.parse(lastBound, DS_FORMATTER);
+        }
+        while (from.isBefore(target)) {
+            LocalDate to = nextPeriod(periodStart(from));
+            split.add(partition("p" + from.format(DS_FORMATTER), to));
+            from = to;
+        }
+        List<String> created = split.stream().map(InvalidAsinPartition::getName).toList();
+        split.add(InvalidAsinPartition.builder().name(maxValue.getName()).build());
+        partitionRepository.split(maxValue.getName(), split);
+        return created;
+    }
+
+    private void maintainQuietly() {
+        try {
+            maintain();
+        } catch (Exception e) {
+            log.error("无效ASIN分区维护失败", e);
+        }
+    }
+
+    private LocalDate periodStart(LocalDate date) {
+        return properties.getGranularity() == InvalidAsinRetentionProperties.Granularity.MONTH
+                ? date.withDayOfMonth(1) : date;
+    }
+
+    private LocalDate nextPeriod(LocalDate periodStart) {
+        return properties.getGranularity() == InvalidAsinRetentionProperties.Granularity.MONTH
+                ? periodStart.plusMonths(1) : periodStart.plusDays(1);
+    }
+
+    private static InvalidAsinPartition partition(String name, LocalDate lessThan) {
+        return InvalidAsinPartition.builder()
+                .name(name)
+                .lessThan(lessThan.format(DS_FORMATTER))
+                .build();
+    }
+
+    private static Counter partitionsCounter(MeterRegistry meterRegistry, String action) {
+        return Counter.builder("invalid.asin.retention.partitions")
+                .description("分区维护新建和删除的分区数")
+                .tag("action", action)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.benchmarks;
+
+import com.example.domain.model.InvalidAsinEntity;
+import com.example.infrastructure.persistence.DO.InvalidAsinDO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 基准测试数据生成，固定随机种子，保证不同运行之间的数据一致
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+public final class BenchmarkData {
+
+    /**
+     * 租户数，数据按租户均匀分布
+     */
+    public static final int TENANTS = 10;
+
+    private static final String[] MARKETPLACES = {"ATVPDKIKX0DER", "A1F83G8C2ARO7P", "A1PA6795UKMFR9", "A1VC38T7YXB528"};
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private BenchmarkData() {
+    }
+
+    public static String tenantId(int index) {
+        return "tenant-" + (index % TENANTS);
+    }
+
+    public static String sellerAsin(int index) {
+        return String.format("B0%08d", index);
+    }
+
+    /**
+     * 生成领域实体，不含ID
+     *
+     * @param rows 行数
+     * @return 领域实体列表
+     */
+    public static List<InvalidAsinEntity> entities(int rows) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<InvalidAsinEntity> entities = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            InvalidAsinEntity entity = new InvalidAsinEntity();
+            entity.setTenantId(tenantId(i));
+            entity.setApplyInstanceId("instance-" + random.nextInt(100));
+            entity.setTemplateId("template-" + random.nextInt(20));
+            entity.setProfileId("profile-" + random.nextInt(50));
+            entity.setMarketplaceId(MARKETPLACES[random.nextInt(MARKETPLACES.length)]);
+            entity.setSellerId("seller-" + random.nextInt(200));
+            entity.setSellerAsin(sellerAsin(i));
+            entity.setCreateTime(BASE_TIME.plusSeconds(i));
+            entity.setDs(entity.getCreateTime().toLocalDate().toString().replace("-", ""));
+            entities.add(entity);
+        }
+        return entities;
+    }
+
+    /**
+     * 生成数据对象，ID从1开始
+     *
+     * @param rows 行数
+     * @return 数据对象列表
+     */
+    public static List<InvalidAsinDO> dataObjects(int rows) {
+        List<InvalidAsinEntity> entities = entities(rows);
+        List<InvalidAsinDO> dataObjects = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            InvalidAsinEntity entity = entities.get(i);
+            InvalidAsinDO dataObject = new InvalidAsinDO();
+            dataObject.setId(i + 1L);
+            dataObject.setTenantId(entity.getTenantId());
+            dataObject.setApplyInstanceId(entity.getApplyInstanceId());
+            dataObject.setTemplateId(entity.getTemplateId());
+            dataObject.setProfileId(entity.getProfileId());
+            dataObject.setMarketplaceId(entity.getMarketplaceId());
+            dataObject.setSellerId(entity.getSellerId());
+            dataObject.setSellerAsin(entity.getSellerAsin());
+            dataObject.setCreateTime(entity.getCreateTime());
+            dataObject.setDs(entity.getDs());
+            dataObjects.add(dataObject);
+        }
+        return dataObjects;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 基准测试入口
+ * 参数与 JMH 命令行一致，未指定结果格式和文件时默认输出 JSON 到 jmh-result-时间戳.json，
+ * 便于保存并对比不同版本的结果。
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar                      # 运行全部
+ * java -jar benchmarks/target/benchmarks.jar InvalidAsinConvert   # 按正则筛选
+ * java -jar benchmarks/target/benchmarks.jar -rff baseline.json   # 指定结果文件
+ * </pre>
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+public final class BenchmarkRunner {
+
+    private static final DateTimeFormatter RESULT_FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result("jmh-result-" + LocalDateTime.now().format(RESULT_FILE_TIME) + ".json");
+        }
+        new Runner(options.build()).run();
+    }
+}
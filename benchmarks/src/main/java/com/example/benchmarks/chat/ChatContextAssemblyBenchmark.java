@@ -0,0 +1,79 @@
+package com.example.benchmarks.chat;
+
+import com.example.application.ai.ChatContextAssembler;
+import com.example.application.config.ChatContextProperties;
+import com.example.infrastructure.chat.InMemoryChatSessionStore;
+import com.example.infrastructure.config.ChatSessionStoreProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.chat.messages.Message;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 上下文聊天历史组装基准
+ * cacheSize=0 时每次都从会话存储读取并重新估算 token，对应会话缓存未命中的情况
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatContextAssemblyBenchmark {
+
+    private static final int SESSIONS = 1_000;
+
+    private static final String QUESTION = "请根据前面的讨论，总结一下这个广告活动下一步应该如何调整出价和预算？";
+
+    @Param({"10000", "0"})
+    public long cacheSize;
+
+    @Param({"10"})
+    public int turnsPerSession;
+
+    private ChatContextAssembler assembler;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ChatSessionStoreProperties storeProperties = new ChatSessionStoreProperties();
+        storeProperties.setMaxMessagesPerSession(turnsPerSession * 2);
+        ChatContextProperties contextProperties = new ChatContextProperties();
+        contextProperties.setCacheMaximumSize(cacheSize);
+        assembler = new ChatContextAssembler(new InMemoryChatSessionStore(storeProperties, meterRegistry),
+                contextProperties, meterRegistry);
+        for (int session = 0; session < SESSIONS; session++) {
+            for (int turn = 0; turn < turnsPerSession; turn++) {
+                assembler.append(sessionId(session),
+                        "第" + turn + "轮问题：这个ASIN最近7天的点击率和转化率分别是多少，和上周相比有什么变化？",
+                        "第" + turn + "轮回答：最近7天点击率为0.85%，转化率为12.3%，点击率较上周下降0.1个百分点，"
+                                + "转化率基本持平，建议优先检查主图和标题是否有变化，并观察竞品的价格调整。");
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Message> assemble() {
+        return assembler.assemble(sessionId(ThreadLocalRandom.current().nextInt(SESSIONS)), QUESTION);
+    }
+
+    private static String sessionId(int index) {
+        return "bench_session_" + index;
+    }
+}
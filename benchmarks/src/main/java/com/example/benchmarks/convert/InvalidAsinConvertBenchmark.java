@@ -0,0 +1,72 @@
+package com.example.benchmarks.convert;
+
+import com.example.application.dto.InvalidAsinDTO;
+import com.example.application.mapper.InvalidAsinConvert;
+import com.example.benchmarks.BenchmarkData;
+import com.example.domain.model.InvalidAsinEntity;
+import com.example.infrastructure.persistence.DO.InvalidAsinDO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct 转换链基准：DO -> Entity -> DTO，对应列表查询接口的返回路径
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvalidAsinConvertBenchmark {
+
+    private static final com.example.infrastructure.persistence.converter.InvalidAsinConvert PERSISTENCE_CONVERT =
+            com.example.infrastructure.persistence.converter.InvalidAsinConvert.INSTANCE;
+
+    @Param({"10000"})
+    public int rows;
+
+    private List<InvalidAsinDO> dataObjects;
+
+    private List<InvalidAsinEntity> entities;
+
+    @Setup
+    public void setUp() {
+        dataObjects = BenchmarkData.dataObjects(rows);
+        entities = PERSISTENCE_CONVERT.doToEntityList(dataObjects);
+    }
+
+    @Benchmark
+    public List<InvalidAsinEntity> doToEntity() {
+        return PERSISTENCE_CONVERT.doToEntityList(dataObjects);
+    }
+
+    @Benchmark
+    public List<InvalidAsinDTO> entityToDto() {
+        return InvalidAsinConvert.INSTANCE.entityListToDtoList(entities);
+    }
+
+    @Benchmark
+    public List<InvalidAsinDTO> doToEntityToDto() {
+        return InvalidAsinConvert.INSTANCE.entityListToDtoList(PERSISTENCE_CONVERT.doToEntityList(dataObjects));
+    }
+
+    @Benchmark
+    public List<InvalidAsinEntity> copyEntity() {
+        return PERSISTENCE_CONVERT.copyEntityList(entities);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.benchmarks.domain;
+
+import com.example.domain.constant.TimeConstants;
+import com.example.domain.model.ThreadInfoEntity;
+import com.example.domain.model.TimeInfoEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 时间与线程信息实体的创建和格式化基准
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityFormattingBenchmark {
+
+    private ThreadInfoEntity threadInfo;
+
+    @Setup
+    public void setUp() {
+        threadInfo = ThreadInfoEntity.current(1, TimeConstants.PRECISE_TIME_FORMATTER);
+    }
+
+    @Benchmark
+    public TimeInfoEntity timeInfoNow() {
+        return TimeInfoEntity.now(TimeConstants.TIME_FORMATTER);
+    }
+
+    @Benchmark
+    public ThreadInfoEntity threadInfoCurrent() {
+        return ThreadInfoEntity.current(1, TimeConstants.PRECISE_TIME_FORMATTER);
+    }
+
+    @Benchmark
+    public String threadInfoFormat() {
+        return threadInfo.format(TimeConstants.THREAD_INFO_FORMAT);
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.benchmarks.plan;
+
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitorAdapter;
+import net.sf.jsqlparser.expression.Parenthesis;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.relational.ComparisonOperator;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.expression.operators.relational.InExpression;
+import net.sf.jsqlparser.expression.operators.relational.IsNullExpression;
+import net.sf.jsqlparser.expression.operators.relational.NotEqualsTo;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.delete.Delete;
+import net.sf.jsqlparser.statement.select.AllColumns;
+import net.sf.jsqlparser.statement.select.OrderByElement;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SelectExpressionItem;
+import net.sf.jsqlparser.statement.select.SelectItem;
+import net.sf.jsqlparser.statement.update.Update;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 组合索引顾问
+ * 按 InnoDB 的规则判断一条 SQL 能否走索引、能否按索引顺序免排序、能否只读索引完成：
+ * 二级索引隐含追加主键列；索引从左到右被等值条件连续绑定的前缀之后，紧接着的列可用于 IN/范围访问，
+ * ORDER BY 去掉等值绑定的列后必须与剩余索引列同序同向才能免排序。
+ * H2 的 EXPLAIN 只能可靠反映是否全表扫描，文件排序和覆盖索引以这里的推断为准
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+public final class IndexAdvisor {
+
+    private static final String PRIMARY = "PRIMARY";
+
+    /**
+     * 表名 -> 索引列表，表名和列名均为小写
+     */
+    private final Map<String, List<Index>> indexesByTable;
+
+    private IndexAdvisor(Map<String, List<Index>> indexesByTable) {
+        this.indexesByTable = indexesByTable;
+    }
+
+    /**
+     * 从数据库元数据加载当前 schema 下所有表的索引
+     *
+     * @param connection 数据库连接
+     * @return 索引顾问
+     */
+    public static IndexAdvisor load(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String schema = connection.getSchema();
+        List<String> tables = new ArrayList<>();
+        try (ResultSet rs = metaData.getTables(null, schema, "%", new String[]{"TABLE", "BASE TABLE"})) {
+            while (rs.next()) {
+                tables.add(rs.getString("TABLE_NAME"));
+            }
+        }
+        Map<String, List<Index>> indexesByTable = new HashMap<>();
+        for (String table : tables) {
+            List<String> primaryKey = new ArrayList<>();
+            try (ResultSet rs = metaData.getPrimaryKeys(null, schema, table)) {
+                Map<Integer, String> ordered = new TreeMap<>();
+                while (rs.next()) {
+                    ordered.put(rs.getInt("KEY_SEQ"), lower(rs.getString("COLUMN_NAME")));
+                }
+                primaryKey.addAll(ordered.values());
+            }
+            Map<String, Map<Integer, String>> columnsByIndex = new LinkedHashMap<>();
+            try (ResultSet rs = metaData.getIndexInfo(null, schema, table, false, false)) {
+                while (rs.next()) {
+                    String indexName = rs.getString("INDEX_NAME");
+                    if (Objects.isNull(indexName)) {
+                        continue;
+                    }
+                    columnsByIndex.computeIfAbsent(indexName, k -> new TreeMap<>())
+                            .put(rs.getInt("ORDINAL_POSITION"), lower(rs.getString("COLUMN_NAME")));
+                }
+            }
+            List<Index> indexes = new ArrayList<>();
+            if (!primaryKey.isEmpty()) {
+                indexes.add(new Index(PRIMARY, primaryKey, true));
+            }
+            columnsByIndex.forEach((name, columns) -> {
+                List<String> keyColumns = new ArrayList<>(columns.values());
+                if (keyColumns.equals(primaryKey)) {
+                    return;
+                }
+                // InnoDB 二级索引叶子节点存放主键，等价于索引末尾隐含主键列
+                for (String pk : primaryKey) {
+                    if (!keyColumns.contains(pk)) {
+                        keyColumns.add(pk);
+                    }
+                }
+                indexes.add(new Index(lower(name), keyColumns, false));
+            });
+            indexesByTable.put(lower(table), indexes);
+        }
+        return new IndexAdvisor(indexesByTable);
+    }
+
+    /**
+     * 为一条 SELECT/UPDATE/DELETE 选择最合适的索引
+     *
+     * @param sql 带 ? 占位符的 SQL
+     * @return 推断结果，INSERT 等不涉及索引访问的语句返回空
+     */
+    public Optional<Advice> advise(String sql) {
+        Shape shape;
+        try {
+            shape = Shape.parse(CCJSqlParserUtil.parse(sql));
+        } catch (JSQLParserException e) {
+            throw new IllegalArgumentException("无法解析 SQL: " + sql, e);
+        }
+        if (Objects.isNull(shape)) {
+            return Optional.empty();
+        }
+        List<Index> indexes = indexesByTable.getOrDefault(shape.table(), List.of());
+        return Optional.of(indexes.stream()
+                .map(index -> evaluate(shape, index))
+                .filter(Advice::accessible)
+                // 与优化器一致优先选绑定列最多的索引，同等选择性下再看能否免排序、能否覆盖
+                .max(Comparator.comparingInt(Advice::boundColumns)
+                        .thenComparing(Advice::sortFree)
+                        .thenComparing(Advice::covering))
+                .orElseGet(() -> new Advice(shape.table(), null, false, !shape.hasOrder(), false, 0, shape.hasOrder())));
+    }
+
+    private static Advice evaluate(Shape shape, Index index) {
+        List<String> columns = index.columns();
+        int eq = 0;
+        while (eq < columns.size() && shape.equality().contains(columns.get(eq))) {
+            eq++;
+        }
+        int bound = eq;
+        if (bound < columns.size() && (shape.in().contains(columns.get(bound)) || shape.range().contains(columns.get(bound)))) {
+            bound++;
+        }
+        boolean accessible = bound > 0;
+
+        boolean sortFree = true;
+        List<OrderColumn> order = shape.order().stream()
+                .filter(o -> !shape.equality().contains(o.column()))
+                .toList();
+        if (!order.isEmpty()) {
+            boolean asc = order.getFirst().asc();
+            for (int i = 0; i < order.size(); i++) {
+                int position = eq + i;
+                OrderColumn o = order.get(i);
+                if (position >= columns.size() || !columns.get(position).equals(o.column()) || o.asc() != asc) {
+                    sortFree = false;
+                    break;
+                }
+            }
+        }
+        boolean covering = !shape.selectsAll() && columns.containsAll(shape.referenced());
+        return new Advice(shape.table(), index.name(), accessible, sortFree, covering, bound, shape.hasOrder());
+    }
+
+    private static String lower(String name) {
+        return Objects.isNull(name) ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    private static String columnName(Column column) {
+        return lower(column.getColumnName().replace("`", ""));
+    }
+
+    /**
+     * 推断结果
+     *
+     * @param table 表名
+     * @param index 选中的索引，为空表示没有可用索引
+     * @param accessible 是否能通过索引定位，false 即全表扫描
+     * @param sortFree 是否能按索引顺序输出而无需文件排序，无 ORDER BY 时恒为 true
+     * @param covering 是否只读索引即可完成，SELECT * 和 UPDATE 恒为 false
+     * @param boundColumns 被等值/IN/范围条件绑定的索引前缀列数
+     * @param ordered 语句是否带 ORDER BY
+     */
+    public record Advice(String table, String index, boolean accessible, boolean sortFree, boolean covering,
+                         int boundColumns, boolean ordered) {
+
+        public boolean fullScan() {
+            return !accessible;
+        }
+
+        public boolean filesort() {
+            return ordered && !sortFree;
+        }
+    }
+
+    private record Index(String name, List<String> columns, boolean primary) {
+    }
+
+    private record OrderColumn(String column, boolean asc) {
+    }
+
+    /**
+     * 语句的访问形态：等值、IN、范围列，排序列，以及用到的全部列
+     */
+    private record Shape(String table, Set<String> equality, Set<String> in, Set<String> range,
+                         List<OrderColumn> order, Set<String> referenced, boolean selectsAll) {
+
+        boolean hasOrder() {
+            return !order.isEmpty();
+        }
+
+        static Shape parse(Statement statement) {
+            Shape shape;
+            Expression where;
+            if (statement instanceof Select select && select.getSelectBody() instanceof PlainSelect plain
+                    && plain.getFromItem() instanceof Table table) {
+                shape = empty(table);
+                where = plain.getWhere();
+                for (SelectItem item : plain.getSelectItems()) {
+                    if (item instanceof AllColumns) {
+                        shape = shape.withSelectsAll();
+                    } else if (item instanceof SelectExpressionItem expressionItem) {
+                        collectColumns(expressionItem.getExpression(), shape.referenced());
+                    }
+                }
+                if (Objects.nonNull(plain.getOrderByElements())) {
+                    for (OrderByElement element : plain.getOrderByElements()) {
+                        if (element.getExpression() instanceof Column column) {
+                            shape.order().add(new OrderColumn(columnName(column), element.isAsc()));
+                            shape.referenced().add(columnName(column));
+                        }
+                    }
+                }
+            } else if (statement instanceof Update update) {
+                // UPDATE 要回表修改整行，不存在覆盖索引
+                shape = empty(update.getTable()).withSelectsAll();
+                where = update.getWhere();
+            } else if (statement instanceof Delete delete) {
+                shape = empty(delete.getTable()).withSelectsAll();
+                where = delete.getWhere();
+            } else {
+                return null;
+            }
+            if (Objects.nonNull(where)) {
+                shape.collectPredicates(where);
+                collectColumns(where, shape.referenced());
+            }
+            return shape;
+        }
+
+        private static Shape empty(Table table) {
+            return new Shape(lower(table.getName().replace("`", "")), new HashSet<>(), new HashSet<>(),
+                    new HashSet<>(), new ArrayList<>(), new HashSet<>(), false);
+        }
+
+        private Shape withSelectsAll() {
+            return new Shape(table, equality, in, range, order, referenced, true);
+        }
+
+        /**
+         * 只展开 AND，OR 等其它条件不参与索引定位
+         */
+        private void collectPredicates(Expression expression) {
+            if (expression instanceof AndExpression and) {
+                collectPredicates(and.getLeftExpression());
+                collectPredicates(and.getRightExpression());
+            } else if (expression instanceof Parenthesis parenthesis) {
+                collectPredicates(parenthesis.getExpression());
+            } else if (expression instanceof EqualsTo equalsTo && equalsTo.getLeftExpression() instanceof Column column) {
+                equality.add(columnName(column));
+            } else if (expression instanceof IsNullExpression isNull && !isNull.isNot()
+                    && isNull.getLeftExpression() instanceof Column column) {
+                // InnoDB 把 IS NULL 当作等值（ref）访问
+                equality.add(columnName(column));
+            } else if (expression instanceof InExpression inExpression && !inExpression.isNot()
+                    && inExpression.getLeftExpression() instanceof Column column) {
+                in.add(columnName(column));
+            } else if (expression instanceof ComparisonOperator comparison && !(expression instanceof NotEqualsTo)) {
+                // 行构造比较 (a, b) < (?, ?) 只能在第一列上做范围访问
+                List<String> left = new ArrayList<>();
+                collectColumns(comparison.getLeftExpression(), left);
+                if (!left.isEmpty()) {
+                    range.add(left.getFirst());
+                }
+            }
+        }
+
+        private static void collectColumns(Expression expression, Collection<String> target) {
+            expression.accept(new ExpressionVisitorAdapter() {
+                @Override
+                public void visit(Column column) {
+                    target.add(columnName(column));
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.example.benchmarks.plan;
+
+import com.example.benchmarks.BenchmarkData;
+import com.example.benchmarks.repository.BenchmarkPersistenceApplication;
+import com.example.domain.model.InvalidAsinEntity;
+import com.example.domain.model.InvalidAsinPurgeJob;
+import com.example.domain.model.InvalidAsinPurgeJobStatus;
+import com.example.domain.model.InvalidAsinQuery;
+import com.example.domain.repository.InvalidAsinCounter;
+import com.example.domain.repository.InvalidAsinPurgeJobRepository;
+import com.example.domain.repository.InvalidAsinRepository;
+import com.example.infrastructure.persistence.mapper.InvalidAsinMapper;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/**
+ * Invalid ASIN 查询计划回归检查
+ * 在 H2（MySQL 兼容模式）上装载数据后逐一调用仓储的每种查询形态（租户 + profile/站点/ASIN 的所有组合），
+ * 拦截 Mapper 生成的每条 SELECT/UPDATE/DELETE 并 EXPLAIN：
+ * H2 计划为全表扫描，或按 InnoDB 规则找不到可用索引、需要文件排序时判定失败，进程以非零状态退出，可直接接入 CI。
+ * 结果集有界的形态（按 ASIN 定位、IN 列表分片）允许排序，但必须在登记处写明理由
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+public final class InvalidAsinQueryPlanCheck {
+
+    private static final int ROWS = 20_000;
+
+    private final InvalidAsinRepository repository;
+
+    private final InvalidAsinPurgeJobRepository purgeJobRepository;
+
+    private final InvalidAsinMapper mapper;
+
+    private final InvalidAsinCounter counter;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final QueryPlanRecorder recorder;
+
+    private final IndexAdvisor advisor;
+
+    private final List<Result> results = new ArrayList<>();
+
+    private InvalidAsinQueryPlanCheck(ConfigurableApplicationContext context, QueryPlanRecorder recorder,
+                                      IndexAdvisor advisor) {
+        this.repository = context.getBean(InvalidAsinRepository.class);
+        this.purgeJobRepository = context.getBean(InvalidAsinPurgeJobRepository.class);
+        this.mapper = context.getBean(InvalidAsinMapper.class);
+        this.counter = context.getBean(InvalidAsinCounter.class);
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        this.recorder = recorder;
+        this.advisor = advisor;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int failures;
+        try (ConfigurableApplicationContext context = BenchmarkPersistenceApplication.start(false)) {
+            InvalidAsinRepository repository = context.getBean(InvalidAsinRepository.class);
+            repository.batchSave(BenchmarkData.entities(ROWS));
+            context.getBean(JdbcTemplate.class).execute("ANALYZE");
+
+            IndexAdvisor advisor;
+            try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+                advisor = IndexAdvisor.load(connection);
+            }
+            QueryPlanRecorder recorder = new QueryPlanRecorder();
+            context.getBean(SqlSessionFactory.class).getConfiguration().addInterceptor(recorder);
+
+            InvalidAsinQueryPlanCheck check = new InvalidAsinQueryPlanCheck(context, recorder, advisor);
+            check.runAll();
+            failures = check.report();
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    private void runAll() {
+        InvalidAsinEntity sample = BenchmarkData.entities(1).getFirst();
+        String tenantId = sample.getTenantId();
+
+        // 租户 + profile/站点/ASIN 的全部组合
+        for (int mask = 0; mask < 8; mask++) {
+            String profileId = (mask & 1) != 0 ? sample.getProfileId() : null;
+            String marketplaceId = (mask & 2) != 0 ? sample.getMarketplaceId() : null;
+            String sellerAsin = (mask & 4) != 0 ? sample.getSellerAsin() : null;
+            String filter = filterLabel(profileId, marketplaceId, sellerAsin);
+            // 带 ASIN 的条件最多命中 profile 数 × 站点数行，排序代价有界
+            String boundedReason = Objects.nonNull(sellerAsin) ? "按 ASIN 定位，结果集有界" : null;
+
+            run("findByCondition 分页 " + filter, boundedReason,
+                    () -> repository.findByCondition(query(tenantId, profileId, marketplaceId, sellerAsin, 1, 20)));
+            run("findByCondition 不分页 " + filter, boundedReason,
+                    () -> repository.findByCondition(query(tenantId, profileId, marketplaceId, sellerAsin, null, null)));
+            run("findViewsByCondition " + filter, boundedReason,
+                    () -> repository.findViewsByCondition(query(tenantId, profileId, marketplaceId, sellerAsin, 2, 20)));
+            run("findByCursor 首页 " + filter, boundedReason,
+                    () -> repository.findByCursor(query(tenantId, profileId, marketplaceId, sellerAsin, null, 20)));
+            run("findByCursor 翻页 " + filter, boundedReason, () -> {
+                InvalidAsinQuery query = query(tenantId, profileId, marketplaceId, sellerAsin, null, 20);
+                query.setCursorCreateTime(LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(ROWS / 2));
+                query.setCursorId(Long.MAX_VALUE);
+                repository.findByCursor(query);
+            });
+            run("streamByCondition " + filter, boundedReason,
+                    () -> repository.streamByCondition(query(tenantId, profileId, marketplaceId, sellerAsin, null, null),
+                            view -> {
+                            }));
+            run("countByCondition " + filter, null,
+                    () -> repository.countByCondition(query(tenantId, profileId, marketplaceId, sellerAsin, null, null)));
+        }
+
+        // 按条件删除只支持租户 + profile/站点
+        for (int mask = 0; mask < 4; mask++) {
+            String profileId = (mask & 1) != 0 ? sample.getProfileId() : null;
+            String marketplaceId = (mask & 2) != 0 ? sample.getMarketplaceId() : null;
+            String filter = filterLabel(profileId, marketplaceId, null);
+            run("findKeysByCondition " + filter, null,
+                    () -> repository.findKeysByCondition(tenantId, profileId, marketplaceId, null, null, 1000));
+            run("findKeysByCondition 游标 " + filter, null,
+                    () -> repository.findKeysByCondition(tenantId, profileId, marketplaceId,
+                            sample.getCreateTime(), 1L, 1000));
+            run("deleteByConditionAndIds " + filter, null, () -> inRollback(
+                    () -> repository.deleteByConditionAndIds(tenantId, profileId, marketplaceId, List.of(1L, 11L, 21L))));
+            run("deleteByCondition " + filter, null,
+                    () -> inRollback(() -> repository.deleteByCondition(tenantId, profileId, marketplaceId)));
+        }
+
+        // ds 是分区键，MySQL 上先按分区裁剪，分区内仍按 (租户, create_time) 索引定位和排序
+        run("findByCondition 分页 [租户] ds 范围", null,
+                () -> repository.findByCondition(withDsRange(query(tenantId, null, null, null, 1, 20))));
+        run("findByCursor 首页 [租户] ds 范围", null,
+                () -> repository.findByCursor(withDsRange(query(tenantId, null, null, null, null, 20))));
+        run("countByCondition [租户] ds 范围", null,
+                () -> repository.countByCondition(withDsRange(query(tenantId, null, null, null, null, null))));
+
+        List<String> sellerAsins = LongStream.range(0, 100).mapToObj(i -> BenchmarkData.sellerAsin((int) i * 10)).toList();
+        run("findByTenantIdAndSellerAsin", "按 ASIN 定位，结果集有界",
+                () -> repository.findByTenantIdAndSellerAsin(tenantId, sample.getSellerAsin()));
+        run("existsInvalid", null, () -> repository.existsInvalid(tenantId, null, sample.getSellerAsin()));
+        run("existsInvalid 站点", null,
+                () -> repository.existsInvalid(tenantId, sample.getMarketplaceId(), sample.getSellerAsin()));
+        run("filterInvalid", null, () -> repository.filterInvalid(tenantId, null, sellerAsins));
+        run("filterInvalid 站点", null, () -> repository.filterInvalid(tenantId, sample.getMarketplaceId(), sellerAsins));
+        run("upsertAll", "IN 列表分片，结果集有界", () -> inRollback(() -> repository.upsertAll(BenchmarkData.entities(50))));
+        run("findById", null, () -> repository.findById(1L));
+        run("updateById", null, () -> inRollback(() -> {
+            InvalidAsinEntity patch = new InvalidAsinEntity();
+            patch.setId(1L);
+            patch.setSellerId("seller-plan");
+            patch.setVersion(0);
+            return repository.updateById(patch).isPresent();
+        }));
+        run("deleteById", null, () -> inRollback(() -> repository.deleteById(1L)));
+        run("updateByIds", null, () -> inRollback(() -> {
+            InvalidAsinEntity patch = new InvalidAsinEntity();
+            patch.setSellerId("seller-plan");
+            return repository.updateByIds(tenantId, List.of(1L, 11L, 21L), patch);
+        }));
+        run("deleteByIds", null, () -> inRollback(() -> repository.deleteByIds(tenantId, List.of(1L, 11L, 21L))));
+        run("mapper.selectByTenantIdAndProfileId", null,
+                () -> mapper.selectByTenantIdAndProfileId(tenantId, sample.getProfileId()));
+        run("mapper.scanAsinKeysByTenantId", null, () -> mapper.scanAsinKeysByTenantId(tenantId, context -> {
+        }));
+        run("counter.recount", null, () -> counter.recount(tenantId));
+        run("mapper.selectSnapshotPage 首页", null, () -> mapper.selectSnapshotPage(tenantId, null, null, 5000));
+        run("mapper.selectSnapshotPage 水位之后", null, () -> mapper.selectSnapshotPage(tenantId,
+                LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(ROWS / 2), 0L, 5000));
+
+        LocalDateTime now = LocalDateTime.now();
+        purgeJobRepository.save(InvalidAsinPurgeJob.builder()
+                .jobId("plan-check")
+                .tenantId(tenantId)
+                .status(InvalidAsinPurgeJobStatus.RUNNING)
+                .deletedRows(0L)
+                .chunkCount(0L)
+                .chunkSize(1000)
+                .owner("plan-check")
+                .heartbeatTime(now)
+                .createTime(now)
+                .build());
+        run("purgeJob.findById", null, () -> purgeJobRepository.findById("plan-check"));
+        run("purgeJob.saveProgress", null, () -> purgeJobRepository.saveProgress(purgeJobRepository
+                .findById("plan-check").orElseThrow().toBuilder().deletedRows(1L).build()));
+        run("purgeJob.findStale", null, () -> purgeJobRepository.findStale(now.minusMinutes(2), 10));
+        run("purgeJob.claim", null, () -> purgeJobRepository.claim("plan-check", "other", now.minusMinutes(2), now));
+        run("purgeJob.cancel", null, () -> purgeJobRepository.cancel("plan-check", now));
+    }
+
+    /**
+     * 执行一种查询形态并检查其间产生的全部语句
+     *
+     * @param shape 形态名称
+     * @param allowedSortReason 允许文件排序的理由，为空表示不允许
+     * @param action 调用仓储
+     */
+    private void run(String shape, String allowedSortReason, Runnable action) {
+        String error = null;
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            // 执行失败（如 H2 不支持流式 fetchSize）不影响计划检查，语句在执行前已 EXPLAIN
+            error = e.getClass().getSimpleName();
+        }
+        List<QueryPlanRecorder.RecordedStatement> statements = recorder.drain();
+        if (statements.isEmpty()) {
+            results.add(new Result(shape, null, null, null, "未产生可检查的语句" + (Objects.nonNull(error) ? ": " + error : "")));
+            return;
+        }
+        for (QueryPlanRecorder.RecordedStatement statement : statements) {
+            IndexAdvisor.Advice advice = advisor.advise(statement.sql()).orElse(null);
+            String failure = null;
+            if (statement.plan().contains(".tableScan")) {
+                failure = "H2 计划为全表扫描";
+            } else if (Objects.nonNull(advice) && advice.fullScan()) {
+                failure = "没有可用索引";
+            } else if (Objects.nonNull(advice) && advice.filesort() && Objects.isNull(allowedSortReason)) {
+                failure = "需要文件排序";
+            }
+            results.add(new Result(shape, statement, advice, allowedSortReason, failure));
+        }
+    }
+
+    private void inRollback(Supplier<?> action) {
+        transactionTemplate.executeWithoutResult(status -> {
+            action.get();
+            status.setRollbackOnly();
+        });
+    }
+
+    /**
+     * 打印报告
+     *
+     * @return 失败的语句数
+     */
+    private int report() {
+        int failures = 0;
+        System.out.printf("%-6s %-56s %-44s %-6s %-6s %s%n", "结果", "形态", "索引", "排序", "覆盖", "语句");
+        for (Result result : results) {
+            if (Objects.isNull(result.statement())) {
+                failures++;
+                System.out.printf("%-6s %-56s %s%n", "FAIL", result.shape(), result.failure());
+                continue;
+            }
+            IndexAdvisor.Advice advice = result.advice();
+            String sort = Objects.isNull(advice) ? "-" : advice.filesort() ? "是" : "否";
+            String covering = Objects.isNull(advice) ? "-" : advice.covering() ? "是" : "否";
+            String index = Objects.isNull(advice) || Objects.isNull(advice.index()) ? "-" : advice.index();
+            if (Objects.nonNull(result.failure())) {
+                failures++;
+            }
+            System.out.printf("%-6s %-56s %-44s %-6s %-6s %s%n", Objects.isNull(result.failure()) ? "OK" : "FAIL",
+                    result.shape(), index, sort, covering, result.statement().statementId());
+            if (Objects.nonNull(result.failure())) {
+                System.out.println("       原因: " + result.failure());
+                System.out.println("       SQL:  " + result.statement().sql());
+                System.out.println("       计划: " + result.statement().plan().replace("\n", "\n             "));
+            } else if (Objects.nonNull(advice) && advice.filesort()) {
+                System.out.println("       允许排序: " + result.allowedSortReason());
+            }
+        }
+        System.out.printf("%n共 %d 条语句，失败 %d 条%n", results.size(), failures);
+        return failures;
+    }
+
+    private static InvalidAsinQuery query(String tenantId, String profileId, String marketplaceId, String sellerAsin,
+                                          Integer pageNum, Integer pageSize) {
+        InvalidAsinQuery query = new InvalidAsinQuery();
+        query.setTenantId(tenantId);
+        query.setProfileId(profileId);
+        query.setMarketplaceId(marketplaceId);
+        query.setSellerAsin(sellerAsin);
+        query.setPageNum(pageNum);
+        query.setPageSize(pageSize);
+        return query;
+    }
+
+    private static InvalidAsinQuery withDsRange(InvalidAsinQuery query) {
+        query.setDsFrom("20240101");
+        query.setDsTo("20240131");
+        return query;
+    }
+
+    private static String filterLabel(String profileId, String marketplaceId, String sellerAsin) {
+        StringBuilder label = new StringBuilder("[租户");
+        if (Objects.nonNull(profileId)) {
+            label.append("+profile");
+        }
+        if (Objects.nonNull(marketplaceId)) {
+            label.append("+站点");
+        }
+        if (Objects.nonNull(sellerAsin)) {
+            label.append("+ASIN");
+        }
+        return label.append(']').toString();
+    }
+
+    /**
+     * 单条语句的检查结果
+     *
+     * @param shape 形态名称
+     * @param statement 语句，为空表示该形态没有产生语句
+     * @param advice 索引推断
+     * @param allowedSortReason 允许排序的理由
+     * @param failure 失败原因，为空表示通过
+     */
+    private record Result(String shape, QueryPlanRecorder.RecordedStatement statement, IndexAdvisor.Advice advice,
+                          String allowedSortReason, String failure) {
+    }
+}
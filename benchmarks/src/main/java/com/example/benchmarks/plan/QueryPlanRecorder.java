@@ -0,0 +1,89 @@
+package com.example.benchmarks.plan;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * 记录执行计划的 MyBatis 拦截器
+ * 在语句预编译前用同一连接、同一组参数执行 EXPLAIN，记录 Mapper 生成的真实 SQL 和数据库给出的计划，
+ * 只处理 SELECT/UPDATE/DELETE
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+public class QueryPlanRecorder implements Interceptor {
+
+    private static final Set<SqlCommandType> EXPLAINED = Set.of(SqlCommandType.SELECT, SqlCommandType.UPDATE,
+            SqlCommandType.DELETE);
+
+    private final List<RecordedStatement> recorded = new ArrayList<>();
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        StatementHandler handler = PluginUtils.realTarget(invocation.getTarget());
+        PluginUtils.MPStatementHandler mpHandler = PluginUtils.mpStatementHandler(handler);
+        MappedStatement mappedStatement = mpHandler.mappedStatement();
+        if (EXPLAINED.contains(mappedStatement.getSqlCommandType())) {
+            String sql = mpHandler.boundSql().getSql().replaceAll("\\s+", " ").trim();
+            Connection connection = (Connection) invocation.getArgs()[0];
+            String plan = explain(connection, sql, handler);
+            synchronized (recorded) {
+                recorded.add(new RecordedStatement(mappedStatement.getId(), sql, plan));
+            }
+        }
+        // 先 EXPLAIN 再执行，语句本身在 H2 上执行失败（如流式 fetchSize）时计划也已记录
+        return invocation.proceed();
+    }
+
+    /**
+     * 取出并清空已记录的语句
+     *
+     * @return 按执行顺序排列的语句
+     */
+    public List<RecordedStatement> drain() {
+        synchronized (recorded) {
+            List<RecordedStatement> drained = List.copyOf(recorded);
+            recorded.clear();
+            return drained;
+        }
+    }
+
+    private static String explain(Connection connection, String sql, StatementHandler handler) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + sql)) {
+            handler.getParameterHandler().setParameters(ps);
+            StringJoiner plan = new StringJoiner("\n");
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    plan.add(rs.getString(1));
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    /**
+     * 一条已执行的语句
+     *
+     * @param statementId Mapper 语句ID
+     * @param sql 压缩空白后的 SQL
+     * @param plan 数据库返回的执行计划
+     */
+    public record RecordedStatement(String statementId, String sql, String plan) {
+    }
+}
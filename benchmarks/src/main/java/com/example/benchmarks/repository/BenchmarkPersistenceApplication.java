@@ -0,0 +1,67 @@
+package com.example.benchmarks.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 仓储基准使用的最小 Spring 上下文，只装配基础设施层和数据源，Mapper 扫描与启动类一致
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@SpringBootApplication(scanBasePackages = "com.example.infrastructure")
+@MapperScan("com.example.infrastructure.persistence.mapper")
+public class BenchmarkPersistenceApplication {
+
+    private static final String URL = "jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    /**
+     * 启动基于 H2 内存库（MySQL 兼容模式）的仓储上下文
+     * 每次启动先清空内存库，再按编号执行 db/migration 下的迁移脚本建表，表结构和索引与线上一致
+     *
+     * @param cacheEnabled 是否开启仓储缓存装饰器
+     * @return Spring 上下文，由调用方在 TearDown 中关闭
+     */
+    public static ConfigurableApplicationContext start(boolean cacheEnabled) {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            MigrationSchema.apply(connection);
+        } catch (IOException | SQLException e) {
+            throw new IllegalStateException("初始化基准测试表结构失败", e);
+        }
+        return new SpringApplicationBuilder(BenchmarkPersistenceApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=" + URL,
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "mybatis-plus.mapper-locations=classpath*:mapper/**/*.xml",
+                        // 布隆过滤器构建依赖 MySQL 驱动的流式结果集，H2 不支持
+                        "invalid-asin.bloom-filter.enabled=false",
+                        "invalid-asin.cache.enabled=" + cacheEnabled,
+                        "spring.ai.dashscope.api-key=benchmark",
+                        "logging.level.root=warn")
+                .run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.benchmarks.repository;
+
+import com.example.application.dto.InvalidAsinDTO;
+import com.example.application.mapper.InvalidAsinConvert;
+import com.example.benchmarks.BenchmarkData;
+import com.example.domain.model.InvalidAsinQuery;
+import com.example.domain.model.InvalidAsinView;
+import com.example.domain.repository.InvalidAsinRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 列表查询读路径基准：DO -> Entity -> DTO 两次转换 与 直接映射只读视图 对比
+ * 采样模式输出 p99 等分位数，配合 -prof gc 查看每次调用的分配量
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvalidAsinReadPathBenchmark {
+
+    /**
+     * 每个租户 rows / TENANTS 行，一页取满一个租户
+     */
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"10000"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private InvalidAsinRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkPersistenceApplication.start(false);
+        repository = context.getBean(InvalidAsinRepository.class);
+        repository.batchSave(BenchmarkData.entities(rows));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<InvalidAsinDTO> entityToDtoChain() {
+        return InvalidAsinConvert.INSTANCE.entityListToDtoList(repository.findByCondition(query()));
+    }
+
+    @Benchmark
+    public List<InvalidAsinView> directView() {
+        return repository.findViewsByCondition(query());
+    }
+
+    private InvalidAsinQuery query() {
+        InvalidAsinQuery query = new InvalidAsinQuery();
+        query.setTenantId(BenchmarkData.tenantId(ThreadLocalRandom.current().nextInt(BenchmarkData.TENANTS)));
+        query.setPageNum(1);
+        query.setPageSize(pageSize);
+        return query;
+    }
+}
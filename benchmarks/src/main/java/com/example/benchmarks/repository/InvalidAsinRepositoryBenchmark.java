@@ -0,0 +1,105 @@
+package com.example.benchmarks.repository;
+
+import com.example.benchmarks.BenchmarkData;
+import com.example.domain.model.InvalidAsinCursorPage;
+import com.example.domain.model.InvalidAsinEntity;
+import com.example.domain.model.InvalidAsinQuery;
+import com.example.domain.repository.InvalidAsinRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invalid ASIN 仓储查询基准，基于 H2 内存库（MySQL 兼容模式），经过完整的 MyBatis-Plus 映射和转换链
+ * cacheEnabled 对比仓储缓存装饰器开启与关闭；H2 没有网络往返，结果用于版本间对比而不是预估线上耗时
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvalidAsinRepositoryBenchmark {
+
+    private static final int FILTER_BATCH_SIZE = 100;
+
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    @Param({"100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private InvalidAsinRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkPersistenceApplication.start(cacheEnabled);
+        repository = context.getBean(InvalidAsinRepository.class);
+        repository.batchSave(BenchmarkData.entities(rows));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<InvalidAsinEntity> findById() {
+        return repository.findById(ThreadLocalRandom.current().nextLong(1, rows + 1L));
+    }
+
+    @Benchmark
+    public List<InvalidAsinEntity> findByTenantIdAndSellerAsin() {
+        int index = ThreadLocalRandom.current().nextInt(rows);
+        return repository.findByTenantIdAndSellerAsin(BenchmarkData.tenantId(index), BenchmarkData.sellerAsin(index));
+    }
+
+    @Benchmark
+    public InvalidAsinCursorPage findByCursorFirstPage() {
+        InvalidAsinQuery query = new InvalidAsinQuery();
+        query.setTenantId(BenchmarkData.tenantId(ThreadLocalRandom.current().nextInt(BenchmarkData.TENANTS)));
+        query.setPageSize(20);
+        return repository.findByCursor(query);
+    }
+
+    @Benchmark
+    public Set<String> filterInvalid() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String tenantId = BenchmarkData.tenantId(random.nextInt(BenchmarkData.TENANTS));
+        List<String> sellerAsins = new ArrayList<>(FILTER_BATCH_SIZE);
+        for (int i = 0; i < FILTER_BATCH_SIZE; i++) {
+            sellerAsins.add(BenchmarkData.sellerAsin(random.nextInt(rows)));
+        }
+        return repository.filterInvalid(tenantId, null, sellerAsins);
+    }
+
+    @Benchmark
+    public long countByTenant() {
+        InvalidAsinQuery query = new InvalidAsinQuery();
+        query.setTenantId(BenchmarkData.tenantId(ThreadLocalRandom.current().nextInt(BenchmarkData.TENANTS)));
+        return repository.countByCondition(query);
+    }
+}
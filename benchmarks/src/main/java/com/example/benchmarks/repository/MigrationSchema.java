@@ -0,0 +1,144 @@
+package com.example.benchmarks.repository;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 按编号依次执行 db/migration 下的 MySQL 迁移脚本，在 H2（MySQL 兼容模式）上生成与线上一致的表结构和索引
+ * H2 能直接执行单个子句的 MySQL DDL，这里只做三件事：
+ * 多子句的 ALTER TABLE 拆成逐条执行，ADD INDEX / ADD UNIQUE KEY 改为同名的 CREATE INDEX，去掉 ALGORITHM/LOCK 这类在线 DDL 选项；
+ * 跳过 DELETE/UPDATE/INSERT，空库上没有需要清洗或回填的数据；
+ * 跳过分区子句，H2 不支持分区，分区只影响裁剪，不影响索引选择
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+public final class MigrationSchema {
+
+    private static final String LOCATION = "classpath*:db/migration/*.sql";
+
+    private static final Pattern ALTER_TABLE = Pattern.compile("(?is)^ALTER\\s+TABLE\\s+(\\S+)\\s+(.*)$");
+
+    private static final Pattern ADD_INDEX = Pattern.compile("(?is)^ADD\\s+(UNIQUE\\s+)?(?:INDEX|KEY)\\s+(\\S+)\\s*(\\(.*\\))$");
+
+    private static final Pattern ONLINE_DDL_OPTION = Pattern.compile("(?is)^(ALGORITHM|LOCK)\\s*=.*$");
+
+    private MigrationSchema() {
+    }
+
+    /**
+     * 执行全部迁移脚本
+     *
+     * @param connection 目标库连接
+     * @return 执行的语句数
+     */
+    public static int apply(Connection connection) throws IOException, SQLException {
+        Resource[] scripts = new PathMatchingResourcePatternResolver().getResources(LOCATION);
+        Arrays.sort(scripts, Comparator.comparing(Resource::getFilename));
+        int executed = 0;
+        try (Statement statement = connection.createStatement()) {
+            for (Resource script : scripts) {
+                String sql = script.getContentAsString(StandardCharsets.UTF_8);
+                for (String raw : split(stripComments(sql), ';')) {
+                    for (String translated : translate(raw)) {
+                        try {
+                            statement.execute(translated);
+                        } catch (SQLException e) {
+                            throw new SQLException("执行迁移脚本失败: " + script.getFilename() + ": " + translated, e);
+                        }
+                        executed++;
+                    }
+                }
+            }
+        }
+        return executed;
+    }
+
+    private static List<String> translate(String statement) {
+        String upper = statement.toUpperCase(Locale.ROOT);
+        if (upper.startsWith("DELETE") || upper.startsWith("UPDATE") || upper.startsWith("INSERT")) {
+            return List.of();
+        }
+        Matcher alter = ALTER_TABLE.matcher(statement);
+        if (!alter.matches()) {
+            return List.of(statement);
+        }
+        List<String> statements = new ArrayList<>();
+        for (String clause : split(alter.group(2), ',')) {
+            String clauseUpper = clause.toUpperCase(Locale.ROOT);
+            if (ONLINE_DDL_OPTION.matcher(clause).matches() || clauseUpper.startsWith("PARTITION BY")) {
+                continue;
+            }
+            // 索引单独建，H2 的 ADD UNIQUE KEY 会建约束并给底层索引另起名字，EXPLAIN 里对不上迁移脚本中的索引名
+            Matcher addIndex = ADD_INDEX.matcher(clause);
+            if (addIndex.matches()) {
+                statements.add("CREATE " + Objects.requireNonNullElse(addIndex.group(1), "") + "INDEX "
+                        + addIndex.group(2) + " ON " + alter.group(1) + " " + addIndex.group(3));
+                continue;
+            }
+            statements.add("ALTER TABLE " + alter.group(1) + " " + clause);
+        }
+        return statements;
+    }
+
+    private static String stripComments(String sql) {
+        StringBuilder stripped = new StringBuilder();
+        for (String line : sql.split("\\R")) {
+            if (!line.trim().startsWith("--")) {
+                stripped.append(line).append('\n');
+            }
+        }
+        return stripped.toString();
+    }
+
+    /**
+     * 按最外层的分隔符切分，忽略括号和引号内的分隔符
+     */
+    private static List<String> split(String text, char separator) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int depth = 0;
+        Character quote = null;
+        for (char c : text.toCharArray()) {
+            if (Objects.nonNull(quote)) {
+                if (c == quote) {
+                    quote = null;
+                }
+            } else if (c == '\'' || c == '`') {
+                quote = c;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == separator && depth == 0) {
+                addIfNotBlank(parts, current);
+                current.setLength(0);
+                continue;
+            }
+            current.append(c);
+        }
+        addIfNotBlank(parts, current);
+        return parts;
+    }
+
+    private static void addIfNotBlank(List<String> parts, StringBuilder part) {
+        String trimmed = part.toString().trim();
+        if (!trimmed.isEmpty()) {
+            parts.add(trimmed);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.benchmarks.response;
+
+import com.common.response.JlsResponse;
+import com.example.application.dto.ChatResponseDto;
+import com.example.application.dto.InvalidAsinDTO;
+import com.example.application.mapper.InvalidAsinConvert;
+import com.example.benchmarks.BenchmarkData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 统一响应体 JSON 序列化基准，ObjectMapper 配置与 Spring Boot 默认一致（日期输出为字符串）
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JlsResponseSerializationBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Benchmark
+    public byte[] invalidAsinList(ListState state) throws JsonProcessingException {
+        return OBJECT_MAPPER.writeValueAsBytes(state.response);
+    }
+
+    @Benchmark
+    public byte[] chat(ChatState state) throws JsonProcessingException {
+        return OBJECT_MAPPER.writeValueAsBytes(state.response);
+    }
+
+    /**
+     * 列表查询响应
+     */
+    @State(Scope.Benchmark)
+    public static class ListState {
+
+        /**
+         * 20 对应一页游标分页，1000 对应一次大列表查询
+         */
+        @Param({"20", "1000"})
+        public int rows;
+
+        private JlsResponse<List<InvalidAsinDTO>> response;
+
+        @Setup
+        public void setUp() {
+            response = JlsResponse.success(InvalidAsinConvert.INSTANCE.entityListToDtoList(
+                    com.example.infrastructure.persistence.converter.InvalidAsinConvert.INSTANCE
+                            .doToEntityList(BenchmarkData.dataObjects(rows))));
+        }
+    }
+
+    /**
+     * 聊天响应
+     */
+    @State(Scope.Benchmark)
+    public static class ChatState {
+
+        private JlsResponse<ChatResponseDto> response;
+
+        @Setup
+        public void setUp() {
+            response = JlsResponse.success(new ChatResponseDto("chat_0123456789abcdef",
+                    "最近7天点击率为0.85%，转化率为12.3%，建议优先检查主图和标题是否有变化。", true));
+        }
+    }
+}
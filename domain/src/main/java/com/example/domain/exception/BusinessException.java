@@ -56,6 +56,46 @@ public class BusinessException extends RuntimeException {
         return new BusinessException(400, message);
     }
     
+    /**
+     * 创建资源不存在异常
+     * 
+     * @param message 错误信息
+     * @return 业务异常实例
+     */
+    public static BusinessException notFound(String message) {
+        return new BusinessException(404, message);
+    }
+    
+    /**
+     * 创建并发冲突异常，用于乐观锁版本不一致等需要调用方重新读取后再提交的情况
+     * 
+     * @param message 错误信息
+     * @return 业务异常实例
+     */
+    public static BusinessException conflict(String message) {
+        return new BusinessException(409, message);
+    }
+    
+    /**
+     * 创建请求过多异常，用于限流、排队已满等需要调用方稍后重试的情况
+     * 
+     * @param message 错误信息
+     * @return 业务异常实例
+     */
+    public static BusinessException tooManyRequests(String message) {
+        return new BusinessException(429, message);
+    }
+    
+    /**
+     * 创建超时异常，用于调用在截止时间前未完成的情况
+     * 
+     * @param message 错误信息
+     * @return 业务异常实例
+     */
+    public static BusinessException timeout(String message) {
+        return new BusinessException(504, message);
+    }
+    
     /**
      * 创建线程执行异常
      * 
@@ -0,0 +1,72 @@
+package com.example.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 聊天会话中的单条消息
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageEntity {
+
+    /**
+     * 消息角色
+     */
+    private Role role;
+
+    /**
+     * 消息内容
+     */
+    private String content;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * 创建用户消息
+     * 
+     * @param content 消息内容
+     * @return 用户消息
+     */
+    public static ChatMessageEntity user(String content) {
+        return new ChatMessageEntity(Role.USER, content, LocalDateTime.now());
+    }
+
+    /**
+     * 创建助手消息
+     * 
+     * @param content 消息内容
+     * @return 助手消息
+     */
+    public static ChatMessageEntity assistant(String content) {
+        return new ChatMessageEntity(Role.ASSISTANT, content, LocalDateTime.now());
+    }
+
+    /**
+     * 消息角色
+     */
+    public enum Role {
+
+        /**
+         * 用户
+         */
+        USER,
+
+        /**
+         * 助手
+         */
+        ASSISTANT
+    }
+}
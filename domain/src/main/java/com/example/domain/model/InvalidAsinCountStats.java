@@ -0,0 +1,72 @@
+package com.example.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 无效ASIN记录数统计
+ * 近似计数来自按 (租户, profile, 站点) 维护的增量计数器，附带误差上界和距上次精确重算的时间
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvalidAsinCountStats {
+
+    /**
+     * 租户id
+     */
+    private String tenantId;
+
+    /**
+     * Profile ID，为空表示不限
+     */
+    private String profileId;
+
+    /**
+     * 站点ID，为空表示不限
+     */
+    private String marketplaceId;
+
+    /**
+     * 记录数
+     */
+    private long count;
+
+    /**
+     * 是否为数据库精确计数
+     */
+    private boolean exact;
+
+    /**
+     * 误差上界：上次重算以来无法归属到具体 (profile, 站点) 的变更行数，真实值落在 count ± maxError 内
+     */
+    private long maxError;
+
+    /**
+     * 计数器最近一次精确重算完成的时间
+     */
+    private LocalDateTime recountedAt;
+
+    /**
+     * 距最近一次精确重算的毫秒数
+     */
+    private long ageMillis;
+
+    /**
+     * 最近一次精确重算耗时（毫秒）
+     */
+    private long lastRecountMillis;
+
+    /**
+     * 定时重算间隔（毫秒），即 ageMillis 的正常上界
+     */
+    private long recountIntervalMillis;
+}
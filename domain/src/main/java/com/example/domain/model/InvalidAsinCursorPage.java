@@ -0,0 +1,31 @@
+package com.example.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Invalid ASIN 游标分页结果
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvalidAsinCursorPage {
+
+    /**
+     * 当前页数据，按(创建时间, ID)倒序
+     */
+    private List<InvalidAsinView> records;
+
+    /**
+     * 是否还有下一页
+     */
+    private boolean hasMore;
+}
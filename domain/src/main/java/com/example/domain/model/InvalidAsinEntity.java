@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 /**
  * Invalid ASIN 领域实体
@@ -65,10 +66,15 @@ public class InvalidAsinEntity {
     private LocalDateTime createTime;
 
     /**
-     * 时间
+     * 时间，日期分区键，格式 yyyyMMdd
      */
     private String ds;
 
+    /**
+     * 乐观锁版本号，更新时不为空则只在版本一致时生效
+     */
+    private Integer version;
+
     /**
      * 验证租户ID和ASIN是否有效
      * 
@@ -85,4 +91,30 @@ public class InvalidAsinEntity {
     public void setCurrentCreateTime() {
         this.createTime = LocalDateTime.now();
     }
+
+    /**
+     * profile id 和站点为空时按空串写入，唯一索引对 NULL 不生效，统一为空串后自然键才能去重
+     */
+    public void normalizeKey() {
+        if (profileId == null) {
+            this.profileId = "";
+        }
+        if (marketplaceId == null) {
+            this.marketplaceId = "";
+        }
+    }
+
+    /**
+     * 创建时间为空时取当前时间，日期分区为空时按创建时间补齐：
+     * create_time 非空，游标分页和分片清理的 (create_time, id) 比较才能覆盖每一行；
+     * ds 非空，避免空值落入最早的分区而被保留任务提前删除
+     */
+    public void fillTimeColumns() {
+        if (createTime == null) {
+            setCurrentCreateTime();
+        }
+        if (ds == null || ds.trim().isEmpty()) {
+            this.ds = createTime.format(DateTimeFormatter.BASIC_ISO_DATE);
+        }
+    }
 }
\ No newline at end of file
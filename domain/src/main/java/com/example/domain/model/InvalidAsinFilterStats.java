@@ -0,0 +1,74 @@
+package com.example.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 租户无效ASIN布隆过滤器统计信息
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvalidAsinFilterStats {
+
+    /**
+     * 租户id
+     */
+    private String tenantId;
+
+    /**
+     * 过滤器是否已构建完成
+     */
+    private boolean ready;
+
+    /**
+     * 位数组大小（bit）
+     */
+    private long bitSize;
+
+    /**
+     * 哈希函数个数
+     */
+    private int hashFunctions;
+
+    /**
+     * 构建时预估的元素个数
+     */
+    private long expectedInsertions;
+
+    /**
+     * 根据已置位比例估算的元素个数
+     */
+    private long approximateElementCount;
+
+    /**
+     * 根据已置位比例估算的当前误判率
+     */
+    private double expectedFpp;
+
+    /**
+     * 线上观测到的误判率：过滤器判定可能存在但数据库不存在的比例
+     */
+    private double observedFpp;
+
+    /**
+     * 构建以来的删除次数，删除无法从布隆过滤器中移除，只会抬高误判率
+     */
+    private long deletionsSinceBuild;
+
+    /**
+     * 最近一次构建耗时（毫秒）
+     */
+    private long lastBuildMillis;
+
+    /**
+     * 最近一次构建完成时间戳
+     */
+    private long builtAt;
+}
@@ -0,0 +1,48 @@
+package com.example.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Invalid ASIN 表按 ds 划分的一个分区
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvalidAsinPartition {
+
+    /**
+     * 分区名
+     */
+    private String name;
+
+    /**
+     * 分区上界（不含），格式 yyyyMMdd，为空表示 MAXVALUE
+     */
+    private String lessThan;
+
+    /**
+     * 估算行数，取自 information_schema，InnoDB 下为近似值
+     */
+    private Long estimatedRows;
+
+    /**
+     * 数据和索引占用的字节数
+     */
+    private Long dataBytes;
+
+    /**
+     * 是否为兜底的 MAXVALUE 分区
+     *
+     * @return 是否为 MAXVALUE 分区
+     */
+    public boolean isMaxValue() {
+        return lessThan == null;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 按条件清理 Invalid ASIN 的后台任务
+ * 按 (租户, [profile], [站点], create_time) 索引顺序分片删除，每片删除和进度保存在同一事务中提交；
+ * 已删除的记录不再符合条件，重启后重新按条件查询即可继续
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvalidAsinPurgeJob {
+
+    /**
+     * 任务ID
+     */
+    private String jobId;
+
+    /**
+     * 租户ID
+     */
+    private String tenantId;
+
+    /**
+     * Profile ID，为空时不限制
+     */
+    private String profileId;
+
+    /**
+     * 站点ID，为空时不限制
+     */
+    private String marketplaceId;
+
+    /**
+     * 任务状态
+     */
+    private InvalidAsinPurgeJobStatus status;
+
+    /**
+     * 游标：最近一片删除的最后一行的 create_time，下一片从 (cursorCreateTime, cursorId) 之后查询
+     */
+    private LocalDateTime cursorCreateTime;
+
+    /**
+     * 游标：最近一片删除的最后一行的主键ID
+     */
+    private Long cursorId;
+
+    /**
+     * 已删除行数
+     */
+    private Long deletedRows;
+
+    /**
+     * 已执行的分片数
+     */
+    private Long chunkCount;
+
+    /**
+     * 当前分片大小，根据单片耗时自适应调整
+     */
+    private Integer chunkSize;
+
+    /**
+     * 最近一片删除事务耗时（毫秒），即该片的持锁时间
+     */
+    private Long lastChunkMillis;
+
+    /**
+     * 单片删除事务最大耗时（毫秒）
+     */
+    private Long maxChunkMillis;
+
+    /**
+     * 当前执行实例
+     */
+    private String owner;
+
+    /**
+     * 最近一次心跳时间，每片提交时刷新
+     */
+    private LocalDateTime heartbeatTime;
+
+    /**
+     * 失败原因
+     */
+    private String errorMessage;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * 结束时间
+     */
+    private LocalDateTime finishTime;
+}
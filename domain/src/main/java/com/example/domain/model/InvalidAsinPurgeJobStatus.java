@@ -0,0 +1,39 @@
+package com.example.domain.model;
+
+/**
+ * 按条件清理任务状态
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+public enum InvalidAsinPurgeJobStatus {
+
+    /**
+     * 执行中，心跳超时后可被其他实例或重启后的进程接管
+     */
+    RUNNING,
+
+    /**
+     * 已删除全部符合条件的记录
+     */
+    COMPLETED,
+
+    /**
+     * 连续多次执行失败后终止
+     */
+    FAILED,
+
+    /**
+     * 已取消，已删除的记录不会恢复
+     */
+    CANCELLED;
+
+    /**
+     * 是否为终止状态
+     * 
+     * @return 终止状态返回 true
+     */
+    public boolean isTerminal() {
+        return this != RUNNING;
+    }
+}
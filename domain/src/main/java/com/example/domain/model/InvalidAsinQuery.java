@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 /**
  * Invalid ASIN 查询条件
  * 
@@ -37,6 +39,16 @@ public class InvalidAsinQuery {
      */
     private String sellerAsin;
 
+    /**
+     * 日期分区起始（含），格式 yyyyMMdd
+     */
+    private String dsFrom;
+
+    /**
+     * 日期分区截止（含），格式 yyyyMMdd
+     */
+    private String dsTo;
+
     /**
      * 页码，从1开始
      */
@@ -47,6 +59,16 @@ public class InvalidAsinQuery {
      */
     private Integer pageSize;
 
+    /**
+     * 游标：上一页最后一条记录的创建时间，游标分页时使用
+     */
+    private LocalDateTime cursorCreateTime;
+
+    /**
+     * 游标：上一页最后一条记录的ID，游标分页时使用
+     */
+    private Long cursorId;
+
     /**
      * 是否需要分页
      * 
@@ -55,4 +77,22 @@ public class InvalidAsinQuery {
     public boolean needPaging() {
         return pageNum != null && pageSize != null && pageNum > 0 && pageSize > 0;
     }
-}
\ No newline at end of file
+
+    /**
+     * 是否携带游标，不携带时游标分页从第一页开始
+     * 
+     * @return 是否携带游标
+     */
+    public boolean hasCursor() {
+        return cursorCreateTime != null && cursorId != null;
+    }
+
+    /**
+     * 是否限定了日期分区范围，分区表上据此只扫描范围内的分区
+     * 
+     * @return 是否限定日期分区
+     */
+    public boolean hasDsRange() {
+        return (dsFrom != null && !dsFrom.isEmpty()) || (dsTo != null && !dsTo.isEmpty());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 租户无效ASIN内存快照的统计信息
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvalidAsinSnapshotStats {
+
+    /**
+     * 租户id
+     */
+    private String tenantId;
+
+    /**
+     * 快照是否可用于查询，尚未加载或有删除待重载时为 false，此时查询回退到数据库
+     */
+    private boolean ready;
+
+    /**
+     * 是否有删除或修改待重载
+     */
+    private boolean stale;
+
+    /**
+     * 站点数
+     */
+    private int marketplaceCount;
+
+    /**
+     * 快照中的 (站点, ASIN) 个数
+     */
+    private long entries;
+
+    /**
+     * 估算的内存占用（字节）
+     */
+    private long memoryBytes;
+
+    /**
+     * 已同步到的最大 create_time
+     */
+    private LocalDateTime watermarkCreateTime;
+
+    /**
+     * 已同步到的最大 create_time 下的最大主键ID
+     */
+    private Long watermarkId;
+
+    /**
+     * 最近一次全量加载时间
+     */
+    private LocalDateTime loadedAt;
+
+    /**
+     * 最近一次成功同步（全量或增量）的开始时间，此前提交的新增都已包含在快照中
+     */
+    private LocalDateTime refreshedAt;
+
+    /**
+     * 刷新延迟（毫秒），即距最近一次成功同步开始的时间
+     */
+    private long lagMillis;
+
+    /**
+     * 最近一次同步耗时（毫秒）
+     */
+    private long lastRefreshMillis;
+
+    /**
+     * 最近一次同步扫描的行数
+     */
+    private long lastRefreshRows;
+}
@@ -0,0 +1,34 @@
+package com.example.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 按自然键幂等写入的结果
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvalidAsinUpsertResult {
+
+    /**
+     * 新插入的行数
+     */
+    private int inserted;
+
+    /**
+     * 已存在且可变字段有变化、被更新的行数
+     */
+    private int updated;
+
+    /**
+     * 跳过的行数：批内重复的自然键，以及库中已存在且内容相同的记录
+     */
+    private int skipped;
+}
@@ -0,0 +1,35 @@
+package com.example.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Invalid ASIN 只读视图
+ * 查询类接口使用的读模型，由数据库行直接映射，不经过数据对象和领域实体的转换；
+ * 字段与 InvalidAsinDTO 一致，可直接序列化返回
+ *
+ * @param id 主键
+ * @param tenantId 租户id
+ * @param applyInstanceId 应用实例id
+ * @param templateId 模板id
+ * @param profileId profile id
+ * @param marketplaceId 站点
+ * @param sellerId 卖家id
+ * @param sellerAsin 子asin
+ * @param createTime 创建时间
+ * @param ds 时间
+ * @param version 乐观锁版本号
+ * @author Gemini
+ * @since 1.0.0
+ */
+public record InvalidAsinView(Long id,
+                              String tenantId,
+                              String applyInstanceId,
+                              String templateId,
+                              String profileId,
+                              String marketplaceId,
+                              String sellerId,
+                              String sellerAsin,
+                              LocalDateTime createTime,
+                              String ds,
+                              Integer version) {
+}
@@ -0,0 +1,47 @@
+package com.example.domain.repository;
+
+import com.example.domain.model.ChatMessageEntity;
+
+import java.util.List;
+
+/**
+ * 聊天会话存储
+ * 每个会话只保留最近的若干条消息，空闲过久或会话数超限的会话会被淘汰
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+public interface ChatSessionStore {
+
+    /**
+     * 向会话追加消息，会话不存在时自动创建，超出单会话容量时丢弃最早的消息
+     * 
+     * @param sessionId 会话ID
+     * @param messages 按时间顺序排列的消息
+     */
+    void append(String sessionId, List<ChatMessageEntity> messages);
+
+    /**
+     * 获取会话最近的消息
+     * 
+     * @param sessionId 会话ID
+     * @param limit 最多返回条数
+     * @return 按时间顺序排列的消息，会话不存在时返回空列表
+     */
+    List<ChatMessageEntity> getRecent(String sessionId, int limit);
+
+    /**
+     * 获取会话当前保留的消息条数
+     * 
+     * @param sessionId 会话ID
+     * @return 消息条数，会话不存在时为0
+     */
+    int size(String sessionId);
+
+    /**
+     * 清除会话
+     * 
+     * @param sessionId 会话ID
+     */
+    void clear(String sessionId);
+}
@@ -0,0 +1,31 @@
+package com.example.domain.repository;
+
+import com.example.domain.model.InvalidAsinCountStats;
+import com.example.domain.model.InvalidAsinQuery;
+
+/**
+ * 无效ASIN记录数计数器
+ * 按 (租户, profile, 站点) 维护由写操作增量更新、定时精确重算的记录数，用于高频轮询的计数接口
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+public interface InvalidAsinCounter {
+
+    /**
+     * 读取近似记录数，租户计数器尚未加载时先做一次精确重算
+     * 带 ASIN、日期分区范围或不带租户的条件无法由计数器回答，直接查库并标记为精确计数
+     *
+     * @param query 查询条件，只使用租户、profile、站点、ASIN和日期分区范围
+     * @return 统计结果
+     */
+    InvalidAsinCountStats count(InvalidAsinQuery query);
+
+    /**
+     * 立即从数据库精确重算指定租户的计数器
+     *
+     * @param tenantId 租户ID
+     * @return 重算后租户维度的统计结果
+     */
+    InvalidAsinCountStats recount(String tenantId);
+}
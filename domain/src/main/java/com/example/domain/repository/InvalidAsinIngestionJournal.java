@@ -0,0 +1,56 @@
+package com.example.domain.repository;
+
+import com.example.domain.model.InvalidAsinEntity;
+
+import java.util.List;
+
+/**
+ * Invalid ASIN 异步写入日志
+ * 写后队列接收数据前先追加到日志，批量落库成功后写入检查点，
+ * 进程异常退出时，检查点之后的记录在下次启动时重放回队列
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+public interface InvalidAsinIngestionJournal {
+
+    /**
+     * 追加一条待写入记录，返回时记录已写入日志
+     *
+     * @param sequence 递增序号
+     * @param entity 待写入的实体
+     */
+    void append(long sequence, InvalidAsinEntity entity);
+
+    /**
+     * 写入检查点，序号不大于该值的记录都已落库或已放弃
+     *
+     * @param sequence 已处理的最大序号
+     */
+    void checkpoint(long sequence);
+
+    /**
+     * 记录无法落库而被放弃的记录，供人工核对后重新提交；调用方随后推进检查点
+     *
+     * @param sequence 序号
+     * @param entity 被放弃的实体
+     * @param reason 失败原因
+     */
+    void deadLetter(long sequence, InvalidAsinEntity entity, String reason);
+
+    /**
+     * 读取上次运行遗留的未落库记录，只在启动时调用一次
+     *
+     * @return 按序号升序排列的记录
+     */
+    List<Entry> recover();
+
+    /**
+     * 日志记录
+     *
+     * @param sequence 序号
+     * @param entity 实体
+     */
+    record Entry(long sequence, InvalidAsinEntity entity) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.domain.repository;
+
+import com.example.domain.model.InvalidAsinFilterStats;
+
+/**
+ * 无效ASIN成员过滤器
+ * 按租户维护的概率型集合，用于在不访问数据库的情况下排除“肯定不是无效ASIN”的查询
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+public interface InvalidAsinMembershipFilter {
+
+    /**
+     * 从数据库全量重建指定租户的过滤器
+     * 
+     * @param tenantId 租户ID
+     * @return 重建后的统计信息
+     */
+    InvalidAsinFilterStats rebuild(String tenantId);
+
+    /**
+     * 获取指定租户过滤器的统计信息
+     * 
+     * @param tenantId 租户ID
+     * @return 统计信息，过滤器尚未加载时 ready 为 false
+     */
+    InvalidAsinFilterStats getStats(String tenantId);
+}
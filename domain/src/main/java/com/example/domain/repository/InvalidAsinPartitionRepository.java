@@ -0,0 +1,40 @@
+package com.example.domain.repository;
+
+import com.example.domain.model.InvalidAsinPartition;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Invalid ASIN 表的分区管理
+ * 表按 ds 做 RANGE COLUMNS 分区，最后一个分区为 MAXVALUE；新分区从 MAXVALUE 分区中拆出，过期数据按分区整体删除
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+public interface InvalidAsinPartitionRepository {
+
+    /**
+     * 查询所有分区，按上界升序，MAXVALUE 分区在最后
+     *
+     * @return 分区列表；表未分区或数据库不支持分区时返回空列表
+     */
+    List<InvalidAsinPartition> findAll();
+
+    /**
+     * 将一个分区拆分为多个分区，拆出的分区上界必须连续递增且最后一个与原分区上界相同
+     * 原分区为空时只修改元数据，否则需要搬迁原分区内的数据
+     *
+     * @param source 原分区名
+     * @param partitions 拆分后的分区
+     */
+    void split(String source, List<InvalidAsinPartition> partitions);
+
+    /**
+     * 删除分区及其中的全部数据，耗时与分区内的行数无关。
+     * 删除不经过逐行的仓储操作，成功后丢弃全部租户的计数、成员过滤器、快照和缓存，使用时重新加载
+     *
+     * @param names 分区名
+     */
+    void drop(Collection<String> names);
+}
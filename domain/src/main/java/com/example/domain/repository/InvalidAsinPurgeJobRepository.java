@@ -0,0 +1,69 @@
+package com.example.domain.repository;
+
+import com.example.domain.model.InvalidAsinPurgeJob;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Invalid ASIN 清理任务仓储接口
+ * 任务状态持久化，执行实例通过 owner + heartbeatTime 租约持有任务，租约过期后可被接管
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+public interface InvalidAsinPurgeJobRepository {
+
+    /**
+     * 保存新任务
+     * 
+     * @param job 任务
+     */
+    void save(InvalidAsinPurgeJob job);
+
+    /**
+     * 根据任务ID查询
+     * 
+     * @param jobId 任务ID
+     * @return 任务
+     */
+    Optional<InvalidAsinPurgeJob> findById(String jobId);
+
+    /**
+     * 保存进度和状态，只在任务仍由 owner 持有且处于执行中时生效
+     * 
+     * @param job 任务
+     * @return false 表示任务已被取消或已被其他实例接管
+     */
+    boolean saveProgress(InvalidAsinPurgeJob job);
+
+    /**
+     * 取消执行中的任务
+     * 
+     * @param jobId 任务ID
+     * @param finishTime 结束时间
+     * @return false 表示任务不存在或已结束
+     */
+    boolean cancel(String jobId, LocalDateTime finishTime);
+
+    /**
+     * 查询心跳早于指定时间的执行中任务
+     * 
+     * @param heartbeatBefore 心跳截止时间
+     * @param limit 最多返回条数
+     * @return 可接管的任务
+     */
+    List<InvalidAsinPurgeJob> findStale(LocalDateTime heartbeatBefore, int limit);
+
+    /**
+     * 接管心跳超时的任务
+     * 
+     * @param jobId 任务ID
+     * @param owner 新的执行实例
+     * @param heartbeatBefore 心跳截止时间，心跳晚于该时间说明原实例仍在执行
+     * @param now 当前时间，作为新的心跳
+     * @return 是否接管成功
+     */
+    boolean claim(String jobId, String owner, LocalDateTime heartbeatBefore, LocalDateTime now);
+}
@@ -1,10 +1,17 @@
 package com.example.domain.repository;
 
+import com.example.domain.model.InvalidAsinCursorPage;
 import com.example.domain.model.InvalidAsinEntity;
 import com.example.domain.model.InvalidAsinQuery;
+import com.example.domain.model.InvalidAsinUpsertResult;
+import com.example.domain.model.InvalidAsinView;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Invalid ASIN 仓储接口
@@ -16,6 +23,7 @@ public interface InvalidAsinRepository {
 
     /**
      * 保存无效ASIN
+     * 自然键(租户ID, Profile ID, 站点, ASIN)已存在时拒绝，不论已有记录的 ds
      * 
      * @param invalidAsinEntity 无效ASIN领域对象
      * @return 保存后的对象
@@ -24,12 +32,23 @@ public interface InvalidAsinRepository {
 
     /**
      * 批量保存无效ASIN
+     * 任一自然键已存在（不论 ds）或批内重复时整批拒绝
      * 
      * @param invalidAsinEntities 无效ASIN列表
      * @return 保存成功的条数
      */
     int batchSave(List<InvalidAsinEntity> invalidAsinEntities);
 
+    /**
+     * 按自然键(租户ID, Profile ID, 站点, ASIN)幂等写入
+     * 同一批内重复的自然键只保留最后一条；库中已存在且可变字段相同的记录跳过，有变化的更新可变字段，其余插入。
+     * 已存在记录的主键会回填到传入的实体，重复提交同一批数据只查询、不产生写入
+     * 
+     * @param invalidAsinEntities 无效ASIN实体列表
+     * @return 插入、更新、跳过的行数
+     */
+    InvalidAsinUpsertResult upsertAll(List<InvalidAsinEntity> invalidAsinEntities);
+
     /**
      * 根据ID查询无效ASIN
      * 
@@ -46,6 +65,31 @@ public interface InvalidAsinRepository {
      */
     List<InvalidAsinEntity> findByCondition(InvalidAsinQuery query);
 
+    /**
+     * 根据条件查询只读视图，由数据库行直接映射，供只读查询接口使用，排序与 findByCondition 一致
+     * 
+     * @param query 查询条件
+     * @return 无效ASIN只读视图列表
+     */
+    List<InvalidAsinView> findViewsByCondition(InvalidAsinQuery query);
+
+    /**
+     * 根据条件做游标分页，按(创建时间, ID)倒序，不统计总数，耗时与翻到第几页无关
+     * 
+     * @param query 查询条件，pageSize 为每页大小，pageNum 被忽略
+     * @return 当前页只读视图及是否还有下一页
+     */
+    InvalidAsinCursorPage findByCursor(InvalidAsinQuery query);
+
+    /**
+     * 根据条件流式遍历无效ASIN只读视图，按 create_time、id 倒序逐行回调，不在内存中保留结果集，忽略分页参数
+     * 
+     * @param query 查询条件
+     * @param consumer 逐行处理器
+     * @return 遍历的行数
+     */
+    long streamByCondition(InvalidAsinQuery query, Consumer<InvalidAsinView> consumer);
+
     /**
      * 根据租户ID和ASIN查询
      * 
@@ -56,21 +100,64 @@ public interface InvalidAsinRepository {
     List<InvalidAsinEntity> findByTenantIdAndSellerAsin(String tenantId, String sellerAsin);
 
     /**
-     * 根据ID更新无效ASIN
+     * 判断ASIN是否在租户的无效列表中
+     * 
+     * @param tenantId 租户ID
+     * @param marketplaceId 站点ID，为空时不限制站点
+     * @param sellerAsin 卖家ASIN
+     * @return 是否为无效ASIN
+     */
+    boolean existsInvalid(String tenantId, String marketplaceId, String sellerAsin);
+
+    /**
+     * 批量判断ASIN是否在租户的无效列表中
+     * 
+     * @param tenantId 租户ID
+     * @param marketplaceId 站点ID，为空时不限制站点
+     * @param sellerAsins 待检查的卖家ASIN
+     * @return 其中属于无效列表的ASIN
+     */
+    Set<String> filterInvalid(String tenantId, String marketplaceId, Collection<String> sellerAsins);
+
+    /**
+     * 根据ID条件更新无效ASIN，只更新非空字段，版本号加1；
+     * 限定实体的租户，租户不可修改；实体带版本号时只在版本一致时生效。
+     * 更新前先按主键锁定读出原记录，用于把变更计入所属格子，并与本次更新的字段合并出库中的最新记录
      * 
      * @param invalidAsinEntity 无效ASIN领域对象
-     * @return 更新后的对象
+     * @return 更新后库中的记录，为空表示租户下记录不存在或版本冲突
      */
-    InvalidAsinEntity updateById(InvalidAsinEntity invalidAsinEntity);
+    Optional<InvalidAsinEntity> updateById(InvalidAsinEntity invalidAsinEntity);
 
     /**
      * 根据ID删除无效ASIN
+     * 删除前先按主键锁定读出原记录，用于把删除计入所属格子
      * 
      * @param id 主键ID
-     * @return 删除是否成功
+     * @return 删除是否成功，false 表示记录不存在
      */
     boolean deleteById(Long id);
 
+    /**
+     * 按ID列表批量更新租户下记录的可变字段（应用实例、模板、卖家、时间），只更新非空字段，
+     * 每个分片一条 UPDATE 语句
+     * 
+     * @param tenantId 租户ID
+     * @param ids 主键ID列表，不属于该租户的ID不会被更新
+     * @param patch 要更新的字段
+     * @return 影响行数
+     */
+    int updateByIds(String tenantId, Collection<Long> ids, InvalidAsinEntity patch);
+
+    /**
+     * 按ID列表批量删除租户下的记录，每个分片一条 DELETE 语句
+     * 
+     * @param tenantId 租户ID
+     * @param ids 主键ID列表，不属于该租户的ID不会被删除
+     * @return 删除行数
+     */
+    int deleteByIds(String tenantId, Collection<Long> ids);
+
     /**
      * 根据条件删除无效ASIN
      * 
@@ -81,6 +168,32 @@ public interface InvalidAsinRepository {
      */
     int deleteByCondition(String tenantId, String profileId, String marketplaceId);
 
+    /**
+     * 按 (create_time, id) 顺序从游标之后查询一片符合删除条件的记录，用于分片删除；
+     * 以本片最后一行作为下一片的游标，每片只读新的索引区间
+     * 
+     * @param tenantId 租户ID
+     * @param profileId Profile ID，为空时不限制
+     * @param marketplaceId 站点ID，为空时不限制
+     * @param afterCreateTime 游标 create_time，为空时从头查询
+     * @param afterId 游标主键ID，与 afterCreateTime 同时使用
+     * @param limit 最多返回条数
+     * @return 只含 id、createTime 的记录
+     */
+    List<InvalidAsinEntity> findKeysByCondition(String tenantId, String profileId, String marketplaceId,
+                                                LocalDateTime afterCreateTime, Long afterId, int limit);
+
+    /**
+     * 删除指定ID中仍符合删除条件的记录，查询ID和删除之间被修改的记录不会误删
+     * 
+     * @param tenantId 租户ID
+     * @param profileId Profile ID，为空时不限制
+     * @param marketplaceId 站点ID，为空时不限制
+     * @param ids 主键ID
+     * @return 删除的条数
+     */
+    int deleteByConditionAndIds(String tenantId, String profileId, String marketplaceId, Collection<Long> ids);
+
     /**
      * 统计符合条件的记录数
      * 
@@ -0,0 +1,40 @@
+package com.example.domain.repository;
+
+import com.example.domain.model.InvalidAsinSnapshotStats;
+
+import java.util.List;
+
+/**
+ * 热点租户的无效ASIN内存快照
+ * 配置的租户全量驻留内存，判断ASIN时不访问数据库；新增按 (create_time, id) 水位增量同步，删除后全量重载
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+public interface InvalidAsinSnapshotRegistry {
+
+    /**
+     * 在内存快照中判断 (租户, 站点, ASIN) 是否为无效ASIN，不访问数据库也不分配对象
+     *
+     * @param tenantId 租户ID
+     * @param marketplaceId 站点ID，为空时不限站点
+     * @param sellerAsin 卖家ASIN
+     * @return 是否为无效ASIN；租户未驻留内存、快照尚未加载或待重载时返回 null，调用方需要查库
+     */
+    Boolean contains(String tenantId, String marketplaceId, String sellerAsin);
+
+    /**
+     * 获取所有驻留租户的快照统计信息
+     *
+     * @return 统计信息列表
+     */
+    List<InvalidAsinSnapshotStats> getStats();
+
+    /**
+     * 从数据库全量重载指定租户的快照
+     *
+     * @param tenantId 租户ID，必须是配置为驻留内存的租户
+     * @return 重载后的统计信息
+     */
+    InvalidAsinSnapshotStats reload(String tenantId);
+}
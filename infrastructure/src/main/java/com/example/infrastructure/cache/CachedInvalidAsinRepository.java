@@ -0,0 +1,303 @@
+package com.example.infrastructure.cache;
+
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.example.domain.model.InvalidAsinCursorPage;
+import com.example.domain.model.InvalidAsinEntity;
+import com.example.domain.model.InvalidAsinQuery;
+import com.example.domain.model.InvalidAsinUpsertResult;
+import com.example.domain.model.InvalidAsinView;
+import com.example.domain.repository.InvalidAsinRepository;
+import com.example.infrastructure.config.InvalidAsinCacheProperties;
+import com.example.infrastructure.persistence.converter.InvalidAsinConvert;
+import com.example.infrastructure.persistence.repository.InvalidAsinRepositoryImpl;
+import com.example.infrastructure.support.TransactionHooks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Invalid ASIN 仓储缓存装饰器
+ * 在 {@link InvalidAsinRepositoryImpl} 之前增加一层进程内读穿透缓存：
+ * 按ID缓存单条记录，按(租户ID, ASIN)缓存查询结果，容量和写入后过期时间均可配置。
+ * 所有写操作都会精确失效受影响的缓存项，并在事务提交后再失效一次，
+ * 防止并发读在提交前把旧数据重新写回缓存。
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Slf4j
+@Primary
+@Repository
+@ConditionalOnProperty(prefix = "invalid-asin.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CachedInvalidAsinRepository implements InvalidAsinRepository {
+
+    private final InvalidAsinRepository delegate;
+
+    /**
+     * 按ID缓存，只缓存存在的记录，新插入的ID不会命中过期的“不存在”结果
+     */
+    private final Cache<Long, InvalidAsinEntity> byIdCache;
+
+    /**
+     * 按(租户ID, ASIN)缓存，空结果同样缓存，这是最常见的查询结果
+     */
+    private final Cache<TenantAsinKey, List<InvalidAsinEntity>> byTenantAsinCache;
+
+    /**
+     * 反向索引：记录ID -> 包含该记录的(租户ID, ASIN)缓存键，
+     * 用于更新、删除时在不查库的情况下找到旧键
+     */
+    private final ConcurrentHashMap<Long, TenantAsinKey> idToTenantAsinKey = new ConcurrentHashMap<>();
+
+    public CachedInvalidAsinRepository(InvalidAsinRepositoryImpl delegate,
+                                       InvalidAsinCacheProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.byIdCache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSizeById())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        this.byTenantAsinCache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSizeByTenantAsin())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .executor(Runnable::run)
+                .removalListener(this::onTenantAsinRemoval)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byIdCache, "invalidAsin.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, byTenantAsinCache, "invalidAsin.byTenantAsin");
+        log.info("Invalid ASIN 缓存已开启: maximumSizeById={}, maximumSizeByTenantAsin={}, expireAfterWrite={}",
+                properties.getMaximumSizeById(), properties.getMaximumSizeByTenantAsin(),
+                properties.getExpireAfterWrite());
+    }
+
+    @Override
+    public InvalidAsinEntity save(InvalidAsinEntity invalidAsinEntity) {
+        InvalidAsinEntity saved = delegate.save(invalidAsinEntity);
+        TransactionHooks.runNowAndAfterCompletion(
+                () -> invalidateTenantAsin(saved.getTenantId(), saved.getSellerAsin()));
+        return saved;
+    }
+
+    @Override
+    public int batchSave(List<InvalidAsinEntity> invalidAsinEntities) {
+        int count = delegate.batchSave(invalidAsinEntities);
+        TransactionHooks.runNowAndAfterCompletion(() -> invalidAsinEntities.forEach(
+                entity -> invalidateTenantAsin(entity.getTenantId(), entity.getSellerAsin())));
+        return count;
+    }
+
+    @Override
+    public InvalidAsinUpsertResult upsertAll(List<InvalidAsinEntity> invalidAsinEntities) {
+        InvalidAsinUpsertResult result = delegate.upsertAll(invalidAsinEntities);
+        // 已存在记录的主键由仓储回填，据此失效ID缓存
+        TransactionHooks.runNowAndAfterCompletion(() -> invalidAsinEntities.forEach(entity -> {
+            invalidateId(entity.getId());
+            invalidateTenantAsin(entity.getTenantId(), entity.getSellerAsin());
+        }));
+        return result;
+    }
+
+    @Override
+    public Optional<InvalidAsinEntity> findById(Long id) {
+        if (Objects.isNull(id)) {
+            return delegate.findById(id);
+        }
+        InvalidAsinEntity cached = byIdCache.get(id, key -> delegate.findById(key).orElse(null));
+        return Optional.ofNullable(cached).map(InvalidAsinConvert.INSTANCE::copyEntity);
+    }
+
+    @Override
+    public List<InvalidAsinEntity> findByCondition(InvalidAsinQuery query) {
+        return delegate.findByCondition(query);
+    }
+
+    @Override
+    public List<InvalidAsinView> findViewsByCondition(InvalidAsinQuery query) {
+        return delegate.findViewsByCondition(query);
+    }
+
+    @Override
+    public InvalidAsinCursorPage findByCursor(InvalidAsinQuery query) {
+        return delegate.findByCursor(query);
+    }
+
+    @Override
+    public long streamByCondition(InvalidAsinQuery query, Consumer<InvalidAsinView> consumer) {
+        return delegate.streamByCondition(query, consumer);
+    }
+
+    @Override
+    public List<InvalidAsinEntity> findByTenantIdAndSellerAsin(String tenantId, String sellerAsin) {
+        // 不带ASIN时会返回租户下的全部记录，不适合缓存
+        if (StringUtils.isBlank(tenantId) || StringUtils.isBlank(sellerAsin)) {
+            return delegate.findByTenantIdAndSellerAsin(tenantId, sellerAsin);
+        }
+        List<InvalidAsinEntity> cached = byTenantAsinCache.get(new TenantAsinKey(tenantId, sellerAsin), key -> {
+            List<InvalidAsinEntity> loaded = delegate.findByTenantIdAndSellerAsin(key.tenantId(), key.sellerAsin());
+            loaded.forEach(entity -> idToTenantAsinKey.put(entity.getId(), key));
+            return List.copyOf(loaded);
+        });
+        return InvalidAsinConvert.INSTANCE.copyEntityList(cached);
+    }
+
+    @Override
+    public boolean existsInvalid(String tenantId, String marketplaceId, String sellerAsin) {
+        return delegate.existsInvalid(tenantId, marketplaceId, sellerAsin);
+    }
+
+    @Override
+    public Set<String> filterInvalid(String tenantId, String marketplaceId, Collection<String> sellerAsins) {
+        return delegate.filterInvalid(tenantId, marketplaceId, sellerAsins);
+    }
+
+    @Override
+    public Optional<InvalidAsinEntity> updateById(InvalidAsinEntity invalidAsinEntity) {
+        Optional<InvalidAsinEntity> updated = delegate.updateById(invalidAsinEntity);
+        TransactionHooks.runNowAndAfterCompletion(() -> {
+            invalidateId(invalidAsinEntity.getId());
+            invalidateTenantAsin(invalidAsinEntity.getTenantId(), invalidAsinEntity.getSellerAsin());
+        });
+        return updated;
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        boolean deleted = delegate.deleteById(id);
+        TransactionHooks.runNowAndAfterCompletion(() -> invalidateId(id));
+        return deleted;
+    }
+
+    @Override
+    public int updateByIds(String tenantId, Collection<Long> ids, InvalidAsinEntity patch) {
+        int count = delegate.updateByIds(tenantId, ids, patch);
+        // 批量更新不修改(租户ID, ASIN)，按ID失效即可覆盖两类缓存
+        if (count > 0) {
+            TransactionHooks.runNowAndAfterCompletion(() -> ids.forEach(this::invalidateId));
+        }
+        return count;
+    }
+
+    @Override
+    public int deleteByIds(String tenantId, Collection<Long> ids) {
+        int count = delegate.deleteByIds(tenantId, ids);
+        if (count > 0) {
+            TransactionHooks.runNowAndAfterCompletion(() -> ids.forEach(this::invalidateId));
+        }
+        return count;
+    }
+
+    @Override
+    public int deleteByCondition(String tenantId, String profileId, String marketplaceId) {
+        int count = delegate.deleteByCondition(tenantId, profileId, marketplaceId);
+        TransactionHooks.runNowAndAfterCompletion(
+                () -> invalidateByCondition(tenantId, profileId, marketplaceId));
+        return count;
+    }
+
+    @Override
+    public List<InvalidAsinEntity> findKeysByCondition(String tenantId, String profileId, String marketplaceId,
+                                                       LocalDateTime afterCreateTime, Long afterId, int limit) {
+        return delegate.findKeysByCondition(tenantId, profileId, marketplaceId, afterCreateTime, afterId, limit);
+    }
+
+    @Override
+    public int deleteByConditionAndIds(String tenantId, String profileId, String marketplaceId,
+                                       Collection<Long> ids) {
+        int count = delegate.deleteByConditionAndIds(tenantId, profileId, marketplaceId, ids);
+        if (count > 0) {
+            TransactionHooks.runNowAndAfterCompletion(() -> ids.forEach(this::invalidateId));
+        }
+        return count;
+    }
+
+    @Override
+    public long countByCondition(InvalidAsinQuery query) {
+        return delegate.countByCondition(query);
+    }
+
+    /**
+     * 清空全部缓存，用于不经过仓储的删除，如整体删除过期分区
+     */
+    public void invalidateAll() {
+        byIdCache.invalidateAll();
+        byTenantAsinCache.invalidateAll();
+    }
+
+    /**
+     * 失效单条记录：ID缓存以及包含该记录的(租户ID, ASIN)缓存
+     *
+     * @param id 主键ID
+     */
+    private void invalidateId(Long id) {
+        if (Objects.isNull(id)) {
+            return;
+        }
+        InvalidAsinEntity cached = byIdCache.getIfPresent(id);
+        byIdCache.invalidate(id);
+        if (Objects.nonNull(cached)) {
+            invalidateTenantAsin(cached.getTenantId(), cached.getSellerAsin());
+        }
+        TenantAsinKey key = idToTenantAsinKey.get(id);
+        if (Objects.nonNull(key)) {
+            byTenantAsinCache.invalidate(key);
+        }
+    }
+
+    private void invalidateTenantAsin(String tenantId, String sellerAsin) {
+        if (StringUtils.isNotBlank(tenantId) && StringUtils.isNotBlank(sellerAsin)) {
+            byTenantAsinCache.invalidate(new TenantAsinKey(tenantId, sellerAsin));
+        }
+    }
+
+    /**
+     * 按删除条件失效，条件为空的字段视为不限制，与 deleteByCondition 的SQL语义一致
+     */
+    private void invalidateByCondition(String tenantId, String profileId, String marketplaceId) {
+        if (StringUtils.isBlank(tenantId) && StringUtils.isBlank(profileId) && StringUtils.isBlank(marketplaceId)) {
+            invalidateAll();
+            return;
+        }
+        byIdCache.asMap().values().removeIf(entity -> matches(entity, tenantId, profileId, marketplaceId));
+        byTenantAsinCache.asMap().values().removeIf(entities -> entities.stream()
+                .anyMatch(entity -> matches(entity, tenantId, profileId, marketplaceId)));
+    }
+
+    private boolean matches(InvalidAsinEntity entity, String tenantId, String profileId, String marketplaceId) {
+        return (StringUtils.isBlank(tenantId) || tenantId.equals(entity.getTenantId()))
+                && (StringUtils.isBlank(profileId) || profileId.equals(entity.getProfileId()))
+                && (StringUtils.isBlank(marketplaceId) || marketplaceId.equals(entity.getMarketplaceId()));
+    }
+
+    /**
+     * (租户ID, ASIN)缓存项移除时同步清理反向索引
+     */
+    private void onTenantAsinRemoval(TenantAsinKey key, List<InvalidAsinEntity> entities, RemovalCause cause) {
+        if (Objects.isNull(key) || Objects.isNull(entities)) {
+            return;
+        }
+        entities.forEach(entity -> idToTenantAsinKey.remove(entity.getId(), key));
+    }
+
+    /**
+     * (租户ID, ASIN)缓存键
+     */
+    private record TenantAsinKey(String tenantId, String sellerAsin) {
+    }
+}
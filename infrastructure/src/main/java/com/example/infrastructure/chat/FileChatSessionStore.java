@@ -0,0 +1,291 @@
+package com.example.infrastructure.chat;
+
+import com.example.domain.model.ChatMessageEntity;
+import com.example.domain.repository.ChatSessionStore;
+import com.example.infrastructure.config.ChatSessionStoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于追加写日志的聊天会话存储
+ * 读取全部走内存，每次写入同时以 JSON 行追加到日志文件，启动时重放日志恢复会话。
+ * 日志中被淘汰、覆盖或清除的记录会越积越多，定期按存活消息重写日志完成压缩。
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Slf4j
+public class FileChatSessionStore implements ChatSessionStore, AutoCloseable {
+
+    private static final String LOG_FILE_NAME = "chat-sessions.log";
+
+    private static final String OP_APPEND = "APPEND";
+
+    private static final String OP_CLEAR = "CLEAR";
+
+    private final InMemoryChatSessionStore memory;
+
+    private final ChatSessionStoreProperties.File fileProperties;
+
+    private final ObjectMapper objectMapper;
+
+    private final Path logFile;
+
+    private final ScheduledExecutorService compactionExecutor;
+
+    private final Timer compactionTimer;
+
+    /**
+     * 保护日志写入和压缩，保证日志顺序与内存状态一致
+     */
+    private final Object writeLock = new Object();
+
+    private BufferedWriter writer;
+
+    private volatile long logRecords;
+
+    public FileChatSessionStore(ChatSessionStoreProperties properties, ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.memory = new InMemoryChatSessionStore(properties, meterRegistry);
+        this.fileProperties = properties.getFile();
+        this.objectMapper = objectMapper;
+        Path directory = Path.of(fileProperties.getDirectory());
+        this.logFile = directory.resolve(LOG_FILE_NAME);
+        this.compactionTimer = Timer.builder("chat.session.store.compaction")
+                .description("会话日志压缩耗时")
+                .register(meterRegistry);
+        Gauge.builder("chat.session.store.log.records", this, store -> store.logRecords)
+                .description("会话日志记录数")
+                .register(meterRegistry);
+        Gauge.builder("chat.session.store.log.bytes", this, FileChatSessionStore::logFileBytes)
+                .description("会话日志文件大小")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("创建会话日志目录失败: " + directory, e);
+        }
+        long replayed = replay();
+        int expired = memory.removeInactiveBefore(LocalDateTime.now().minus(properties.getIdleTtl()));
+        // 启动时压缩一次，丢弃已过期和被覆盖的记录并打开写入流
+        compact();
+        log.info("聊天会话日志已恢复: file={}, replayedRecords={}, expiredSessions={}, liveMessages={}",
+                logFile, replayed, expired, memory.totalMessages());
+
+        this.compactionExecutor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("chat-session-compactor").daemon().factory());
+        long intervalMillis = fileProperties.getCompactionInterval().toMillis();
+        compactionExecutor.scheduleWithFixedDelay(this::compactIfNeeded, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void append(String sessionId, List<ChatMessageEntity> messages) {
+        if (Objects.isNull(sessionId) || messages.isEmpty()) {
+            return;
+        }
+        synchronized (writeLock) {
+            try {
+                for (ChatMessageEntity message : messages) {
+                    writeRecord(writer, new LogRecord(OP_APPEND, sessionId, message.getRole(),
+                            message.getContent(), message.getCreateTime()));
+                }
+                writer.flush();
+                logRecords += messages.size();
+            } catch (IOException e) {
+                // 持久化失败不影响当前对话，仅丢失重启后的恢复能力
+                log.error("写入会话日志失败, sessionId={}", sessionId, e);
+            }
+            memory.append(sessionId, messages);
+        }
+    }
+
+    @Override
+    public List<ChatMessageEntity> getRecent(String sessionId, int limit) {
+        return memory.getRecent(sessionId, limit);
+    }
+
+    @Override
+    public int size(String sessionId) {
+        return memory.size(sessionId);
+    }
+
+    @Override
+    public void clear(String sessionId) {
+        if (Objects.isNull(sessionId)) {
+            return;
+        }
+        synchronized (writeLock) {
+            try {
+                writeRecord(writer, new LogRecord(OP_CLEAR, sessionId, null, null, null));
+                writer.flush();
+                logRecords++;
+            } catch (IOException e) {
+                log.error("写入会话日志失败, sessionId={}", sessionId, e);
+            }
+            memory.clear(sessionId);
+        }
+    }
+
+    @Override
+    public void close() {
+        compactionExecutor.shutdownNow();
+        synchronized (writeLock) {
+            closeWriter();
+        }
+    }
+
+    /**
+     * 日志记录数明显多于存活消息数时压缩
+     */
+    private void compactIfNeeded() {
+        long records = logRecords;
+        if (records >= fileProperties.getCompactionMinRecords()
+                && records > memory.totalMessages() * fileProperties.getCompactionRatio()) {
+            compact();
+        }
+    }
+
+    /**
+     * 把内存中存活的消息写入临时文件，再原子替换日志文件
+     */
+    private void compact() {
+        synchronized (writeLock) {
+            long start = System.nanoTime();
+            long before = logRecords;
+            Path tempFile = logFile.resolveSibling(LOG_FILE_NAME + ".compacting");
+            try {
+                long records = 0;
+                try (BufferedWriter out = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                    for (Map.Entry<String, List<ChatMessageEntity>> entry : memory.snapshot().entrySet()) {
+                        for (ChatMessageEntity message : entry.getValue()) {
+                            writeRecord(out, new LogRecord(OP_APPEND, entry.getKey(), message.getRole(),
+                                    message.getContent(), message.getCreateTime()));
+                            records++;
+                        }
+                    }
+                }
+                closeWriter();
+                Files.move(tempFile, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                logRecords = records;
+                log.info("会话日志压缩完成: {} -> {} 条记录", before, records);
+            } catch (IOException e) {
+                log.error("会话日志压缩失败，继续追加写原日志", e);
+            } finally {
+                openWriterIfClosed();
+                compactionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * 重放日志恢复内存状态，无法解析的行（如宕机时写了一半）会被跳过
+     *
+     * @return 重放的记录数
+     */
+    private long replay() {
+        if (!Files.exists(logFile)) {
+            return 0;
+        }
+        long records = 0;
+        try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                LogRecord record;
+                try {
+                    record = objectMapper.readValue(line, LogRecord.class);
+                } catch (JsonProcessingException e) {
+                    log.warn("跳过无法解析的会话日志记录: {}", line.length() > 200 ? line.substring(0, 200) : line);
+                    continue;
+                }
+                if (OP_CLEAR.equals(record.op())) {
+                    memory.clear(record.sessionId());
+                } else {
+                    memory.append(record.sessionId(), List.of(new ChatMessageEntity(
+                            record.role(), record.content(), record.createTime())));
+                }
+                records++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取会话日志失败: " + logFile, e);
+        }
+        logRecords = records;
+        return records;
+    }
+
+    private void writeRecord(BufferedWriter out, LogRecord record) throws IOException {
+        out.write(objectMapper.writeValueAsString(record));
+        out.newLine();
+    }
+
+    private void openWriterIfClosed() {
+        if (Objects.nonNull(writer)) {
+            return;
+        }
+        try {
+            writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("打开会话日志失败: " + logFile, e);
+        }
+    }
+
+    private void closeWriter() {
+        if (Objects.isNull(writer)) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("关闭会话日志失败", e);
+        }
+        writer = null;
+    }
+
+    private double logFileBytes() {
+        try {
+            return Files.exists(logFile) ? Files.size(logFile) : 0;
+        } catch (IOException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * 日志记录
+     *
+     * @param op 操作：APPEND 或 CLEAR
+     * @param sessionId 会话ID
+     * @param role 消息角色，CLEAR 时为空
+     * @param content 消息内容，CLEAR 时为空
+     * @param createTime 消息时间，CLEAR 时为空
+     */
+    private record LogRecord(String op, String sessionId, ChatMessageEntity.Role role, String content,
+                             LocalDateTime createTime) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.infrastructure.chat;
+
+import com.example.domain.model.ChatMessageEntity;
+import com.example.domain.repository.ChatSessionStore;
+import com.example.infrastructure.config.ChatSessionStoreProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 内存聊天会话存储
+ * 每个会话是一个定长环形缓冲区，会话集合由 Caffeine 按最大会话数和空闲时间淘汰
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Slf4j
+public class InMemoryChatSessionStore implements ChatSessionStore {
+
+    private final Cache<String, SessionRingBuffer> sessions;
+
+    private final int maxMessagesPerSession;
+
+    private final DistributionSummary sessionBytes;
+
+    public InMemoryChatSessionStore(ChatSessionStoreProperties properties, MeterRegistry meterRegistry) {
+        this.maxMessagesPerSession = properties.getMaxMessagesPerSession();
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSessions())
+                .expireAfterAccess(properties.getIdleTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, sessions, "chatSessions");
+        Gauge.builder("chat.session.store.sessions", sessions, Cache::estimatedSize)
+                .description("当前保留的会话数")
+                .register(meterRegistry);
+        Gauge.builder("chat.session.store.messages", this, InMemoryChatSessionStore::totalMessages)
+                .description("当前保留的消息总数")
+                .register(meterRegistry);
+        Gauge.builder("chat.session.store.bytes", this, InMemoryChatSessionStore::totalBytes)
+                .description("会话存储估算占用内存")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.sessionBytes = DistributionSummary.builder("chat.session.store.session.bytes")
+                .description("单个会话追加消息后的估算占用内存")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        log.info("聊天会话内存存储已创建: maxSessions={}, maxMessagesPerSession={}, idleTtl={}",
+                properties.getMaxSessions(), maxMessagesPerSession, properties.getIdleTtl());
+    }
+
+    @Override
+    public void append(String sessionId, List<ChatMessageEntity> messages) {
+        if (Objects.isNull(sessionId) || messages.isEmpty()) {
+            return;
+        }
+        // compute 与淘汰互斥，避免写入一个刚被淘汰的缓冲区
+        SessionRingBuffer buffer = sessions.asMap().compute(sessionId, (key, existing) -> {
+            SessionRingBuffer target = Objects.nonNull(existing) ? existing : new SessionRingBuffer(maxMessagesPerSession);
+            messages.forEach(target::append);
+            return target;
+        });
+        sessionBytes.record(buffer.estimatedBytes());
+    }
+
+    @Override
+    public List<ChatMessageEntity> getRecent(String sessionId, int limit) {
+        SessionRingBuffer buffer = Objects.isNull(sessionId) ? null : sessions.getIfPresent(sessionId);
+        return Objects.isNull(buffer) ? List.of() : buffer.getRecent(limit);
+    }
+
+    @Override
+    public int size(String sessionId) {
+        SessionRingBuffer buffer = Objects.isNull(sessionId) ? null : sessions.getIfPresent(sessionId);
+        return Objects.isNull(buffer) ? 0 : buffer.size();
+    }
+
+    @Override
+    public void clear(String sessionId) {
+        if (Objects.nonNull(sessionId)) {
+            sessions.invalidate(sessionId);
+        }
+    }
+
+    /**
+     * 当前全部会话的快照，用于持久化压缩
+     *
+     * @return 会话ID -> 按时间顺序排列的消息
+     */
+    Map<String, List<ChatMessageEntity>> snapshot() {
+        Map<String, List<ChatMessageEntity>> snapshot = new LinkedHashMap<>();
+        sessions.asMap().forEach((sessionId, buffer) -> snapshot.put(sessionId, buffer.getRecent(maxMessagesPerSession)));
+        return snapshot;
+    }
+
+    /**
+     * 移除最后一条消息早于指定时间的会话，用于恢复后清理已过期的会话
+     *
+     * @param threshold 时间阈值
+     * @return 移除的会话数
+     */
+    int removeInactiveBefore(LocalDateTime threshold) {
+        int before = sessions.asMap().size();
+        sessions.asMap().values().removeIf(buffer -> {
+            LocalDateTime lastActiveTime = buffer.lastActiveTime();
+            return Objects.isNull(lastActiveTime) || lastActiveTime.isBefore(threshold);
+        });
+        return before - sessions.asMap().size();
+    }
+
+    long totalMessages() {
+        return sessions.asMap().values().stream().mapToLong(SessionRingBuffer::size).sum();
+    }
+
+    long totalBytes() {
+        return sessions.asMap().values().stream().mapToLong(SessionRingBuffer::estimatedBytes).sum();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.infrastructure.chat;
+
+import com.example.domain.model.ChatMessageEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 单个会话的定长环形缓冲区，写满后覆盖最早的消息
+ * 同时按字符数增量估算占用内存，便于统计
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+class SessionRingBuffer {
+
+    /**
+     * 单条消息除内容外的固定开销估算：对象头、字段、LocalDateTime 及 String 对象本身
+     */
+    private static final long MESSAGE_OVERHEAD_BYTES = 120;
+
+    private final ChatMessageEntity[] messages;
+
+    private int head;
+
+    private int size;
+
+    private long estimatedBytes;
+
+    SessionRingBuffer(int capacity) {
+        this.messages = new ChatMessageEntity[Math.max(1, capacity)];
+    }
+
+    synchronized void append(ChatMessageEntity message) {
+        int tail = (head + size) % messages.length;
+        if (size == messages.length) {
+            estimatedBytes -= estimateBytes(messages[head]);
+            head = (head + 1) % messages.length;
+        } else {
+            size++;
+        }
+        messages[tail] = message;
+        estimatedBytes += estimateBytes(message);
+    }
+
+    synchronized List<ChatMessageEntity> getRecent(int limit) {
+        int count = Math.min(Math.max(limit, 0), size);
+        List<ChatMessageEntity> result = new ArrayList<>(count);
+        for (int i = size - count; i < size; i++) {
+            result.add(messages[(head + i) % messages.length]);
+        }
+        return result;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * @return 最后一条消息的时间，缓冲区为空时为 null
+     */
+    synchronized LocalDateTime lastActiveTime() {
+        return size == 0 ? null : messages[(head + size - 1) % messages.length].getCreateTime();
+    }
+
+    private static long estimateBytes(ChatMessageEntity message) {
+        String content = message.getContent();
+        return MESSAGE_OVERHEAD_BYTES + (content == null ? 0 : 2L * content.length());
+    }
+}
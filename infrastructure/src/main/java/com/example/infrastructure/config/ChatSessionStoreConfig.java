@@ -0,0 +1,49 @@
+package com.example.infrastructure.config;
+
+import com.example.domain.repository.ChatSessionStore;
+import com.example.infrastructure.chat.FileChatSessionStore;
+import com.example.infrastructure.chat.InMemoryChatSessionStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 聊天会话存储配置，按 chat.session-store.type 选择实现
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Configuration
+public class ChatSessionStoreConfig {
+
+    /**
+     * 内存会话存储，默认实现
+     *
+     * @param properties 会话存储配置
+     * @param meterRegistry 指标注册表
+     * @return 会话存储
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "chat.session-store", name = "type", havingValue = "memory", matchIfMissing = true)
+    public ChatSessionStore inMemoryChatSessionStore(ChatSessionStoreProperties properties,
+                                                     MeterRegistry meterRegistry) {
+        return new InMemoryChatSessionStore(properties, meterRegistry);
+    }
+
+    /**
+     * 文件会话存储，重启后可恢复会话
+     *
+     * @param properties 会话存储配置
+     * @param objectMapper JSON 序列化
+     * @param meterRegistry 指标注册表
+     * @return 会话存储
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "chat.session-store", name = "type", havingValue = "file")
+    public ChatSessionStore fileChatSessionStore(ChatSessionStoreProperties properties, ObjectMapper objectMapper,
+                                                 MeterRegistry meterRegistry) {
+        return new FileChatSessionStore(properties, objectMapper, meterRegistry);
+    }
+}
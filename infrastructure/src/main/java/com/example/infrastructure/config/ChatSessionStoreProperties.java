@@ -0,0 +1,87 @@
+package com.example.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 聊天会话存储配置
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "chat.session-store")
+public class ChatSessionStoreProperties {
+
+    /**
+     * 存储类型：MEMORY 仅内存，FILE 内存加追加写日志，重启后可恢复
+     */
+    private StoreType type = StoreType.MEMORY;
+
+    /**
+     * 单个会话最多保留的消息条数，超出后丢弃最早的消息
+     */
+    private int maxMessagesPerSession = 20;
+
+    /**
+     * 最多同时保留的会话数，超出后按最久未访问淘汰
+     */
+    private long maxSessions = 10_000;
+
+    /**
+     * 会话空闲多久后淘汰
+     */
+    private Duration idleTtl = Duration.ofHours(2);
+
+    /**
+     * 文件存储配置，仅 type=FILE 时生效
+     */
+    private File file = new File();
+
+    /**
+     * 存储类型
+     */
+    public enum StoreType {
+
+        /**
+         * 仅内存
+         */
+        MEMORY,
+
+        /**
+         * 内存加追加写日志
+         */
+        FILE
+    }
+
+    /**
+     * 文件存储配置
+     */
+    @Data
+    public static class File {
+
+        /**
+         * 日志文件所在目录
+         */
+        private String directory = "data/chat-sessions";
+
+        /**
+         * 检查是否需要压缩的间隔
+         */
+        private Duration compactionInterval = Duration.ofMinutes(10);
+
+        /**
+         * 日志记录数低于该值时不压缩
+         */
+        private long compactionMinRecords = 10_000;
+
+        /**
+         * 日志记录数超过存活消息数的该倍数时压缩
+         */
+        private double compactionRatio = 2.0;
+    }
+}
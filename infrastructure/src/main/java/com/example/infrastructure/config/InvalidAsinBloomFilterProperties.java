@@ -0,0 +1,54 @@
+package com.example.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Invalid ASIN 布隆过滤器配置
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "invalid-asin.bloom-filter")
+public class InvalidAsinBloomFilterProperties {
+
+    /**
+     * 是否开启布隆过滤器，关闭后所有判断都直接查库
+     */
+    private boolean enabled = true;
+
+    /**
+     * 期望误判率
+     */
+    private double fpp = 0.01;
+
+    /**
+     * 单个租户过滤器的最小容量，避免小租户新增数据后误判率迅速升高
+     */
+    private long minExpectedInsertions = 10_000;
+
+    /**
+     * 构建时按当前行数预留的扩容倍数
+     */
+    private double growthFactor = 2.0;
+
+    /**
+     * 最多同时驻留内存的租户数，超出后按最久未访问淘汰
+     */
+    private long maxTenants = 1_000;
+
+    /**
+     * 租户过滤器空闲多久后淘汰
+     */
+    private Duration expireAfterAccess = Duration.ofHours(6);
+
+    /**
+     * 构建以来删除次数占元素个数的比例超过该值时自动重建
+     */
+    private double rebuildDeletionRatio = 0.2;
+}
@@ -0,0 +1,39 @@
+package com.example.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Invalid ASIN 本地缓存配置
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "invalid-asin.cache")
+public class InvalidAsinCacheProperties {
+
+    /**
+     * 是否开启缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 按ID缓存的最大条数
+     */
+    private long maximumSizeById = 50_000;
+
+    /**
+     * 按(租户ID, ASIN)缓存的最大条数
+     */
+    private long maximumSizeByTenantAsin = 100_000;
+
+    /**
+     * 写入后过期时间
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+}
@@ -0,0 +1,49 @@
+package com.example.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Invalid ASIN 记录数计数器配置
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "invalid-asin.count")
+public class InvalidAsinCountProperties {
+
+    /**
+     * 是否开启计数器，关闭后近似计数也直接查库
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最多同时驻留内存的租户数，超出后按最久未访问淘汰
+     */
+    private long maxTenants = 1_000;
+
+    /**
+     * 租户计数器空闲多久后淘汰，淘汰后下次读取重新精确加载
+     */
+    private Duration expireAfterAccess = Duration.ofHours(1);
+
+    /**
+     * 定时精确重算间隔
+     */
+    private Duration recountInterval = Duration.ofMinutes(5);
+
+    /**
+     * 检查是否需要重算的周期
+     */
+    private Duration checkInterval = Duration.ofSeconds(30);
+
+    /**
+     * 误差上界超过该行数时不等定时间隔，下个检查周期即重算
+     */
+    private long maxError = 1_000;
+}
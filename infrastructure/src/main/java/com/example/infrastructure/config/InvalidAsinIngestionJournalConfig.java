@@ -0,0 +1,48 @@
+package com.example.infrastructure.config;
+
+import com.example.domain.repository.InvalidAsinIngestionJournal;
+import com.example.infrastructure.ingest.FileInvalidAsinIngestionJournal;
+import com.example.infrastructure.ingest.NoopInvalidAsinIngestionJournal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Invalid ASIN 异步写入日志配置，按 invalid-asin.write-behind.journal.enabled 选择实现
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Configuration
+public class InvalidAsinIngestionJournalConfig {
+
+    /**
+     * 不落盘的空日志，默认实现
+     *
+     * @return 写入日志
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "invalid-asin.write-behind.journal", name = "enabled", havingValue = "false",
+            matchIfMissing = true)
+    public InvalidAsinIngestionJournal noopInvalidAsinIngestionJournal() {
+        return new NoopInvalidAsinIngestionJournal();
+    }
+
+    /**
+     * 追加写文件日志，重启后可恢复未落库的数据
+     *
+     * @param properties 日志配置
+     * @param objectMapper JSON 序列化
+     * @param meterRegistry 指标注册表
+     * @return 写入日志
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "invalid-asin.write-behind.journal", name = "enabled", havingValue = "true")
+    public InvalidAsinIngestionJournal fileInvalidAsinIngestionJournal(InvalidAsinIngestionJournalProperties properties,
+                                                                       ObjectMapper objectMapper,
+                                                                       MeterRegistry meterRegistry) {
+        return new FileInvalidAsinIngestionJournal(properties, objectMapper, meterRegistry);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalid ASIN 异步写入日志配置
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "invalid-asin.write-behind.journal")
+public class InvalidAsinIngestionJournalProperties {
+
+    /**
+     * 是否开启磁盘日志，关闭时队列中未落库的数据在进程退出时丢失
+     */
+    private boolean enabled = false;
+
+    /**
+     * 日志文件所在目录
+     */
+    private String directory = "data/invalid-asin-ingestion";
+
+    /**
+     * 每次追加后是否强制刷盘，开启后可以扛住宕机但写入延迟明显增加；关闭时只保证进程崩溃不丢数据
+     */
+    private boolean fsync = false;
+
+    /**
+     * 队列清空时日志超过该大小才截断
+     */
+    private long compactionMinBytes = 64L * 1024 * 1024;
+}
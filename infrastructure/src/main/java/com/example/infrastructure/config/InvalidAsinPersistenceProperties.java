@@ -0,0 +1,32 @@
+package com.example.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalid ASIN 持久化配置
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "invalid-asin.persistence")
+public class InvalidAsinPersistenceProperties {
+
+    /**
+     * 单次 JDBC batch 提交的行数，配合 rewriteBatchedStatements 由驱动改写为多值插入
+     */
+    private int jdbcBatchSize = 1000;
+
+    /**
+     * 批量判断ASIN时单条 IN 查询的ASIN个数
+     */
+    private int lookupChunkSize = 1000;
+
+    /**
+     * 批量判断ASIN时并行 IN 查询最多同时占用的连接数，实际不超过连接池大小的一半
+     */
+    private int lookupMaxConnections = 4;
+}
@@ -0,0 +1,46 @@
+package com.example.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Invalid ASIN 热点租户内存快照配置
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "invalid-asin.snapshot")
+public class InvalidAsinSnapshotProperties {
+
+    /**
+     * 是否开启内存快照
+     */
+    private boolean enabled = true;
+
+    /**
+     * 全量驻留内存的租户ID
+     */
+    private List<String> tenants = new ArrayList<>();
+
+    /**
+     * 增量同步间隔
+     */
+    private Duration refreshInterval = Duration.ofSeconds(10);
+
+    /**
+     * 加载和同步时每页扫描的行数
+     */
+    private int scanBatchSize = 5_000;
+
+    /**
+     * 增量同步时从水位往前回看的时间，覆盖 create_time 早于水位但提交较晚的事务和实例间的时钟偏差
+     */
+    private Duration watermarkOverlap = Duration.ofSeconds(30);
+}
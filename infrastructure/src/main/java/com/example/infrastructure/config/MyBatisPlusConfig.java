@@ -1,6 +1,14 @@
 package com.example.infrastructure.config;
 
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.autoconfigure.ConfigurationCustomizer;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.example.infrastructure.persistence.interceptor.MapperMetricsInterceptor;
+import com.example.infrastructure.persistence.support.ConstructorCachingObjectFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
@@ -14,4 +22,36 @@ import org.springframework.context.annotation.Configuration;
            markerInterface = org.apache.ibatis.annotations.Mapper.class)
 public class MyBatisPlusConfig {
 
-}
\ No newline at end of file
+    /**
+     * 分页插件，未注册时 selectPage 不会生成 LIMIT，会把全部数据查出
+     * 
+     * @return MyBatis Plus 拦截器
+     */
+    @Bean
+    public MybatisPlusInterceptor mybatisPlusInterceptor() {
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.MYSQL));
+        return interceptor;
+    }
+
+    /**
+     * 按语句ID记录执行耗时的指标拦截器
+     * 
+     * @param meterRegistry 指标注册表
+     * @return 指标拦截器
+     */
+    @Bean
+    public MapperMetricsInterceptor mapperMetricsInterceptor(MeterRegistry meterRegistry) {
+        return new MapperMetricsInterceptor(meterRegistry);
+    }
+
+    /**
+     * 使用缓存构造器的对象工厂，避免结果映射时每行都反射查找构造器
+     * 
+     * @return 配置定制器
+     */
+    @Bean
+    public ConfigurationCustomizer objectFactoryCustomizer() {
+        return configuration -> configuration.setObjectFactory(new ConstructorCachingObjectFactory());
+    }
+}
@@ -0,0 +1,463 @@
+package com.example.infrastructure.counter;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.example.domain.model.InvalidAsinCountStats;
+import com.example.domain.model.InvalidAsinEntity;
+import com.example.domain.model.InvalidAsinQuery;
+import com.example.domain.repository.InvalidAsinCounter;
+import com.example.infrastructure.config.InvalidAsinCountProperties;
+import com.example.infrastructure.persistence.DO.InvalidAsinCellCountDO;
+import com.example.infrastructure.persistence.DO.InvalidAsinDO;
+import com.example.infrastructure.persistence.mapper.InvalidAsinMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 按租户维护的无效ASIN记录数计数器
+ * 每个租户按 (profile, 站点) 分格计数，首次读取时用一条分组 COUNT 精确加载，之后由仓储写操作在事务提交后增量更新，
+ * 定时或误差上界超限时精确重算。
+ * 新增、按条件删除，以及按ID的单条更新和删除（先锁定读出原行）都可以精确归属到格子，
+ * 空串的 profile/站点 是一个实际的格子；只知道租户的删除（按ID批量删除、条件不完整的分片删除）只修正租户总数，
+ * 按 profile/站点 统计时计入误差；不知道租户的变更计入所有租户的误差。
+ * 重算期间提交的变更可能已被快照计入也可能没有，同样计入误差，直到下次重算。
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class InvalidAsinCountManager implements InvalidAsinCounter {
+
+    private final InvalidAsinMapper invalidAsinMapper;
+
+    private final InvalidAsinCountProperties properties;
+
+    /**
+     * 已加载的租户计数器
+     */
+    private final Cache<String, TenantCounts> tenants;
+
+    /**
+     * 正在首次加载的租户计数器，加载期间的变更同时记在这里，用于计算误差
+     */
+    private final ConcurrentHashMap<String, TenantCounts> loading = new ConcurrentHashMap<>();
+
+    /**
+     * 无法确定租户的变更行数累计
+     */
+    private final AtomicLong unattributedChanges = new AtomicLong();
+
+    private final ScheduledExecutorService recountScheduler;
+
+    private final Timer recountLatency;
+    private final Counter counterReads;
+    private final Counter databaseReads;
+
+    public InvalidAsinCountManager(InvalidAsinMapper invalidAsinMapper,
+                                   InvalidAsinCountProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.invalidAsinMapper = invalidAsinMapper;
+        this.properties = properties;
+        this.tenants = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTenants())
+                .expireAfterAccess(properties.getExpireAfterAccess())
+                .build();
+        this.recountLatency = Timer.builder("invalid.asin.count.recount.latency")
+                .description("租户计数器精确重算耗时")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.counterReads = readsCounter(meterRegistry, "counter");
+        this.databaseReads = readsCounter(meterRegistry, "database");
+        Gauge.builder("invalid.asin.count.tenants", tenants, Cache::estimatedSize)
+                .description("已加载计数器的租户数")
+                .register(meterRegistry);
+        Gauge.builder("invalid.asin.count.max.age", this, InvalidAsinCountManager::maxAgeSeconds)
+                .description("各租户计数器距上次精确重算的最长时间")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        if (properties.isEnabled()) {
+            long checkMillis = properties.getCheckInterval().toMillis();
+            this.recountScheduler = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("invalid-asin-count-recount").daemon().factory());
+            recountScheduler.scheduleWithFixedDelay(this::recountStale, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.recountScheduler = null;
+        }
+    }
+
+    @Override
+    public InvalidAsinCountStats count(InvalidAsinQuery query) {
+        if (!properties.isEnabled() || StringUtils.isBlank(query.getTenantId())
+                || StringUtils.isNotBlank(query.getSellerAsin()) || query.hasDsRange()) {
+            return exactCount(query);
+        }
+        TenantCounts counts = tenants.get(query.getTenantId(), this::load);
+        counterReads.increment();
+        return counts.stats(query.getProfileId(), query.getMarketplaceId());
+    }
+
+    @Override
+    public InvalidAsinCountStats recount(String tenantId) {
+        if (StringUtils.isBlank(tenantId)) {
+            throw new IllegalArgumentException("租户ID不能为空");
+        }
+        InvalidAsinQuery query = new InvalidAsinQuery();
+        query.setTenantId(tenantId);
+        if (!properties.isEnabled()) {
+            return exactCount(query);
+        }
+        TenantCounts counts = tenants.getIfPresent(tenantId);
+        if (Objects.isNull(counts)) {
+            counts = tenants.get(tenantId, this::load);
+        } else {
+            recount(counts);
+        }
+        return counts.stats(null, null);
+    }
+
+    /**
+     * 记录新增，按 (租户, profile, 站点) 精确累加
+     *
+     * @param entities 新增的记录
+     */
+    public void recordInserts(Collection<InvalidAsinEntity> entities) {
+        if (!properties.isEnabled() || entities.isEmpty()) {
+            return;
+        }
+        Map<String, List<InvalidAsinEntity>> byTenant = entities.stream()
+                .filter(entity -> Objects.nonNull(entity.getTenantId()))
+                .collect(Collectors.groupingBy(InvalidAsinEntity::getTenantId));
+        byTenant.forEach((tenantId, inserted) -> {
+            TenantCounts counts = loaded(tenantId);
+            if (Objects.nonNull(counts)) {
+                counts.addInserts(inserted);
+            }
+        });
+    }
+
+    /**
+     * 记录删除。profile 和站点都已知时精确扣减对应格子，否则只修正租户总数
+     *
+     * @param tenantId 租户ID，为空表示不知道租户
+     * @param profileId Profile ID，为 null 表示不知道，空串是实际的取值
+     * @param marketplaceId 站点ID，为 null 表示不知道，空串是实际的取值
+     * @param count 删除行数
+     */
+    public void recordDeletions(String tenantId, String profileId, String marketplaceId, long count) {
+        if (!properties.isEnabled() || count <= 0) {
+            return;
+        }
+        if (StringUtils.isBlank(tenantId)) {
+            recordUnattributedChanges(count);
+            return;
+        }
+        TenantCounts counts = loaded(tenantId);
+        if (Objects.nonNull(counts)) {
+            counts.addDeletions(profileId, marketplaceId, count);
+        }
+    }
+
+    /**
+     * 记录按条件删除：符合条件的格子已全部清空，据此同时校正之前只修正了租户总数的删除
+     *
+     * @param tenantId 租户ID，为空表示删除范围不限租户，此时丢弃全部计数器
+     * @param profileId Profile ID，可为空
+     * @param marketplaceId 站点ID，可为空
+     * @param count 删除行数
+     */
+    public void recordConditionDeleted(String tenantId, String profileId, String marketplaceId, long count) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (StringUtils.isBlank(tenantId)) {
+            invalidateAll();
+            return;
+        }
+        TenantCounts counts = loaded(tenantId);
+        if (Objects.nonNull(counts)) {
+            counts.clearMatching(profileId, marketplaceId, count);
+        }
+    }
+
+    /**
+     * 丢弃全部租户的计数器，用于删除的行分属哪些租户未知的场景，之后按需重新加载
+     */
+    public void invalidateAll() {
+        tenants.invalidateAll();
+    }
+
+    /**
+     * 记录无法确定租户的变更，计入所有租户的误差上界
+     *
+     * @param count 变更行数
+     */
+    public void recordUnattributedChanges(long count) {
+        if (properties.isEnabled() && count > 0) {
+            unattributedChanges.addAndGet(count);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (Objects.nonNull(recountScheduler)) {
+            recountScheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 首次加载租户计数器，加载期间的变更记在 loading 中的同一对象上
+     */
+    private TenantCounts load(String tenantId) {
+        TenantCounts counts = new TenantCounts(tenantId);
+        loading.put(tenantId, counts);
+        try {
+            recount(counts);
+        } finally {
+            loading.remove(tenantId, counts);
+        }
+        return counts;
+    }
+
+    private TenantCounts loaded(String tenantId) {
+        TenantCounts counts = tenants.getIfPresent(tenantId);
+        return Objects.nonNull(counts) ? counts : loading.get(tenantId);
+    }
+
+    /**
+     * 精确重算：先记下变更序号，分组 COUNT 后替换全部格子，期间发生的变更计入误差
+     */
+    private void recount(TenantCounts counts) {
+        long sequenceBefore = counts.changeSequence();
+        long unattributedBefore = unattributedChanges.get();
+        long start = System.nanoTime();
+        List<InvalidAsinCellCountDO> rows =
+                invalidAsinMapper.countByTenantIdGroupByProfileAndMarketplace(counts.tenantId);
+        long elapsed = System.nanoTime() - start;
+        recountLatency.record(elapsed, TimeUnit.NANOSECONDS);
+        Map<Cell, Long> cells = new HashMap<>(rows.size() * 2);
+        for (InvalidAsinCellCountDO row : rows) {
+            cells.put(new Cell(row.getProfileId(), row.getMarketplaceId()), row.getRowCount());
+        }
+        counts.replace(cells, sequenceBefore, unattributedBefore, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        log.debug("租户{}的计数器已重算: cells={}, 耗时{}ms", counts.tenantId, cells.size(),
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    /**
+     * 定时检查：超过重算间隔或误差上界超限的租户逐个重算
+     */
+    private void recountStale() {
+        long intervalMillis = properties.getRecountInterval().toMillis();
+        long now = System.currentTimeMillis();
+        for (TenantCounts counts : List.copyOf(tenants.asMap().values())) {
+            try {
+                if (now - counts.recountedAtMillis() >= intervalMillis
+                        || counts.maxError(true) > properties.getMaxError()) {
+                    recount(counts);
+                }
+            } catch (RuntimeException e) {
+                log.error("重算租户{}的计数器失败", counts.tenantId, e);
+            }
+        }
+    }
+
+    private InvalidAsinCountStats exactCount(InvalidAsinQuery query) {
+        LambdaQueryWrapper<InvalidAsinDO> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(StringUtils.isNotBlank(query.getTenantId()), InvalidAsinDO::getTenantId, query.getTenantId())
+               .eq(StringUtils.isNotBlank(query.getProfileId()), InvalidAsinDO::getProfileId, query.getProfileId())
+               .eq(StringUtils.isNotBlank(query.getMarketplaceId()), InvalidAsinDO::getMarketplaceId, query.getMarketplaceId())
+               .eq(StringUtils.isNotBlank(query.getSellerAsin()), InvalidAsinDO::getSellerAsin, query.getSellerAsin())
+               .ge(StringUtils.isNotBlank(query.getDsFrom()), InvalidAsinDO::getDs, query.getDsFrom())
+               .le(StringUtils.isNotBlank(query.getDsTo()), InvalidAsinDO::getDs, query.getDsTo());
+        long start = System.nanoTime();
+        long count = invalidAsinMapper.selectCount(wrapper);
+        databaseReads.increment();
+        return InvalidAsinCountStats.builder()
+                .tenantId(query.getTenantId())
+                .profileId(query.getProfileId())
+                .marketplaceId(query.getMarketplaceId())
+                .count(count)
+                .exact(true)
+                .recountedAt(LocalDateTime.now())
+                .lastRecountMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .recountIntervalMillis(properties.getRecountInterval().toMillis())
+                .build();
+    }
+
+    private double maxAgeSeconds() {
+        long now = System.currentTimeMillis();
+        return tenants.asMap().values().stream()
+                .mapToLong(counts -> now - counts.recountedAtMillis())
+                .max()
+                .orElse(0) / 1000.0;
+    }
+
+    private static Counter readsCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("invalid.asin.count.reads")
+                .description("近似计数读取次数，按结果来源区分")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    private static boolean matches(String expected, String actual) {
+        return StringUtils.isBlank(expected) || expected.equals(actual);
+    }
+
+    /**
+     * (profile, 站点) 格子
+     */
+    private record Cell(String profileId, String marketplaceId) {
+    }
+
+    /**
+     * 单个租户的计数器，所有字段由对象锁保护；格子数为 profile 数 × 站点数，读取时现算合计
+     */
+    private final class TenantCounts {
+
+        private final String tenantId;
+
+        private Map<Cell, Long> cells = new HashMap<>();
+
+        /**
+         * 无法归属到格子的增减，只计入租户总数
+         */
+        private long unplacedDelta;
+
+        /**
+         * 无法归属到格子的变更行数，按 profile/站点 统计时的误差
+         */
+        private long unplacedChanges;
+
+        /**
+         * 上次重算期间发生的变更行数
+         */
+        private long racedChanges;
+
+        /**
+         * 上次重算开始时的全局未归属变更数
+         */
+        private long unattributedBaseline;
+
+        /**
+         * 累计变更行数，用于识别与重算并发的变更
+         */
+        private long changeSequence;
+
+        private long recountedAtMillis;
+
+        private LocalDateTime recountedAt;
+
+        private long lastRecountMillis;
+
+        private TenantCounts(String tenantId) {
+            this.tenantId = tenantId;
+        }
+
+        synchronized long changeSequence() {
+            return changeSequence;
+        }
+
+        synchronized long recountedAtMillis() {
+            return recountedAtMillis;
+        }
+
+        synchronized void replace(Map<Cell, Long> fresh, long sequenceBefore, long unattributedBefore,
+                                  long elapsedMillis) {
+            cells = fresh;
+            unplacedDelta = 0;
+            unplacedChanges = 0;
+            racedChanges = changeSequence - sequenceBefore;
+            unattributedBaseline = unattributedBefore;
+            recountedAtMillis = System.currentTimeMillis();
+            recountedAt = LocalDateTime.now();
+            lastRecountMillis = elapsedMillis;
+        }
+
+        synchronized void addInserts(List<InvalidAsinEntity> inserted) {
+            for (InvalidAsinEntity entity : inserted) {
+                cells.merge(new Cell(entity.getProfileId(), entity.getMarketplaceId()), 1L, Long::sum);
+            }
+            changeSequence += inserted.size();
+        }
+
+        synchronized void addDeletions(String profileId, String marketplaceId, long count) {
+            if (Objects.nonNull(profileId) && Objects.nonNull(marketplaceId)) {
+                cells.computeIfPresent(new Cell(profileId, marketplaceId), (cell, rows) -> Math.max(0, rows - count));
+            } else {
+                unplacedDelta -= count;
+                unplacedChanges += count;
+            }
+            changeSequence += count;
+        }
+
+        synchronized void clearMatching(String profileId, String marketplaceId, long deleted) {
+            long removed = 0;
+            Iterator<Map.Entry<Cell, Long>> iterator = cells.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Cell, Long> entry = iterator.next();
+                if (matches(profileId, entry.getKey().profileId())
+                        && matches(marketplaceId, entry.getKey().marketplaceId())) {
+                    removed += entry.getValue();
+                    iterator.remove();
+                }
+            }
+            // 格子里多出的行数正是之前只修正了租户总数、实际落在这些格子里的删除
+            unplacedDelta = Math.min(0, unplacedDelta + Math.max(0, removed - deleted));
+            changeSequence += deleted;
+        }
+
+        synchronized long maxError(boolean partial) {
+            long error = racedChanges + Math.max(0, unattributedChanges.get() - unattributedBaseline);
+            return partial ? error + unplacedChanges : error;
+        }
+
+        synchronized InvalidAsinCountStats stats(String profileId, String marketplaceId) {
+            boolean partial = StringUtils.isNotBlank(profileId) || StringUtils.isNotBlank(marketplaceId);
+            long count = 0;
+            for (Map.Entry<Cell, Long> entry : cells.entrySet()) {
+                if (matches(profileId, entry.getKey().profileId())
+                        && matches(marketplaceId, entry.getKey().marketplaceId())) {
+                    count += entry.getValue();
+                }
+            }
+            if (!partial) {
+                count += unplacedDelta;
+            }
+            return InvalidAsinCountStats.builder()
+                    .tenantId(tenantId)
+                    .profileId(profileId)
+                    .marketplaceId(marketplaceId)
+                    .count(Math.max(0, count))
+                    .exact(false)
+                    .maxError(maxError(partial))
+                    .recountedAt(recountedAt)
+                    .ageMillis(System.currentTimeMillis() - recountedAtMillis)
+                    .lastRecountMillis(lastRecountMillis)
+                    .recountIntervalMillis(properties.getRecountInterval().toMillis())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package com.example.infrastructure.filter;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.example.domain.model.InvalidAsinEntity;
+import com.example.domain.model.InvalidAsinFilterStats;
+import com.example.domain.repository.InvalidAsinMembershipFilter;
+import com.example.infrastructure.config.InvalidAsinBloomFilterProperties;
+import com.example.infrastructure.persistence.DO.InvalidAsinDO;
+import com.example.infrastructure.persistence.mapper.InvalidAsinMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按租户维护的无效ASIN布隆过滤器
+ * 过滤器从 fenghuo_ad_smart_creation_invalid_asin 表流式扫描构建，之后由仓储的写操作同步：
+ * 新增直接写入过滤器；删除无法从布隆过滤器中移除，只累计删除次数，超过阈值后自动重建。
+ * 每条记录写入两个键：(站点, ASIN) 和 (任意站点, ASIN)，因此查询时站点可以为空。
+ * 过滤器尚未构建时返回 {@link Membership#UNKNOWN}，由调用方回退到数据库查询，同时异步触发构建。
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class InvalidAsinBloomFilterManager implements InvalidAsinMembershipFilter {
+
+    private static final char KEY_SEPARATOR = '\u0001';
+
+    /**
+     * 判断结果
+     */
+    public enum Membership {
+        /**
+         * 一定不存在
+         */
+        ABSENT,
+        /**
+         * 可能存在，需要查库确认
+         */
+        MAYBE,
+        /**
+         * 过滤器不可用，需要查库
+         */
+        UNKNOWN
+    }
+
+    private final InvalidAsinMapper invalidAsinMapper;
+
+    private final InvalidAsinBloomFilterProperties properties;
+
+    /**
+     * 已构建完成的租户过滤器
+     */
+    private final Cache<String, TenantFilter> readyFilters;
+
+    /**
+     * 正在构建中的租户过滤器，构建期间的新增会同时写入这里
+     */
+    private final ConcurrentHashMap<String, TenantFilter> buildingFilters = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, CompletableFuture<TenantFilter>> buildsInFlight = new ConcurrentHashMap<>();
+
+    private final ExecutorService buildExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("bloom-filter-builder-", 0).factory());
+
+    private final Counter absentCounter;
+    private final Counter truePositiveCounter;
+    private final Counter falsePositiveCounter;
+    private final Counter unknownCounter;
+
+    public InvalidAsinBloomFilterManager(InvalidAsinMapper invalidAsinMapper,
+                                         InvalidAsinBloomFilterProperties properties,
+                                         MeterRegistry meterRegistry) {
+        this.invalidAsinMapper = invalidAsinMapper;
+        this.properties = properties;
+        this.readyFilters = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTenants())
+                .expireAfterAccess(properties.getExpireAfterAccess())
+                .build();
+        this.absentCounter = checkCounter(meterRegistry, "absent");
+        this.truePositiveCounter = checkCounter(meterRegistry, "true_positive");
+        this.falsePositiveCounter = checkCounter(meterRegistry, "false_positive");
+        this.unknownCounter = checkCounter(meterRegistry, "unknown");
+        meterRegistry.gauge("invalid.asin.bloom.tenants", readyFilters, Cache::estimatedSize);
+        meterRegistry.gauge("invalid.asin.bloom.observed.fpp", this, InvalidAsinBloomFilterManager::observedFpp);
+    }
+
+    /**
+     * 判断 (租户, 站点, ASIN) 是否可能为无效ASIN
+     *
+     * @param tenantId 租户ID
+     * @param marketplaceId 站点ID，可为空
+     * @param sellerAsin 卖家ASIN
+     * @return 判断结果
+     */
+    public Membership mightContain(String tenantId, String marketplaceId, String sellerAsin) {
+        TenantFilter tenantFilter = readyFilter(tenantId);
+        if (Objects.isNull(tenantFilter)) {
+            unknownCounter.increment();
+            return Membership.UNKNOWN;
+        }
+        if (tenantFilter.filter.mightContain(key(marketplaceId, sellerAsin))) {
+            return Membership.MAYBE;
+        }
+        tenantFilter.absent.increment();
+        absentCounter.increment();
+        return Membership.ABSENT;
+    }
+
+    /**
+     * 批量判断，返回可能存在的ASIN
+     *
+     * @param tenantId 租户ID
+     * @param marketplaceId 站点ID，可为空
+     * @param sellerAsins 卖家ASIN
+     * @return 可能存在的ASIN；过滤器不可用时返回 null，调用方需要全部查库
+     */
+    public List<String> mightContainAll(String tenantId, String marketplaceId, Collection<String> sellerAsins) {
+        TenantFilter tenantFilter = readyFilter(tenantId);
+        if (Objects.isNull(tenantFilter)) {
+            unknownCounter.increment(sellerAsins.size());
+            return null;
+        }
+        List<String> candidates = new ArrayList<>();
+        for (String sellerAsin : sellerAsins) {
+            if (tenantFilter.filter.mightContain(key(marketplaceId, sellerAsin))) {
+                candidates.add(sellerAsin);
+            }
+        }
+        int absent = sellerAsins.size() - candidates.size();
+        tenantFilter.absent.add(absent);
+        absentCounter.increment(absent);
+        return candidates;
+    }
+
+    /**
+     * 记录查库确认的结果，用于统计线上误判率
+     *
+     * @param tenantId 租户ID
+     * @param candidates 过滤器判定可能存在的个数
+     * @param confirmed 数据库确认存在的个数
+     */
+    public void recordVerification(String tenantId, int candidates, int confirmed) {
+        int falsePositives = candidates - confirmed;
+        truePositiveCounter.increment(confirmed);
+        falsePositiveCounter.increment(falsePositives);
+        TenantFilter tenantFilter = readyFilters.getIfPresent(tenantId);
+        if (Objects.nonNull(tenantFilter)) {
+            tenantFilter.falsePositives.add(falsePositives);
+        }
+    }
+
+    /**
+     * 新增记录后同步写入过滤器（包括正在构建中的过滤器）
+     *
+     * @param entities 新增的记录
+     */
+    public void putAll(Collection<InvalidAsinEntity> entities) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (InvalidAsinEntity entity : entities) {
+            if (StringUtils.isBlank(entity.getTenantId()) || StringUtils.isBlank(entity.getSellerAsin())) {
+                continue;
+            }
+            TenantFilter ready = readyFilters.getIfPresent(entity.getTenantId());
+            TenantFilter building = buildingFilters.get(entity.getTenantId());
+            if (Objects.nonNull(ready)) {
+                ready.put(entity.getMarketplaceId(), entity.getSellerAsin());
+                if (ready.keys.get() > ready.filter.getExpectedInsertions()) {
+                    log.info("租户{}的布隆过滤器已超出预估容量，触发重建", entity.getTenantId());
+                    startBuild(entity.getTenantId());
+                }
+            }
+            if (Objects.nonNull(building)) {
+                building.put(entity.getMarketplaceId(), entity.getSellerAsin());
+            }
+        }
+    }
+
+    /**
+     * 记录删除次数，删除比例超过阈值时自动重建
+     *
+     * @param tenantId 租户ID，为空表示删除范围不限租户，此时丢弃全部过滤器
+     * @param count 删除条数
+     */
+    public void recordDeletions(String tenantId, long count) {
+        if (!properties.isEnabled() || count <= 0) {
+            return;
+        }
+        if (StringUtils.isBlank(tenantId)) {
+            invalidateAll();
+            return;
+        }
+        TenantFilter tenantFilter = readyFilters.getIfPresent(tenantId);
+        if (Objects.isNull(tenantFilter)) {
+            return;
+        }
+        long deletions = tenantFilter.deletions.addAndGet(count);
+        if (deletions > tenantFilter.rows.get() * properties.getRebuildDeletionRatio()) {
+            log.info("租户{}的布隆过滤器删除比例超过阈值，触发重建: deletions={}", tenantId, deletions);
+            startBuild(tenantId);
+        }
+    }
+
+    /**
+     * 丢弃全部租户的过滤器，用于删除的行分属哪些租户未知的场景，之后按需重新构建
+     */
+    public void invalidateAll() {
+        readyFilters.invalidateAll();
+    }
+
+    @Override
+    public InvalidAsinFilterStats rebuild(String tenantId) {
+        if (StringUtils.isBlank(tenantId)) {
+            throw new IllegalArgumentException("租户ID不能为空");
+        }
+        startBuild(tenantId).join();
+        return getStats(tenantId);
+    }
+
+    @Override
+    public InvalidAsinFilterStats getStats(String tenantId) {
+        TenantFilter tenantFilter = readyFilters.getIfPresent(tenantId);
+        if (Objects.isNull(tenantFilter)) {
+            return InvalidAsinFilterStats.builder().tenantId(tenantId).ready(false).build();
+        }
+        BloomFilter filter = tenantFilter.filter;
+        return InvalidAsinFilterStats.builder()
+                .tenantId(tenantId)
+                .ready(true)
+                .bitSize(filter.getBitSize())
+                .hashFunctions(filter.getHashFunctions())
+                .expectedInsertions(filter.getExpectedInsertions())
+                .approximateElementCount(filter.approximateElementCount())
+                .expectedFpp(filter.expectedFpp())
+                .observedFpp(tenantFilter.observedFpp())
+                .deletionsSinceBuild(tenantFilter.deletions.get())
+                .lastBuildMillis(tenantFilter.buildMillis)
+                .builtAt(tenantFilter.builtAt)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        buildExecutor.shutdownNow();
+    }
+
+    /**
+     * 获取已就绪的过滤器，未就绪时异步触发构建
+     */
+    private TenantFilter readyFilter(String tenantId) {
+        if (!properties.isEnabled() || StringUtils.isBlank(tenantId)) {
+            return null;
+        }
+        TenantFilter tenantFilter = readyFilters.getIfPresent(tenantId);
+        if (Objects.isNull(tenantFilter)) {
+            startBuild(tenantId);
+        }
+        return tenantFilter;
+    }
+
+    /**
+     * 启动租户过滤器构建，同一租户同时只有一个构建任务
+     */
+    private CompletableFuture<TenantFilter> startBuild(String tenantId) {
+        CompletableFuture<TenantFilter> future = new CompletableFuture<>();
+        CompletableFuture<TenantFilter> existing = buildsInFlight.putIfAbsent(tenantId, future);
+        if (Objects.nonNull(existing)) {
+            return existing;
+        }
+        buildExecutor.execute(() -> {
+            try {
+                future.complete(build(tenantId));
+            } catch (Throwable e) {
+                log.error("构建租户{}的布隆过滤器失败", tenantId, e);
+                future.completeExceptionally(e);
+            } finally {
+                buildsInFlight.remove(tenantId, future);
+            }
+        });
+        return future;
+    }
+
+    private TenantFilter build(String tenantId) {
+        long start = System.currentTimeMillis();
+        long rows = invalidAsinMapper.selectCount(new LambdaQueryWrapper<InvalidAsinDO>()
+                .eq(InvalidAsinDO::getTenantId, tenantId));
+        // 每条记录写入两个键
+        long expectedInsertions = Math.max(properties.getMinExpectedInsertions(),
+                (long) (rows * 2 * properties.getGrowthFactor()));
+        TenantFilter tenantFilter = new TenantFilter(new BloomFilter(expectedInsertions, properties.getFpp()));
+        buildingFilters.put(tenantId, tenantFilter);
+        try {
+            invalidAsinMapper.scanAsinKeysByTenantId(tenantId,
+                    context -> tenantFilter.put(context.getResultObject().getMarketplaceId(),
+                            context.getResultObject().getSellerAsin()));
+            tenantFilter.buildMillis = System.currentTimeMillis() - start;
+            tenantFilter.builtAt = System.currentTimeMillis();
+            readyFilters.put(tenantId, tenantFilter);
+        } finally {
+            buildingFilters.remove(tenantId, tenantFilter);
+        }
+        log.info("租户{}的布隆过滤器构建完成: rows={}, bitSize={}, hashFunctions={}, 耗时{}ms",
+                tenantId, rows, tenantFilter.filter.getBitSize(), tenantFilter.filter.getHashFunctions(),
+                tenantFilter.buildMillis);
+        return tenantFilter;
+    }
+
+    private double observedFpp() {
+        double falsePositives = falsePositiveCounter.count();
+        double negatives = absentCounter.count();
+        return falsePositives + negatives == 0 ? 0 : falsePositives / (falsePositives + negatives);
+    }
+
+    private static Counter checkCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("invalid.asin.bloom.checks")
+                .description("无效ASIN布隆过滤器判断次数")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static String key(String marketplaceId, String sellerAsin) {
+        return (Objects.isNull(marketplaceId) ? "" : marketplaceId) + KEY_SEPARATOR + sellerAsin;
+    }
+
+    /**
+     * 单个租户的过滤器及其统计
+     */
+    private static class TenantFilter {
+
+        private final BloomFilter filter;
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong keys = new AtomicLong();
+        private final AtomicLong deletions = new AtomicLong();
+        private final LongAdder absent = new LongAdder();
+        private final LongAdder falsePositives = new LongAdder();
+        private volatile long buildMillis;
+        private volatile long builtAt;
+
+        private TenantFilter(BloomFilter filter) {
+            this.filter = filter;
+        }
+
+        private void put(String marketplaceId, String sellerAsin) {
+            filter.put(key(marketplaceId, sellerAsin));
+            keys.incrementAndGet();
+            if (StringUtils.isNotBlank(marketplaceId)) {
+                filter.put(key(null, sellerAsin));
+                keys.incrementAndGet();
+            }
+            rows.incrementAndGet();
+        }
+
+        private double observedFpp() {
+            double fp = falsePositives.sum();
+            double negatives = absent.sum();
+            return fp + negatives == 0 ? 0 : fp / (fp + negatives);
+        }
+    }
+}
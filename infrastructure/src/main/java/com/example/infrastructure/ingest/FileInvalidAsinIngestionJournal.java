@@ -0,0 +1,295 @@
+package com.example.infrastructure.ingest;
+
+import com.example.domain.model.InvalidAsinEntity;
+import com.example.domain.repository.InvalidAsinIngestionJournal;
+import com.example.infrastructure.config.InvalidAsinIngestionJournalProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 基于追加写文件的 Invalid ASIN 写入日志
+ * 每条待写入记录和每个检查点各占一行 JSON，启动时取最大检查点之后的记录作为未落库数据，
+ * 随后只保留这些记录重写日志；运行期间检查点追上最后一条记录（队列已清空）且文件超过阈值时截断日志。
+ * 放弃的记录追加到同目录下的死信日志，死信日志不截断，由人工核对后清理
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Slf4j
+public class FileInvalidAsinIngestionJournal implements InvalidAsinIngestionJournal, AutoCloseable {
+
+    private static final String LOG_FILE_NAME = "invalid-asin-ingestion.log";
+
+    private static final String DEAD_LETTER_FILE_NAME = "invalid-asin-dead-letter.log";
+
+    private final InvalidAsinIngestionJournalProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectReader recordReader;
+
+    private final Path logFile;
+
+    private final Path deadLetterFile;
+
+    /**
+     * 保护日志写入、截断和重写
+     */
+    private final Object writeLock = new Object();
+
+    private FileChannel channel;
+
+    private BufferedWriter writer;
+
+    private long lastAppended;
+
+    private long lastCheckpoint;
+
+    public FileInvalidAsinIngestionJournal(InvalidAsinIngestionJournalProperties properties, ObjectMapper objectMapper,
+                                           MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.recordReader = objectMapper.readerFor(LogRecord.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        Path directory = Path.of(properties.getDirectory());
+        this.logFile = directory.resolve(LOG_FILE_NAME);
+        this.deadLetterFile = directory.resolve(DEAD_LETTER_FILE_NAME);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("创建写入日志目录失败: " + directory, e);
+        }
+        Gauge.builder("invalid.asin.write.behind.journal.bytes", this, FileInvalidAsinIngestionJournal::logFileBytes)
+                .description("异步写入日志文件大小")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void append(long sequence, InvalidAsinEntity entity) {
+        synchronized (writeLock) {
+            try {
+                openWriterIfClosed();
+                writeRecord(writer, LogRecord.of(sequence, entity));
+                flush();
+                lastAppended = sequence;
+            } catch (IOException e) {
+                throw new UncheckedIOException("写入异步写入日志失败: " + logFile, e);
+            }
+        }
+    }
+
+    @Override
+    public void checkpoint(long sequence) {
+        synchronized (writeLock) {
+            try {
+                openWriterIfClosed();
+                writeRecord(writer, LogRecord.checkpointOf(sequence));
+                flush();
+                lastCheckpoint = sequence;
+                if (lastCheckpoint >= lastAppended && channel.size() >= properties.getCompactionMinBytes()) {
+                    long before = channel.size();
+                    channel.truncate(0);
+                    log.info("异步写入日志已清空: {} bytes", before);
+                }
+            } catch (IOException e) {
+                // 检查点丢失只会导致重启后重复写入已落库的记录，不影响当前写入
+                log.error("写入异步写入日志检查点失败, sequence={}", sequence, e);
+            }
+        }
+    }
+
+    @Override
+    public void deadLetter(long sequence, InvalidAsinEntity entity, String reason) {
+        synchronized (writeLock) {
+            try (FileChannel out = FileChannel.open(deadLetterFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                String line = objectMapper.writeValueAsString(
+                        new DeadLetterRecord(LocalDateTime.now(), reason, LogRecord.of(sequence, entity))) + "\n";
+                out.write(StandardCharsets.UTF_8.encode(line));
+                if (properties.isFsync()) {
+                    out.force(false);
+                }
+            } catch (IOException e) {
+                // 死信写入失败时记录仍在上面的错误日志中，不阻塞写入线程
+                log.error("写入死信日志失败, sequence={}, tenantId={}, sellerAsin={}", sequence,
+                        entity.getTenantId(), entity.getSellerAsin(), e);
+            }
+        }
+    }
+
+    @Override
+    public List<Entry> recover() {
+        synchronized (writeLock) {
+            List<Entry> entries = new ArrayList<>();
+            long checkpoint = 0;
+            if (Files.exists(logFile)) {
+                try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.isBlank()) {
+                            continue;
+                        }
+                        LogRecord record;
+                        try {
+                            record = recordReader.readValue(line);
+                        } catch (JsonProcessingException e) {
+                            log.warn("跳过无法解析的异步写入日志记录: {}",
+                                    line.length() > 200 ? line.substring(0, 200) : line);
+                            continue;
+                        }
+                        if (Objects.nonNull(record.checkpoint())) {
+                            checkpoint = Math.max(checkpoint, record.checkpoint());
+                        } else if (Objects.nonNull(record.sequence())) {
+                            entries.add(new Entry(record.sequence(), record.toEntity()));
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("读取异步写入日志失败: " + logFile, e);
+                }
+            }
+            long committed = checkpoint;
+            List<Entry> pending = entries.stream()
+                    .filter(entry -> entry.sequence() > committed)
+                    .sorted(Comparator.comparingLong(Entry::sequence))
+                    .toList();
+            rewrite(pending);
+            log.info("异步写入日志已恢复: file={}, records={}, checkpoint={}, pending={}",
+                    logFile, entries.size(), checkpoint, pending.size());
+            return pending;
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (writeLock) {
+            closeWriter();
+        }
+    }
+
+    /**
+     * 只保留未落库的记录重写日志，写入临时文件后原子替换，然后打开追加写入流
+     */
+    private void rewrite(List<Entry> pending) {
+        Path tempFile = logFile.resolveSibling(LOG_FILE_NAME + ".compacting");
+        try {
+            try (BufferedWriter out = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                for (Entry entry : pending) {
+                    writeRecord(out, LogRecord.of(entry.sequence(), entry.entity()));
+                }
+            }
+            closeWriter();
+            Files.move(tempFile, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            openWriterIfClosed();
+            lastAppended = pending.isEmpty() ? 0 : pending.getLast().sequence();
+            lastCheckpoint = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("重写异步写入日志失败: " + logFile, e);
+        }
+    }
+
+    private void openWriterIfClosed() throws IOException {
+        if (Objects.nonNull(writer)) {
+            return;
+        }
+        channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+    }
+
+    private void flush() throws IOException {
+        writer.flush();
+        if (properties.isFsync()) {
+            channel.force(false);
+        }
+    }
+
+    private void writeRecord(BufferedWriter out, LogRecord record) throws IOException {
+        out.write(objectMapper.writeValueAsString(record));
+        out.newLine();
+    }
+
+    private void closeWriter() {
+        if (Objects.isNull(writer)) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("关闭异步写入日志失败", e);
+        }
+        writer = null;
+        channel = null;
+    }
+
+    private double logFileBytes() {
+        try {
+            return Files.exists(logFile) ? Files.size(logFile) : 0;
+        } catch (IOException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * 死信日志行
+     */
+    private record DeadLetterRecord(LocalDateTime deadLetterTime, String reason, LogRecord record) {
+    }
+
+    /**
+     * 日志行：待写入记录或检查点
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private record LogRecord(Long sequence, Long checkpoint, String tenantId, String applyInstanceId,
+                             String templateId, String profileId, String marketplaceId, String sellerId,
+                             String sellerAsin, LocalDateTime createTime, String ds) {
+
+        static LogRecord of(long sequence, InvalidAsinEntity entity) {
+            return new LogRecord(sequence, null, entity.getTenantId(), entity.getApplyInstanceId(),
+                    entity.getTemplateId(), entity.getProfileId(), entity.getMarketplaceId(), entity.getSellerId(),
+                    entity.getSellerAsin(), entity.getCreateTime(), entity.getDs());
+        }
+
+        static LogRecord checkpointOf(long sequence) {
+            return new LogRecord(null, sequence, null, null, null, null, null, null, null, null, null);
+        }
+
+        InvalidAsinEntity toEntity() {
+            return InvalidAsinEntity.builder()
+                    .tenantId(tenantId)
+                    .applyInstanceId(applyInstanceId)
+                    .templateId(templateId)
+                    .profileId(profileId)
+                    .marketplaceId(marketplaceId)
+                    .sellerId(sellerId)
+                    .sellerAsin(sellerAsin)
+                    .createTime(createTime)
+                    .ds(ds)
+                    .build();
+        }
+    }
+}
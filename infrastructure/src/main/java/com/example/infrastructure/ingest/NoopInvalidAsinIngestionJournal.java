@@ -0,0 +1,35 @@
+package com.example.infrastructure.ingest;
+
+import com.example.domain.model.InvalidAsinEntity;
+import com.example.domain.repository.InvalidAsinIngestionJournal;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * 不落盘的写入日志，队列只保存在内存中，死信只记录到应用日志
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Slf4j
+public class NoopInvalidAsinIngestionJournal implements InvalidAsinIngestionJournal {
+
+    @Override
+    public void append(long sequence, InvalidAsinEntity entity) {
+    }
+
+    @Override
+    public void checkpoint(long sequence) {
+    }
+
+    @Override
+    public void deadLetter(long sequence, InvalidAsinEntity entity, String reason) {
+        log.error("Invalid ASIN 异步写入死信: sequence={}, entity={}, reason={}", sequence, entity, reason);
+    }
+
+    @Override
+    public List<Entry> recover() {
+        return List.of();
+    }
+}
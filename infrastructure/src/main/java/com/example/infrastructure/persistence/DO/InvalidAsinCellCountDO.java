@@ -0,0 +1,28 @@
+package com.example.infrastructure.persistence.DO;
+
+import lombok.Data;
+
+/**
+ * 租户下按 (profile, 站点) 分组的记录数
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+public class InvalidAsinCellCountDO {
+
+    /**
+     * Profile ID
+     */
+    private String profileId;
+
+    /**
+     * 站点ID
+     */
+    private String marketplaceId;
+
+    /**
+     * 记录数
+     */
+    private Long rowCount;
+}
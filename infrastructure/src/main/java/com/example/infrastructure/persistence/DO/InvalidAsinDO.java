@@ -66,4 +66,9 @@ public class InvalidAsinDO {
      * 时间
      */
     private String ds;
+
+    /**
+     * 乐观锁版本号，每次更新加1
+     */
+    private Integer version;
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.example.infrastructure.persistence.DO;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 无效ASIN清理任务数据对象 (DO)
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Data
+@TableName("fenghuo_ad_smart_creation_invalid_asin_purge_job")
+public class InvalidAsinPurgeJobDO {
+
+    /**
+     * 任务ID
+     */
+    @TableId(type = IdType.INPUT)
+    private String jobId;
+
+    /**
+     * 租户id
+     */
+    private String tenantId;
+
+    /**
+     * profile id
+     */
+    private String profileId;
+
+    /**
+     * 站点
+     */
+    private String marketplaceId;
+
+    /**
+     * 任务状态
+     */
+    private String status;
+
+    /**
+     * 最近一片删除的最后一行的 create_time
+     */
+    private LocalDateTime cursorCreateTime;
+
+    /**
+     * 最近一片删除的最后一行的主键ID
+     */
+    private Long cursorId;
+
+    /**
+     * 已删除行数
+     */
+    private Long deletedRows;
+
+    /**
+     * 已执行的分片数
+     */
+    private Long chunkCount;
+
+    /**
+     * 当前分片大小
+     */
+    private Integer chunkSize;
+
+    /**
+     * 最近一片删除事务耗时（毫秒）
+     */
+    private Long lastChunkMillis;
+
+    /**
+     * 单片删除事务最大耗时（毫秒）
+     */
+    private Long maxChunkMillis;
+
+    /**
+     * 当前执行实例
+     */
+    private String owner;
+
+    /**
+     * 最近一次心跳时间
+     */
+    private LocalDateTime heartbeatTime;
+
+    /**
+     * 失败原因
+     */
+    private String errorMessage;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * 结束时间
+     */
+    private LocalDateTime finishTime;
+}
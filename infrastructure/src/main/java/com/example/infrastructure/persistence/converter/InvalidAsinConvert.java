@@ -39,4 +39,14 @@ public interface InvalidAsinConvert {
 
 
     List<InvalidAsinEntity> doToEntityList(List<InvalidAsinDO> records);
+
+    /**
+     * Entity 复制，缓存返回时使用，避免调用方修改缓存中的对象
+     * 
+     * @param entity 领域实体
+     * @return 领域实体副本
+     */
+    InvalidAsinEntity copyEntity(InvalidAsinEntity entity);
+
+    List<InvalidAsinEntity> copyEntityList(List<InvalidAsinEntity> entities);
 }
\ No newline at end of file
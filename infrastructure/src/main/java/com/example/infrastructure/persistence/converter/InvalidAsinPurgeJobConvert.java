@@ -0,0 +1,35 @@
+package com.example.infrastructure.persistence.converter;
+
+import com.example.domain.model.InvalidAsinPurgeJob;
+import com.example.infrastructure.persistence.DO.InvalidAsinPurgeJobDO;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Invalid ASIN 清理任务转换器
+ * 负责Domain Entity与DO对象之间的转换
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Mapper
+public interface InvalidAsinPurgeJobConvert {
+
+    InvalidAsinPurgeJobConvert INSTANCE = Mappers.getMapper(InvalidAsinPurgeJobConvert.class);
+
+    /**
+     * Entity 转 DO
+     * 
+     * @param job 领域对象
+     * @return 数据对象
+     */
+    InvalidAsinPurgeJobDO toDo(InvalidAsinPurgeJob job);
+
+    /**
+     * DO 转 Entity
+     * 
+     * @param dataObject 数据对象
+     * @return 领域对象
+     */
+    InvalidAsinPurgeJob toEntity(InvalidAsinPurgeJobDO dataObject);
+}
@@ -0,0 +1,108 @@
+package com.example.infrastructure.persistence.interceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyBatis 语句指标拦截器
+ * 按 Mapper 语句ID（如 InvalidAsinMapper.selectByCursor）记录执行耗时，按结果和SQL类型打标签，
+ * 调用次数和错误次数由 Timer 的计数得到；分页插件生成的 _mpCount 语句单独统计。
+ * 两种 query 签名都拦截，无论与分页插件的先后顺序如何，每次执行只经过本拦截器一次。
+ * 游标查询只统计打开游标的耗时，逐行读取的时间计入调用方。
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+                        CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = {MappedStatement.class, Object.class, RowBounds.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class MapperMetricsInterceptor implements Interceptor {
+
+    private static final String METRIC_NAME = "db.mapper.statements";
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, StatementMeters> meters = new ConcurrentHashMap<>();
+
+    public MapperMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        StatementMeters statementMeters = metersOf((MappedStatement) invocation.getArgs()[0]);
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            statementMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            statementMeters.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private StatementMeters metersOf(MappedStatement mappedStatement) {
+        StatementMeters statementMeters = meters.get(mappedStatement.getId());
+        return Objects.nonNull(statementMeters)
+                ? statementMeters
+                : meters.computeIfAbsent(mappedStatement.getId(), id -> new StatementMeters(mappedStatement));
+    }
+
+    /**
+     * 语句ID去掉包名，只保留 Mapper 类名和方法名
+     */
+    private static String shortStatementId(String id) {
+        int methodDot = id.lastIndexOf('.');
+        int classDot = methodDot > 0 ? id.lastIndexOf('.', methodDot - 1) : -1;
+        return id.substring(classDot + 1);
+    }
+
+    /**
+     * 单个语句的 Timer
+     */
+    private final class StatementMeters {
+
+        private final Timer success;
+
+        private final Timer error;
+
+        private StatementMeters(MappedStatement mappedStatement) {
+            String statement = shortStatementId(mappedStatement.getId());
+            String command = mappedStatement.getSqlCommandType().name();
+            this.success = timer(statement, command, "success");
+            this.error = timer(statement, command, "error");
+        }
+
+        private Timer timer(String statement, String command, String outcome) {
+            return Timer.builder(METRIC_NAME)
+                    .description("Mapper 语句执行耗时")
+                    .tag("statement", statement)
+                    .tag("command", command)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
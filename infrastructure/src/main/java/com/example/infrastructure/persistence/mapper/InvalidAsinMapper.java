@@ -1,10 +1,17 @@
 package com.example.infrastructure.persistence.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.example.domain.model.InvalidAsinQuery;
+import com.example.domain.model.InvalidAsinView;
+import com.example.infrastructure.persistence.DO.InvalidAsinCellCountDO;
 import com.example.infrastructure.persistence.DO.InvalidAsinDO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -36,14 +43,6 @@ public interface InvalidAsinMapper extends BaseMapper<InvalidAsinDO> {
     List<InvalidAsinDO> selectByTenantIdAndProfileId(@Param("tenantId") String tenantId,
                                                    @Param("profileId") String profileId);
 
-    /**
-     * 批量插入无效ASIN
-     * 
-     * @param invalidAsins 无效ASIN列表
-     * @return 插入条数
-     */
-    int batchInsert(@Param("list") List<InvalidAsinDO> invalidAsins);
-
     /**
      * 根据条件删除无效ASIN
      * 
@@ -55,4 +54,178 @@ public interface InvalidAsinMapper extends BaseMapper<InvalidAsinDO> {
     int deleteByCondition(@Param("tenantId") String tenantId,
                          @Param("profileId") String profileId,
                          @Param("marketplaceId") String marketplaceId);
-}
\ No newline at end of file
+
+    /**
+     * 按 (create_time, id) 顺序从游标之后查询一片符合删除条件的记录
+     * 
+     * @param tenantId 租户ID
+     * @param profileId Profile ID
+     * @param marketplaceId 站点ID
+     * @param afterCreateTime 游标 create_time，为空时从头查询
+     * @param afterId 游标主键ID，与 afterCreateTime 同时使用
+     * @param limit 最多返回条数
+     * @return 只含 id、create_time 的记录
+     */
+    List<InvalidAsinDO> selectKeysByCondition(@Param("tenantId") String tenantId,
+                                              @Param("profileId") String profileId,
+                                              @Param("marketplaceId") String marketplaceId,
+                                              @Param("afterCreateTime") LocalDateTime afterCreateTime,
+                                              @Param("afterId") Long afterId,
+                                              @Param("limit") int limit);
+
+    /**
+     * 删除指定ID中仍符合删除条件的记录
+     * 
+     * @param tenantId 租户ID
+     * @param profileId Profile ID
+     * @param marketplaceId 站点ID
+     * @param ids 主键ID
+     * @return 删除条数
+     */
+    int deleteByConditionAndIds(@Param("tenantId") String tenantId,
+                                @Param("profileId") String profileId,
+                                @Param("marketplaceId") String marketplaceId,
+                                @Param("ids") Collection<Long> ids);
+
+    /**
+     * 流式扫描租户下所有记录的站点和ASIN，用于构建布隆过滤器
+     * 
+     * @param tenantId 租户ID
+     * @param handler 逐行处理器
+     */
+    void scanAsinKeysByTenantId(@Param("tenantId") String tenantId, ResultHandler<InvalidAsinDO> handler);
+
+    /**
+     * 按 (profile, 站点) 分组统计租户的记录数，用于精确重算计数器
+     * 
+     * @param tenantId 租户ID
+     * @return 分组记录数
+     */
+    List<InvalidAsinCellCountDO> countByTenantIdGroupByProfileAndMarketplace(@Param("tenantId") String tenantId);
+
+    /**
+     * 按 (create_time, id) 正序分页扫描租户下的站点和ASIN，用于加载和增量同步内存快照
+     * 
+     * @param tenantId 租户ID
+     * @param afterCreateTime 水位 create_time，为空时从头扫描
+     * @param afterId 水位主键ID，与 afterCreateTime 同时使用
+     * @param limit 最多返回行数
+     * @return 只含 id、marketplace_id、seller_asin、create_time 的记录
+     */
+    List<InvalidAsinDO> selectSnapshotPage(@Param("tenantId") String tenantId,
+                                           @Param("afterCreateTime") LocalDateTime afterCreateTime,
+                                           @Param("afterId") Long afterId,
+                                           @Param("limit") int limit);
+
+    /**
+     * 判断ASIN是否存在
+     * 
+     * @param tenantId 租户ID
+     * @param marketplaceId 站点ID，可为空
+     * @param sellerAsin 卖家ASIN
+     * @return 存在时返回1，不存在返回null
+     */
+    Integer existsByTenantIdAndSellerAsin(@Param("tenantId") String tenantId,
+                                          @Param("marketplaceId") String marketplaceId,
+                                          @Param("sellerAsin") String sellerAsin);
+
+    /**
+     * 查询给定ASIN中存在于无效列表的ASIN
+     * 
+     * @param tenantId 租户ID
+     * @param marketplaceId 站点ID，可为空
+     * @param sellerAsins 卖家ASIN
+     * @return 存在的ASIN（去重）
+     */
+    List<String> selectExistingSellerAsins(@Param("tenantId") String tenantId,
+                                           @Param("marketplaceId") String marketplaceId,
+                                           @Param("sellerAsins") Collection<String> sellerAsins);
+
+    /**
+     * 按租户和ASIN批量查询完整记录，按主键升序
+     * 
+     * @param tenantId 租户ID
+     * @param sellerAsins 卖家ASIN
+     * @return 数据对象列表
+     */
+    List<InvalidAsinDO> selectByTenantIdAndSellerAsins(@Param("tenantId") String tenantId,
+                                                       @Param("sellerAsins") Collection<String> sellerAsins);
+
+    /**
+     * 插入，自然键冲突时只更新可变字段，由 MybatisBatch 按语句ID批量执行
+     * 
+     * @param invalidAsinDO 数据对象
+     * @return 影响行数
+     */
+    int insertOrUpdateMutable(InvalidAsinDO invalidAsinDO);
+
+    /**
+     * 按主键更新可变字段，由 MybatisBatch 按语句ID批量执行
+     * 
+     * @param invalidAsinDO 数据对象
+     * @return 影响行数
+     */
+    int updateMutableById(InvalidAsinDO invalidAsinDO);
+
+    /**
+     * 按主键加锁读取整行，用于更新或删除前确定变更所属的格子，并合并出更新后的记录
+     * 
+     * @param id 主键ID
+     * @return 数据对象，不存在时为空
+     */
+    InvalidAsinDO selectByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * 按主键条件更新非空字段，租户不为空时限定租户，版本号不为空时只在版本一致时生效
+     * 
+     * @param invalidAsinDO 数据对象
+     * @return 影响行数，0 表示不存在或版本冲突
+     */
+    int updateByIdConditional(InvalidAsinDO invalidAsinDO);
+
+    /**
+     * 按主键列表批量更新可变字段，只更新非空字段
+     * 
+     * @param tenantId 租户ID
+     * @param ids 主键列表
+     * @param patch 要更新的字段
+     * @return 影响行数
+     */
+    int updateMutableByIds(@Param("tenantId") String tenantId, @Param("ids") Collection<Long> ids,
+                           @Param("patch") InvalidAsinDO patch);
+
+    /**
+     * 按主键列表批量删除
+     * 
+     * @param tenantId 租户ID
+     * @param ids 主键列表
+     * @return 删除行数
+     */
+    int deleteByTenantIdAndIds(@Param("tenantId") String tenantId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * 根据条件按(create_time, id)倒序查询只读视图
+     * 
+     * @param page 分页参数，为空时不分页
+     * @param query 查询条件
+     * @return 无效ASIN只读视图列表
+     */
+    List<InvalidAsinView> selectViewsByCondition(IPage<InvalidAsinView> page, @Param("query") InvalidAsinQuery query);
+
+    /**
+     * 根据条件流式扫描无效ASIN只读视图，与列表查询同序（create_time 倒序，相同时 id 倒序）逐行返回
+     * 
+     * @param query 查询条件
+     * @param handler 逐行处理器
+     */
+    void streamByCondition(@Param("query") InvalidAsinQuery query, ResultHandler<InvalidAsinView> handler);
+
+    /**
+     * 根据条件按(create_time, id)倒序做游标分页
+     * 
+     * @param query 查询条件，cursorCreateTime/cursorId 为空时从第一页开始
+     * @param limit 最多返回行数
+     * @return 无效ASIN只读视图列表
+     */
+    List<InvalidAsinView> selectByCursor(@Param("query") InvalidAsinQuery query, @Param("limit") int limit);
+}
@@ -0,0 +1,44 @@
+package com.example.infrastructure.persistence.mapper;
+
+import com.example.domain.model.InvalidAsinPartition;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 无效ASIN表分区 Mapper接口
+ * DDL 无法使用预编译参数，分区名和上界以 ${} 拼接，调用方必须先校验格式
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Mapper
+public interface InvalidAsinPartitionMapper {
+
+    /**
+     * 查询当前库中无效ASIN表的分区，按分区顺序
+     *
+     * @return 分区列表，表未分区时为空
+     */
+    List<InvalidAsinPartition> selectPartitions();
+
+    /**
+     * 将一个分区拆分为多个分区
+     *
+     * @param source 原分区名
+     * @param partitions 拆分后的分区
+     * @return 影响行数
+     */
+    int reorganizePartition(@Param("source") String source,
+                            @Param("partitions") List<InvalidAsinPartition> partitions);
+
+    /**
+     * 删除分区
+     *
+     * @param names 分区名
+     * @return 影响行数
+     */
+    int dropPartitions(@Param("names") Collection<String> names);
+}
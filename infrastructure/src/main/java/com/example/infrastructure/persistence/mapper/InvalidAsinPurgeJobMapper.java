@@ -0,0 +1,58 @@
+package com.example.infrastructure.persistence.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.infrastructure.persistence.DO.InvalidAsinPurgeJobDO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 无效ASIN清理任务 Mapper接口
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Mapper
+public interface InvalidAsinPurgeJobMapper extends BaseMapper<InvalidAsinPurgeJobDO> {
+
+    /**
+     * 保存进度和状态，只在任务仍由 owner 持有且处于执行中时生效
+     * 
+     * @param job 任务
+     * @return 影响行数
+     */
+    int updateProgressByOwner(InvalidAsinPurgeJobDO job);
+
+    /**
+     * 取消执行中的任务
+     * 
+     * @param jobId 任务ID
+     * @param finishTime 结束时间
+     * @return 影响行数
+     */
+    int cancelRunning(@Param("jobId") String jobId, @Param("finishTime") LocalDateTime finishTime);
+
+    /**
+     * 查询心跳超时的执行中任务
+     * 
+     * @param heartbeatBefore 心跳截止时间
+     * @param limit 最多返回条数
+     * @return 任务列表
+     */
+    List<InvalidAsinPurgeJobDO> selectStale(@Param("heartbeatBefore") LocalDateTime heartbeatBefore,
+                                            @Param("limit") int limit);
+
+    /**
+     * 接管心跳超时的任务
+     * 
+     * @param jobId 任务ID
+     * @param owner 新的执行实例
+     * @param heartbeatBefore 心跳截止时间
+     * @param now 新的心跳时间
+     * @return 影响行数
+     */
+    int claimStale(@Param("jobId") String jobId, @Param("owner") String owner,
+                   @Param("heartbeatBefore") LocalDateTime heartbeatBefore, @Param("now") LocalDateTime now);
+}
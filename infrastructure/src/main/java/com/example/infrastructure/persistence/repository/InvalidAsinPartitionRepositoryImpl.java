@@ -0,0 +1,128 @@
+package com.example.infrastructure.persistence.repository;
+
+import com.example.domain.model.InvalidAsinPartition;
+import com.example.domain.repository.InvalidAsinPartitionRepository;
+import com.example.infrastructure.cache.CachedInvalidAsinRepository;
+import com.example.infrastructure.counter.InvalidAsinCountManager;
+import com.example.infrastructure.filter.InvalidAsinBloomFilterManager;
+import com.example.infrastructure.persistence.mapper.InvalidAsinPartitionMapper;
+import com.example.infrastructure.snapshot.InvalidAsinSnapshotManager;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Invalid ASIN 表分区管理实现
+ * 只在 MySQL / MariaDB 上生效，H2 等不支持分区的数据库视为未分区表
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Slf4j
+@Repository
+public class InvalidAsinPartitionRepositoryImpl implements InvalidAsinPartitionRepository {
+
+    /**
+     * 分区名以 ${} 拼入 DDL，只允许小写字母、数字和下划线
+     */
+    private static final Pattern PARTITION_NAME = Pattern.compile("p[a-z0-9_]{1,63}");
+
+    private static final Pattern DS = Pattern.compile("\\d{8}");
+
+    @Resource
+    private InvalidAsinPartitionMapper invalidAsinPartitionMapper;
+
+    @Resource
+    private DataSource dataSource;
+
+    @Resource
+    private InvalidAsinCountManager invalidAsinCountManager;
+
+    @Resource
+    private InvalidAsinBloomFilterManager invalidAsinBloomFilterManager;
+
+    @Resource
+    private InvalidAsinSnapshotManager invalidAsinSnapshotManager;
+
+    /**
+     * 缓存装饰器按配置开启，未开启时为空
+     */
+    @Resource
+    private ObjectProvider<CachedInvalidAsinRepository> cachedInvalidAsinRepositoryProvider;
+
+    /**
+     * 数据库是否支持分区，首次使用时探测
+     */
+    private volatile Boolean supported;
+
+    @Override
+    public List<InvalidAsinPartition> findAll() {
+        if (!isSupported()) {
+            return List.of();
+        }
+        return invalidAsinPartitionMapper.selectPartitions();
+    }
+
+    @Override
+    public void split(String source, List<InvalidAsinPartition> partitions) {
+        checkName(source);
+        if (partitions.isEmpty()) {
+            throw new IllegalArgumentException("拆分后的分区不能为空");
+        }
+        for (InvalidAsinPartition partition : partitions) {
+            checkName(partition.getName());
+            if (Objects.nonNull(partition.getLessThan()) && !DS.matcher(partition.getLessThan()).matches()) {
+                throw new IllegalArgumentException("分区上界格式必须为yyyyMMdd: " + partition.getLessThan());
+            }
+        }
+        invalidAsinPartitionMapper.reorganizePartition(source, partitions);
+    }
+
+    @Override
+    public void drop(Collection<String> names) {
+        if (names.isEmpty()) {
+            return;
+        }
+        names.forEach(InvalidAsinPartitionRepositoryImpl::checkName);
+        invalidAsinPartitionMapper.dropPartitions(names);
+        // DROP PARTITION 是 DDL，执行即生效，不经过仓储，被删的行分属哪些租户未知，派生状态全部丢弃后按需重新加载
+        invalidAsinCountManager.invalidateAll();
+        invalidAsinBloomFilterManager.invalidateAll();
+        invalidAsinSnapshotManager.invalidate(null);
+        cachedInvalidAsinRepositoryProvider.ifAvailable(CachedInvalidAsinRepository::invalidateAll);
+        log.info("已删除无效ASIN分区并丢弃计数器、布隆过滤器、快照和缓存: {}", names);
+    }
+
+    private boolean isSupported() {
+        Boolean current = supported;
+        if (Objects.isNull(current)) {
+            try (Connection connection = dataSource.getConnection()) {
+                String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+                current = product.contains("mysql") || product.contains("mariadb");
+            } catch (SQLException e) {
+                throw new IllegalStateException("无法识别数据库类型", e);
+            }
+            if (!current) {
+                log.info("当前数据库不支持分区，无效ASIN表按未分区处理");
+            }
+            supported = current;
+        }
+        return current;
+    }
+
+    private static void checkName(String name) {
+        if (Objects.isNull(name) || !PARTITION_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("非法的分区名: " + name);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.infrastructure.persistence.repository;
+
+import com.example.domain.model.InvalidAsinPurgeJob;
+import com.example.domain.repository.InvalidAsinPurgeJobRepository;
+import com.example.infrastructure.persistence.converter.InvalidAsinPurgeJobConvert;
+import com.example.infrastructure.persistence.mapper.InvalidAsinPurgeJobMapper;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Invalid ASIN 清理任务仓储实现
+ * 
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Repository
+public class InvalidAsinPurgeJobRepositoryImpl implements InvalidAsinPurgeJobRepository {
+
+    @Resource
+    private InvalidAsinPurgeJobMapper invalidAsinPurgeJobMapper;
+
+    @Override
+    public void save(InvalidAsinPurgeJob job) {
+        invalidAsinPurgeJobMapper.insert(InvalidAsinPurgeJobConvert.INSTANCE.toDo(job));
+    }
+
+    @Override
+    public Optional<InvalidAsinPurgeJob> findById(String jobId) {
+        return Optional.ofNullable(invalidAsinPurgeJobMapper.selectById(jobId))
+                .map(InvalidAsinPurgeJobConvert.INSTANCE::toEntity);
+    }
+
+    @Override
+    public boolean saveProgress(InvalidAsinPurgeJob job) {
+        return invalidAsinPurgeJobMapper.updateProgressByOwner(InvalidAsinPurgeJobConvert.INSTANCE.toDo(job)) > 0;
+    }
+
+    @Override
+    public boolean cancel(String jobId, LocalDateTime finishTime) {
+        return invalidAsinPurgeJobMapper.cancelRunning(jobId, finishTime) > 0;
+    }
+
+    @Override
+    public List<InvalidAsinPurgeJob> findStale(LocalDateTime heartbeatBefore, int limit) {
+        return invalidAsinPurgeJobMapper.selectStale(heartbeatBefore, limit).stream()
+                .map(InvalidAsinPurgeJobConvert.INSTANCE::toEntity)
+                .toList();
+    }
+
+    @Override
+    public boolean claim(String jobId, String owner, LocalDateTime heartbeatBefore, LocalDateTime now) {
+        return invalidAsinPurgeJobMapper.claimStale(jobId, owner, heartbeatBefore, now) > 0;
+    }
+}
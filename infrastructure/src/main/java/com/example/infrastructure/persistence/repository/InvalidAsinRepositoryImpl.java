@@ -1,20 +1,62 @@
 package com.example.infrastructure.persistence.repository;
 
+import cn.hutool.core.collection.ListUtil;
+import cn.hutool.core.util.ObjectUtil;
+import com.baomidou.mybatisplus.core.batch.MybatisBatch;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.domain.model.InvalidAsinCursorPage;
 import com.example.domain.model.InvalidAsinEntity;
 import com.example.domain.model.InvalidAsinQuery;
+import com.example.domain.model.InvalidAsinUpsertResult;
+import com.example.domain.model.InvalidAsinView;
 import com.example.domain.repository.InvalidAsinRepository;
+import com.example.infrastructure.config.InvalidAsinPersistenceProperties;
+import com.example.infrastructure.counter.InvalidAsinCountManager;
+import com.example.infrastructure.filter.InvalidAsinBloomFilterManager;
+import com.example.infrastructure.filter.InvalidAsinBloomFilterManager.Membership;
 import com.example.infrastructure.persistence.DO.InvalidAsinDO;
 import com.example.infrastructure.persistence.converter.InvalidAsinConvert;
 import com.example.infrastructure.persistence.mapper.InvalidAsinMapper;
+import com.example.infrastructure.snapshot.InvalidAsinSnapshotManager;
+import com.example.infrastructure.support.TransactionHooks;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.annotation.Resource;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.MyBatisExceptionTranslator;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.sql.DataSource;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Invalid ASIN 仓储实现
@@ -25,20 +67,146 @@ import java.util.Optional;
 @Repository
 public class InvalidAsinRepositoryImpl implements InvalidAsinRepository {
 
+    private static final int DEFAULT_CURSOR_PAGE_SIZE = 20;
+
+    private static final String INSERT_OR_UPDATE_MUTABLE_STATEMENT =
+            InvalidAsinMapper.class.getName() + ".insertOrUpdateMutable";
+
+    private static final String UPDATE_MUTABLE_BY_ID_STATEMENT =
+            InvalidAsinMapper.class.getName() + ".updateMutableById";
+
     @Resource
     private InvalidAsinMapper invalidAsinMapper;
 
+    @Resource
+    private InvalidAsinBloomFilterManager invalidAsinBloomFilterManager;
+
+    @Resource
+    private InvalidAsinCountManager invalidAsinCountManager;
+
+    @Resource
+    private InvalidAsinSnapshotManager invalidAsinSnapshotManager;
+
+    @Resource
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Resource
+    private InvalidAsinPersistenceProperties persistenceProperties;
+
+    @Resource
+    private DataSource dataSource;
+
+    /**
+     * 批量判断ASIN的 IN 查询执行器，每个分片一个虚拟线程
+     */
+    private final ExecutorService lookupExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("invalid-asin-lookup-", 0).factory());
+
+    /**
+     * 所有批量判断请求共享的连接配额，避免大批量判断占满连接池
+     */
+    private Semaphore lookupPermits;
+
+    /**
+     * BATCH 执行器不经过 SqlSessionTemplate，异常需要自行转换为 Spring 的 DataAccessException
+     */
+    private MyBatisExceptionTranslator exceptionTranslator;
+
+    @PostConstruct
+    public void initLookupPermits() {
+        int poolSize = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : Integer.MAX_VALUE;
+        lookupPermits = new Semaphore(Math.max(1, Math.min(persistenceProperties.getLookupMaxConnections(),
+                poolSize / 2)));
+    }
+
+    @PostConstruct
+    public void initExceptionTranslator() {
+        exceptionTranslator = new MyBatisExceptionTranslator(dataSource, true);
+    }
+
+    @PreDestroy
+    public void shutdownLookupExecutor() {
+        lookupExecutor.shutdownNow();
+    }
+
     @Override
     public InvalidAsinEntity save(InvalidAsinEntity invalidAsinEntity) {
+        invalidAsinEntity.normalizeKey();
+        invalidAsinEntity.fillTimeColumns();
+        checkNaturalKeysAbsent(List.of(invalidAsinEntity));
         InvalidAsinDO invalidAsinDO = InvalidAsinConvert.INSTANCE.entityToDo(invalidAsinEntity);
         invalidAsinMapper.insert(invalidAsinDO);
-        return InvalidAsinConvert.INSTANCE.doToEntity(invalidAsinDO);
+        InvalidAsinEntity saved = InvalidAsinConvert.INSTANCE.doToEntity(invalidAsinDO);
+        TransactionHooks.runNowAndAfterCompletion(() -> invalidAsinBloomFilterManager.putAll(List.of(saved)));
+        TransactionHooks.runAfterCommit(() -> invalidAsinCountManager.recordInserts(List.of(saved)));
+        TransactionHooks.runAfterCommit(() -> invalidAsinSnapshotManager.recordInserts(List.of(saved)));
+        return saved;
     }
 
     @Override
     public int batchSave(List<InvalidAsinEntity> invalidAsinEntities) {
+        invalidAsinEntities.forEach(entity -> {
+            entity.normalizeKey();
+            entity.fillTimeColumns();
+        });
+        checkNaturalKeysAbsent(invalidAsinEntities);
         List<InvalidAsinDO> poList = InvalidAsinConvert.INSTANCE.entityToDOList(invalidAsinEntities);
-        return invalidAsinMapper.batchInsert(poList);
+        // 使用 BATCH 执行器按固定行数分批 flush，加入当前 Spring 事务，避免拼接超大的单条 INSERT
+        MybatisBatch.Method<InvalidAsinDO> method = new MybatisBatch.Method<>(InvalidAsinMapper.class);
+        int count = 0;
+        for (List<InvalidAsinDO> chunk : ListUtil.partition(poList, persistenceProperties.getJdbcBatchSize())) {
+            List<BatchResult> results = translated(
+                    () -> new MybatisBatch<>(sqlSessionFactory, chunk).execute(method.insert()));
+            count += affectedRows(results);
+        }
+        TransactionHooks.runNowAndAfterCompletion(() -> invalidAsinBloomFilterManager.putAll(invalidAsinEntities));
+        TransactionHooks.runAfterCommit(() -> invalidAsinCountManager.recordInserts(invalidAsinEntities));
+        TransactionHooks.runAfterCommit(() -> invalidAsinSnapshotManager.recordInserts(invalidAsinEntities));
+        return count;
+    }
+
+    @Override
+    public InvalidAsinUpsertResult upsertAll(List<InvalidAsinEntity> invalidAsinEntities) {
+        // 批内去重，同一自然键保留最后一条
+        Map<NaturalKey, InvalidAsinEntity> distinct = new LinkedHashMap<>();
+        for (InvalidAsinEntity entity : invalidAsinEntities) {
+            // 未指定 ds 的重复上报会把记录移到当天分区，保留任务按最后一次上报的日期清理
+            entity.normalizeKey();
+            entity.fillTimeColumns();
+            distinct.put(NaturalKey.of(entity), entity);
+        }
+        int skipped = invalidAsinEntities.size() - distinct.size();
+
+        Map<NaturalKey, InvalidAsinDO> existing = findExistingByNaturalKey(distinct.values());
+        List<InvalidAsinEntity> toInsert = new ArrayList<>();
+        List<InvalidAsinEntity> toUpdate = new ArrayList<>();
+        for (Map.Entry<NaturalKey, InvalidAsinEntity> entry : distinct.entrySet()) {
+            InvalidAsinEntity entity = entry.getValue();
+            InvalidAsinDO current = existing.get(entry.getKey());
+            if (Objects.isNull(current)) {
+                toInsert.add(entity);
+                continue;
+            }
+            entity.setId(current.getId());
+            if (sameMutableFields(current, entity)) {
+                skipped++;
+            } else {
+                toUpdate.add(entity);
+            }
+        }
+
+        executeBatch(toInsert, INSERT_OR_UPDATE_MUTABLE_STATEMENT);
+        executeBatch(toUpdate, UPDATE_MUTABLE_BY_ID_STATEMENT);
+        if (!toInsert.isEmpty()) {
+            TransactionHooks.runNowAndAfterCompletion(() -> invalidAsinBloomFilterManager.putAll(toInsert));
+            TransactionHooks.runAfterCommit(() -> invalidAsinCountManager.recordInserts(toInsert));
+            TransactionHooks.runAfterCommit(() -> invalidAsinSnapshotManager.recordInserts(toInsert));
+        }
+        return InvalidAsinUpsertResult.builder()
+                .inserted(toInsert.size())
+                .updated(toUpdate.size())
+                .skipped(skipped)
+                .build();
     }
 
     @Override
@@ -56,11 +224,14 @@ public class InvalidAsinRepositoryImpl implements InvalidAsinRepository {
                .eq(StringUtils.isNotBlank(query.getProfileId()), InvalidAsinDO::getProfileId, query.getProfileId())
                .eq(StringUtils.isNotBlank(query.getMarketplaceId()), InvalidAsinDO::getMarketplaceId, query.getMarketplaceId())
                .eq(StringUtils.isNotBlank(query.getSellerAsin()), InvalidAsinDO::getSellerAsin, query.getSellerAsin())
-               .orderByDesc(InvalidAsinDO::getCreateTime);
+               .ge(StringUtils.isNotBlank(query.getDsFrom()), InvalidAsinDO::getDs, query.getDsFrom())
+               .le(StringUtils.isNotBlank(query.getDsTo()), InvalidAsinDO::getDs, query.getDsTo())
+               .orderByDesc(InvalidAsinDO::getCreateTime)
+               .orderByDesc(InvalidAsinDO::getId);
 
-        // 如果需要分页
+        // 如果需要分页，列表接口不返回总数，跳过 COUNT 查询
         if (query.needPaging()) {
-            Page<InvalidAsinDO> page = new Page<>(query.getPageNum(), query.getPageSize());
+            Page<InvalidAsinDO> page = new Page<>(query.getPageNum(), query.getPageSize(), false);
             Page<InvalidAsinDO> result = invalidAsinMapper.selectPage(page, wrapper);
             return InvalidAsinConvert.INSTANCE.doToEntityList(result.getRecords());
         } else {
@@ -69,6 +240,40 @@ public class InvalidAsinRepositoryImpl implements InvalidAsinRepository {
         }
     }
 
+    @Override
+    public List<InvalidAsinView> findViewsByCondition(InvalidAsinQuery query) {
+        // 列表接口不返回总数，跳过 COUNT 查询
+        Page<InvalidAsinView> page = query.needPaging()
+                ? new Page<>(query.getPageNum(), query.getPageSize(), false) : null;
+        return invalidAsinMapper.selectViewsByCondition(page, query);
+    }
+
+    @Override
+    public InvalidAsinCursorPage findByCursor(InvalidAsinQuery query) {
+        int pageSize = Objects.nonNull(query.getPageSize()) && query.getPageSize() > 0
+                ? query.getPageSize() : DEFAULT_CURSOR_PAGE_SIZE;
+        // 多取一行用于判断是否还有下一页
+        List<InvalidAsinView> records = invalidAsinMapper.selectByCursor(query, pageSize + 1);
+        boolean hasMore = records.size() > pageSize;
+        if (hasMore) {
+            records = records.subList(0, pageSize);
+        }
+        return InvalidAsinCursorPage.builder()
+                .records(records)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Override
+    public long streamByCondition(InvalidAsinQuery query, Consumer<InvalidAsinView> consumer) {
+        AtomicLong rows = new AtomicLong();
+        invalidAsinMapper.streamByCondition(query, context -> {
+            consumer.accept(context.getResultObject());
+            rows.incrementAndGet();
+        });
+        return rows.get();
+    }
+
     @Override
     public List<InvalidAsinEntity> findByTenantIdAndSellerAsin(String tenantId, String sellerAsin) {
         List<InvalidAsinDO> poList = invalidAsinMapper.selectByTenantIdAndSellerAsin(tenantId, sellerAsin);
@@ -76,20 +281,194 @@ public class InvalidAsinRepositoryImpl implements InvalidAsinRepository {
     }
 
     @Override
-    public InvalidAsinEntity updateById(InvalidAsinEntity invalidAsinEntity) {
+    public boolean existsInvalid(String tenantId, String marketplaceId, String sellerAsin) {
+        Membership membership = invalidAsinBloomFilterManager.mightContain(tenantId, marketplaceId, sellerAsin);
+        if (membership == Membership.ABSENT) {
+            return false;
+        }
+        boolean exists = Objects.nonNull(
+                invalidAsinMapper.existsByTenantIdAndSellerAsin(tenantId, marketplaceId, sellerAsin));
+        if (membership == Membership.MAYBE) {
+            invalidAsinBloomFilterManager.recordVerification(tenantId, 1, exists ? 1 : 0);
+        }
+        return exists;
+    }
+
+    @Override
+    public Set<String> filterInvalid(String tenantId, String marketplaceId, Collection<String> sellerAsins) {
+        Set<String> distinct = new LinkedHashSet<>(sellerAsins);
+        if (distinct.isEmpty()) {
+            return new HashSet<>();
+        }
+        Set<String> resident = invalidAsinSnapshotManager.filter(tenantId, marketplaceId, distinct);
+        if (Objects.nonNull(resident)) {
+            return resident;
+        }
+        List<String> candidates = invalidAsinBloomFilterManager.mightContainAll(tenantId, marketplaceId, distinct);
+        Collection<String> toVerify = Objects.isNull(candidates) ? distinct : candidates;
+        if (toVerify.isEmpty()) {
+            return new HashSet<>();
+        }
+        Set<String> existing = selectExistingSellerAsins(tenantId, marketplaceId, toVerify);
+        if (Objects.nonNull(candidates)) {
+            invalidAsinBloomFilterManager.recordVerification(tenantId, candidates.size(), existing.size());
+        }
+        return existing;
+    }
+
+    @Override
+    public Optional<InvalidAsinEntity> updateById(InvalidAsinEntity invalidAsinEntity) {
+        // 锁定读出更新前的整行：变更计入确定的格子，更新后的记录由它和本次更新的字段合并得到，不再回查
+        InvalidAsinDO before = invalidAsinMapper.selectByIdForUpdate(invalidAsinEntity.getId());
+        if (Objects.isNull(before)
+                || (Objects.nonNull(invalidAsinEntity.getTenantId())
+                    && !invalidAsinEntity.getTenantId().equals(before.getTenantId()))
+                || (Objects.nonNull(invalidAsinEntity.getVersion())
+                    && !invalidAsinEntity.getVersion().equals(before.getVersion()))) {
+            return Optional.empty();
+        }
         InvalidAsinDO po = InvalidAsinConvert.INSTANCE.entityToDo(invalidAsinEntity);
-        invalidAsinMapper.updateById(po);
-        return InvalidAsinConvert.INSTANCE.doToEntity(po);
+        if (invalidAsinMapper.updateByIdConditional(po) == 0) {
+            return Optional.empty();
+        }
+        InvalidAsinDO after = merge(before, po);
+        recordKeyChange(before, after);
+        return Optional.of(InvalidAsinConvert.INSTANCE.doToEntity(after));
     }
 
     @Override
     public boolean deleteById(Long id) {
-        return invalidAsinMapper.deleteById(id) > 0;
+        InvalidAsinDO before = invalidAsinMapper.selectByIdForUpdate(id);
+        if (Objects.isNull(before)) {
+            return false;
+        }
+        boolean deleted = invalidAsinMapper.deleteById(id) > 0;
+        if (deleted) {
+            String tenantId = before.getTenantId();
+            TransactionHooks.runAfterCommit(() -> invalidAsinBloomFilterManager.recordDeletions(tenantId, 1));
+            TransactionHooks.runAfterCommit(() -> invalidAsinCountManager.recordDeletions(
+                    tenantId, before.getProfileId(), before.getMarketplaceId(), 1));
+            TransactionHooks.runAfterCommit(() -> invalidAsinSnapshotManager.invalidate(tenantId));
+        }
+        return deleted;
+    }
+
+    /**
+     * 更新后的整行：与 updateByIdConditional 一致，本次传入的非空字段覆盖原值，版本号加1
+     */
+    private static InvalidAsinDO merge(InvalidAsinDO before, InvalidAsinDO update) {
+        InvalidAsinDO after = new InvalidAsinDO();
+        after.setId(before.getId());
+        after.setTenantId(before.getTenantId());
+        after.setApplyInstanceId(ObjectUtil.defaultIfNull(update.getApplyInstanceId(), before.getApplyInstanceId()));
+        after.setTemplateId(ObjectUtil.defaultIfNull(update.getTemplateId(), before.getTemplateId()));
+        after.setProfileId(ObjectUtil.defaultIfNull(update.getProfileId(), before.getProfileId()));
+        after.setMarketplaceId(ObjectUtil.defaultIfNull(update.getMarketplaceId(), before.getMarketplaceId()));
+        after.setSellerId(ObjectUtil.defaultIfNull(update.getSellerId(), before.getSellerId()));
+        after.setSellerAsin(ObjectUtil.defaultIfNull(update.getSellerAsin(), before.getSellerAsin()));
+        after.setCreateTime(ObjectUtil.defaultIfNull(update.getCreateTime(), before.getCreateTime()));
+        after.setDs(ObjectUtil.defaultIfNull(update.getDs(), before.getDs()));
+        after.setVersion(Objects.requireNonNullElse(before.getVersion(), 0) + 1);
+        return after;
+    }
+
+    /**
+     * 单条更新后按更新前后的自然键维护派生状态；自然键未变时无需处理
+     */
+    private void recordKeyChange(InvalidAsinDO before, InvalidAsinDO updated) {
+        InvalidAsinEntity after = InvalidAsinConvert.INSTANCE.doToEntity(updated);
+        boolean asinChanged = !Objects.equals(before.getMarketplaceId(), after.getMarketplaceId())
+                || !Objects.equals(before.getSellerAsin(), after.getSellerAsin());
+        boolean cellChanged = !Objects.equals(before.getProfileId(), after.getProfileId())
+                || !Objects.equals(before.getMarketplaceId(), after.getMarketplaceId());
+        if (asinChanged) {
+            // 旧的(站点, ASIN)无法从过滤器中移除，按一次删除计入
+            TransactionHooks.runNowAndAfterCompletion(() -> invalidAsinBloomFilterManager.putAll(List.of(after)));
+            TransactionHooks.runAfterCommit(
+                    () -> invalidAsinBloomFilterManager.recordDeletions(after.getTenantId(), 1));
+            // 只有该租户的快照包含旧键，其他租户不受影响
+            TransactionHooks.runAfterCommit(() -> invalidAsinSnapshotManager.invalidate(after.getTenantId()));
+        }
+        if (cellChanged) {
+            TransactionHooks.runAfterCommit(() -> {
+                invalidAsinCountManager.recordDeletions(
+                        before.getTenantId(), before.getProfileId(), before.getMarketplaceId(), 1);
+                invalidAsinCountManager.recordInserts(List.of(after));
+            });
+        }
+    }
+
+    @Override
+    public int updateByIds(String tenantId, Collection<Long> ids, InvalidAsinEntity patch) {
+        if (StringUtils.isBlank(tenantId) || Objects.isNull(ids) || ids.isEmpty()) {
+            return 0;
+        }
+        InvalidAsinDO po = InvalidAsinConvert.INSTANCE.entityToDo(patch);
+        int count = 0;
+        for (List<Long> chunk : ListUtil.partition(new ArrayList<>(new LinkedHashSet<>(ids)),
+                persistenceProperties.getJdbcBatchSize())) {
+            count += invalidAsinMapper.updateMutableByIds(tenantId, chunk, po);
+        }
+        return count;
+    }
+
+    @Override
+    public int deleteByIds(String tenantId, Collection<Long> ids) {
+        if (StringUtils.isBlank(tenantId) || Objects.isNull(ids) || ids.isEmpty()) {
+            return 0;
+        }
+        int count = 0;
+        for (List<Long> chunk : ListUtil.partition(new ArrayList<>(new LinkedHashSet<>(ids)),
+                persistenceProperties.getJdbcBatchSize())) {
+            count += invalidAsinMapper.deleteByTenantIdAndIds(tenantId, chunk);
+        }
+        int deleted = count;
+        TransactionHooks.runAfterCommit(() -> invalidAsinBloomFilterManager.recordDeletions(tenantId, deleted));
+        TransactionHooks.runAfterCommit(() -> invalidAsinCountManager.recordDeletions(tenantId, null, null, deleted));
+        if (count > 0) {
+            TransactionHooks.runAfterCommit(() -> invalidAsinSnapshotManager.invalidate(tenantId));
+        }
+        return count;
     }
 
     @Override
     public int deleteByCondition(String tenantId, String profileId, String marketplaceId) {
-        return invalidAsinMapper.deleteByCondition(tenantId, profileId, marketplaceId);
+        int count = invalidAsinMapper.deleteByCondition(tenantId, profileId, marketplaceId);
+        TransactionHooks.runAfterCommit(() -> invalidAsinBloomFilterManager.recordDeletions(tenantId, count));
+        TransactionHooks.runAfterCommit(
+                () -> invalidAsinCountManager.recordConditionDeleted(tenantId, profileId, marketplaceId, count));
+        if (count > 0) {
+            TransactionHooks.runAfterCommit(() -> invalidAsinSnapshotManager.invalidate(tenantId));
+        }
+        return count;
+    }
+
+    @Override
+    public List<InvalidAsinEntity> findKeysByCondition(String tenantId, String profileId, String marketplaceId,
+                                                       LocalDateTime afterCreateTime, Long afterId, int limit) {
+        if (StringUtils.isBlank(tenantId)) {
+            return List.of();
+        }
+        return InvalidAsinConvert.INSTANCE.doToEntityList(invalidAsinMapper.selectKeysByCondition(tenantId, profileId,
+                marketplaceId, afterCreateTime, afterId, limit));
+    }
+
+    @Override
+    public int deleteByConditionAndIds(String tenantId, String profileId, String marketplaceId,
+                                       Collection<Long> ids) {
+        if (StringUtils.isBlank(tenantId) || Objects.isNull(ids) || ids.isEmpty()) {
+            return 0;
+        }
+        int count = invalidAsinMapper.deleteByConditionAndIds(tenantId, profileId, marketplaceId, ids);
+        TransactionHooks.runAfterCommit(() -> invalidAsinBloomFilterManager.recordDeletions(tenantId, count));
+        // 条件中的空串表示不限制，删除的行落在哪个格子未知
+        TransactionHooks.runAfterCommit(() -> invalidAsinCountManager.recordDeletions(tenantId,
+                StringUtils.isBlank(profileId) ? null : profileId,
+                StringUtils.isBlank(marketplaceId) ? null : marketplaceId, count));
+        if (count > 0) {
+            TransactionHooks.runAfterCommit(() -> invalidAsinSnapshotManager.invalidate(tenantId));
+        }
+        return count;
     }
 
     @Override
@@ -98,8 +477,171 @@ public class InvalidAsinRepositoryImpl implements InvalidAsinRepository {
         wrapper.eq(StringUtils.isNotBlank(query.getTenantId()), InvalidAsinDO::getTenantId, query.getTenantId())
                .eq(StringUtils.isNotBlank(query.getProfileId()), InvalidAsinDO::getProfileId, query.getProfileId())
                .eq(StringUtils.isNotBlank(query.getMarketplaceId()), InvalidAsinDO::getMarketplaceId, query.getMarketplaceId())
-               .eq(StringUtils.isNotBlank(query.getSellerAsin()), InvalidAsinDO::getSellerAsin, query.getSellerAsin());
+               .eq(StringUtils.isNotBlank(query.getSellerAsin()), InvalidAsinDO::getSellerAsin, query.getSellerAsin())
+               .ge(StringUtils.isNotBlank(query.getDsFrom()), InvalidAsinDO::getDs, query.getDsFrom())
+               .le(StringUtils.isNotBlank(query.getDsTo()), InvalidAsinDO::getDs, query.getDsTo());
 
         return invalidAsinMapper.selectCount(wrapper);
     }
+
+    /**
+     * 新增前按自然键查重。唯一索引含 ds，只能拦住同一天内的重复，不同日期的同一自然键由这里拦截；
+     * 批内重复同样拒绝。与唯一索引冲突一样抛出 DuplicateKeyException
+     *
+     * @param entities 已补齐 ds 的实体
+     */
+    private void checkNaturalKeysAbsent(List<InvalidAsinEntity> entities) {
+        Set<NaturalKey> keys = new HashSet<>();
+        for (InvalidAsinEntity entity : entities) {
+            if (!keys.add(NaturalKey.of(entity))) {
+                throw new DuplicateKeyException("同一批次中自然键重复: " + NaturalKey.of(entity));
+            }
+        }
+        // 按 (租户, ASIN) 查出的记录可能属于其他 profile 或站点，只看请求中的自然键
+        Map<NaturalKey, InvalidAsinDO> existing = findExistingByNaturalKey(entities);
+        for (NaturalKey key : keys) {
+            InvalidAsinDO current = existing.get(key);
+            if (Objects.nonNull(current)) {
+                throw new DuplicateKeyException(
+                        "自然键已存在: " + key + ", id=" + current.getId() + ", ds=" + current.getDs());
+            }
+        }
+    }
+
+    /**
+     * 按租户分组、按 IN 列表大小分片查询已存在的记录，同一自然键有多条历史重复时取主键最小的一条
+     *
+     * @param entities 已去重的实体
+     * @return 自然键 -> 已存在的记录
+     */
+    private Map<NaturalKey, InvalidAsinDO> findExistingByNaturalKey(Collection<InvalidAsinEntity> entities) {
+        Map<String, Set<String>> asinsByTenant = new LinkedHashMap<>();
+        for (InvalidAsinEntity entity : entities) {
+            asinsByTenant.computeIfAbsent(entity.getTenantId(), key -> new LinkedHashSet<>())
+                    .add(entity.getSellerAsin());
+        }
+        Map<NaturalKey, InvalidAsinDO> existing = new HashMap<>();
+        asinsByTenant.forEach((tenantId, sellerAsins) -> {
+            for (List<String> chunk : ListUtil.partition(new ArrayList<>(sellerAsins),
+                    persistenceProperties.getJdbcBatchSize())) {
+                for (InvalidAsinDO po : invalidAsinMapper.selectByTenantIdAndSellerAsins(tenantId, chunk)) {
+                    existing.putIfAbsent(NaturalKey.of(po), po);
+                }
+            }
+        });
+        return existing;
+    }
+
+    /**
+     * 按 lookupChunkSize 分片执行 IN 查询，多个分片在虚拟线程上并行，同时占用的连接数受 lookupPermits 限制
+     *
+     * @param tenantId 租户ID
+     * @param marketplaceId 站点ID，可为空
+     * @param sellerAsins 已去重的ASIN
+     * @return 存在的ASIN
+     */
+    private Set<String> selectExistingSellerAsins(String tenantId, String marketplaceId,
+                                                  Collection<String> sellerAsins) {
+        List<List<String>> chunks = ListUtil.partition(new ArrayList<>(sellerAsins),
+                persistenceProperties.getLookupChunkSize());
+        Set<String> existing = new HashSet<>();
+        // 事务内必须在当前线程使用事务连接，才能读到本事务尚未提交的写入
+        if (chunks.size() == 1 || TransactionSynchronizationManager.isActualTransactionActive()) {
+            for (List<String> chunk : chunks) {
+                existing.addAll(invalidAsinMapper.selectExistingSellerAsins(tenantId, marketplaceId, chunk));
+            }
+            return existing;
+        }
+        List<Future<List<String>>> futures = new ArrayList<>(chunks.size());
+        try {
+            for (List<String> chunk : chunks) {
+                futures.add(lookupExecutor.submit(() -> {
+                    lookupPermits.acquire();
+                    try {
+                        return invalidAsinMapper.selectExistingSellerAsins(tenantId, marketplaceId, chunk);
+                    } finally {
+                        lookupPermits.release();
+                    }
+                }));
+            }
+            for (Future<List<String>> future : futures) {
+                existing.addAll(future.get());
+            }
+            return existing;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("批量判断无效ASIN被中断", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } finally {
+            // 任一分片失败时不再等待其余分片
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * 使用 BATCH 执行器按固定行数分批执行单行语句
+     *
+     * @param entities 实体列表
+     * @param statement 语句ID
+     */
+    private void executeBatch(List<InvalidAsinEntity> entities, String statement) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        List<InvalidAsinDO> poList = InvalidAsinConvert.INSTANCE.entityToDOList(entities);
+        for (List<InvalidAsinDO> chunk : ListUtil.partition(poList, persistenceProperties.getJdbcBatchSize())) {
+            translated(() -> new MybatisBatch<>(sqlSessionFactory, chunk).execute(statement));
+        }
+    }
+
+    /**
+     * 执行 BATCH 语句并转换异常，唯一键冲突抛出 DuplicateKeyException，与单条写入一致
+     */
+    private <T> T translated(Supplier<T> action) {
+        try {
+            return action.get();
+        } catch (PersistenceException e) {
+            DataAccessException translated = exceptionTranslator.translateExceptionIfPossible(e);
+            throw Objects.nonNull(translated) ? translated : e;
+        }
+    }
+
+    private static boolean sameMutableFields(InvalidAsinDO current, InvalidAsinEntity entity) {
+        return Objects.equals(current.getApplyInstanceId(), entity.getApplyInstanceId())
+                && Objects.equals(current.getTemplateId(), entity.getTemplateId())
+                && Objects.equals(current.getSellerId(), entity.getSellerId())
+                && Objects.equals(current.getDs(), entity.getDs());
+    }
+
+    /**
+     * 汇总 JDBC batch 的影响行数，驱动改写批量语句后可能返回 SUCCESS_NO_INFO，按1行计
+     *
+     * @param results 批量执行结果
+     * @return 影响行数
+     */
+    private int affectedRows(List<BatchResult> results) {
+        int count = 0;
+        for (BatchResult result : results) {
+            for (int updateCount : result.getUpdateCounts()) {
+                count += updateCount == Statement.SUCCESS_NO_INFO ? 1 : updateCount;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 自然键：(租户ID, Profile ID, 站点, ASIN)
+     */
+    private record NaturalKey(String tenantId, String profileId, String marketplaceId, String sellerAsin) {
+
+        static NaturalKey of(InvalidAsinEntity entity) {
+            return new NaturalKey(entity.getTenantId(), entity.getProfileId(), entity.getMarketplaceId(),
+                    entity.getSellerAsin());
+        }
+
+        static NaturalKey of(InvalidAsinDO po) {
+            return new NaturalKey(po.getTenantId(), po.getProfileId(), po.getMarketplaceId(), po.getSellerAsin());
+        }
+    }
 }
\ No newline at end of file
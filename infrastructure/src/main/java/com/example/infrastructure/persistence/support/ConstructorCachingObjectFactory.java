@@ -0,0 +1,80 @@
+package com.example.infrastructure.persistence.support;
+
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.factory.DefaultObjectFactory;
+
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 缓存构造器的 MyBatis 对象工厂
+ * 默认实现每映射一行都要 getDeclaredConstructor 查找一次构造器，反射会复制 Constructor 和参数类型数组；
+ * 对只读视图这类 record 的构造器映射尤其明显。这里按类型缓存最近一次使用的构造器，
+ * 参数类型逐个比对后直接实例化，集合等接口类型和签名不一致的情况交给默认实现处理
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+public class ConstructorCachingObjectFactory extends DefaultObjectFactory {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ConcurrentHashMap<Class<?>, CachedConstructor> constructors = new ConcurrentHashMap<>();
+
+    @Override
+    public <T> T create(Class<T> type, List<Class<?>> constructorArgTypes, List<Object> constructorArgs) {
+        if (type.isInterface()) {
+            return super.create(type, constructorArgTypes, constructorArgs);
+        }
+        CachedConstructor cached = constructors.get(type);
+        if (Objects.isNull(cached) || !cached.matches(constructorArgTypes)) {
+            cached = resolve(type, constructorArgTypes);
+            if (Objects.isNull(cached)) {
+                return super.create(type, constructorArgTypes, constructorArgs);
+            }
+            constructors.put(type, cached);
+        }
+        try {
+            Object[] args = Objects.isNull(constructorArgs) ? new Object[0] : constructorArgs.toArray();
+            return type.cast(cached.constructor.newInstance(args));
+        } catch (Exception e) {
+            throw new ReflectionException("Error instantiating " + type + " with cached constructor. Cause: " + e, e);
+        }
+    }
+
+    private static CachedConstructor resolve(Class<?> type, List<Class<?>> constructorArgTypes) {
+        Class<?>[] parameterTypes = Objects.isNull(constructorArgTypes)
+                ? new Class<?>[0] : constructorArgTypes.toArray(new Class<?>[0]);
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor(parameterTypes);
+            if (!constructor.canAccess(null)) {
+                constructor.setAccessible(true);
+            }
+            return new CachedConstructor(constructor, parameterTypes);
+        } catch (NoSuchMethodException | RuntimeException e) {
+            // 交给默认实现抛出带完整参数信息的异常
+            return null;
+        }
+    }
+
+    /**
+     * 构造器及其参数类型，参数类型单独保存，比对时不必再调用会复制数组的 getParameterTypes
+     */
+    private record CachedConstructor(Constructor<?> constructor, Class<?>[] parameterTypes) {
+
+        boolean matches(List<Class<?>> argTypes) {
+            int size = Objects.isNull(argTypes) ? 0 : argTypes.size();
+            if (size != parameterTypes.length) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (argTypes.get(i) != parameterTypes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
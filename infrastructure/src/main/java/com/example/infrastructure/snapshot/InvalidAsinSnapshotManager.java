@@ -0,0 +1,459 @@
+package com.example.infrastructure.snapshot;
+
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.example.domain.model.InvalidAsinEntity;
+import com.example.domain.model.InvalidAsinSnapshotStats;
+import com.example.domain.repository.InvalidAsinSnapshotRegistry;
+import com.example.infrastructure.config.InvalidAsinSnapshotProperties;
+import com.example.infrastructure.persistence.DO.InvalidAsinDO;
+import com.example.infrastructure.persistence.mapper.InvalidAsinMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 热点租户的无效ASIN内存快照
+ * 配置的租户按站点各保存一个 {@link PackedAsinSet}，判断ASIN时不访问数据库，也不分配对象。
+ * 启动后异步按 (create_time, id) 正序分页全量加载，之后定时从水位往前回看 watermarkOverlap 增量同步新增，
+ * 回看窗口覆盖 create_time 早于水位但提交较晚的事务，重复读到的行在合并时去重。
+ * 水位无法感知删除和修改：仓储在删除、可能修改 (租户, 站点, ASIN) 的更新、或 create_time 已落在回看窗口之外的新增
+ * 提交后把快照标记为待重载，期间查询回退到数据库，直到下次同步全量重载完成。
+ * 快照未加载或待重载时返回 null，由调用方回退到布隆过滤器和数据库查询。
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class InvalidAsinSnapshotManager implements InvalidAsinSnapshotRegistry {
+
+    private final InvalidAsinMapper invalidAsinMapper;
+
+    private final InvalidAsinSnapshotProperties properties;
+
+    /**
+     * 配置为驻留内存的租户，启动后不再变化
+     */
+    private final Map<String, TenantState> states;
+
+    private final ScheduledExecutorService refreshScheduler;
+
+    private final long startedAtMillis = System.currentTimeMillis();
+
+    private final Counter presentCounter;
+    private final Counter absentCounter;
+    private final Counter unavailableCounter;
+    private final Timer fullRefreshLatency;
+    private final Timer incrementalRefreshLatency;
+
+    public InvalidAsinSnapshotManager(InvalidAsinMapper invalidAsinMapper,
+                                      InvalidAsinSnapshotProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.invalidAsinMapper = invalidAsinMapper;
+        this.properties = properties;
+        Map<String, TenantState> configured = new LinkedHashMap<>();
+        if (properties.isEnabled()) {
+            for (String tenantId : properties.getTenants()) {
+                if (StringUtils.isNotBlank(tenantId)) {
+                    configured.putIfAbsent(tenantId, new TenantState(tenantId));
+                }
+            }
+        }
+        this.states = Collections.unmodifiableMap(configured);
+        this.presentCounter = lookupCounter(meterRegistry, "present");
+        this.absentCounter = lookupCounter(meterRegistry, "absent");
+        this.unavailableCounter = lookupCounter(meterRegistry, "unavailable");
+        this.fullRefreshLatency = refreshTimer(meterRegistry, "full");
+        this.incrementalRefreshLatency = refreshTimer(meterRegistry, "incremental");
+        for (TenantState state : states.values()) {
+            Gauge.builder("invalid.asin.snapshot.memory", state, s -> s.snapshot == null ? 0 : s.snapshot.memoryBytes())
+                    .description("租户内存快照估算占用")
+                    .tag("tenant", state.tenantId)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            Gauge.builder("invalid.asin.snapshot.entries", state, s -> s.snapshot == null ? 0 : s.snapshot.entries())
+                    .description("租户内存快照中的 (站点, ASIN) 个数")
+                    .tag("tenant", state.tenantId)
+                    .register(meterRegistry);
+            Gauge.builder("invalid.asin.snapshot.lag", state, s -> lagMillis(s) / 1000.0)
+                    .description("租户内存快照距最近一次成功同步开始的时间")
+                    .tag("tenant", state.tenantId)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+
+        if (!states.isEmpty()) {
+            long refreshMillis = properties.getRefreshInterval().toMillis();
+            this.refreshScheduler = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("invalid-asin-snapshot-refresh").daemon().factory());
+            refreshScheduler.scheduleWithFixedDelay(this::refreshAll, 0, refreshMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.refreshScheduler = null;
+        }
+    }
+
+    @Override
+    public Boolean contains(String tenantId, String marketplaceId, String sellerAsin) {
+        TenantState state = state(tenantId);
+        if (Objects.isNull(state)) {
+            return null;
+        }
+        TenantSnapshot snapshot = state.usable();
+        if (Objects.isNull(snapshot)) {
+            unavailableCounter.increment();
+            return null;
+        }
+        if (snapshot.contains(marketplaceId, sellerAsin)) {
+            presentCounter.increment();
+            return Boolean.TRUE;
+        }
+        absentCounter.increment();
+        return Boolean.FALSE;
+    }
+
+    /**
+     * 批量判断，返回其中的无效ASIN
+     *
+     * @param tenantId 租户ID
+     * @param marketplaceId 站点ID，为空时不限站点
+     * @param sellerAsins 已去重的卖家ASIN
+     * @return 无效ASIN；快照不可用时返回 null，调用方需要查库
+     */
+    public Set<String> filter(String tenantId, String marketplaceId, Collection<String> sellerAsins) {
+        TenantState state = state(tenantId);
+        if (Objects.isNull(state)) {
+            return null;
+        }
+        TenantSnapshot snapshot = state.usable();
+        if (Objects.isNull(snapshot)) {
+            unavailableCounter.increment(sellerAsins.size());
+            return null;
+        }
+        Set<String> present = new HashSet<>();
+        for (String sellerAsin : sellerAsins) {
+            if (snapshot.contains(marketplaceId, sellerAsin)) {
+                present.add(sellerAsin);
+            }
+        }
+        presentCounter.increment(present.size());
+        absentCounter.increment(sellerAsins.size() - present.size());
+        return present;
+    }
+
+    /**
+     * 记录已提交的新增。create_time 早于回看窗口的记录不会被增量同步读到，标记对应租户待重载
+     *
+     * @param entities 新增的记录
+     */
+    public void recordInserts(Collection<InvalidAsinEntity> entities) {
+        if (states.isEmpty()) {
+            return;
+        }
+        LocalDateTime visibleFrom = LocalDateTime.now().minus(properties.getWatermarkOverlap());
+        for (InvalidAsinEntity entity : entities) {
+            TenantState state = state(entity.getTenantId());
+            if (Objects.nonNull(state) && Objects.nonNull(entity.getCreateTime())
+                    && entity.getCreateTime().isBefore(visibleFrom)) {
+                state.invalidate();
+            }
+        }
+    }
+
+    /**
+     * 记录已提交的删除或修改，标记对应租户待重载
+     *
+     * @param tenantId 租户ID，为空表示不知道租户，此时标记所有租户
+     */
+    public void invalidate(String tenantId) {
+        if (StringUtils.isBlank(tenantId)) {
+            states.values().forEach(TenantState::invalidate);
+            return;
+        }
+        TenantState state = states.get(tenantId);
+        if (Objects.nonNull(state)) {
+            state.invalidate();
+        }
+    }
+
+    @Override
+    public List<InvalidAsinSnapshotStats> getStats() {
+        return states.values().stream().map(this::stats).toList();
+    }
+
+    @Override
+    public InvalidAsinSnapshotStats reload(String tenantId) {
+        TenantState state = state(tenantId);
+        if (Objects.isNull(state)) {
+            throw new IllegalArgumentException("租户未配置内存快照: " + tenantId);
+        }
+        synchronized (state) {
+            load(state);
+        }
+        return stats(state);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (Objects.nonNull(refreshScheduler)) {
+            refreshScheduler.shutdownNow();
+        }
+    }
+
+    private TenantState state(String tenantId) {
+        return Objects.isNull(tenantId) ? null : states.get(tenantId);
+    }
+
+    private void refreshAll() {
+        for (TenantState state : states.values()) {
+            try {
+                synchronized (state) {
+                    if (Objects.isNull(state.snapshot) || state.stale) {
+                        load(state);
+                    } else {
+                        refresh(state);
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("同步无效ASIN内存快照失败: tenantId={}", state.tenantId, e);
+            }
+        }
+    }
+
+    /**
+     * 全量加载。加载期间又有删除或修改提交时保持待重载，下个同步周期再加载一次
+     */
+    private void load(TenantState state) {
+        long generation = state.invalidations.get();
+        long startedAt = System.currentTimeMillis();
+        long start = System.nanoTime();
+        Map<String, List<String>> additions = new HashMap<>();
+        InvalidAsinDO last = scan(state.tenantId, null, null, additions);
+        long rows = additions.values().stream().mapToLong(List::size).sum();
+        state.snapshot = TenantSnapshot.EMPTY.merge(additions, last);
+        if (state.invalidations.get() == generation) {
+            state.stale = false;
+        }
+        long elapsed = System.nanoTime() - start;
+        fullRefreshLatency.record(elapsed, TimeUnit.NANOSECONDS);
+        state.loadedAtMillis = startedAt;
+        state.refreshed(startedAt, TimeUnit.NANOSECONDS.toMillis(elapsed), rows);
+        log.info("加载无效ASIN内存快照: tenantId={}, entries={}, memoryBytes={}, elapsedMillis={}",
+                state.tenantId, state.snapshot.entries(), state.snapshot.memoryBytes(), state.lastRefreshMillis);
+    }
+
+    /**
+     * 从水位往前回看 watermarkOverlap 增量同步新增
+     */
+    private void refresh(TenantState state) {
+        TenantSnapshot current = state.snapshot;
+        long startedAt = System.currentTimeMillis();
+        long start = System.nanoTime();
+        Map<String, List<String>> additions = new HashMap<>();
+        InvalidAsinDO last;
+        if (Objects.isNull(current.watermarkCreateTime())) {
+            last = scan(state.tenantId, null, null, additions);
+        } else {
+            last = scan(state.tenantId, current.watermarkCreateTime().minus(properties.getWatermarkOverlap()), 0L,
+                    additions);
+        }
+        long rows = additions.values().stream().mapToLong(List::size).sum();
+        state.snapshot = current.merge(additions, last);
+        long elapsed = System.nanoTime() - start;
+        incrementalRefreshLatency.record(elapsed, TimeUnit.NANOSECONDS);
+        state.refreshed(startedAt, TimeUnit.NANOSECONDS.toMillis(elapsed), rows);
+    }
+
+    /**
+     * 从 (afterCreateTime, afterId) 之后按 (create_time, id) 正序分页扫描到末尾
+     *
+     * @return 扫描到的最后一行，没有行时返回 null
+     */
+    private InvalidAsinDO scan(String tenantId, LocalDateTime afterCreateTime, Long afterId,
+                               Map<String, List<String>> additions) {
+        int batchSize = properties.getScanBatchSize();
+        InvalidAsinDO last = null;
+        LocalDateTime cursorCreateTime = afterCreateTime;
+        Long cursorId = afterId;
+        while (true) {
+            List<InvalidAsinDO> page = invalidAsinMapper.selectSnapshotPage(tenantId, cursorCreateTime, cursorId,
+                    batchSize);
+            for (InvalidAsinDO row : page) {
+                additions.computeIfAbsent(row.getMarketplaceId(), k -> new ArrayList<>()).add(row.getSellerAsin());
+            }
+            if (page.isEmpty()) {
+                return last;
+            }
+            last = page.getLast();
+            cursorCreateTime = last.getCreateTime();
+            cursorId = last.getId();
+            if (page.size() < batchSize) {
+                return last;
+            }
+        }
+    }
+
+    private InvalidAsinSnapshotStats stats(TenantState state) {
+        TenantSnapshot snapshot = state.snapshot;
+        boolean loaded = Objects.nonNull(snapshot);
+        return InvalidAsinSnapshotStats.builder()
+                .tenantId(state.tenantId)
+                .ready(loaded && !state.stale)
+                .stale(state.stale)
+                .marketplaceCount(loaded ? snapshot.marketplaces().length : 0)
+                .entries(loaded ? snapshot.entries() : 0)
+                .memoryBytes(loaded ? snapshot.memoryBytes() : 0)
+                .watermarkCreateTime(loaded ? snapshot.watermarkCreateTime() : null)
+                .watermarkId(loaded ? snapshot.watermarkId() : null)
+                .loadedAt(toDateTime(state.loadedAtMillis))
+                .refreshedAt(toDateTime(state.refreshedAtMillis))
+                .lagMillis(lagMillis(state))
+                .lastRefreshMillis(state.lastRefreshMillis)
+                .lastRefreshRows(state.lastRefreshRows)
+                .build();
+    }
+
+    private long lagMillis(TenantState state) {
+        long refreshedAt = state.refreshedAtMillis > 0 ? state.refreshedAtMillis : startedAtMillis;
+        return System.currentTimeMillis() - refreshedAt;
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return epochMillis > 0 ? LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault()) : null;
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("invalid.asin.snapshot.lookups")
+                .description("内存快照判断的ASIN个数")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Timer refreshTimer(MeterRegistry meterRegistry, String type) {
+        return Timer.builder("invalid.asin.snapshot.refresh.latency")
+                .description("内存快照同步耗时")
+                .tag("type", type)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 单个租户的快照状态，加载和同步在 synchronized(state) 内串行执行，查询只读 volatile 字段
+     */
+    private static final class TenantState {
+
+        private final String tenantId;
+
+        private volatile TenantSnapshot snapshot;
+
+        private volatile boolean stale;
+
+        /**
+         * 删除或修改的提交次数，加载前后不一致说明加载期间有变更
+         */
+        private final AtomicLong invalidations = new AtomicLong();
+
+        private volatile long loadedAtMillis;
+        private volatile long refreshedAtMillis;
+        private volatile long lastRefreshMillis;
+        private volatile long lastRefreshRows;
+
+        private TenantState(String tenantId) {
+            this.tenantId = tenantId;
+        }
+
+        private TenantSnapshot usable() {
+            return stale ? null : snapshot;
+        }
+
+        private void invalidate() {
+            invalidations.incrementAndGet();
+            stale = true;
+        }
+
+        private void refreshed(long startedAt, long elapsedMillis, long rows) {
+            this.refreshedAtMillis = startedAt;
+            this.lastRefreshMillis = elapsedMillis;
+            this.lastRefreshRows = rows;
+        }
+    }
+
+    /**
+     * 不可变的租户快照，站点为空的记录放在 null 键下，只参与不限站点的判断
+     *
+     * @param byMarketplace 站点 -> ASIN 集合
+     * @param marketplaces 全部站点的 ASIN 集合，用于不限站点的判断时按下标遍历
+     * @param watermarkCreateTime 已同步到的最大 create_time
+     * @param watermarkId 已同步到的最大 create_time 下的最大主键ID
+     * @param entries (站点, ASIN) 个数
+     * @param memoryBytes 估算的内存占用
+     */
+    private record TenantSnapshot(Map<String, PackedAsinSet> byMarketplace, PackedAsinSet[] marketplaces,
+                                  LocalDateTime watermarkCreateTime, Long watermarkId,
+                                  long entries, long memoryBytes) {
+
+        private static final TenantSnapshot EMPTY = new TenantSnapshot(Map.of(), new PackedAsinSet[0], null, null, 0, 0);
+
+        private boolean contains(String marketplaceId, String sellerAsin) {
+            if (StringUtils.isBlank(marketplaceId)) {
+                for (PackedAsinSet set : marketplaces) {
+                    if (set.contains(sellerAsin)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            PackedAsinSet set = byMarketplace.get(marketplaceId);
+            return Objects.nonNull(set) && set.contains(sellerAsin);
+        }
+
+        /**
+         * 合并新增并推进水位，水位只前进不后退
+         *
+         * @param additions 站点 -> 新增ASIN
+         * @param last 本次扫描的最后一行，为空时保持原水位
+         * @return 新快照
+         */
+        private TenantSnapshot merge(Map<String, List<String>> additions, InvalidAsinDO last) {
+            Map<String, PackedAsinSet> merged = new HashMap<>(byMarketplace);
+            additions.forEach((marketplaceId, sellerAsins) -> merged.put(marketplaceId,
+                    merged.getOrDefault(marketplaceId, PackedAsinSet.EMPTY).merge(sellerAsins)));
+            LocalDateTime createTime = watermarkCreateTime;
+            Long id = watermarkId;
+            if (Objects.nonNull(last) && (Objects.isNull(createTime) || last.getCreateTime().isAfter(createTime)
+                    || (last.getCreateTime().isEqual(createTime) && last.getId() > id))) {
+                createTime = last.getCreateTime();
+                id = last.getId();
+            }
+            long entries = 0;
+            long memoryBytes = 0;
+            for (PackedAsinSet set : merged.values()) {
+                entries += set.size();
+                memoryBytes += set.memoryBytes();
+            }
+            return new TenantSnapshot(merged, merged.values().toArray(new PackedAsinSet[0]), createTime, id,
+                    entries, memoryBytes);
+        }
+    }
+}
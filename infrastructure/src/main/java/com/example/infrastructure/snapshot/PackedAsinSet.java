@@ -0,0 +1,200 @@
+package com.example.infrastructure.snapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 不可变的紧凑ASIN集合
+ * ASIN 按字典序排序后首尾相接存放在一个 byte 数组中，另用 int 数组记录每个元素的起始偏移，
+ * 每个10位ASIN约占14字节，远小于 String 加哈希节点的开销。
+ * 查询对二分查找到的字节逐个与 String 的字符比较，不产生任何对象；
+ * 含非 ASCII 字符的值无法按单字节存放，单独放在一个 HashSet 中
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+public final class PackedAsinSet {
+
+    public static final PackedAsinSet EMPTY = new PackedAsinSet(new byte[0], new int[]{0}, Set.of());
+
+    /**
+     * 数组对象头的估算字节数
+     */
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    /**
+     * 单个 String 及其哈希节点的估算字节数，不含字符本身
+     */
+    private static final int STRING_ENTRY_BYTES = 64;
+
+    private final byte[] bytes;
+
+    /**
+     * 第 i 个元素占 bytes[offsets[i], offsets[i + 1])，长度为元素个数加一
+     */
+    private final int[] offsets;
+
+    private final Set<String> nonAscii;
+
+    private PackedAsinSet(byte[] bytes, int[] offsets, Set<String> nonAscii) {
+        this.bytes = bytes;
+        this.offsets = offsets;
+        this.nonAscii = nonAscii;
+    }
+
+    /**
+     * 由任意顺序、可重复的ASIN构建集合
+     *
+     * @param sellerAsins 卖家ASIN
+     * @return 集合
+     */
+    public static PackedAsinSet of(Collection<String> sellerAsins) {
+        return EMPTY.merge(sellerAsins);
+    }
+
+    /**
+     * 判断是否包含，不分配对象
+     *
+     * @param sellerAsin 卖家ASIN
+     * @return 是否包含
+     */
+    public boolean contains(String sellerAsin) {
+        if (Objects.isNull(sellerAsin)) {
+            return false;
+        }
+        if (!isAscii(sellerAsin)) {
+            return nonAscii.contains(sellerAsin);
+        }
+        int low = 0;
+        int high = offsets.length - 2;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(mid, sellerAsin);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 合并新的ASIN，返回新集合；没有新增元素时返回自身
+     *
+     * @param additions 新增的ASIN，任意顺序、可重复
+     * @return 合并后的集合
+     */
+    public PackedAsinSet merge(Collection<String> additions) {
+        List<String> ascii = new ArrayList<>(additions.size());
+        Set<String> wide = null;
+        for (String sellerAsin : additions) {
+            if (Objects.isNull(sellerAsin)) {
+                continue;
+            }
+            if (isAscii(sellerAsin)) {
+                ascii.add(sellerAsin);
+            } else if (!nonAscii.contains(sellerAsin)) {
+                if (Objects.isNull(wide)) {
+                    wide = new HashSet<>(nonAscii);
+                }
+                wide.add(sellerAsin);
+            }
+        }
+        // ASCII 范围内 String 的自然序与字节序一致
+        ascii.sort(null);
+
+        int existing = size() - nonAscii.size();
+        int addedBytes = 0;
+        for (String sellerAsin : ascii) {
+            addedBytes += sellerAsin.length();
+        }
+        byte[] mergedBytes = new byte[bytes.length + addedBytes];
+        int[] mergedOffsets = new int[existing + ascii.size() + 1];
+        int count = 0;
+        int position = 0;
+        int i = 0;
+        int j = 0;
+        boolean changed = false;
+        while (i < existing || j < ascii.size()) {
+            if (j < ascii.size() && j > 0 && ascii.get(j).equals(ascii.get(j - 1))) {
+                j++;
+                continue;
+            }
+            int cmp = i >= existing ? 1 : j >= ascii.size() ? -1 : compare(i, ascii.get(j));
+            if (cmp <= 0) {
+                int length = offsets[i + 1] - offsets[i];
+                System.arraycopy(bytes, offsets[i], mergedBytes, position, length);
+                position += length;
+                i++;
+                if (cmp == 0) {
+                    j++;
+                }
+            } else {
+                String sellerAsin = ascii.get(j);
+                for (int k = 0; k < sellerAsin.length(); k++) {
+                    mergedBytes[position + k] = (byte) sellerAsin.charAt(k);
+                }
+                position += sellerAsin.length();
+                j++;
+                changed = true;
+            }
+            mergedOffsets[++count] = position;
+        }
+        if (!changed && Objects.isNull(wide)) {
+            return this;
+        }
+        return new PackedAsinSet(Arrays.copyOf(mergedBytes, position), Arrays.copyOf(mergedOffsets, count + 1),
+                Objects.isNull(wide) ? nonAscii : Set.copyOf(wide));
+    }
+
+    /**
+     * 元素个数
+     */
+    public int size() {
+        return offsets.length - 1 + nonAscii.size();
+    }
+
+    /**
+     * 估算的内存占用（字节）
+     */
+    public long memoryBytes() {
+        long total = 2L * ARRAY_HEADER_BYTES + bytes.length + 4L * offsets.length;
+        for (String sellerAsin : nonAscii) {
+            total += STRING_ENTRY_BYTES + 2L * sellerAsin.length();
+        }
+        return total;
+    }
+
+    /**
+     * 第 index 个元素与 sellerAsin 比较，sellerAsin 必须全为 ASCII 字符
+     */
+    private int compare(int index, String sellerAsin) {
+        int from = offsets[index];
+        int length = offsets[index + 1] - from;
+        int common = Math.min(length, sellerAsin.length());
+        for (int k = 0; k < common; k++) {
+            int diff = bytes[from + k] - sellerAsin.charAt(k);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - sellerAsin.length();
+    }
+
+    private static boolean isAscii(String value) {
+        for (int k = 0; k < value.length(); k++) {
+            if (value.charAt(k) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
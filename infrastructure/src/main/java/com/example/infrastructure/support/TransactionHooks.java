@@ -0,0 +1,55 @@
+package com.example.infrastructure.support;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 事务回调工具类
+ * 用于让进程内的缓存、过滤器等派生状态与数据库写入保持一致
+ *
+ * @author Gemini
+ * @since 1.0.0
+ */
+public final class TransactionHooks {
+
+    private TransactionHooks() {
+        // 私有构造函数防止实例化
+    }
+
+    /**
+     * 立即执行一次；若处于事务中，事务结束（提交或回滚）后再执行一次。
+     * 动作需要是幂等的，第二次执行用于覆盖事务提交前被并发读写回的旧状态
+     *
+     * @param action 幂等动作
+     */
+    public static void runNowAndAfterCompletion(Runnable action) {
+        action.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * 当前事务提交后执行；不在事务中时立即执行。
+     * 用于只能应用一次、回滚时必须丢弃的增量变更
+     *
+     * @param action 动作
+     */
+    public static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+-- fenghuo_ad_smart_creation_invalid_asin 建表基线，即 001 之前线上已有的表结构
+-- 线上表已存在时本脚本不做任何修改；新环境先执行本脚本，再按编号依次执行后续迁移。
+-- benchmarks 模块的 H2 表结构也按编号依次执行这些脚本生成，不再单独维护
+
+CREATE TABLE IF NOT EXISTS fenghuo_ad_smart_creation_invalid_asin (
+    id                BIGINT       NOT NULL AUTO_INCREMENT COMMENT '主键',
+    tenant_id         VARCHAR(64)  NOT NULL COMMENT '租户id',
+    apply_instance_id VARCHAR(64)  DEFAULT NULL COMMENT '应用实例id',
+    template_id       VARCHAR(64)  DEFAULT NULL COMMENT '模板id',
+    profile_id        VARCHAR(255) DEFAULT NULL COMMENT 'profile id',
+    marketplace_id    VARCHAR(255) DEFAULT NULL COMMENT '站点',
+    seller_id         VARCHAR(64)  DEFAULT NULL COMMENT '卖家id',
+    seller_asin       VARCHAR(64)  NOT NULL COMMENT '子asin',
+    create_time       DATETIME     DEFAULT NULL COMMENT '创建时间',
+    ds                VARCHAR(16)  DEFAULT NULL COMMENT '时间',
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = '广告智能创建无效ASIN';
@@ -0,0 +1,14 @@
+-- 为 fenghuo_ad_smart_creation_invalid_asin 增加自然键唯一索引，批量写入的 UPSERT 方式依赖该索引在并发写入时兜底去重
+-- 执行前先清理历史重复数据，同一自然键只保留主键最小的一条
+
+DELETE duplicate
+FROM fenghuo_ad_smart_creation_invalid_asin duplicate
+JOIN fenghuo_ad_smart_creation_invalid_asin kept
+  ON kept.tenant_id = duplicate.tenant_id
+ AND kept.profile_id <=> duplicate.profile_id
+ AND kept.marketplace_id <=> duplicate.marketplace_id
+ AND kept.seller_asin = duplicate.seller_asin
+ AND kept.id < duplicate.id;
+
+ALTER TABLE fenghuo_ad_smart_creation_invalid_asin
+    ADD UNIQUE KEY uk_tenant_profile_marketplace_asin (tenant_id, profile_id, marketplace_id, seller_asin);
@@ -0,0 +1,5 @@
+-- 为 fenghuo_ad_smart_creation_invalid_asin 增加乐观锁版本号，每次更新加1
+-- 更新请求带版本号时只在版本一致时生效，已有数据从0开始
+
+ALTER TABLE fenghuo_ad_smart_creation_invalid_asin
+    ADD COLUMN version INT NOT NULL DEFAULT 0 COMMENT '乐观锁版本号';
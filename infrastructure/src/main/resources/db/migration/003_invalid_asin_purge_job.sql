@@ -0,0 +1,24 @@
+-- 按条件清理 Invalid ASIN 的后台任务表
+-- 每片删除和进度在同一事务中提交，重启或实例宕机后按心跳租约由其他实例从游标继续
+-- 游标自 009 起为 (cursor_create_time, cursor_id)，即最近一片删除的最后一行，cursor_id 的列注释同时在 009 中更正
+
+CREATE TABLE fenghuo_ad_smart_creation_invalid_asin_purge_job (
+    job_id            VARCHAR(64)  NOT NULL COMMENT '任务ID',
+    tenant_id         VARCHAR(255) NOT NULL COMMENT '租户id',
+    profile_id        VARCHAR(255) DEFAULT NULL COMMENT 'profile id，为空时不限制',
+    marketplace_id    VARCHAR(255) DEFAULT NULL COMMENT '站点，为空时不限制',
+    status            VARCHAR(16)  NOT NULL COMMENT '任务状态: RUNNING/COMPLETED/FAILED/CANCELLED',
+    cursor_id         BIGINT       NOT NULL DEFAULT 0 COMMENT '已处理到的最大主键ID',
+    deleted_rows      BIGINT       NOT NULL DEFAULT 0 COMMENT '已删除行数',
+    chunk_count       BIGINT       NOT NULL DEFAULT 0 COMMENT '已执行的分片数',
+    chunk_size        INT          NOT NULL COMMENT '当前分片大小',
+    last_chunk_millis BIGINT       DEFAULT NULL COMMENT '最近一片删除事务耗时（毫秒）',
+    max_chunk_millis  BIGINT       DEFAULT NULL COMMENT '单片删除事务最大耗时（毫秒）',
+    owner             VARCHAR(128) DEFAULT NULL COMMENT '当前执行实例',
+    heartbeat_time    DATETIME     DEFAULT NULL COMMENT '最近一次心跳时间',
+    error_message     VARCHAR(512) DEFAULT NULL COMMENT '失败原因',
+    create_time       DATETIME     NOT NULL COMMENT '创建时间',
+    finish_time       DATETIME     DEFAULT NULL COMMENT '结束时间',
+    PRIMARY KEY (job_id),
+    KEY idx_status_heartbeat (status, heartbeat_time)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = '无效ASIN按条件清理任务';
@@ -0,0 +1,16 @@
+-- fenghuo_ad_smart_creation_invalid_asin 按查询形态补齐组合索引
+-- 列表、游标分页、导出、计数和分片清理的条件都是 tenant_id 加 profile_id / marketplace_id / seller_asin 的任意组合，
+-- 排序统一为 create_time（倒序分页，正序清理），InnoDB 二级索引隐含主键 id 作为最后一列。
+-- 执行后各查询形态与索引的对应关系（可用 benchmarks 模块的 InvalidAsinQueryPlanCheck 复核）：
+--   tenant_id                                   -> idx_tenant_create_time（007 创建）
+--   tenant_id + profile_id                      -> idx_tenant_profile_create_time
+--   tenant_id + marketplace_id                  -> idx_tenant_marketplace_create_time
+--   tenant_id + profile_id + marketplace_id     -> idx_tenant_profile_marketplace_create_time
+--   带 seller_asin 的组合                        -> uk_tenant_profile_marketplace_asin / idx_tenant_asin（007 创建），结果行数有限，排序不走索引
+-- 计数和清理只读 id，以上索引均可覆盖，不回表。
+
+ALTER TABLE fenghuo_ad_smart_creation_invalid_asin
+    ADD INDEX idx_tenant_profile_create_time (tenant_id, profile_id, create_time),
+    ADD INDEX idx_tenant_marketplace_create_time (tenant_id, marketplace_id, create_time),
+    ADD INDEX idx_tenant_profile_marketplace_create_time (tenant_id, profile_id, marketplace_id, create_time),
+    ALGORITHM = INPLACE, LOCK = NONE;
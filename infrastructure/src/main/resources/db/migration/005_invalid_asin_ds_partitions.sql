@@ -0,0 +1,28 @@
+-- fenghuo_ad_smart_creation_invalid_asin 改为按 ds 的 RANGE COLUMNS 分区表
+-- 带 ds 范围的查询由 MySQL 在执行前裁剪分区，保留任务（InvalidAsinRetentionApplicationService）按分区整体 DROP 过期数据，
+-- 耗时与分区内的行数无关，也不产生逐行删除的 undo/binlog。
+-- MySQL 要求每个唯一索引（含主键）都包含分区列：主键改为 (id, ds)，自然键唯一索引追加 ds。
+-- 追加 ds 后数据库只保证同一自然键在同一天内唯一，跨天不重复由应用保证，同一自然键始终只有一行：
+--   INSERT 方式写入前按不含 ds 的自然键查重，已存在时与唯一索引冲突一样返回 409；
+--   UPSERT 先按自然键查出已有记录再按主键更新（ds 随之改为本次上报的日期）。
+-- 未指定 ds 的写入统一取当天，并发写入同一自然键时落在同一天，仍由唯一索引兜底；
+-- 只有恰好跨越零点的并发首次写入可能各自落在相邻两天，留下两行。
+-- 改分区需要整表重建，大表请在低峰期或用 gh-ost / pt-online-schema-change 执行。
+-- 这里只建一个 MAXVALUE 分区，保留任务首次运行时按保留窗口拆分出历史分区和按月（或按天）的分区，
+-- 首次拆分需要搬迁已有数据，之后每次只从空的 p_future 中拆出新分区，是纯元数据操作。
+
+UPDATE fenghuo_ad_smart_creation_invalid_asin
+SET ds = DATE_FORMAT(COALESCE(create_time, NOW()), '%Y%m%d')
+WHERE ds IS NULL OR ds = '';
+
+ALTER TABLE fenghuo_ad_smart_creation_invalid_asin
+    MODIFY COLUMN ds VARCHAR(16) NOT NULL COMMENT '日期分区 yyyyMMdd',
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, ds),
+    DROP INDEX uk_tenant_profile_marketplace_asin,
+    ADD UNIQUE KEY uk_tenant_profile_marketplace_asin_ds (tenant_id, profile_id, marketplace_id, seller_asin, ds);
+
+ALTER TABLE fenghuo_ad_smart_creation_invalid_asin
+    PARTITION BY RANGE COLUMNS (ds) (
+        PARTITION p_future VALUES LESS THAN (MAXVALUE)
+    );
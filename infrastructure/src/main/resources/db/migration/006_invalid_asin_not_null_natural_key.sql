@@ -0,0 +1,20 @@
+-- fenghuo_ad_smart_creation_invalid_asin 的 profile_id / marketplace_id 改为 NOT NULL DEFAULT ''
+-- 唯一索引不约束 NULL，profile_id 或 marketplace_id 为空的记录此前可以重复写入；应用写入时已把空值统一为空串。
+-- 执行前先清理归一化后重复的数据（不区分 ds），同一自然键只保留主键最小的一条，大表请在低峰期执行。
+
+DELETE duplicate
+FROM fenghuo_ad_smart_creation_invalid_asin duplicate
+JOIN fenghuo_ad_smart_creation_invalid_asin kept
+  ON kept.tenant_id = duplicate.tenant_id
+ AND COALESCE(kept.profile_id, '') = COALESCE(duplicate.profile_id, '')
+ AND COALESCE(kept.marketplace_id, '') = COALESCE(duplicate.marketplace_id, '')
+ AND kept.seller_asin = duplicate.seller_asin
+ AND kept.id < duplicate.id;
+
+UPDATE fenghuo_ad_smart_creation_invalid_asin SET profile_id = '' WHERE profile_id IS NULL;
+
+UPDATE fenghuo_ad_smart_creation_invalid_asin SET marketplace_id = '' WHERE marketplace_id IS NULL;
+
+ALTER TABLE fenghuo_ad_smart_creation_invalid_asin
+    MODIFY COLUMN profile_id VARCHAR(255) NOT NULL DEFAULT '' COMMENT 'profile id',
+    MODIFY COLUMN marketplace_id VARCHAR(255) NOT NULL DEFAULT '' COMMENT '站点';
@@ -0,0 +1,10 @@
+-- fenghuo_ad_smart_creation_invalid_asin 补齐 004 中引用、但此前没有任何迁移创建的两个租户级索引
+--   idx_tenant_create_time: 只带 tenant_id 的列表、游标分页、导出和内存快照的水位扫描，
+--                           列顺序与游标 (create_time, id) 一致，id 显式写出，不依赖隐含主键列的顺序
+--   idx_tenant_asin:        按 (租户, 站点, ASIN) 批量判断是否无效，以及不带 profile 的 ASIN 定位
+-- 早期手工建过同名索引的环境，先用 SHOW INDEX 确认列顺序一致，一致时跳过对应的 ADD INDEX 子句
+
+ALTER TABLE fenghuo_ad_smart_creation_invalid_asin
+    ADD INDEX idx_tenant_create_time (tenant_id, create_time, id),
+    ADD INDEX idx_tenant_asin (tenant_id, seller_asin, marketplace_id),
+    ALGORITHM = INPLACE, LOCK = NONE;
@@ -0,0 +1,11 @@
+-- fenghuo_ad_smart_creation_invalid_asin.create_time 改为非空
+-- 游标分页和分片清理都按 (create_time, id) 做行比较，create_time 为 NULL 的行永远不满足比较条件，
+-- 遍历会在这些行之前悄悄结束，游标也无法编码。历史空值按 ds 对应日期的零点回填，
+-- ds 异常时取当前时间；之后仓储写入时统一补齐创建时间。
+
+UPDATE fenghuo_ad_smart_creation_invalid_asin
+SET create_time = COALESCE(STR_TO_DATE(ds, '%Y%m%d'), NOW())
+WHERE create_time IS NULL;
+
+ALTER TABLE fenghuo_ad_smart_creation_invalid_asin
+    MODIFY COLUMN create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间';
@@ -0,0 +1,8 @@
+-- 清理任务按 (create_time, id) 游标分片
+-- 每片都从索引开头取时，已删除但尚未 purge 的索引项会被反复扫过，分片越多每片越慢；
+-- 改为记录最近一片最后一行的 (create_time, id)，下一片从其之后继续，重启或被接管后同样从游标继续。
+-- 旧任务的 cursor_create_time 为空，接管后从头查询一次再继续按游标推进。
+
+ALTER TABLE fenghuo_ad_smart_creation_invalid_asin_purge_job
+    ADD COLUMN cursor_create_time DATETIME DEFAULT NULL COMMENT '游标：最近一片删除的最后一行的创建时间' AFTER status,
+    MODIFY COLUMN cursor_id BIGINT NOT NULL DEFAULT 0 COMMENT '游标：最近一片删除的最后一行的主键ID';
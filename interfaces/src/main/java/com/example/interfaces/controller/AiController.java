@@ -1,51 +1,65 @@
 package com.example.interfaces.controller;
 
 import com.common.response.JlsResponse;
+import com.example.application.ai.ChatDeadline;
+import com.example.application.config.ChatDeadlineProperties;
 import com.example.application.dto.ChatRequestDto;
 import com.example.application.dto.ChatResponseDto;
+import com.example.application.dto.ChatStreamEventDto;
 import com.example.application.service.ChatApplicationService;
 import com.example.domain.exception.BusinessException;
-import org.springframework.ai.chat.client.ChatClient;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
 
 /**
  * AI 相关接口控制器
  * 提供与 Spring AI 模型交互的REST接口
+ * 聊天接口可通过 {@value #TIMEOUT_HEADER} 请求头指定超时毫秒数，未指定时使用默认超时，
+ * 该预算从进入控制器开始计算，排队、限流等待和模型调用共享
  * 
  * @author Gemini
  * @since 1.0.0
  */
+@Slf4j
 @RestController
 @RequestMapping("/api/ai")
 @Validated
 public class AiController {
 
-    @Autowired
-    private ChatClient statelessChatClient;
+    /**
+     * 请求超时预算的请求头，单位毫秒
+     */
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
 
     @Autowired
     private ChatApplicationService chatApplicationService;
 
+    @Autowired
+    private ChatDeadlineProperties chatDeadlineProperties;
+
 
     /**
      * 与AI模型进行无状态聊天的接口
      * 该接口不保存任何上下文信息，每次请求都是独立的
      *
      * @param request 聊天请求，sessionId和enableContext字段将被忽略
+     * @param timeoutMillis 超时毫秒数
      * @return 统一响应结果，包含AI的回复内容
      */
     @PostMapping("/chat")
-    public JlsResponse<ChatResponseDto> chat(@Valid @RequestBody ChatRequestDto request) {
+    public JlsResponse<ChatResponseDto> chat(@Valid @RequestBody ChatRequestDto request,
+                                             @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        ChatDeadline deadline = ChatDeadline.of(timeoutMillis, chatDeadlineProperties);
         try {
-            String response = statelessChatClient.prompt()
-                    .user(request.getMessage())
-                    .call()
-                    .content();
+            String response = chatApplicationService.chatStateless(request.getMessage(), deadline);
             
             // 创建响应DTO，标记为无上下文
             ChatResponseDto chatResponse = new ChatResponseDto(
@@ -56,6 +70,8 @@ public class AiController {
 
 
             return JlsResponse.success(chatResponse);
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
             throw BusinessException.threadError("AI 服务调用失败", e);
         }
@@ -66,14 +82,46 @@ public class AiController {
      * 支持会话级别的上下文记忆功能
      *
      * @param request 聊天请求，包含消息内容、会话ID和上下文设置
+     * @param timeoutMillis 超时毫秒数
      * @return 统一响应结果，包含AI的回复内容和会话信息
      */
     @PostMapping("/chat/context")
-    public JlsResponse<ChatResponseDto> chatWithContext(@Valid @RequestBody ChatRequestDto request) {
-        ChatResponseDto response = chatApplicationService.chat(request);
+    public JlsResponse<ChatResponseDto> chatWithContext(@Valid @RequestBody ChatRequestDto request,
+                                                        @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        ChatResponseDto response = chatApplicationService.chat(request,
+                ChatDeadline.of(timeoutMillis, chatDeadlineProperties));
         return JlsResponse.success(response);
     }
 
+    /**
+     * 与AI模型进行无状态的流式聊天，以 SSE 逐段推送回复
+     * 增量片段的事件名为 token，结束时推送事件名为 done 的统计事件，出错时推送 error 事件
+     *
+     * @param request 聊天请求，sessionId和enableContext字段将被忽略
+     * @param timeoutMillis 超时毫秒数，包含整个流的生成时间
+     * @return SSE 事件流
+     */
+    @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ChatStreamEventDto>> chatStream(@Valid @RequestBody ChatRequestDto request,
+                                                                @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        return toServerSentEvents(chatApplicationService.streamWithoutContext(request.getMessage(),
+                ChatDeadline.of(timeoutMillis, chatDeadlineProperties)));
+    }
+
+    /**
+     * 与AI模型进行上下文流式聊天，以 SSE 逐段推送回复，完整回复生成后写入会话历史
+     *
+     * @param request 聊天请求，包含消息内容、会话ID和上下文设置
+     * @param timeoutMillis 超时毫秒数，包含会话排队和整个流的生成时间
+     * @return SSE 事件流
+     */
+    @PostMapping(value = "/chat/context/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ChatStreamEventDto>> chatWithContextStream(@Valid @RequestBody ChatRequestDto request,
+                                                                           @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        return toServerSentEvents(chatApplicationService.streamChat(request,
+                ChatDeadline.of(timeoutMillis, chatDeadlineProperties)));
+    }
+
     /**
      * 清除指定会话的上下文记忆
      *
@@ -98,4 +146,35 @@ public class AiController {
         return JlsResponse.success(contextSize);
     }
 
-}
\ No newline at end of file
+    /**
+     * 获取指定会话排队中的轮次数
+     *
+     * @param sessionId 会话ID
+     * @return 待处理轮次数，包含正在执行的一轮
+     */
+    @GetMapping("/chat/context/{sessionId}/queue")
+    public JlsResponse<Integer> getQueueDepth(@PathVariable String sessionId) {
+        return JlsResponse.success(chatApplicationService.getQueueDepth(sessionId));
+    }
+
+    /**
+     * 聊天事件转换为 SSE 事件，流已开始推送后无法再返回错误响应体，异常转为 error 事件
+     *
+     * @param events 聊天事件流
+     * @return SSE 事件流
+     */
+    private Flux<ServerSentEvent<ChatStreamEventDto>> toServerSentEvents(Flux<ChatStreamEventDto> events) {
+        return events
+                .map(event -> ServerSentEvent.builder(event)
+                        .event(event.isDone() ? "done" : "token")
+                        .build())
+                .onErrorResume(e -> {
+                    log.error("AI 流式服务调用失败", e);
+                    ChatStreamEventDto error = new ChatStreamEventDto();
+                    error.setDone(true);
+                    error.setContent(e instanceof BusinessException businessException
+                            ? businessException.getMessage() : "AI 服务调用失败");
+                    return Flux.just(ServerSentEvent.builder(error).event("error").build());
+                });
+    }
+}
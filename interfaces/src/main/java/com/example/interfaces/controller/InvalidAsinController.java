@@ -1,14 +1,38 @@
 package com.example.interfaces.controller;
 
 import com.example.application.service.InvalidAsinApplicationService;
+import com.example.application.service.InvalidAsinExportApplicationService;
+import com.example.application.service.InvalidAsinPurgeApplicationService;
+import com.example.application.service.InvalidAsinRetentionApplicationService;
 import com.example.domain.exception.BusinessException;
 import com.common.response.JlsResponse;
+import com.example.application.dto.BulkCommitMode;
+import com.example.application.dto.BulkInsertResultDTO;
+import com.example.application.dto.BulkWriteMode;
+import com.example.application.dto.CheckResultFormat;
+import com.example.application.dto.ExportFormat;
+import com.example.application.dto.InvalidAsinBulkDeleteDTO;
+import com.example.application.dto.InvalidAsinBulkUpdateDTO;
+import com.example.application.dto.InvalidAsinCheckDTO;
+import com.example.application.dto.InvalidAsinCheckResultDTO;
+import com.example.application.dto.InvalidAsinCursorPageDTO;
 import com.example.application.dto.InvalidAsinDTO;
+import com.example.application.dto.InvalidAsinCountStatsDTO;
+import com.example.application.dto.InvalidAsinFilterStatsDTO;
+import com.example.application.dto.InvalidAsinPartitionDTO;
+import com.example.application.dto.InvalidAsinPurgeJobDTO;
 import com.example.application.dto.InvalidAsinQueryDTO;
+import com.example.application.dto.InvalidAsinRetentionReportDTO;
+import com.example.application.dto.InvalidAsinSnapshotStatsDTO;
+import com.example.domain.model.InvalidAsinView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
@@ -31,8 +55,16 @@ public class InvalidAsinController {
 
     private final InvalidAsinApplicationService invalidAsinApplicationService;
 
+    private final InvalidAsinExportApplicationService invalidAsinExportApplicationService;
+
+    private final InvalidAsinPurgeApplicationService invalidAsinPurgeApplicationService;
+
+    private final InvalidAsinRetentionApplicationService invalidAsinRetentionApplicationService;
+
     /**
      * 创建无效ASIN
+     * 开启异步写入时只入队，返回的对象没有主键，带写入ID；队列已满时返回 429；
+     * 自然键已存在时返回 409，与同步写入一致；异步写入入队后、落库前才出现的重复写入死信日志
      * 
      * @param invalidAsin 无效ASIN DTO
      * @return 创建后的对象
@@ -40,8 +72,12 @@ public class InvalidAsinController {
     @PostMapping
     public JlsResponse<InvalidAsinDTO> createInvalidAsin(@Valid @RequestBody InvalidAsinDTO invalidAsin) {
         try {
-            InvalidAsinDTO result = invalidAsinApplicationService.createInvalidAsin(invalidAsin);
+            InvalidAsinDTO result = invalidAsinApplicationService.isWriteBehindEnabled()
+                    ? invalidAsinApplicationService.submitInvalidAsin(invalidAsin)
+                    : invalidAsinApplicationService.createInvalidAsin(invalidAsin);
             return JlsResponse.success(result);
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
             log.error("创建无效ASIN失败", e);
             throw BusinessException.threadError("创建无效ASIN失败", e);
@@ -52,20 +88,51 @@ public class InvalidAsinController {
      * 批量创建无效ASIN
      * 
      * @param invalidAsins 无效ASIN列表
-     * @return 创建成功的条数
+     * @param writeMode 写入方式：INSERT 直接插入，自然键已存在时返回 409；UPSERT 按自然键幂等写入，不传时使用默认配置
+     * @return 写入的条数
      */
     @PostMapping("/batch")
     public JlsResponse<Integer> batchCreateInvalidAsin(@Valid @RequestBody @NotEmpty(message = "无效ASIN列表不能为空") 
-                                                  List<InvalidAsinDTO> invalidAsins) {
+                                                  List<InvalidAsinDTO> invalidAsins,
+                                                  @RequestParam(required = false) BulkWriteMode writeMode) {
         try {
-            int count = invalidAsinApplicationService.batchCreateInvalidAsin(invalidAsins);
+            int count = invalidAsinApplicationService.batchCreateInvalidAsin(invalidAsins, writeMode);
             return JlsResponse.success(count);
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
             log.error("批量创建无效ASIN失败", e);
             throw BusinessException.threadError("批量创建无效ASIN失败", e);
         }
     }
 
+    /**
+     * 分片批量创建无效ASIN，适用于大批量导入
+     * 
+     * @param invalidAsins 无效ASIN列表
+     * @param commitMode 提交模式：ALL_OR_NOTHING 整体提交，PER_CHUNK 按分片提交
+     * @param writeMode 写入方式：INSERT 直接插入，UPSERT 按自然键幂等写入，不传时使用默认配置
+     * @param chunkSize 分片大小，不传时使用默认配置
+     * @return 写入结果，包含每个分片的插入、更新、跳过行数和吞吐量
+     */
+    @PostMapping("/bulk")
+    public JlsResponse<BulkInsertResultDTO> bulkCreateInvalidAsin(
+            @Valid @RequestBody @NotEmpty(message = "无效ASIN列表不能为空") List<InvalidAsinDTO> invalidAsins,
+            @RequestParam(defaultValue = "ALL_OR_NOTHING") BulkCommitMode commitMode,
+            @RequestParam(required = false) BulkWriteMode writeMode,
+            @RequestParam(required = false) Integer chunkSize) {
+        try {
+            BulkInsertResultDTO result = invalidAsinApplicationService
+                    .bulkCreateInvalidAsin(invalidAsins, commitMode, writeMode, chunkSize);
+            return JlsResponse.success(result);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("分片批量创建无效ASIN失败", e);
+            throw BusinessException.threadError("分片批量创建无效ASIN失败", e);
+        }
+    }
+
     /**
      * 根据ID查询无效ASIN
      * 
@@ -77,6 +144,8 @@ public class InvalidAsinController {
         try {
             InvalidAsinDTO result = invalidAsinApplicationService.getInvalidAsinById(id);
             return JlsResponse.success(result);
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
             log.error("查询无效ASIN失败", e);
             throw BusinessException.threadError("查询无效ASIN失败", e);
@@ -90,16 +159,63 @@ public class InvalidAsinController {
      * @return 无效ASIN列表
      */
     @GetMapping("/list")
-    public JlsResponse<List<InvalidAsinDTO>> getInvalidAsinList(@Valid InvalidAsinQueryDTO queryDTO) {
+    public JlsResponse<List<InvalidAsinView>> getInvalidAsinList(@Valid InvalidAsinQueryDTO queryDTO) {
         try {
-            List<InvalidAsinDTO> result = invalidAsinApplicationService.getInvalidAsinList(queryDTO);
+            List<InvalidAsinView> result = invalidAsinApplicationService.getInvalidAsinList(queryDTO);
             return JlsResponse.success(result);
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
             log.error("查询无效ASIN列表失败", e);
             throw BusinessException.threadError("查询无效ASIN列表失败", e);
         }
     }
 
+    /**
+     * 根据条件游标分页查询无效ASIN，返回下一页游标，适合遍历全表
+     * 
+     * @param queryDTO 查询条件，cursor 为上一页返回的 nextCursor，pageNum 被忽略
+     * @return 当前页数据及下一页游标
+     */
+    @GetMapping("/list/cursor")
+    public JlsResponse<InvalidAsinCursorPageDTO> getInvalidAsinPageByCursor(@Valid InvalidAsinQueryDTO queryDTO) {
+        try {
+            InvalidAsinCursorPageDTO result = invalidAsinApplicationService.getInvalidAsinPageByCursor(queryDTO);
+            return JlsResponse.success(result);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("游标分页查询无效ASIN列表失败", e);
+            throw BusinessException.threadError("游标分页查询无效ASIN列表失败", e);
+        }
+    }
+
+    /**
+     * 按条件流式导出无效ASIN，不分页，逐行写入响应
+     * 
+     * @param queryDTO 查询条件，分页参数会被忽略
+     * @param format 导出格式：NDJSON 或 CSV
+     * @return 流式响应
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportInvalidAsin(
+            @Valid InvalidAsinQueryDTO queryDTO,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        StreamingResponseBody body = outputStream -> {
+            try {
+                invalidAsinExportApplicationService.exportInvalidAsin(queryDTO, format, outputStream);
+            } catch (RuntimeException e) {
+                // 响应已开始写出，无法再返回统一错误结构，只能中断连接
+                log.error("导出无效ASIN失败", e);
+                throw e;
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=invalid-asin." + format.getExtension())
+                .body(body);
+    }
+
     /**
      * 根据租户ID和ASIN查询
      * 
@@ -115,12 +231,99 @@ public class InvalidAsinController {
             List<InvalidAsinDTO> result = invalidAsinApplicationService
                     .getInvalidAsinByTenantAndAsin(tenantId, sellerAsin);
             return JlsResponse.success(result);
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
             log.error("根据租户和ASIN查询无效ASIN失败", e);
             throw BusinessException.threadError("根据租户和ASIN查询无效ASIN失败", e);
         }
     }
 
+    /**
+     * 判断ASIN是否为无效ASIN，优先使用布隆过滤器排除
+     * 
+     * @param tenantId 租户ID
+     * @param marketplaceId 站点ID，可为空
+     * @param sellerAsin 卖家ASIN
+     * @return 是否为无效ASIN
+     */
+    @GetMapping("/exists")
+    public JlsResponse<Boolean> existsInvalidAsin(
+            @RequestParam String tenantId,
+            @RequestParam(required = false) String marketplaceId,
+            @RequestParam String sellerAsin) {
+        try {
+            boolean exists = invalidAsinApplicationService.existsInvalidAsin(tenantId, marketplaceId, sellerAsin);
+            return JlsResponse.success(exists);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("判断无效ASIN失败", e);
+            throw BusinessException.threadError("判断无效ASIN失败", e);
+        }
+    }
+
+    /**
+     * 批量判断ASIN是否为无效ASIN
+     * 请求中的ASIN去重后分片并行查询，按 format 返回命中列表（hits）或与请求逐位对应的位图
+     * 
+     * @param checkDTO 校验请求
+     * @param format 结果格式，默认 HITS
+     * @return 判断结果
+     */
+    @PostMapping("/exists/batch")
+    public JlsResponse<InvalidAsinCheckResultDTO> checkInvalidAsins(
+            @Valid @RequestBody InvalidAsinCheckDTO checkDTO,
+            @RequestParam(defaultValue = "HITS") CheckResultFormat format) {
+        try {
+            InvalidAsinCheckResultDTO result = invalidAsinApplicationService.checkInvalidAsins(checkDTO, format);
+            return JlsResponse.success(result);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("批量判断无效ASIN失败", e);
+            throw BusinessException.threadError("批量判断无效ASIN失败", e);
+        }
+    }
+
+    /**
+     * 重建租户的无效ASIN布隆过滤器
+     * 
+     * @param tenantId 租户ID
+     * @return 重建后的统计信息
+     */
+    @PostMapping("/filter/rebuild")
+    public JlsResponse<InvalidAsinFilterStatsDTO> rebuildInvalidAsinFilter(@RequestParam String tenantId) {
+        try {
+            InvalidAsinFilterStatsDTO result = invalidAsinApplicationService.rebuildInvalidAsinFilter(tenantId);
+            return JlsResponse.success(result);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("重建无效ASIN布隆过滤器失败", e);
+            throw BusinessException.threadError("重建无效ASIN布隆过滤器失败", e);
+        }
+    }
+
+    /**
+     * 获取租户的无效ASIN布隆过滤器统计信息
+     * 
+     * @param tenantId 租户ID
+     * @return 统计信息
+     */
+    @GetMapping("/filter/stats")
+    public JlsResponse<InvalidAsinFilterStatsDTO> getInvalidAsinFilterStats(@RequestParam String tenantId) {
+        try {
+            InvalidAsinFilterStatsDTO result = invalidAsinApplicationService.getInvalidAsinFilterStats(tenantId);
+            return JlsResponse.success(result);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("获取无效ASIN布隆过滤器统计失败", e);
+            throw BusinessException.threadError("获取无效ASIN布隆过滤器统计失败", e);
+        }
+    }
+
     /**
      * 更新无效ASIN
      * 
@@ -135,6 +338,8 @@ public class InvalidAsinController {
             invalidAsin.setId(id);
             InvalidAsinDTO result = invalidAsinApplicationService.updateInvalidAsin(invalidAsin);
             return JlsResponse.success(result);
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
             log.error("更新无效ASIN失败", e);
             throw BusinessException.threadError("更新无效ASIN失败", e);
@@ -152,48 +357,242 @@ public class InvalidAsinController {
         try {
             boolean result = invalidAsinApplicationService.deleteInvalidAsinById(id);
             return JlsResponse.success(result);
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
             log.error("删除无效ASIN失败", e);
             throw BusinessException.threadError("删除无效ASIN失败", e);
         }
     }
 
+    /**
+     * 按ID列表批量更新无效ASIN的可变字段
+     * 
+     * @param bulkUpdate 租户ID、ID列表和要更新的字段
+     * @return 更新的条数
+     */
+    @PostMapping("/batch-update")
+    public JlsResponse<Integer> batchUpdateInvalidAsin(@Valid @RequestBody InvalidAsinBulkUpdateDTO bulkUpdate) {
+        try {
+            int count = invalidAsinApplicationService.batchUpdateInvalidAsin(bulkUpdate);
+            return JlsResponse.success(count);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("批量更新无效ASIN失败", e);
+            throw BusinessException.threadError("批量更新无效ASIN失败", e);
+        }
+    }
+
+    /**
+     * 按ID列表批量删除无效ASIN
+     * 
+     * @param bulkDelete 租户ID和ID列表
+     * @return 删除的条数
+     */
+    @PostMapping("/batch-delete")
+    public JlsResponse<Integer> batchDeleteInvalidAsin(@Valid @RequestBody InvalidAsinBulkDeleteDTO bulkDelete) {
+        try {
+            int count = invalidAsinApplicationService.batchDeleteInvalidAsin(bulkDelete);
+            return JlsResponse.success(count);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("批量删除无效ASIN失败", e);
+            throw BusinessException.threadError("批量删除无效ASIN失败", e);
+        }
+    }
+
     /**
      * 根据条件删除无效ASIN
+     * 提交后台清理任务后立即返回，按 (create_time, id) 游标顺序分片删除，通过任务状态接口查看进度
      * 
      * @param tenantId 租户ID
      * @param profileId Profile ID
      * @param marketplaceId 站点ID
-     * @return 删除的条数
+     * @return 清理任务
      */
     @DeleteMapping("/condition")
-    public JlsResponse<Integer> deleteInvalidAsinByCondition(
+    public JlsResponse<InvalidAsinPurgeJobDTO> deleteInvalidAsinByCondition(
             @RequestParam String tenantId,
             @RequestParam(required = false) String profileId,
             @RequestParam(required = false) String marketplaceId) {
         try {
-            int count = invalidAsinApplicationService.deleteInvalidAsinByCondition(tenantId, profileId, marketplaceId);
-            return JlsResponse.success(count);
+            InvalidAsinPurgeJobDTO job = invalidAsinPurgeApplicationService.submitPurge(tenantId, profileId, marketplaceId);
+            return JlsResponse.success(job);
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
             log.error("根据条件删除无效ASIN失败", e);
             throw BusinessException.threadError("根据条件删除无效ASIN失败", e);
         }
     }
 
+    /**
+     * 查询按条件清理任务的状态和进度
+     * 
+     * @param jobId 任务ID
+     * @return 清理任务
+     */
+    @GetMapping("/purge-jobs/{jobId}")
+    public JlsResponse<InvalidAsinPurgeJobDTO> getPurgeJob(@PathVariable String jobId) {
+        try {
+            return JlsResponse.success(invalidAsinPurgeApplicationService.getPurgeJob(jobId));
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("查询清理任务失败", e);
+            throw BusinessException.threadError("查询清理任务失败", e);
+        }
+    }
+
+    /**
+     * 取消执行中的按条件清理任务，已删除的记录不会恢复
+     * 
+     * @param jobId 任务ID
+     * @return 清理任务
+     */
+    @PostMapping("/purge-jobs/{jobId}/cancel")
+    public JlsResponse<InvalidAsinPurgeJobDTO> cancelPurgeJob(@PathVariable String jobId) {
+        try {
+            return JlsResponse.success(invalidAsinPurgeApplicationService.cancelPurgeJob(jobId));
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("取消清理任务失败", e);
+            throw BusinessException.threadError("取消清理任务失败", e);
+        }
+    }
+
     /**
      * 统计符合条件的记录数
      * 
      * @param queryDTO 查询条件
+     * @param exact 是否精确计数，false 时返回计数器中的近似值，不访问数据库
      * @return 记录数
      */
     @GetMapping("/count")
-    public JlsResponse<Long> countInvalidAsin(@Valid InvalidAsinQueryDTO queryDTO) {
+    public JlsResponse<Long> countInvalidAsin(@Valid InvalidAsinQueryDTO queryDTO,
+                                              @RequestParam(defaultValue = "true") boolean exact) {
         try {
-            long count = invalidAsinApplicationService.countInvalidAsin(queryDTO);
+            long count = invalidAsinApplicationService.countInvalidAsin(queryDTO, exact);
             return JlsResponse.success(count);
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
             log.error("统计无效ASIN记录数失败", e);
             throw BusinessException.threadError("统计无效ASIN记录数失败", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 获取近似记录数的统计信息：误差上界、距上次精确重算的时间和重算耗时
+     * 
+     * @param queryDTO 查询条件
+     * @return 统计信息
+     */
+    @GetMapping("/count/stats")
+    public JlsResponse<InvalidAsinCountStatsDTO> getInvalidAsinCountStats(@Valid InvalidAsinQueryDTO queryDTO) {
+        try {
+            InvalidAsinCountStatsDTO result = invalidAsinApplicationService.getInvalidAsinCountStats(queryDTO);
+            return JlsResponse.success(result);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("获取无效ASIN记录数统计失败", e);
+            throw BusinessException.threadError("获取无效ASIN记录数统计失败", e);
+        }
+    }
+
+    /**
+     * 立即精确重算租户的记录数计数器
+     * 
+     * @param tenantId 租户ID
+     * @return 重算后的统计信息
+     */
+    @PostMapping("/count/recount")
+    public JlsResponse<InvalidAsinCountStatsDTO> recountInvalidAsin(@RequestParam String tenantId) {
+        try {
+            InvalidAsinCountStatsDTO result = invalidAsinApplicationService.recountInvalidAsin(tenantId);
+            return JlsResponse.success(result);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("重算无效ASIN记录数失败", e);
+            throw BusinessException.threadError("重算无效ASIN记录数失败", e);
+        }
+    }
+
+    /**
+     * 获取所有驻留租户的内存快照统计信息：内存占用、水位和刷新延迟
+     * 
+     * @return 统计信息列表
+     */
+    @GetMapping("/snapshot/stats")
+    public JlsResponse<List<InvalidAsinSnapshotStatsDTO>> getInvalidAsinSnapshotStats() {
+        try {
+            List<InvalidAsinSnapshotStatsDTO> result = invalidAsinApplicationService.getInvalidAsinSnapshotStats();
+            return JlsResponse.success(result);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("获取无效ASIN内存快照统计失败", e);
+            throw BusinessException.threadError("获取无效ASIN内存快照统计失败", e);
+        }
+    }
+
+    /**
+     * 从数据库全量重载租户的内存快照
+     * 
+     * @param tenantId 租户ID，必须是配置为驻留内存的租户
+     * @return 重载后的统计信息
+     */
+    @PostMapping("/snapshot/reload")
+    public JlsResponse<InvalidAsinSnapshotStatsDTO> reloadInvalidAsinSnapshot(@RequestParam String tenantId) {
+        try {
+            InvalidAsinSnapshotStatsDTO result = invalidAsinApplicationService.reloadInvalidAsinSnapshot(tenantId);
+            return JlsResponse.success(result);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("重载无效ASIN内存快照失败", e);
+            throw BusinessException.threadError("重载无效ASIN内存快照失败", e);
+        }
+    }
+
+    /**
+     * 查询按 ds 划分的表分区及各分区的估算行数和占用空间
+     * 
+     * @return 分区列表，表未分区时为空
+     */
+    @GetMapping("/partitions")
+    public JlsResponse<List<InvalidAsinPartitionDTO>> getInvalidAsinPartitions() {
+        try {
+            List<InvalidAsinPartitionDTO> result = invalidAsinRetentionApplicationService.getPartitions();
+            return JlsResponse.success(result);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("查询无效ASIN表分区失败", e);
+            throw BusinessException.threadError("查询无效ASIN表分区失败", e);
+        }
+    }
+
+    /**
+     * 立即维护分区：预建后续周期的分区，整体删除超出保留期的分区
+     * 
+     * @return 维护结果
+     */
+    @PostMapping("/partitions/maintain")
+    public JlsResponse<InvalidAsinRetentionReportDTO> maintainInvalidAsinPartitions() {
+        try {
+            InvalidAsinRetentionReportDTO result = invalidAsinRetentionApplicationService.maintain();
+            return JlsResponse.success(result);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("维护无效ASIN表分区失败", e);
+            throw BusinessException.threadError("维护无效ASIN表分区失败", e);
+        }
+    }
+}